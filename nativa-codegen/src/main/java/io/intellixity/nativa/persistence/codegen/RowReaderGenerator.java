@@ -62,8 +62,31 @@ final class RowReaderGenerator {
       for (var e : ea.fields().entrySet()) {
         String field = e.getKey();
         TypeRef tr = e.getValue().type();
+        String prim = (tr instanceof ScalarTypeRef s) ? primitiveAccessor(s.userTypeId()) : null;
+        if (tr instanceof RefTypeRef) {
+          // Nested adapter is null when a blob-mode object was projected out (or is SQL/JSON null).
+          w.println("{");
+          w.indent();
+          w.println("RowAdapter nested = row.object(\"" + field + ".\");");
+          w.println("if (nested != null) builder." + field + "(" + readExpr("nested", "", tr) + ");");
+          w.outdent();
+          w.println("}");
+          continue;
+        }
+        // Fields absent from the row (left out by a query projection) stay unset.
+        if (prim != null) {
+          // Primitive accessor skips the UserType lookup and reads the cell once; wasNull keeps SQL/JSON null.
+          String getter = "get" + Character.toUpperCase(prim.charAt(0)) + prim.substring(1);
+          w.println("if (row.has(\"" + field + "\")) {");
+          w.indent();
+          w.println("var v = row." + getter + "(\"" + field + "\");");
+          w.println("builder." + field + "(row.wasNull() ? null : v);");
+          w.outdent();
+          w.println("}");
+          continue;
+        }
         String readExpr = readExpr("row", field, tr);
-        w.println("builder." + field + "(" + readExpr + ");");
+        w.println("if (row.has(\"" + field + "\")) builder." + field + "(" + readExpr + ");");
       }
       w.println("return builder.build();");
 
@@ -102,8 +125,8 @@ final class RowReaderGenerator {
       EntityAuthoring child = reg.getEntityAuthoring(rr.refEntityAuthoringId());
       String childPojo = simple(child.javaType());
       String childRR = childPojo + "RowReader";
-      // dot-path convention: field.subfield in SELECT; so prefix adapter uses "field."
-      return childRR + ".INSTANCE.read(" + rowVar + ".object(\"" + field + ".\"))";
+      // dot-path convention: field.subfield in SELECT; the caller passes the "field." prefix adapter as rowVar
+      return childRR + ".INSTANCE.read(" + rowVar + ")";
     }
 
     if (t instanceof ListTypeRef lt) {
@@ -140,6 +163,18 @@ final class RowReaderGenerator {
     return rowVar + ".raw(\"" + field + "\")";
   }
 
+  /** Primitive java type with a matching RowAdapter accessor for a scalar user type, else null. */
+  private static String primitiveAccessor(String userTypeId) {
+    if (userTypeId == null) return null;
+    return switch (userTypeId) {
+      case "int" -> "int";
+      case "long" -> "long";
+      case "double" -> "double";
+      case "bool" -> "boolean";
+      default -> null;
+    };
+  }
+
   private static String typeId(TypeRef t) {
     if (t == null) return "json";
     if (t instanceof ScalarTypeRef s) return s.userTypeId();
@@ -0,0 +1,86 @@
+package io.intellixity.nativa.persistence.codegen;
+
+import io.intellixity.nativa.persistence.authoring.*;
+import io.intellixity.nativa.persistence.mapping.RowAdapter;
+import io.intellixity.nativa.persistence.mapping.RowAdapters;
+import io.intellixity.nativa.persistence.mapping.RowReader;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class RowReaderGeneratorTest {
+
+  /** Delegating adapter that counts how often cells are read. */
+  private static final class Counting implements RowAdapter {
+    final RowAdapter base;
+    int reads;
+
+    Counting(RowAdapter base) { this.base = base; }
+
+    @Override public UserTypeRegistry userTypes() { return base.userTypes(); }
+    @Override public boolean isNull(String path) { reads++; return base.isNull(path); }
+    @Override public Object raw(String path) { reads++; return base.raw(path); }
+    @Override public long getLong(String path) { reads++; return base.getLong(path); }
+    @Override public int getInt(String path) { reads++; return base.getInt(path); }
+    @Override public boolean getBoolean(String path) { reads++; return base.getBoolean(path); }
+    @Override public boolean wasNull() { return base.wasNull(); }
+    @Override public boolean has(String path) { return base.has(path); }
+    @Override public RowAdapter object(String pathOrPrefix) { return base.object(pathOrPrefix); }
+    @Override public Iterable<Object> arrayRaw(String path) { return base.arrayRaw(path); }
+    @Override public Map<String, Object> map(String path) { return base.map(path); }
+  }
+
+  @Test
+  void generatedReaderReadsPrimitiveCellsOnceAndKeepsNull() throws Exception {
+    EntityAuthoring ea = new EntityAuthoring("Item", AuthoringKind.ENTITY, "items", "gen.Item", true,
+        Map.of(
+            "id", new FieldDef(new ScalarTypeRef("long", Map.of()), false, true),
+            "qty", new FieldDef(new ScalarTypeRef("int", Map.of()), true, false),
+            "active", new FieldDef(new ScalarTypeRef("bool", Map.of()), true, false)),
+        Map.of());
+    AuthoringRegistry reg = new InMemoryAuthoringRegistry(List.of(ea));
+
+    Path src = Files.createTempDirectory("nativa-codegen-src");
+    Path out = Files.createTempDirectory("nativa-codegen-out");
+    new PojoGenerator(reg).generatePojoIfNeeded(ea, src);
+    new RowReaderGenerator(reg).generateRowReader(ea, src);
+
+    List<String> args = new ArrayList<>(List.of("-proc:none", "-cp", System.getProperty("java.class.path"),
+        "-d", out.toString()));
+    try (Stream<Path> files = Files.walk(src)) {
+      files.filter(p -> p.toString().endsWith(".java")).forEach(p -> args.add(p.toString()));
+    }
+    JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+    assertEquals(0, javac.run(null, null, null, args.toArray(String[]::new)));
+
+    try (URLClassLoader cl = new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader())) {
+      @SuppressWarnings("unchecked")
+      RowReader<Object> reader = (RowReader<Object>) cl.loadClass("gen.ItemRowReader").getField("INSTANCE").get(null);
+
+      Map<String, Object> cells = new HashMap<>();
+      cells.put("id", 7L);
+      cells.put("qty", null);
+      cells.put("active", true);
+      Counting row = new Counting(RowAdapters.fromMap(cells, null));
+      Object item = reader.read(row);
+
+      Class<?> type = item.getClass();
+      assertEquals(List.of(7L, true), List.of(type.getMethod("id").invoke(item), type.getMethod("active").invoke(item)));
+      assertNull(type.getMethod("qty").invoke(item));
+      // One read per cell: nulls come from wasNull(), not a second isNull() lookup.
+      assertEquals(3, row.reads);
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package io.intellixity.nativa.persistence.authoring;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public record FieldDef(
@@ -22,5 +24,22 @@ public record FieldDef(
   public FieldDef(TypeRef type, boolean nullable, boolean key, boolean autoGenerated) {
     this(type, nullable, key, autoGenerated, Map.of());
   }
+
+  /** Governance context keys from {@code attrs.governanceKey} (one key or a list of keys); empty if none. */
+  public List<String> governanceKeys() {
+    Object raw = attrs.get("governanceKey");
+    if (raw == null) return List.of();
+    if (raw instanceof Iterable<?> it) {
+      List<String> out = new ArrayList<>();
+      for (Object o : it) {
+        if (o == null) continue;
+        String t = String.valueOf(o).trim();
+        if (!t.isEmpty()) out.add(t);
+      }
+      return List.copyOf(out);
+    }
+    String t = String.valueOf(raw).trim();
+    return t.isEmpty() ? List.of() : List.of(t);
+  }
 }
 
@@ -1,12 +1,19 @@
 package io.intellixity.nativa.persistence.exec;
 
 import io.intellixity.nativa.persistence.exec.handle.EngineHandle;
+import io.intellixity.nativa.persistence.query.PageResult;
 import io.intellixity.nativa.persistence.query.Query;
+import io.intellixity.nativa.persistence.query.Slice;
+import io.intellixity.nativa.persistence.query.aggregation.AggregateRow;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
-public interface DataEngine<H extends EngineHandle<?>> {
+public interface DataEngine<H extends EngineHandle<?>> extends AutoCloseable {
   /** Returns the engine handle used by this instance. */
   H handle();
 
@@ -21,13 +28,135 @@ public interface DataEngine<H extends EngineHandle<?>> {
     return inTx(defaultPropagation(), work);
   }
 
+  /** Run work within a transaction boundary with extra {@link TxOptions}; default ignores the options. */
+  default <T> T inTx(Propagation propagation, TxOptions options, Supplier<T> work) {
+    return inTx(propagation, work);
+  }
+
   <T> List<T> select(EntityViewRef ref, Query query);
 
+  /**
+   * Lazily stream rows instead of materializing a list.\n
+   *
+   * The returned stream holds backend resources (cursor/connection) and must be closed
+   * (try-with-resources). Default falls back to {@link #select(EntityViewRef, Query)}.\n
+   */
+  default <T> Stream<T> stream(EntityViewRef ref, Query query) {
+    return this.<T>select(ref, query).stream();
+  }
+
   long count(EntityViewRef ref, Query query);
 
+  /**
+   * Keyset page for a {@link io.intellixity.nativa.persistence.query.SeekPage} query plus a signed cursor
+   * for the next page, built from the sort values of the last row.\n
+   *
+   * Continue with {@code query.withCursor(slice.nextCursor())} and the same sort.\n
+   */
+  default <T> Slice<T> selectSlice(EntityViewRef ref, Query query) {
+    throw new UnsupportedOperationException("selectSlice is not supported by " + getClass().getName());
+  }
+
+  /**
+   * Rows whose key field ({@code FieldDef.key()}) is one of {@code keys}, keyed by that value; keys without a
+   * row are absent. Keys must have the key field's Java type (e.g. UUID).\n
+   *
+   * Engines split large key sets into fixed-size IN chunks so every full chunk reuses one statement.\n
+   */
+  default <K, T> Map<K, T> findByIds(EntityViewRef ref, Collection<? extends K> keys) {
+    return findByIds(ref, keys, new Query());
+  }
+
+  /**
+   * {@link #findByIds(EntityViewRef, Collection)} restricted by {@code query.filter()} and narrowed to
+   * {@code query.projection()} (the key field is always read); sort and page are ignored.\n
+   */
+  default <K, T> Map<K, T> findByIds(EntityViewRef ref, Collection<? extends K> keys, Query query) {
+    throw new UnsupportedOperationException("findByIds is not supported by " + getClass().getName());
+  }
+
+  /**
+   * Rows for {@code query.page()} plus the total count of the filtered query.\n
+   *
+   * Engines answer both from one statement where the backend allows it. Default runs
+   * {@link #select(EntityViewRef, Query)} and {@link #count(EntityViewRef, Query)}.\n
+   */
+  default <T> PageResult<T> selectPage(EntityViewRef ref, Query query) {
+    List<T> rows = select(ref, query);
+    return new PageResult<>(rows, count(ref, query));
+  }
+
+  /**
+   * Grouped aggregates for {@code query.groupBy()}, computed by the backend.\n
+   *
+   * The query filter applies before grouping, {@code groupBy.having()} after; sort fields may name group
+   * fields or aggregate aliases.\n
+   */
+  default List<AggregateRow> aggregate(EntityViewRef ref, Query query) {
+    throw new UnsupportedOperationException("aggregate is not supported by " + getClass().getName());
+  }
+
   /** Insert a POJO. If the ID is auto-generated, the POJO is returned with ID populated. */
   <T> T insert(EntityViewRef ref, T entity);
 
+  /**
+   * Run {@code work} with one backend connection pinned for its non-transactional reads, instead of one pool
+   * checkout per read. No transaction is opened; transactions started inside may reuse the connection.\n
+   *
+   * Default runs {@code work} as is (backends without pooled sessions).\n
+   */
+  default <T> T withConnection(Supplier<T> work) {
+    return work.get();
+  }
+
+  /**
+   * Run engine work asynchronously (fan-out of independent reads/writes).\n
+   *
+   * Default runs each task on its own virtual thread. Engines bound to a connection pool limit how many
+   * tasks run at once per {@link EngineHandle} ({@link EngineHandle#asyncConcurrency()}) and run work inline
+   * when called inside a transaction of this engine, since the transaction is not shared across threads.
+   * Wrappers re-bind their scoped context (e.g. governance) inside the task.\n
+   */
+  default <T> CompletableFuture<T> async(Supplier<T> work) {
+    return CompletableFuture.supplyAsync(work, Thread::startVirtualThread);
+  }
+
+  /**
+   * Snapshot of the caller's scoped context (e.g. governance) for work that runs later on another thread,
+   * via {@link #inContext}. Snapshots are equal when they bind equivalent contexts. Default: null (none).\n
+   */
+  default Object captureContext() {
+    return null;
+  }
+
+  /**
+   * True when bound {@link SessionVariables} reach the backend session (e.g. Postgres {@code set_config}), so the
+   * store can enforce them. Default: false (they are ignored).\n
+   */
+  default boolean supportsSessionVariables() {
+    return false;
+  }
+
+  /** Run {@code work} with a {@link #captureContext()} snapshot re-bound. Default runs it as is. */
+  default <T> T inContext(Object context, Supplier<T> work) {
+    return work.get();
+  }
+
+  /** {@link #select} via {@link #async}. */
+  default <T> CompletableFuture<List<T>> selectAsync(EntityViewRef ref, Query query) {
+    return async(() -> this.<T>select(ref, query));
+  }
+
+  /** {@link #count} via {@link #async}. */
+  default CompletableFuture<Long> countAsync(EntityViewRef ref, Query query) {
+    return async(() -> count(ref, query));
+  }
+
+  /** {@link #insert} via {@link #async}. */
+  default <T> CompletableFuture<T> insertAsync(EntityViewRef ref, T entity) {
+    return async(() -> insert(ref, entity));
+  }
+
   /** Bulk insert. For now returns void (future: return failed objects). */
   <T> void bulkInsert(EntityViewRef ref, List<T> entities);
 
@@ -44,6 +173,14 @@ public interface DataEngine<H extends EngineHandle<?>> {
   <T> long updateByCriteria(EntityViewRef ref, Query query, T entity);
 
   long deleteByCriteria(EntityViewRef ref, Query query);
+
+  /**
+   * Retire this engine: wait for in-flight operations, then release engine-owned resources.\n
+   *
+   * Does not close {@link #handle()}; handle owners (e.g. a resolver cache) close it after the engine.\n
+   */
+  @Override
+  default void close() {}
 }
 
 
@@ -0,0 +1,192 @@
+package io.intellixity.nativa.persistence.exec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DataLoader-style coalescer for key lookups on one entity view.\n
+ *
+ * Single-key {@link #load} calls made within {@code window} of each other (from any thread, typically virtual
+ * threads fanned out by one request) are merged into one {@link DataEngine#findByIds} call; duplicate keys in a
+ * batch share one future. A batch is sent when the window closes, when it reaches {@code maxBatch} keys, or on
+ * {@link #dispatch()}. Results are not cached across batches.\n
+ *
+ * Batches run through {@link DataEngine#async}, so they carry the scoped context (e.g. governance) of the call
+ * that opened the batch: keep one loader per context (e.g. per request), never share one across tenants.
+ * Inside a transaction {@code async} runs inline, so lookups are not coalesced there.\n
+ */
+public final class KeyBatchLoader<K, T> {
+  /** Default time a batch stays open for more keys. */
+  public static final Duration DEFAULT_WINDOW = Duration.ofMillis(2);
+  /** Default max keys per batch. */
+  public static final int DEFAULT_MAX_BATCH = 500;
+
+  private final DataEngine<?> engine;
+  private final EntityViewRef ref;
+  private final long windowNanos;
+  private final int maxBatch;
+  private final ReentrantLock lock = new ReentrantLock();
+  private Batch<K, T> open;
+
+  private static final class Batch<K, T> {
+    final Map<K, CompletableFuture<T>> pending = new LinkedHashMap<>();
+    boolean sent;
+  }
+
+  public KeyBatchLoader(DataEngine<?> engine, EntityViewRef ref) {
+    this(engine, ref, DEFAULT_WINDOW, DEFAULT_MAX_BATCH);
+  }
+
+  public KeyBatchLoader(DataEngine<?> engine, EntityViewRef ref, Duration window, int maxBatch) {
+    this.engine = Objects.requireNonNull(engine, "engine");
+    this.ref = Objects.requireNonNull(ref, "ref");
+    Objects.requireNonNull(window, "window");
+    if (window.isNegative()) throw new IllegalArgumentException("window must be >= 0");
+    if (maxBatch <= 0) throw new IllegalArgumentException("maxBatch must be > 0");
+    this.windowNanos = window.toNanos();
+    this.maxBatch = maxBatch;
+  }
+
+  /** Row for {@code key} (null when absent), loaded together with concurrent lookups. */
+  public CompletableFuture<T> load(K key) {
+    Objects.requireNonNull(key, "key");
+    Batch<K, T> opened = null;
+    Batch<K, T> full = null;
+    CompletableFuture<T> f;
+    lock.lock();
+    try {
+      if (open == null) {
+        open = new Batch<>();
+        opened = open;
+      }
+      f = open.pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+      if (open.pending.size() >= maxBatch) {
+        full = open;
+        open = null;
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (opened != null && opened != full) {
+      Batch<K, T> b = opened;
+      Thread caller = Thread.currentThread();
+      Object context = engine.captureContext();
+      // Arm the window timer from a short task instead of sleeping in it: a sleeping task would hold an async
+      // permit for the whole window. Inline (inside a transaction) the batch is sent at once.
+      schedule(b, () -> {
+        if (windowNanos == 0 || Thread.currentThread() == caller) send(b);
+        else sendAfterWindow(b, context);
+      });
+    }
+    if (full != null) {
+      Batch<K, T> b = full;
+      schedule(b, () -> send(b));
+    }
+    return f;
+  }
+
+  /** Blocking {@link #load}. */
+  public T get(K key) {
+    try {
+      return load(key).join();
+    } catch (CompletionException ce) {
+      Throwable c = ce.getCause();
+      if (c instanceof RuntimeException re) throw re;
+      if (c instanceof Error e) throw e;
+      throw ce;
+    }
+  }
+
+  /** Convenience: load all {@code keys} through this loader (they join the open batch). */
+  public Map<K, T> getAll(Collection<? extends K> keys) {
+    Map<K, CompletableFuture<T>> futures = new LinkedHashMap<>();
+    for (K k : keys) futures.put(k, load(k));
+    Map<K, T> out = new LinkedHashMap<>();
+    for (var e : futures.entrySet()) {
+      T v = e.getValue().join();
+      if (v != null) out.put(e.getKey(), v);
+    }
+    return out;
+  }
+
+  /** Send the open batch now instead of waiting for the window (e.g. at the end of a fan-out scope). */
+  public void dispatch() {
+    Batch<K, T> b;
+    lock.lock();
+    try {
+      b = open;
+      open = null;
+    } finally {
+      lock.unlock();
+    }
+    if (b != null) send(b);
+  }
+
+  private void send(Batch<K, T> b) {
+    List<K> keys;
+    lock.lock();
+    try {
+      if (b.sent) return;
+      b.sent = true;
+      if (open == b) open = null;
+      keys = new ArrayList<>(b.pending.keySet());
+    } finally {
+      lock.unlock();
+    }
+    try {
+      Map<K, T> rows = engine.findByIds(ref, keys);
+      for (var e : b.pending.entrySet()) e.getValue().complete(rows.get(e.getKey()));
+    } catch (Throwable t) {
+      for (CompletableFuture<T> f : b.pending.values()) f.completeExceptionally(t);
+    }
+  }
+
+  /** Timer thread: re-bind the opener's context and send {@code b} once the window has passed. */
+  private void sendAfterWindow(Batch<K, T> b, Object context) {
+    CompletableFuture.delayedExecutor(windowNanos, TimeUnit.NANOSECONDS, Thread::startVirtualThread).execute(() -> {
+      try {
+        engine.inContext(context, () -> {
+          schedule(b, () -> send(b));
+          return null;
+        });
+      } catch (Throwable t) {
+        fail(b, t);
+      }
+    });
+  }
+
+  /** Run {@code task} via {@link DataEngine#async}; a batch that cannot be scheduled fails instead of hanging. */
+  private void schedule(Batch<K, T> b, Runnable task) {
+    try {
+      engine.async(() -> {
+        task.run();
+        return null;
+      }).whenComplete((v, t) -> {
+        if (t != null) fail(b, t);
+      });
+    } catch (Throwable t) {
+      fail(b, t);
+    }
+  }
+
+  private void fail(Batch<K, T> b, Throwable t) {
+    lock.lock();
+    try {
+      if (b.sent) return;
+      b.sent = true;
+      if (open == b) open = null;
+    } finally {
+      lock.unlock();
+    }
+    for (CompletableFuture<T> f : b.pending.values()) f.completeExceptionally(t);
+  }
+}
@@ -0,0 +1,45 @@
+package io.intellixity.nativa.persistence.exec;
+
+import java.lang.ScopedValue;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Scoped backend session variables (Java 25 ScopedValue).\n
+ *
+ * Engines that support them push the bound variables into the session before running work on it
+ * (e.g. Postgres {@code set_config}); governance wrappers use this to enforce row-level security without
+ * changing statement text.\n
+ */
+public final class SessionVariables {
+  private SessionVariables() {}
+
+  /** Name prefix for governance keys (e.g. tenantId -> {@code nativa.tenantId}). */
+  public static final String GOVERNANCE_PREFIX = "nativa.";
+
+  private static final ScopedValue<Map<String, String>> VARS = ScopedValue.newInstance();
+
+  /** Session variable name for a governance context key. */
+  public static String governanceName(String key) {
+    return GOVERNANCE_PREFIX + key;
+  }
+
+  /** Execute work with {@code vars} bound (replaces any outer binding). */
+  public static <T> T where(Map<String, String> vars, Supplier<T> work) {
+    Objects.requireNonNull(vars, "vars");
+    Objects.requireNonNull(work, "work");
+    try {
+      return ScopedValue.where(VARS, Map.copyOf(vars)).call(work::get);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  /** Variables bound in the current scope (empty if none). */
+  public static Map<String, String> current() {
+    return VARS.isBound() ? VARS.get() : Map.of();
+  }
+}
@@ -0,0 +1,24 @@
+package io.intellixity.nativa.persistence.exec;
+
+/**
+ * Optional transaction behavior for {@link DataEngine#inTx(Propagation, TxOptions, java.util.function.Supplier)}.\n
+ *
+ * @param coalesceWrites when > 0, consecutive {@code insert}/{@code upsert} calls on the same entity view are
+ *                       buffered and sent as one batch of at most this many rows. The buffer is flushed when a
+ *                       different write arrives, before a read of the same source, before any other write, at
+ *                       the end of the block (before commit) and when full. Generated ids are set on the
+ *                       entities at flush, not when {@code insert} returns; constraint errors surface at flush.
+ *                       0 (default) sends every write immediately.
+ */
+public record TxOptions(int coalesceWrites) {
+  public static final TxOptions DEFAULTS = new TxOptions(0);
+
+  public TxOptions {
+    if (coalesceWrites < 0) throw new IllegalArgumentException("coalesceWrites must be >= 0");
+  }
+
+  /** Options buffering up to {@code maxRows} same-shape writes per batch. */
+  public static TxOptions coalescing(int maxRows) {
+    return new TxOptions(maxRows);
+  }
+}
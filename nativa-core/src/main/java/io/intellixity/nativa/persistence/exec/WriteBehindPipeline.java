@@ -0,0 +1,207 @@
+package io.intellixity.nativa.persistence.exec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Group-commit write-behind pipeline for high-volume, loss-tolerant ingest (telemetry, events).\n
+ *
+ * Producers (typically many virtual threads) enqueue {@link #insert}/{@link #upsert} calls into a bounded queue and
+ * get a future per write. One flusher (a virtual thread) drains the queue into transactions of at most
+ * {@code maxBatch} writes, or whatever arrived within {@code maxDelay} of the first one; consecutive writes to the
+ * same entity view go to the backend as one batch ({@link TxOptions#coalescing}). Writes are grouped by the scoped
+ * context captured at enqueue ({@link DataEngine#captureContext()}, e.g. governance) and each group commits in its
+ * own transaction; a failed transaction fails the futures of its group.\n
+ *
+ * Backpressure: enqueueing parks the caller while the queue is full. Writes still queued when the process dies are
+ * lost; {@link #close()} flushes them. Keep one pipeline per engine (handle).\n
+ */
+public final class WriteBehindPipeline implements AutoCloseable {
+  /** Default queue capacity (writes). */
+  public static final int DEFAULT_CAPACITY = 10_000;
+  /** Default max writes per transaction. */
+  public static final int DEFAULT_MAX_BATCH = 500;
+  /** Default time the flusher waits for a batch to fill. */
+  public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(10);
+
+  /** Point-in-time metrics (latencies are per flush: all transactions of one drained batch). */
+  public record Stats(int queueDepth, long flushes, long writes, long failedWrites,
+                      Duration lastFlushLatency, Duration maxFlushLatency) {}
+
+  private record Write(EntityViewRef ref, Object entity, boolean upsert, Object context,
+                       CompletableFuture<Object> done) {}
+
+  private static final Write STOP = new Write(null, null, false, null, null);
+
+  private final DataEngine<?> engine;
+  private final int maxBatch;
+  private final long maxDelayNanos;
+  private final BlockingQueue<Write> queue;
+  // Read: enqueue; write: close (no write lands behind the STOP marker).\n
+  private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+  private final Thread flusher;
+  private volatile boolean closed;
+
+  private final AtomicLong flushes = new AtomicLong();
+  private final AtomicLong writes = new AtomicLong();
+  private final AtomicLong failedWrites = new AtomicLong();
+  private final AtomicLong maxFlushNanos = new AtomicLong();
+  private volatile long lastFlushNanos;
+
+  public WriteBehindPipeline(DataEngine<?> engine) {
+    this(engine, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY);
+  }
+
+  public WriteBehindPipeline(DataEngine<?> engine, int capacity, int maxBatch, Duration maxDelay) {
+    this.engine = Objects.requireNonNull(engine, "engine");
+    Objects.requireNonNull(maxDelay, "maxDelay");
+    if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+    if (maxBatch <= 0) throw new IllegalArgumentException("maxBatch must be > 0");
+    if (maxDelay.isNegative()) throw new IllegalArgumentException("maxDelay must be >= 0");
+    this.maxBatch = maxBatch;
+    this.maxDelayNanos = maxDelay.toNanos();
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.flusher = Thread.ofVirtual().name("nativa-write-behind").start(this::run);
+  }
+
+  /** Queue {@code entity} for insert; the future completes with it (generated id applied) once committed. */
+  public <T> CompletableFuture<T> insert(EntityViewRef ref, T entity) {
+    return enqueue(ref, entity, false);
+  }
+
+  /** Queue {@code entity} for upsert; the future completes with it once committed. */
+  public <T> CompletableFuture<T> upsert(EntityViewRef ref, T entity) {
+    return enqueue(ref, entity, true);
+  }
+
+  /** Writes waiting to be flushed. */
+  public int queueDepth() {
+    return queue.size();
+  }
+
+  public Stats stats() {
+    return new Stats(queueDepth(), flushes.get(), writes.get(), failedWrites.get(),
+        Duration.ofNanos(lastFlushNanos), Duration.ofNanos(maxFlushNanos.get()));
+  }
+
+  /** Stop accepting writes, flush everything queued and wait for the flusher (also on repeated calls). */
+  @Override
+  public void close() {
+    boolean first;
+    gate.writeLock().lock();
+    try {
+      first = !closed;
+      closed = true;
+    } finally {
+      gate.writeLock().unlock();
+    }
+    try {
+      // No producer gets past the gate any more, so STOP lands last; it waits for room like any write.
+      if (first) queue.put(STOP);
+      flusher.join();
+    } catch (InterruptedException e) {
+      // Stop waiting: the interrupted flusher flushes what is queued and exits.
+      flusher.interrupt();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> CompletableFuture<T> enqueue(EntityViewRef ref, T entity, boolean upsert) {
+    Objects.requireNonNull(ref, "ref");
+    Objects.requireNonNull(entity, "entity");
+    CompletableFuture<Object> done = new CompletableFuture<>();
+    Write w = new Write(ref, entity, upsert, engine.captureContext(), done);
+    gate.readLock().lock();
+    try {
+      if (closed) throw new IllegalStateException("WriteBehindPipeline is closed");
+      queue.put(w);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } finally {
+      gate.readLock().unlock();
+    }
+    return (CompletableFuture<T>) (CompletableFuture<?>) done;
+  }
+
+  private void run() {
+    List<Write> batch = new ArrayList<>(maxBatch);
+    boolean stopping = false;
+    while (!stopping) {
+      Write first;
+      try {
+        first = queue.take();
+      } catch (InterruptedException e) {
+        break;
+      }
+      if (first == STOP) break;
+      batch.add(first);
+      long deadline = System.nanoTime() + maxDelayNanos;
+      while (batch.size() < maxBatch) {
+        Write w;
+        try {
+          long left = deadline - System.nanoTime();
+          w = (left <= 0) ? queue.poll() : queue.poll(left, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+          w = null;
+          stopping = true;
+        }
+        if (w == null) break;
+        if (w == STOP) {
+          stopping = true;
+          break;
+        }
+        batch.add(w);
+      }
+      flush(batch);
+      batch.clear();
+    }
+    // Closing (or interrupted): flush what is left.
+    List<Write> rest = new ArrayList<>();
+    queue.drainTo(rest);
+    rest.remove(STOP);
+    for (int from = 0; from < rest.size(); from += maxBatch) {
+      flush(rest.subList(from, Math.min(rest.size(), from + maxBatch)));
+    }
+  }
+
+  private void flush(List<Write> batch) {
+    long start = System.nanoTime();
+    Map<Object, List<Write>> byContext = new LinkedHashMap<>();
+    for (Write w : batch) byContext.computeIfAbsent(w.context(), k -> new ArrayList<>()).add(w);
+
+    for (var e : byContext.entrySet()) {
+      List<Write> group = e.getValue();
+      try {
+        engine.inContext(e.getKey(), () -> engine.inTx(Propagation.REQUIRED, TxOptions.coalescing(maxBatch), () -> {
+          for (Write w : group) {
+            if (w.upsert()) engine.upsert(w.ref(), w.entity());
+            else engine.insert(w.ref(), w.entity());
+          }
+          return null;
+        }));
+        writes.addAndGet(group.size());
+        for (Write w : group) w.done().complete(w.entity());
+      } catch (Throwable t) {
+        failedWrites.addAndGet(group.size());
+        for (Write w : group) w.done().completeExceptionally(t);
+      }
+    }
+
+    long took = System.nanoTime() - start;
+    lastFlushNanos = took;
+    maxFlushNanos.accumulateAndGet(took, Math::max);
+    flushes.incrementAndGet();
+  }
+}
@@ -6,8 +6,14 @@ package io.intellixity.nativa.persistence.exec.handle;
  * Example:\n
  * - JDBC: client() is javax.sql.DataSource, namespace() is schema\n
  * - Mongo: client() is MongoClient, namespace() is database\n
+ *
+ * Lifecycle: handles that own their client (e.g. a per-tenant pool) release it in {@link #close()};
+ * the default is a no-op so shared clients stay open.\n
  */
-public interface EngineHandle<TClient> {
+public interface EngineHandle<TClient> extends AutoCloseable {
+  /** Default {@link #asyncConcurrency()}. */
+  int DEFAULT_ASYNC_CONCURRENCY = 8;
+
   /** Unique identifier for this handle (useful for logging/caching). */
   String id();
 
@@ -19,6 +25,18 @@ public interface EngineHandle<TClient> {
 
   /** True if this backend store contains multiple tenants in the same physical store. */
   boolean multiTenant();
+
+  /**
+   * Max number of async engine operations ({@code DataEngine.async}) running against this handle at once;
+   * keep it below the pool size so async bursts leave connections for synchronous callers.\n
+   */
+  default int asyncConcurrency() {
+    return DEFAULT_ASYNC_CONCURRENCY;
+  }
+
+  /** Release resources owned by this handle (idempotent). */
+  @Override
+  default void close() {}
 }
 
 
@@ -31,6 +31,30 @@ public final class Coercions {
     throw new IllegalArgumentException("Expected map but got: " + raw.getClass());
   }
 
+  public static long toLong(Object raw) {
+    if (raw instanceof Number n) return n.longValue();
+    if (raw instanceof Boolean b) return b ? 1L : 0L;
+    return Long.parseLong(String.valueOf(raw).trim());
+  }
+
+  public static int toInt(Object raw) {
+    if (raw instanceof Number n) return n.intValue();
+    if (raw instanceof Boolean b) return b ? 1 : 0;
+    return Integer.parseInt(String.valueOf(raw).trim());
+  }
+
+  public static double toDouble(Object raw) {
+    if (raw instanceof Number n) return n.doubleValue();
+    return Double.parseDouble(String.valueOf(raw).trim());
+  }
+
+  public static boolean toBoolean(Object raw) {
+    if (raw instanceof Boolean b) return b;
+    if (raw instanceof Number n) return n.longValue() != 0L;
+    String s = String.valueOf(raw).trim();
+    return "true".equalsIgnoreCase(s) || "t".equalsIgnoreCase(s) || "1".equals(s);
+  }
+
   public static <T> T[] toArray(Iterable<Object> raw, IntFunction<T[]> factory, Function<Object,T> decode) {
     if (raw == null) return null;
     List<T> list = new ArrayList<>();
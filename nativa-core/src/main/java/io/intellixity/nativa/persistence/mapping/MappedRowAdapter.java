@@ -35,6 +35,13 @@ public final class MappedRowAdapter implements RowAdapter {
     return base.raw(labelFor(path));
   }
 
+  @Override public boolean has(String path) { return base.has(labelFor(path)); }
+  @Override public long getLong(String path) { return base.getLong(labelFor(path)); }
+  @Override public int getInt(String path) { return base.getInt(labelFor(path)); }
+  @Override public double getDouble(String path) { return base.getDouble(labelFor(path)); }
+  @Override public boolean getBoolean(String path) { return base.getBoolean(labelFor(path)); }
+  @Override public boolean wasNull() { return base.wasNull(); }
+
   @Override
   public RowAdapter object(String pathOrPrefix) {
     String p = pathOrPrefix == null ? "" : pathOrPrefix;
@@ -0,0 +1,27 @@
+package io.intellixity.nativa.persistence.mapping;
+
+/**
+ * Optional {@link RowAdapter} capability: positional column access.\n
+ *
+ * Backends with a fixed column layout per result set (JDBC) implement this so that
+ * {@link ViewMappedRowAdapter} can resolve each property path to an ordinal once and then read by index.\n
+ */
+public interface OrdinalRowAdapter extends RowAdapter {
+  /** 1-based ordinal of a column label, or -1 if the current result has no such column. */
+  int ordinalOf(String label);
+
+  Object rawAt(int ordinal);
+
+  default boolean isNullAt(int ordinal) {
+    return rawAt(ordinal) == null;
+  }
+
+  /** Positional primitive reads; null handling via {@link #wasNull()} like the path-based accessors. */
+  long getLongAt(int ordinal);
+
+  int getIntAt(int ordinal);
+
+  double getDoubleAt(int ordinal);
+
+  boolean getBooleanAt(int ordinal);
+}
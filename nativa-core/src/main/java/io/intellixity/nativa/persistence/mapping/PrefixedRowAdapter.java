@@ -17,6 +17,12 @@ public final class PrefixedRowAdapter implements RowAdapter {
   @Override public UserTypeRegistry userTypes() { return base.userTypes(); }
   @Override public boolean isNull(String path) { return base.isNull(prefix + (path == null ? "" : path)); }
   @Override public Object raw(String path) { return base.raw(prefix + (path == null ? "" : path)); }
+  @Override public boolean has(String path) { return base.has(prefix + (path == null ? "" : path)); }
+  @Override public long getLong(String path) { return base.getLong(prefix + (path == null ? "" : path)); }
+  @Override public int getInt(String path) { return base.getInt(prefix + (path == null ? "" : path)); }
+  @Override public double getDouble(String path) { return base.getDouble(prefix + (path == null ? "" : path)); }
+  @Override public boolean getBoolean(String path) { return base.getBoolean(prefix + (path == null ? "" : path)); }
+  @Override public boolean wasNull() { return base.wasNull(); }
 
   @Override
   public RowAdapter object(String pathOrPrefix) {
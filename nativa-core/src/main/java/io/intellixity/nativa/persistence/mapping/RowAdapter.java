@@ -11,6 +11,14 @@ public interface RowAdapter {
   boolean isNull(String path);
   Object raw(String path);
 
+  /**
+   * Whether the row carries {@code path} at all (a null value still counts).\n
+   * False for columns/fields left out by a query projection; generated readers skip those.\n
+   */
+  default boolean has(String path) {
+    return true;
+  }
+
   default <T> T decode(String path, String userTypeId) {
     @SuppressWarnings("unchecked")
     UserType<T> t = (UserType<T>) userTypes().get(userTypeId);
@@ -23,6 +31,39 @@ public interface RowAdapter {
     return t.decode(raw);
   }
 
+  // --- Primitive accessors (no boxing / UserType lookup for int, long, double, bool) ---
+
+  /** Read a long; returns 0 for SQL/JSON null (check {@link #wasNull()} right after the call). */
+  default long getLong(String path) {
+    Object v = raw(path);
+    return (v == null) ? 0L : Coercions.toLong(v);
+  }
+
+  /** Read an int; returns 0 for null (check {@link #wasNull()}). */
+  default int getInt(String path) {
+    Object v = raw(path);
+    return (v == null) ? 0 : Coercions.toInt(v);
+  }
+
+  /** Read a double; returns 0 for null (check {@link #wasNull()}). */
+  default double getDouble(String path) {
+    Object v = raw(path);
+    return (v == null) ? 0d : Coercions.toDouble(v);
+  }
+
+  /** Read a boolean; returns false for null (check {@link #wasNull()}). */
+  default boolean getBoolean(String path) {
+    Object v = raw(path);
+    return v != null && Coercions.toBoolean(v);
+  }
+
+  /**
+   * True if the last primitive accessor call on this adapter read a null value (JDBC wasNull semantics).\n
+   * Generated readers rely on it for nullable primitive fields; adapters keeping the default accessors must
+   * remember whether the value they last read was null.\n
+   */
+  boolean wasNull();
+
   RowAdapter object(String pathOrPrefix);
   Iterable<Object> arrayRaw(String path);
   Map<String, Object> map(String path);
@@ -36,6 +36,7 @@ public final class RowAdapters {
     private final Map<String,Object> root;
     private final UserTypeRegistry userTypes;
     private final String prefix;
+    private boolean lastNull;
 
     MapRowAdapter(Map<String,Object> root, UserTypeRegistry userTypes, String prefix) {
       this.root = root;
@@ -51,6 +52,48 @@ public final class RowAdapters {
       return getByPath(root, prefix + path);
     }
 
+    @Override
+    public boolean has(String path) {
+      String full = prefix + path;
+      if (full.isBlank()) return true;
+      Object cur = root;
+      for (String p : full.split("\\.")) {
+        if (!(cur instanceof Map<?,?> m) || !m.containsKey(p)) return false;
+        cur = m.get(p);
+      }
+      return true;
+    }
+
+    @Override
+    public long getLong(String path) {
+      Object v = raw(path);
+      lastNull = (v == null);
+      return lastNull ? 0L : Coercions.toLong(v);
+    }
+
+    @Override
+    public int getInt(String path) {
+      Object v = raw(path);
+      lastNull = (v == null);
+      return lastNull ? 0 : Coercions.toInt(v);
+    }
+
+    @Override
+    public double getDouble(String path) {
+      Object v = raw(path);
+      lastNull = (v == null);
+      return lastNull ? 0d : Coercions.toDouble(v);
+    }
+
+    @Override
+    public boolean getBoolean(String path) {
+      Object v = raw(path);
+      lastNull = (v == null);
+      return !lastNull && Coercions.toBoolean(v);
+    }
+
+    @Override public boolean wasNull() { return lastNull; }
+
     @Override
     public RowAdapter object(String pathOrPrefix) {
       Object v = raw(pathOrPrefix);
@@ -97,6 +140,12 @@ public final class RowAdapters {
 
     @Override public boolean isNull(String path) { return base.isNull(x(path)); }
     @Override public Object raw(String path) { return base.raw(x(path)); }
+    @Override public boolean has(String path) { return base.has(x(path)); }
+    @Override public long getLong(String path) { return base.getLong(x(path)); }
+    @Override public int getInt(String path) { return base.getInt(x(path)); }
+    @Override public double getDouble(String path) { return base.getDouble(x(path)); }
+    @Override public boolean getBoolean(String path) { return base.getBoolean(x(path)); }
+    @Override public boolean wasNull() { return base.wasNull(); }
     @Override public RowAdapter object(String pathOrPrefix) { return base.object(x(pathOrPrefix)); }
     @Override public Iterable<Object> arrayRaw(String path) { return base.arrayRaw(x(path)); }
     @Override public Map<String, Object> map(String path) { return base.map(x(path)); }
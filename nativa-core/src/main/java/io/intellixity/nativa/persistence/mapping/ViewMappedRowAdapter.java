@@ -1,10 +1,10 @@
 package io.intellixity.nativa.persistence.mapping;
 
 import io.intellixity.nativa.persistence.authoring.ViewDef;
-import io.intellixity.nativa.persistence.authoring.ViewMappings;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * RowAdapter that:\n
@@ -12,27 +12,61 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Supports dot-path nested objects (object(\"customer.\") prefixes).\n
  * - Supports blob mode: if mapping for \"customer\" has mode=blob, then object(\"customer.\")\n
  *   materializes a nested adapter from the JSON/blob column \"customer\".\n
+ *
+ * One instance is meant to be reused for every row of a result set: path -> label resolution comes from a
+ * shared {@link ViewRowPlan}, and when the base adapter is an {@link OrdinalRowAdapter} each cell's column
+ * ordinal is resolved once per result set into a slot table indexed by read position. Readers (generated ones
+ * in particular) read the same constant paths in the same order on every row, so a cell costs a reference
+ * check and an array index. Call {@link #startRow()} after advancing the underlying cursor.\n
  */
 public final class ViewMappedRowAdapter implements RowAdapter {
   private final RowAdapter base;
-  private final ViewDef view;
-  private final Map<String, String> labelsByPath;
+  private final OrdinalRowAdapter ordinalBase;
+  private final ViewRowPlan plan;
   private final String prefix;
-
-  // Cache decoded blob objects per root path (e.g. \"customer\").\n
-  private final Map<String, RowAdapter> blobObjectCache;
+  private final RowState state;
+
+  // Slot table (per result set): local path and column ordinal of the n-th cell read in a row.\n
+  private String[] slotPaths = new String[INITIAL_SLOTS];
+  private int[] slotOrdinals = new int[INITIAL_SLOTS];
+  // Next read position, counted from the start of row slotRow.\n
+  private int slot;
+  private long slotRow;
+
+  private static final int INITIAL_SLOTS = 16;
+  // Cap for readers that never call startRow(): later reads resolve without being recorded.\n
+  private static final int MAX_SLOTS = 1024;
+
+  /** Per-result-set state shared by the root adapter and its nested children. */
+  private static final class RowState {
+    // Nested adapters per prefix (stateless across rows).\n
+    final Map<String, ViewMappedRowAdapter> children = new HashMap<>();
+    // Decoded blob objects per root path (e.g. \"customer\"); valid for the current row only.\n
+    Map<String, RowAdapter> blobs;
+    // Bumped by startRow(); each adapter restarts its read position when it sees a new row.\n
+    long row;
+  }
 
   public ViewMappedRowAdapter(RowAdapter base, ViewDef view) {
-    this(base, view, ViewMappings.labels(view), "", new ConcurrentHashMap<>());
+    this(base, ViewRowPlan.of(view));
   }
 
-  private ViewMappedRowAdapter(RowAdapter base, ViewDef view, Map<String, String> labelsByPath,
-                               String prefix, Map<String, RowAdapter> blobObjectCache) {
+  public ViewMappedRowAdapter(RowAdapter base, ViewRowPlan plan) {
+    this(base, plan, "", new RowState());
+  }
+
+  private ViewMappedRowAdapter(RowAdapter base, ViewRowPlan plan, String prefix, RowState state) {
     this.base = base;
-    this.view = view;
-    this.labelsByPath = labelsByPath;
+    this.ordinalBase = (base instanceof OrdinalRowAdapter o) ? o : null;
+    this.plan = plan;
     this.prefix = prefix == null ? "" : prefix;
-    this.blobObjectCache = blobObjectCache;
+    this.state = state;
+  }
+
+  /** Reset per-row caches (blob objects); call once per row when reusing this adapter over a cursor. */
+  public void startRow() {
+    state.row++;
+    if (state.blobs != null) state.blobs.clear();
   }
 
   @Override
@@ -42,24 +76,62 @@ public final class ViewMappedRowAdapter implements RowAdapter {
 
   @Override
   public boolean isNull(String path) {
-    return base.isNull(labelFor(path));
+    int o = ordinal(path);
+    return (o > 0) ? ordinalBase.isNullAt(o) : base.isNull(labelFor(path));
   }
 
   @Override
   public Object raw(String path) {
-    return base.raw(labelFor(path));
+    int o = ordinal(path);
+    return (o > 0) ? ordinalBase.rawAt(o) : base.raw(labelFor(path));
+  }
+
+  @Override
+  public boolean has(String path) {
+    return (ordinalBase != null) ? ordinal(path) > 0 : base.has(labelFor(path));
+  }
+
+  @Override
+  public long getLong(String path) {
+    int o = ordinal(path);
+    return (o > 0) ? ordinalBase.getLongAt(o) : base.getLong(labelFor(path));
+  }
+
+  @Override
+  public int getInt(String path) {
+    int o = ordinal(path);
+    return (o > 0) ? ordinalBase.getIntAt(o) : base.getInt(labelFor(path));
+  }
+
+  @Override
+  public double getDouble(String path) {
+    int o = ordinal(path);
+    return (o > 0) ? ordinalBase.getDoubleAt(o) : base.getDouble(labelFor(path));
+  }
+
+  @Override
+  public boolean getBoolean(String path) {
+    int o = ordinal(path);
+    return (o > 0) ? ordinalBase.getBooleanAt(o) : base.getBoolean(labelFor(path));
+  }
+
+  @Override
+  public boolean wasNull() {
+    return base.wasNull();
   }
 
   @Override
   public RowAdapter object(String pathOrPrefix) {
     String p = pathOrPrefix == null ? "" : pathOrPrefix;
-    String nextPrefix = prefix + p;
+    String nextPrefix = prefix.isEmpty() ? p : prefix + p;
 
     // Detect \"customer.\" -> rootPath \"customer\".\n
     String rootPath = stripTrailingDot(nextPrefix);
-    if (!rootPath.isEmpty() && "blob".equalsIgnoreCase(ViewMappings.mode(view, rootPath))) {
-      return blobObjectCache.computeIfAbsent(rootPath, rp -> {
-        String label = labelFor(rp);
+    if (plan.isBlob(rootPath)) {
+      if (state.blobs == null) state.blobs = new HashMap<>();
+      return state.blobs.computeIfAbsent(rootPath, rp -> {
+        String label = plan.labelFor(rp);
+        if (!base.has(label)) return null; // projected out
         Object decoded = base.decode(label, "json");
         if (!(decoded instanceof Map<?, ?>)) return null;
         @SuppressWarnings("unchecked")
@@ -69,7 +141,7 @@ public final class ViewMappedRowAdapter implements RowAdapter {
       });
     }
 
-    return new ViewMappedRowAdapter(base, view, labelsByPath, nextPrefix, blobObjectCache);
+    return state.children.computeIfAbsent(nextPrefix, np -> new ViewMappedRowAdapter(base, plan, np, state));
   }
 
   @Override
@@ -82,15 +154,34 @@ public final class ViewMappedRowAdapter implements RowAdapter {
     return base.map(labelFor(path));
   }
 
-  private String labelFor(String path) {
+  private int ordinal(String path) {
+    if (ordinalBase == null) return -1;
     String p = path == null ? "" : path;
-    String full = prefix + p;
-    String mapped = labelsByPath.get(full);
-    if (mapped != null && !mapped.equals(full)) return mapped;
+    if (slotRow != state.row) {
+      slotRow = state.row;
+      slot = 0;
+    }
+    int i = slot++;
+    if (i < slotPaths.length) {
+      String seen = slotPaths[i];
+      if (seen == p || p.equals(seen)) return slotOrdinals[i];
+    } else if (i < MAX_SLOTS) {
+      int n = Math.min(MAX_SLOTS, slotPaths.length * 2);
+      slotPaths = Arrays.copyOf(slotPaths, n);
+      slotOrdinals = Arrays.copyOf(slotOrdinals, n);
+    } else {
+      return ordinalBase.ordinalOf(labelFor(p));
+    }
+    // First row, or a reader whose reads vary by row (e.g. optional nested objects): (re)resolve this slot.
+    int o = ordinalBase.ordinalOf(labelFor(p));
+    slotPaths[i] = p;
+    slotOrdinals[i] = o;
+    return o;
+  }
 
-    String ref = ViewMappings.ref(view, full);
-    if (ref == null || ref.isBlank()) return full;
-    return deriveLabelFromRef(ref, full);
+  private String labelFor(String path) {
+    String p = path == null ? "" : path;
+    return plan.labelFor(prefix.isEmpty() ? p : prefix + p);
   }
 
   private static String stripTrailingDot(String p) {
@@ -98,23 +189,4 @@ public final class ViewMappedRowAdapter implements RowAdapter {
     if (p.endsWith(".")) return p.substring(0, p.length() - 1);
     return p;
   }
-
-  private static String deriveLabelFromRef(String ref, String fallback) {
-    // If ref is an expression, we can't reliably infer label without explicit alias.
-    // Heuristic: for `a.col` use `col`; for `col` use `col`.
-    String r = ref.trim();
-    // common cases: "t.col", "col"
-    int dot = r.lastIndexOf('.');
-    String out = (dot >= 0 && dot + 1 < r.length()) ? r.substring(dot + 1) : r;
-    // If we still have whitespace/parens, give up and use fallback.
-    for (int i = 0; i < out.length(); i++) {
-      char c = out.charAt(i);
-      if (Character.isWhitespace(c) || c == '(' || c == ')') return fallback;
-    }
-    return out;
-  }
 }
-
-
-
-
@@ -0,0 +1,67 @@
+package io.intellixity.nativa.persistence.mapping;
+
+import io.intellixity.nativa.persistence.authoring.ViewDef;
+import io.intellixity.nativa.persistence.authoring.ViewMappings;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed row-access plan for a {@link ViewDef}.\n
+ *
+ * Resolves property paths to result-set labels (and blob-mode roots) once per view instead of
+ * once per row. Safe to share across threads and result sets.\n
+ */
+public final class ViewRowPlan {
+  private final ViewDef view;
+  private final Map<String, String> labelsByPath;
+  private final Map<String, String> labelCache = new ConcurrentHashMap<>();
+  private final Map<String, Boolean> blobCache = new ConcurrentHashMap<>();
+
+  private ViewRowPlan(ViewDef view) {
+    this.view = view;
+    this.labelsByPath = ViewMappings.labels(view);
+  }
+
+  public static ViewRowPlan of(ViewDef view) {
+    return new ViewRowPlan(view);
+  }
+
+  public ViewDef view() { return view; }
+
+  /** Result-set label for a full property path (e.g. {@code customer.firstName}). */
+  public String labelFor(String fullPath) {
+    String p = fullPath == null ? "" : fullPath;
+    return labelCache.computeIfAbsent(p, this::resolveLabel);
+  }
+
+  /** True if {@code rootPath} (e.g. {@code customer}) is mapped with mode=blob. */
+  public boolean isBlob(String rootPath) {
+    if (rootPath == null || rootPath.isEmpty()) return false;
+    return blobCache.computeIfAbsent(rootPath, rp -> "blob".equalsIgnoreCase(ViewMappings.mode(view, rp)));
+  }
+
+  private String resolveLabel(String full) {
+    String mapped = labelsByPath.get(full);
+    if (mapped != null && !mapped.equals(full)) return mapped;
+
+    String ref = ViewMappings.ref(view, full);
+    if (ref == null || ref.isBlank()) return full;
+    return deriveLabelFromRef(ref, full);
+  }
+
+  private static String deriveLabelFromRef(String ref, String fallback) {
+    // If ref is an expression, we can't reliably infer label without explicit alias.
+    // Heuristic: for `a.col` use `col`; for `col` use `col`.
+    String r = ref.trim();
+    // common cases: "t.col", "col"
+    int dot = r.lastIndexOf('.');
+    String out = (dot >= 0 && dot + 1 < r.length()) ? r.substring(dot + 1) : r;
+    // If we still have whitespace/parens, give up and use fallback.
+    for (int i = 0; i < out.length(); i++) {
+      char c = out.charAt(i);
+      if (Character.isWhitespace(c) || c == '(' || c == ')') return fallback;
+    }
+    return out;
+  }
+}
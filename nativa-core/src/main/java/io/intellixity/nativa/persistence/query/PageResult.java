@@ -0,0 +1,13 @@
+package io.intellixity.nativa.persistence.query;
+
+import java.util.List;
+
+/**
+ * One page of rows plus the total number of rows matching the (unpaged) query filter.\n
+ */
+public record PageResult<T>(List<T> rows, long total) {
+  public PageResult {
+    rows = (rows == null) ? List.of() : rows;
+    if (total < 0) throw new IllegalArgumentException("total must be >= 0");
+  }
+}
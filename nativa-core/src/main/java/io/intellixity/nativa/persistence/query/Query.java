@@ -30,6 +30,12 @@ public final class Query implements QueryElement {
   public Query withPage(Page page) { this.page = page; return this; }
   public Query withProjection(List<String> projection) { this.projection = new ArrayList<>(projection == null ? List.of() : projection); return this; }
   public Query withSort(List<SortField> sort) { this.sort = new ArrayList<>(sort == null ? List.of() : sort); return this; }
+  /** Continue a keyset scan from a {@link Slice#nextCursor()} token, keeping the current page limit. */
+  public Query withCursor(String cursor) {
+    if (page == null) throw new IllegalStateException("withCursor requires a page limit; call withPage first");
+    this.page = SeekPage.continueAt(page.limit(), cursor);
+    return this;
+  }
   public Query withGroupBy(GroupBy groupBy) { this.groupBy = groupBy; return this; }
   public Query withParams(Map<String, Object> params) { this.params = new LinkedHashMap<>(params == null ? Map.of() : params); return this; }
   public Query withParam(String name, Object value) { this.params.put(name, value); return this; }
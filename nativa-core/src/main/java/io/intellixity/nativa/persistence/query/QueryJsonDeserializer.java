@@ -3,6 +3,7 @@ package io.intellixity.nativa.persistence.query;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.*;
+import io.intellixity.nativa.persistence.query.aggregation.Aggregate;
 import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
 
 import java.io.IOException;
@@ -60,11 +61,23 @@ public final class QueryJsonDeserializer extends JsonDeserializer<Query> {
     JsonNode gb = root.get("groupBy");
     if (gb != null && gb.isObject()) {
       JsonNode f = gb.get("fields");
+      List<String> out = new ArrayList<>();
       if (f != null && f.isArray()) {
-        List<String> out = new ArrayList<>();
         for (JsonNode x : f) if (x.isTextual()) out.add(x.asText());
-        q.withGroupBy(new GroupBy(out));
       }
+      List<Aggregate> aggs = new ArrayList<>();
+      JsonNode a = gb.get("aggregates");
+      if (a != null && a.isArray()) {
+        for (JsonNode x : a) {
+          if (!x.isObject()) continue;
+          String fn = textOrNull(x.get("fn"));
+          if (fn == null) throw new IllegalArgumentException("aggregate requires fn");
+          aggs.add(new Aggregate(Aggregate.Function.valueOf(fn.toUpperCase()), textOrNull(x.get("field")), textOrNull(x.get("alias"))));
+        }
+      }
+      JsonNode having = gb.get("having");
+      QueryElement h = (having == null || having.isNull()) ? null : parseElement(having, codec);
+      if ((f != null && f.isArray()) || !aggs.isEmpty()) q.withGroupBy(new GroupBy(out, aggs, h));
     }
 
     return q;
@@ -74,6 +87,8 @@ public final class QueryJsonDeserializer extends JsonDeserializer<Query> {
     String type = textOrNull(page.get("type"));
     if (type != null && type.equalsIgnoreCase("seek")) {
       int limit = intOrDefault(page.get("limit"), 50);
+      String cursor = textOrNull(page.get("cursor"));
+      if (cursor != null) return SeekPage.continueAt(limit, cursor);
       Map<String, Object> after = null;
       JsonNode a = page.get("after");
       if (a != null && a.isObject()) {
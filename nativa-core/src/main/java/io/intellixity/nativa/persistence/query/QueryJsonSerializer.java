@@ -3,6 +3,7 @@ package io.intellixity.nativa.persistence.query;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import io.intellixity.nativa.persistence.query.aggregation.Aggregate;
 import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
 
 import java.io.IOException;
@@ -44,9 +45,24 @@ public final class QueryJsonSerializer extends JsonSerializer<Query> {
     }
 
     GroupBy gb = q.groupBy();
-    if (gb != null && gb.fields() != null && !gb.fields().isEmpty()) {
-      g.writeStartObject("groupBy");
+    if (gb != null && (!gb.fields().isEmpty() || !gb.aggregates().isEmpty())) {
+      g.writeObjectFieldStart("groupBy");
       g.writeObjectField("fields", gb.fields());
+      if (!gb.aggregates().isEmpty()) {
+        g.writeArrayFieldStart("aggregates");
+        for (Aggregate a : gb.aggregates()) {
+          g.writeStartObject();
+          g.writeStringField("fn", a.function().name().toLowerCase());
+          if (a.field() != null) g.writeStringField("field", a.field());
+          g.writeStringField("alias", a.alias());
+          g.writeEndObject();
+        }
+        g.writeEndArray();
+      }
+      if (gb.having() != null) {
+        g.writeFieldName("having");
+        writeElement(gb.having(), g, serializers);
+      }
       g.writeEndObject();
     }
 
@@ -62,6 +78,7 @@ public final class QueryJsonSerializer extends JsonSerializer<Query> {
       return Map.of("offset", op.offset(), "limit", op.limit(), "type", "offset");
     }
     if (p instanceof SeekPage sp) {
+      if (sp.cursor() != null) return Map.of("limit", sp.limit(), "type", "seek", "cursor", sp.cursor());
       if (sp.after() == null || sp.after().isEmpty()) {
         return Map.of("limit", sp.limit(), "type", "seek");
       }
@@ -0,0 +1,160 @@
+package io.intellixity.nativa.persistence.query;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Encodes keyset positions as opaque, HMAC-SHA256 signed cursor tokens.\n
+ *
+ * A token binds the view it was issued for, the sort (fields + directions) and the typed sort values of the
+ * last row; {@link #decode} rejects tampered tokens and tokens replayed against another view or sort.
+ * Values keep their Java type across the round trip (long, uuid, instant, ...).\n
+ *
+ * Engines on different nodes must share the key for tokens to survive load balancing.\n
+ */
+public final class SeekCursorCodec {
+  private static final String HMAC = "HmacSHA256";
+  private static final ObjectMapper JSON = new ObjectMapper();
+  private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+
+  private final SecretKeySpec key;
+
+  public SeekCursorCodec(byte[] key) {
+    Objects.requireNonNull(key, "key");
+    if (key.length < 16) throw new IllegalArgumentException("seek cursor key must be at least 16 bytes");
+    this.key = new SecretKeySpec(key.clone(), HMAC);
+  }
+
+  /** Codec with a random per-process key (tokens do not survive restarts or cross nodes). */
+  public static SeekCursorCodec randomKey() {
+    byte[] k = new byte[32];
+    new SecureRandom().nextBytes(k);
+    return new SeekCursorCodec(k);
+  }
+
+  public String encode(String scope, List<SortField> sort, Map<String, Object> after) {
+    ObjectNode root = JSON.createObjectNode();
+    root.put("v", scope);
+    root.put("s", sortKey(sort));
+    ArrayNode values = root.putArray("k");
+    for (SortField sf : sort) {
+      Object v = after.get(sf.field());
+      if (v == null) throw new IllegalArgumentException("Seek cursor value missing for sort field: " + sf.field());
+      values.addArray().add(tag(v)).add(text(v));
+    }
+    try {
+      byte[] payload = JSON.writeValueAsBytes(root);
+      return B64.encodeToString(payload) + "." + B64.encodeToString(sign(payload));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to encode seek cursor", e);
+    }
+  }
+
+  /** Verify and decode a token issued by {@link #encode} for the same scope and sort. */
+  public Map<String, Object> decode(String token, String scope, List<SortField> sort) {
+    if (token == null) throw new IllegalArgumentException("Invalid seek cursor");
+    int dot = token.indexOf('.');
+    if (dot <= 0) throw new IllegalArgumentException("Invalid seek cursor");
+    byte[] payload;
+    byte[] sig;
+    try {
+      payload = B64D.decode(token.substring(0, dot));
+      sig = B64D.decode(token.substring(dot + 1));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid seek cursor");
+    }
+    if (!MessageDigest.isEqual(sign(payload), sig)) throw new IllegalArgumentException("Invalid seek cursor");
+
+    try {
+      JsonNode root = JSON.readTree(payload);
+      if (!scope.equals(root.path("v").asText()) || !sortKey(sort).equals(root.path("s").asText())) {
+        throw new IllegalArgumentException("Seek cursor does not match this view/sort");
+      }
+      JsonNode values = root.path("k");
+      Map<String, Object> after = new LinkedHashMap<>();
+      for (int i = 0; i < sort.size(); i++) {
+        JsonNode v = values.path(i);
+        after.put(sort.get(i).field(), parse(v.path(0).asText(), v.path(1).asText()));
+      }
+      return after;
+    } catch (java.io.IOException e) {
+      throw new IllegalArgumentException("Invalid seek cursor");
+    }
+  }
+
+  private byte[] sign(byte[] payload) {
+    try {
+      Mac mac = Mac.getInstance(HMAC);
+      mac.init(key);
+      return mac.doFinal(payload);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(HMAC + " unavailable", e);
+    }
+  }
+
+  private static String sortKey(List<SortField> sort) {
+    StringBuilder sb = new StringBuilder();
+    for (SortField sf : sort) {
+      sb.append(sf.field()).append(sf.direction() == SortField.Direction.DESC ? '-' : '+').append(',');
+    }
+    return sb.toString();
+  }
+
+  private static String tag(Object v) {
+    if (v instanceof String) return "s";
+    if (v instanceof Long) return "l";
+    if (v instanceof Integer) return "i";
+    if (v instanceof Double) return "d";
+    if (v instanceof Boolean) return "b";
+    if (v instanceof BigDecimal) return "n";
+    if (v instanceof UUID) return "u";
+    if (v instanceof Instant) return "t";
+    if (v instanceof LocalDate) return "ld";
+    if (v instanceof LocalDateTime) return "ldt";
+    if (v instanceof OffsetDateTime) return "odt";
+    throw new IllegalArgumentException("Unsupported seek cursor value type: " + v.getClass().getName());
+  }
+
+  private static String text(Object v) {
+    return (v instanceof BigDecimal bd) ? bd.toPlainString() : String.valueOf(v);
+  }
+
+  private static Object parse(String tag, String s) {
+    return switch (tag) {
+      case "s" -> s;
+      case "l" -> Long.parseLong(s);
+      case "i" -> Integer.parseInt(s);
+      case "d" -> Double.parseDouble(s);
+      case "b" -> Boolean.parseBoolean(s);
+      case "n" -> new BigDecimal(s);
+      case "u" -> UUID.fromString(s);
+      case "t" -> Instant.parse(s);
+      case "ld" -> LocalDate.parse(s);
+      case "ldt" -> LocalDateTime.parse(s);
+      case "odt" -> OffsetDateTime.parse(s);
+      default -> throw new IllegalArgumentException("Invalid seek cursor");
+    };
+  }
+}
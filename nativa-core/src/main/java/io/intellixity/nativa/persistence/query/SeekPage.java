@@ -7,11 +7,23 @@ import java.util.Map;
  *
  * <p>Requires a cursor map ("after") carrying the last-seen values for the active sort fields.\n
  * Dialects use it to build a lexicographic predicate.</p>
+ *
+ * <p>Alternatively carries an opaque signed {@code cursor} token (see {@link Slice#nextCursor()}); engines
+ * verify and decode it into {@code after} before rendering.</p>
  */
-public record SeekPage(int limit, Map<String, Object> after) implements Page {
+public record SeekPage(int limit, Map<String, Object> after, String cursor) implements Page {
   public SeekPage {
     if (limit <= 0) throw new IllegalArgumentException("limit must be > 0");
     after = (after == null) ? Map.of() : Map.copyOf(after);
+    if (cursor != null && !after.isEmpty()) throw new IllegalArgumentException("SeekPage takes either after or cursor");
+  }
+
+  public SeekPage(int limit, Map<String, Object> after) {
+    this(limit, after, null);
   }
-}
 
+  /** Continue after the row a previous {@link Slice} ended on. */
+  public static SeekPage continueAt(int limit, String cursor) {
+    return new SeekPage(limit, Map.of(), cursor);
+  }
+}
@@ -0,0 +1,16 @@
+package io.intellixity.nativa.persistence.query;
+
+import java.util.List;
+
+/**
+ * One keyset page of rows plus the cursor for the next one (null when this page is the last).\n
+ *
+ * Pass {@code nextCursor} back via {@link Query#withCursor(String)} with the same sort.\n
+ */
+public record Slice<T>(List<T> rows, String nextCursor) {
+  public Slice {
+    rows = (rows == null) ? List.of() : rows;
+  }
+
+  public boolean hasNext() { return nextCursor != null; }
+}
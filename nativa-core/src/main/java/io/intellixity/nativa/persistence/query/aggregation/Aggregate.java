@@ -0,0 +1,23 @@
+package io.intellixity.nativa.persistence.query.aggregation;
+
+import java.util.Objects;
+
+/** One aggregate output column: {@code function(field) AS alias}. {@code field} is null only for count(*). */
+public record Aggregate(Function function, String field, String alias) {
+  public enum Function { COUNT, SUM, MIN, MAX, AVG }
+
+  public Aggregate {
+    Objects.requireNonNull(function, "function");
+    if (alias == null || alias.isBlank()) throw new IllegalArgumentException("Aggregate alias is required");
+    if (field == null && function != Function.COUNT) throw new IllegalArgumentException(function + " requires a field");
+  }
+
+  /** Row count per group (count(*)). */
+  public static Aggregate count(String alias) { return new Aggregate(Function.COUNT, null, alias); }
+  /** Non-null values of {@code field} per group. */
+  public static Aggregate count(String field, String alias) { return new Aggregate(Function.COUNT, field, alias); }
+  public static Aggregate sum(String field, String alias) { return new Aggregate(Function.SUM, field, alias); }
+  public static Aggregate min(String field, String alias) { return new Aggregate(Function.MIN, field, alias); }
+  public static Aggregate max(String field, String alias) { return new Aggregate(Function.MAX, field, alias); }
+  public static Aggregate avg(String field, String alias) { return new Aggregate(Function.AVG, field, alias); }
+}
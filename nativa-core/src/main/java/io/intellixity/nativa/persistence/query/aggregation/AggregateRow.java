@@ -0,0 +1,40 @@
+package io.intellixity.nativa.persistence.query.aggregation;
+
+import io.intellixity.nativa.persistence.mapping.Coercions;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One aggregate result row: group field paths and aggregate aliases -> backend values (no entity mapping).\n
+ *
+ * Backends key group field paths by their flat label ({@code customer.id}), like the JDBC column labels; a dot
+ * path that is not a flat key is still resolved through nested maps.\n
+ */
+public record AggregateRow(Map<String, Object> values) {
+  public AggregateRow {
+    values = (values == null) ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(values));
+  }
+
+  public Object get(String name) {
+    if (name == null) return null;
+    if (values.containsKey(name) || !name.contains(".")) return values.get(name);
+    Object cur = values;
+    for (String p : name.split("\\.")) {
+      if (!(cur instanceof Map<?, ?> m)) return null;
+      cur = m.get(p);
+    }
+    return cur;
+  }
+
+  public Long getLong(String name) {
+    Object v = get(name);
+    return (v == null) ? null : Coercions.toLong(v);
+  }
+
+  public Double getDouble(String name) {
+    Object v = get(name);
+    return (v == null) ? null : Coercions.toDouble(v);
+  }
+}
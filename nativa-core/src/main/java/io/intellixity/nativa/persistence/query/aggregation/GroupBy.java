@@ -5,10 +5,36 @@ import io.intellixity.nativa.persistence.query.QueryVisitor;
 
 import java.util.*;
 
-public record GroupBy(List<String> fields) implements QueryElement {
+/**
+ * Grouping for aggregate queries.\n
+ *
+ * - fields: group keys (scalar property paths); empty = one global group\n
+ * - aggregates: output columns computed per group\n
+ * - having: optional filter over group fields and aggregate aliases, applied after grouping\n
+ */
+public record GroupBy(List<String> fields, List<Aggregate> aggregates, QueryElement having) implements QueryElement {
+  public GroupBy {
+    fields = fields == null ? List.of() : List.copyOf(fields);
+    aggregates = aggregates == null ? List.of() : List.copyOf(aggregates);
+  }
+
+  public GroupBy(List<String> fields) {
+    this(fields, List.of(), null);
+  }
+
   @Override
   public <Q> Q accept(QueryVisitor<Q> visitor) { return visitor.visit(this); }
 
   public static GroupBy of(String... fields) { return new GroupBy(List.of(fields)); }
-}
 
+  public GroupBy withAggregates(Aggregate... aggregates) { return new GroupBy(fields, List.of(aggregates), having); }
+  public GroupBy withHaving(QueryElement having) { return new GroupBy(fields, aggregates, having); }
+
+  /** Aggregate with the given alias, or null. */
+  public Aggregate aggregate(String alias) {
+    for (Aggregate a : aggregates) {
+      if (a.alias().equals(alias)) return a;
+    }
+    return null;
+  }
+}
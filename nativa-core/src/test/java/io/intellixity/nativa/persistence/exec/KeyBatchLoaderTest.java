@@ -0,0 +1,106 @@
+package io.intellixity.nativa.persistence.exec;
+
+import io.intellixity.nativa.persistence.query.Query;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class KeyBatchLoaderTest {
+  private static final EntityViewRef REF = new EntityViewRef("Customer", "customer_table");
+
+  /** Engine that only answers findByIds (row = "row-" + key; key 3 is missing). */
+  private static final class KeyEngine extends NoopDataEngine {
+    final List<List<Object>> calls = new CopyOnWriteArrayList<>();
+    // One async permit, as for a handle with asyncConcurrency 1; async throws while rejecting.
+    final Semaphore permits = new Semaphore(1);
+    volatile boolean rejecting;
+
+    @Override
+    public <T> CompletableFuture<T> async(Supplier<T> work) {
+      if (rejecting) throw new IllegalStateException("engine is closed");
+      return CompletableFuture.supplyAsync(() -> {
+        permits.acquireUninterruptibly();
+        try {
+          return work.get();
+        } finally {
+          permits.release();
+        }
+      }, Thread::startVirtualThread);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, T> Map<K, T> findByIds(EntityViewRef ref, Collection<? extends K> keys, Query query) {
+      calls.add(new ArrayList<>(keys));
+      Map<K, T> out = new LinkedHashMap<>();
+      for (K k : keys) if (!Integer.valueOf(3).equals(k)) out.put(k, (T) ("row-" + k));
+      return out;
+    }
+  }
+
+  @Test
+  void coalescesConcurrentLookupsIntoOneBatch() {
+    KeyEngine engine = new KeyEngine();
+    KeyBatchLoader<Integer, String> loader = new KeyBatchLoader<>(engine, REF, Duration.ofSeconds(5), 100);
+
+    List<CompletableFuture<String>> futures = new ArrayList<>();
+    for (int k : new int[] {1, 2, 2, 3}) futures.add(loader.load(k));
+    loader.dispatch();
+
+    assertEquals(List.of("row-1", "row-2", "row-2"), futures.subList(0, 3).stream().map(CompletableFuture::join).toList());
+    assertNull(futures.get(3).join());
+    assertEquals(List.of(List.of(1, 2, 3)), engine.calls);
+  }
+
+  @Test
+  void sendsFullBatchesWithoutWaitingForTheWindow() {
+    KeyEngine engine = new KeyEngine();
+    KeyBatchLoader<Integer, String> loader = new KeyBatchLoader<>(engine, REF, Duration.ofSeconds(30), 2);
+
+    assertEquals(Map.of(1, "row-1", 2, "row-2"), loader.getAll(List.of(1, 2)));
+    assertEquals(List.of(List.of(1, 2)), engine.calls);
+  }
+
+  @Test
+  void openWindowDoesNotHoldAnAsyncPermit() throws Exception {
+    KeyEngine engine = new KeyEngine();
+    KeyBatchLoader<Integer, String> loader = new KeyBatchLoader<>(engine, REF, Duration.ofMillis(300), 100);
+
+    CompletableFuture<String> row = loader.load(1);
+    // The only permit is free while the batch waits for more keys.
+    assertEquals("other", engine.async(() -> "other").get(5, TimeUnit.SECONDS));
+    assertFalse(row.isDone());
+    assertEquals("row-1", row.get(5, TimeUnit.SECONDS));
+    assertEquals(List.of(List.of(1)), engine.calls);
+  }
+
+  @Test
+  void batchFailsWhenItCannotBeScheduled() {
+    KeyEngine engine = new KeyEngine();
+    KeyBatchLoader<Integer, String> loader = new KeyBatchLoader<>(engine, REF, Duration.ofSeconds(30), 100);
+
+    engine.rejecting = true;
+    CompletionException failed = assertThrows(CompletionException.class, () -> loader.load(1).join());
+    assertInstanceOf(IllegalStateException.class, failed.getCause());
+
+    // The failed batch is not left open: the next lookup starts a fresh one.
+    engine.rejecting = false;
+    CompletableFuture<String> next = loader.load(2);
+    loader.dispatch();
+    assertEquals("row-2", next.join());
+    assertEquals(List.of(List.of(2)), engine.calls);
+  }
+}
@@ -0,0 +1,24 @@
+package io.intellixity.nativa.persistence.exec;
+
+import io.intellixity.nativa.persistence.exec.handle.EngineHandle;
+import io.intellixity.nativa.persistence.query.Query;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/** Test double: transactions just run the work; every read/write is unsupported unless a test overrides it. */
+class NoopDataEngine implements DataEngine<EngineHandle<Object>> {
+  @Override public EngineHandle<Object> handle() { throw new UnsupportedOperationException(); }
+  @Override public Propagation defaultPropagation() { return Propagation.REQUIRED; }
+  @Override public <T> T inTx(Propagation propagation, Supplier<T> work) { return work.get(); }
+  @Override public <T> List<T> select(EntityViewRef ref, Query query) { throw new UnsupportedOperationException(); }
+  @Override public long count(EntityViewRef ref, Query query) { throw new UnsupportedOperationException(); }
+  @Override public <T> T insert(EntityViewRef ref, T entity) { throw new UnsupportedOperationException(); }
+  @Override public <T> void bulkInsert(EntityViewRef ref, List<T> entities) { throw new UnsupportedOperationException(); }
+  @Override public <T> T upsert(EntityViewRef ref, T entity) { throw new UnsupportedOperationException(); }
+  @Override public <T> void bulkUpsert(EntityViewRef ref, List<T> entities) { throw new UnsupportedOperationException(); }
+  @Override public <T> long update(EntityViewRef ref, T entity) { throw new UnsupportedOperationException(); }
+  @Override public <T> long bulkUpdate(EntityViewRef ref, List<T> entities) { throw new UnsupportedOperationException(); }
+  @Override public <T> long updateByCriteria(EntityViewRef ref, Query query, T entity) { throw new UnsupportedOperationException(); }
+  @Override public long deleteByCriteria(EntityViewRef ref, Query query) { throw new UnsupportedOperationException(); }
+}
@@ -0,0 +1,163 @@
+package io.intellixity.nativa.persistence.exec;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class WriteBehindPipelineTest {
+  private static final EntityViewRef REF = new EntityViewRef("Event", "event_table");
+  private static final ScopedValue<String> TENANT = ScopedValue.newInstance();
+
+  /** Engine recording one list of "tenant:entity" per transaction; entity "bad" fails its transaction. */
+  private static final class IngestEngine extends NoopDataEngine {
+    final List<List<String>> txs = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<List<String>> current = new ThreadLocal<>();
+    // Transactions wait for hold (when set) after signalling entered.
+    final CountDownLatch entered = new CountDownLatch(1);
+    volatile CountDownLatch hold;
+
+    @Override public Object captureContext() { return TENANT.isBound() ? TENANT.get() : null; }
+
+    @Override
+    public <T> T inContext(Object context, Supplier<T> work) {
+      return (context == null) ? work.get() : ScopedValue.where(TENANT, (String) context).call(work::get);
+    }
+
+    @Override
+    public <T> T inTx(Propagation propagation, Supplier<T> work) {
+      entered.countDown();
+      CountDownLatch h = hold;
+      if (h != null) {
+        try {
+          h.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      current.set(new ArrayList<>());
+      try {
+        T out = work.get();
+        txs.add(current.get());
+        return out;
+      } finally {
+        current.remove();
+      }
+    }
+
+    @Override
+    public <T> T insert(EntityViewRef ref, T entity) {
+      if ("bad".equals(entity)) throw new IllegalStateException("constraint");
+      current.get().add(TENANT.get() + ":" + entity);
+      return entity;
+    }
+  }
+
+  private static CompletableFuture<String> insertAs(WriteBehindPipeline pipeline, String tenant, String entity) {
+    List<CompletableFuture<String>> out = new ArrayList<>();
+    ScopedValue.where(TENANT, tenant).run(() -> out.add(pipeline.insert(REF, entity)));
+    return out.getFirst();
+  }
+
+  @Test
+  void commitsOneTransactionPerCapturedContextAndFailsOnlyThatGroup() {
+    IngestEngine engine = new IngestEngine();
+    WriteBehindPipeline pipeline = new WriteBehindPipeline(engine, 100, 100, Duration.ofSeconds(5));
+
+    List<CompletableFuture<String>> a = new ArrayList<>();
+    List<CompletableFuture<String>> b = new ArrayList<>();
+    ScopedValue.where(TENANT, "t1").run(() -> {
+      a.add(pipeline.insert(REF, "e1"));
+      a.add(pipeline.insert(REF, "e2"));
+    });
+    ScopedValue.where(TENANT, "t2").run(() -> b.add(pipeline.insert(REF, "bad")));
+    ScopedValue.where(TENANT, "t1").run(() -> a.add(pipeline.insert(REF, "e3")));
+    pipeline.close();
+
+    assertEquals(List.of("e1", "e2", "e3"), a.stream().map(CompletableFuture::join).toList());
+    assertThrows(CompletionException.class, () -> b.getFirst().join());
+    assertEquals(List.of(List.of("t1:e1", "t1:e2", "t1:e3")), engine.txs);
+
+    WriteBehindPipeline.Stats stats = pipeline.stats();
+    assertEquals(0, stats.queueDepth());
+    assertEquals(3, stats.writes());
+    assertEquals(1, stats.failedWrites());
+    assertThrows(IllegalStateException.class, () -> pipeline.insert(REF, "late"));
+  }
+
+  @Test
+  void batchesWhatArrivesWithinMaxDelayOfTheFirstWrite() throws Exception {
+    IngestEngine engine = new IngestEngine();
+    WriteBehindPipeline pipeline = new WriteBehindPipeline(engine, 100, 100, Duration.ofMillis(300));
+
+    insertAs(pipeline, "t1", "e1");
+    insertAs(pipeline, "t1", "e2");
+    // The window closes with only two writes: they commit without waiting for maxBatch.
+    assertTrue(engine.entered.await(5, TimeUnit.SECONDS));
+    assertEquals("e3", insertAs(pipeline, "t1", "e3").get(5, TimeUnit.SECONDS));
+    pipeline.close();
+
+    assertEquals(List.of(List.of("t1:e1", "t1:e2"), List.of("t1:e3")), engine.txs);
+  }
+
+  @Test
+  void producersParkWhileTheQueueIsFull() throws Exception {
+    IngestEngine engine = new IngestEngine();
+    engine.hold = new CountDownLatch(1);
+    WriteBehindPipeline pipeline = new WriteBehindPipeline(engine, 2, 1, Duration.ZERO);
+
+    insertAs(pipeline, "t1", "e1");
+    assertTrue(engine.entered.await(5, TimeUnit.SECONDS));
+    insertAs(pipeline, "t1", "e2");
+    insertAs(pipeline, "t1", "e3");
+    CompletableFuture<CompletableFuture<String>> parked = CompletableFuture.supplyAsync(
+        () -> insertAs(pipeline, "t1", "e4"), Thread::startVirtualThread);
+
+    // The flusher is stuck on e1 and the queue holds its capacity: the fourth producer waits.
+    assertThrows(TimeoutException.class, () -> parked.get(200, TimeUnit.MILLISECONDS));
+    assertEquals(2, pipeline.queueDepth());
+
+    engine.hold.countDown();
+    assertEquals("e4", parked.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+    pipeline.close();
+    assertEquals(List.of(List.of("t1:e1"), List.of("t1:e2"), List.of("t1:e3"), List.of("t1:e4")), engine.txs);
+  }
+
+  @Test
+  void closeWithAFullQueueWaitsForRoomAndFlushesEverything() throws Exception {
+    IngestEngine engine = new IngestEngine();
+    engine.hold = new CountDownLatch(1);
+    WriteBehindPipeline pipeline = new WriteBehindPipeline(engine, 2, 1, Duration.ZERO);
+
+    CompletableFuture<String> first = insertAs(pipeline, "t1", "e1");
+    assertTrue(engine.entered.await(5, TimeUnit.SECONDS));
+    List<CompletableFuture<String>> queued = List.of(insertAs(pipeline, "t1", "e2"), insertAs(pipeline, "t1", "e3"));
+    assertEquals(2, pipeline.queueDepth());
+    CompletableFuture<CompletableFuture<String>> parked = new CompletableFuture<>();
+    Thread producer = Thread.ofVirtual().start(() -> parked.complete(insertAs(pipeline, "t1", "e4")));
+    while (producer.getState() != Thread.State.WAITING && !parked.isDone()) Thread.onSpinWait();
+
+    // The queue is full while the flusher is stuck on e1: close must wait for room, not fail.
+    CompletableFuture<Void> closing = CompletableFuture.runAsync(pipeline::close, Thread::startVirtualThread);
+    assertThrows(TimeoutException.class, () -> closing.get(200, TimeUnit.MILLISECONDS));
+    engine.hold.countDown();
+    closing.get(5, TimeUnit.SECONDS);
+
+    assertEquals("e1", first.join());
+    assertEquals(List.of("e2", "e3"), queued.stream().map(CompletableFuture::join).toList());
+    assertEquals("e4", parked.join().join());
+    assertEquals(List.of(List.of("t1:e1"), List.of("t1:e2"), List.of("t1:e3"), List.of("t1:e4")), engine.txs);
+    // A repeated close returns once the flusher is done.
+    pipeline.close();
+  }
+}
@@ -0,0 +1,36 @@
+package io.intellixity.nativa.persistence.mapping;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class RowAdaptersPrimitiveTest {
+
+  @Test
+  void primitiveAccessorsTrackNulls() {
+    Map<String, Object> doc = new HashMap<>();
+    doc.put("qty", 7);
+    doc.put("total", 12.5d);
+    doc.put("paid", true);
+    doc.put("missing", null);
+    doc.put("customer", Map.of("age", 41L));
+
+    RowAdapter row = RowAdapters.fromMap(doc, null);
+
+    assertEquals(7, row.getInt("qty"));
+    assertFalse(row.wasNull());
+    assertEquals(12.5d, row.getDouble("total"));
+    assertTrue(row.getBoolean("paid"));
+    assertEquals(0L, row.getLong("missing"));
+    assertTrue(row.wasNull());
+    assertEquals(41L, row.getLong("customer.age"));
+    assertFalse(row.wasNull());
+
+    RowAdapter prefixed = new PrefixedRowAdapter(row, "customer.");
+    assertEquals(41, prefixed.getInt("age"));
+    assertFalse(prefixed.wasNull());
+  }
+}
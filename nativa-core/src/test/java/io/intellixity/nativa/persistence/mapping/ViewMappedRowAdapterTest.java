@@ -0,0 +1,99 @@
+package io.intellixity.nativa.persistence.mapping;
+
+import io.intellixity.nativa.persistence.authoring.UserTypeRegistry;
+import io.intellixity.nativa.persistence.authoring.ViewDef;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class ViewMappedRowAdapterTest {
+
+  /** Cursor over fixed rows with positional access; counts label lookups. */
+  private static final class Cursor implements OrdinalRowAdapter {
+    final List<String> labels;
+    final List<Object[]> rows;
+    int at = -1;
+    int lookups;
+
+    Cursor(List<String> labels, Object[]... rows) {
+      this.labels = labels;
+      this.rows = Arrays.asList(rows);
+    }
+
+    boolean next() { return ++at < rows.size(); }
+
+    @Override public int ordinalOf(String label) { lookups++; return labels.indexOf(label) + 1; }
+    @Override public Object rawAt(int ordinal) { return rows.get(at)[ordinal - 1]; }
+    @Override public long getLongAt(int ordinal) { return ((Number) rawAt(ordinal)).longValue(); }
+    @Override public int getIntAt(int ordinal) { return ((Number) rawAt(ordinal)).intValue(); }
+    @Override public double getDoubleAt(int ordinal) { return ((Number) rawAt(ordinal)).doubleValue(); }
+    @Override public boolean getBooleanAt(int ordinal) { return (Boolean) rawAt(ordinal); }
+
+    @Override public UserTypeRegistry userTypes() { return null; }
+    @Override public boolean isNull(String path) { return raw(path) == null; }
+    @Override public Object raw(String path) { return rawAt(labels.indexOf(path) + 1); }
+    @Override public boolean has(String path) { return labels.contains(path); }
+    @Override public boolean wasNull() { return false; }
+    @Override public RowAdapter object(String pathOrPrefix) { throw new UnsupportedOperationException(); }
+    @Override public Iterable<Object> arrayRaw(String path) { throw new UnsupportedOperationException(); }
+    @Override public Map<String, Object> map(String path) { throw new UnsupportedOperationException(); }
+
+    // Blob columns already hold decoded maps.
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(String path, String userTypeId) { return (T) raw(path); }
+  }
+
+  @Test
+  void resolvesOrdinalsOncePerResultSetAndReusesNestedAdapters() {
+    ViewDef view = new ViewDef("v", Map.of(
+        "id", "id",
+        "customer", Map.of("fields", Map.of("name", Map.of("ref", "c.name", "label", "customer_name")))), null);
+    Cursor cursor = new Cursor(List.of("id", "customer_name"),
+        new Object[]{1L, "ann"}, new Object[]{2L, "bob"}, new Object[]{3L, "cy"});
+    ViewMappedRowAdapter row = new ViewMappedRowAdapter(cursor, view);
+
+    RowAdapter firstCustomer = null;
+    StringBuilder read = new StringBuilder();
+    while (cursor.next()) {
+      row.startRow();
+      RowAdapter customer = row.object("customer.");
+      if (firstCustomer == null) firstCustomer = customer;
+      assertSame(firstCustomer, customer);
+      read.append(row.getLong("id")).append(customer.raw("name")).append(' ');
+    }
+
+    assertEquals("1ann 2bob 3cy ", read.toString());
+    assertEquals(2, cursor.lookups);
+  }
+
+  @Test
+  void blobObjectsAreDecodedOncePerRowAndResetByStartRow() {
+    ViewDef view = new ViewDef("v", Map.of(
+        "id", "id",
+        "customer", Map.of("ref", "customer_json", "mode", "blob")), null);
+    Cursor cursor = new Cursor(List.of("id", "customer_json"),
+        new Object[]{1L, Map.of("name", "ann")}, new Object[]{2L, Map.of("name", "bob")}, new Object[]{3L, null});
+    ViewMappedRowAdapter row = new ViewMappedRowAdapter(cursor, view);
+
+    cursor.next();
+    row.startRow();
+    RowAdapter first = row.object("customer.");
+    assertSame(first, row.object("customer."));
+    assertEquals("ann", first.raw("name"));
+
+    cursor.next();
+    row.startRow();
+    RowAdapter second = row.object("customer.");
+    assertNotSame(first, second);
+    assertEquals("bob", second.raw("name"));
+
+    cursor.next();
+    row.startRow();
+    assertNull(row.object("customer."));
+  }
+}
@@ -1,8 +1,12 @@
 package io.intellixity.nativa.persistence.query;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.intellixity.nativa.persistence.query.aggregation.Aggregate;
+import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 final class QueryJsonTest {
@@ -46,7 +50,30 @@ final class QueryJsonTest {
     assertEquals(Clause.AND, g.clause());
     assertEquals(1, g.elements().size());
   }
-}
 
+  @Test
+  void roundTripsGroupByAggregatesAndHaving() throws Exception {
+    Query q = new Query().withGroupBy(GroupBy.of("status")
+        .withAggregates(Aggregate.count("n"), Aggregate.sum("amount", "total"))
+        .withHaving(QueryFilters.gt("n", 10)));
 
+    Query back = JSON.readValue(JSON.writeValueAsString(q), Query.class);
+    GroupBy gb = back.groupBy();
+    assertEquals(List.of("status"), gb.fields());
+    assertEquals(q.groupBy().aggregates(), gb.aggregates());
+    Condition h = (Condition) gb.having();
+    assertEquals("n", h.property());
+    assertEquals(Operator.GT, h.operator());
+    assertEquals(10, h.value());
+  }
 
+  @Test
+  void roundTripsSeekCursor() throws Exception {
+    Query q = new Query().withPage(new SeekPage(25, null)).withCursor("abc.def");
+    Query back = JSON.readValue(JSON.writeValueAsString(q), Query.class);
+    SeekPage sp = assertInstanceOf(SeekPage.class, back.page());
+    assertEquals(25, sp.limit());
+    assertEquals("abc.def", sp.cursor());
+    assertTrue(sp.after().isEmpty());
+  }
+}
@@ -0,0 +1,42 @@
+package io.intellixity.nativa.persistence.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class SeekCursorCodecTest {
+  private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+  private static final List<SortField> SORT = List.of(
+      new SortField("createdAt", SortField.Direction.DESC),
+      new SortField("id", SortField.Direction.ASC));
+
+  @Test
+  void roundTripsTypedValues() {
+    SeekCursorCodec codec = new SeekCursorCodec(KEY);
+    Map<String, Object> after = new LinkedHashMap<>();
+    after.put("createdAt", Instant.parse("2024-05-01T10:15:30.123Z"));
+    after.put("id", UUID.fromString("00000000-0000-0000-0000-000000000007"));
+
+    String token = codec.encode("Order/order_view", SORT, after);
+    assertEquals(after, new SeekCursorCodec(KEY).decode(token, "Order/order_view", SORT));
+  }
+
+  @Test
+  void rejectsTamperedOrForeignTokens() {
+    SeekCursorCodec codec = new SeekCursorCodec(KEY);
+    String token = codec.encode("Order/order_view", SORT, Map.of("createdAt", 5L, "id", "a"));
+
+    String tampered = (token.charAt(0) == 'A' ? 'B' : 'A') + token.substring(1);
+    assertThrows(IllegalArgumentException.class, () -> codec.decode(tampered, "Order/order_view", SORT));
+    assertThrows(IllegalArgumentException.class, () -> codec.decode(token, "Customer/customer_view", SORT));
+    assertThrows(IllegalArgumentException.class, () -> codec.decode(token, "Order/order_view", SORT.reversed()));
+    assertThrows(IllegalArgumentException.class, () -> SeekCursorCodec.randomKey().decode(token, "Order/order_view", SORT));
+  }
+}
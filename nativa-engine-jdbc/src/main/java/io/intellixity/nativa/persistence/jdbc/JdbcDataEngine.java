@@ -2,40 +2,123 @@ package io.intellixity.nativa.persistence.jdbc;
 
 import io.intellixity.nativa.persistence.authoring.*;
 import io.intellixity.nativa.persistence.spi.bind.BindOpKind;
+import io.intellixity.nativa.persistence.dmlast.ColumnBind;
 import io.intellixity.nativa.persistence.dmlast.InsertAst;
 import io.intellixity.nativa.persistence.dmlast.UpdateAst;
 import io.intellixity.nativa.persistence.dmlast.DeleteAst;
 import io.intellixity.nativa.persistence.dmlast.UpsertAst;
+import io.intellixity.nativa.persistence.dmlast.DmlAst;
 import io.intellixity.nativa.persistence.dmlast.DmlPlanner;
 import io.intellixity.nativa.persistence.exec.Propagation;
+import io.intellixity.nativa.persistence.exec.SessionVariables;
 import io.intellixity.nativa.persistence.exec.TxHandle;
+import io.intellixity.nativa.persistence.compile.Bind;
 import io.intellixity.nativa.persistence.spi.exec.AbstractDataEngine;
-import io.intellixity.nativa.persistence.jdbc.bind.DefaultJdbcBindContext;
+import io.intellixity.nativa.persistence.spi.exec.QueryShape;
+import io.intellixity.nativa.persistence.jdbc.bind.JdbcBindPlan;
+import io.intellixity.nativa.persistence.jdbc.dialect.JdbcBulkLoader;
 import io.intellixity.nativa.persistence.jdbc.dialect.JdbcDialect;
 import io.intellixity.nativa.persistence.mapping.RowReader;
 import io.intellixity.nativa.persistence.mapping.ViewMappedRowAdapter;
+import io.intellixity.nativa.persistence.query.PageResult;
+import io.intellixity.nativa.persistence.query.aggregation.AggregateRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcHandle> {
   private static final Logger log = LoggerFactory.getLogger(JdbcDataEngine.class);
+  // Size 0: every lease prepares and closes its own statement (stateless, safe to share).\n
+  private static final StatementCache ONE_SHOT = new StatementCache(0);
+  /** Default number of rows sent per executeBatch() round trip for bulk writes. */
+  public static final int DEFAULT_BATCH_SIZE = 500;
+  /** Default JDBC fetch size used by {@link #stream} cursors. */
+  public static final int DEFAULT_FETCH_SIZE = 1000;
+  /** Default per-connection {@link StatementCache} size for transactions and pinned connections. */
+  public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+  /**
+   * Engine tuning knobs.\n
+   *
+   * @param batchSize rows per executeBatch() round trip for bulk writes
+   * @param fetchSize JDBC fetch size for {@link #stream} cursors
+   * @param copyThreshold minimum bulkInsert size routed through the dialect's {@link JdbcBulkLoader}
+   *                      (e.g. Postgres COPY); 0 disables bulk loading
+   * @param statementCacheSize prepared statements kept per connection held by a transaction or
+   *                           {@link #withConnection} scope; 0 disables caching
+   */
+  public record Options(int batchSize, int fetchSize, int copyThreshold, int statementCacheSize) {
+    public static final Options DEFAULTS =
+        new Options(DEFAULT_BATCH_SIZE, DEFAULT_FETCH_SIZE, 0, DEFAULT_STATEMENT_CACHE_SIZE);
+
+    public Options {
+      if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be > 0");
+      if (fetchSize <= 0) throw new IllegalArgumentException("fetchSize must be > 0");
+      if (copyThreshold < 0) throw new IllegalArgumentException("copyThreshold must be >= 0");
+      if (statementCacheSize < 0) throw new IllegalArgumentException("statementCacheSize must be >= 0");
+    }
+
+    public Options(int batchSize, int fetchSize, int copyThreshold) {
+      this(batchSize, fetchSize, copyThreshold, DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    public Options withBatchSize(int v) { return new Options(v, fetchSize, copyThreshold, statementCacheSize); }
+    public Options withFetchSize(int v) { return new Options(batchSize, v, copyThreshold, statementCacheSize); }
+    public Options withCopyThreshold(int v) { return new Options(batchSize, fetchSize, v, statementCacheSize); }
+    public Options withStatementCacheSize(int v) { return new Options(batchSize, fetchSize, copyThreshold, v); }
+  }
+
   private final javax.sql.DataSource ds;
+  private final JdbcDialect jdbcDialect;
+  private final int batchSize;
+  private final int fetchSize;
+  private final int copyThreshold;
+  private final int statementCacheSize;
 
   public JdbcDataEngine(JdbcHandle handle,
                         AuthoringRegistry authoring,
                         JdbcDialect dialect,
                         DmlPlanner dmlPlanner,
                         Propagation defaultPropagation) {
+    this(handle, authoring, dialect, dmlPlanner, defaultPropagation, Options.DEFAULTS);
+  }
+
+  public JdbcDataEngine(JdbcHandle handle,
+                        AuthoringRegistry authoring,
+                        JdbcDialect dialect,
+                        DmlPlanner dmlPlanner,
+                        Propagation defaultPropagation,
+                        int batchSize,
+                        int fetchSize) {
+    this(handle, authoring, dialect, dmlPlanner, defaultPropagation, Options.DEFAULTS.withBatchSize(batchSize).withFetchSize(fetchSize));
+  }
+
+  public JdbcDataEngine(JdbcHandle handle,
+                        AuthoringRegistry authoring,
+                        JdbcDialect dialect,
+                        DmlPlanner dmlPlanner,
+                        Propagation defaultPropagation,
+                        Options options) {
     super(dialect,
         Objects.requireNonNull(handle, "handle"),
         Objects.requireNonNull(authoring, "authoring"),
         Objects.requireNonNull(dmlPlanner, "dmlPlanner"),
         defaultPropagation);
+    Objects.requireNonNull(options, "options");
 
     this.ds = handle.client();
+    this.jdbcDialect = dialect;
+    this.batchSize = options.batchSize();
+    this.fetchSize = options.fetchSize();
+    this.copyThreshold = options.copyThreshold();
+    this.statementCacheSize = options.statementCacheSize();
   }
 
   /** Backward-compatible constructor: wraps raw client+schema into a handle. */
@@ -57,12 +140,23 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
     this(ds, authoring, dialect, dmlPlanner, schemaName, Propagation.REQUIRED);
   }
 
+  /** Bound session variables are applied to connections when the dialect can render them. */
+  @Override
+  public boolean supportsSessionVariables() {
+    return jdbcDialect.supportsSessionVariables();
+  }
+
+  /** Inside {@link #withConnection} the transaction runs on the pinned connection (unless one is already open on it). */
   @Override
   protected TxHandle begin() {
     try {
+      if (currentPinnedOrNull() instanceof JdbcTxHandle p && p.conn().getAutoCommit()) {
+        p.conn().setAutoCommit(false);
+        return new JdbcTxHandle(p.conn(), new HashMap<>(), false, p.statements());
+      }
       Connection c = ds.getConnection();
       c.setAutoCommit(false);
-      return new JdbcTxHandle(c);
+      return newHandle(c);
     } catch (SQLException e) {
       throw new RuntimeException(e);
     }
@@ -71,51 +165,265 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
   @Override
   protected void commit(TxHandle tx) {
     JdbcTxHandle j = (JdbcTxHandle) tx;
-    try { j.conn.commit(); j.conn.close(); } catch (SQLException e) { throw new RuntimeException(e); }
+    try { j.conn.commit(); end(j); } catch (SQLException e) { throw new RuntimeException(e); }
   }
 
   @Override
   protected void rollback(TxHandle tx) {
     JdbcTxHandle j = (JdbcTxHandle) tx;
-    try { j.conn.rollback(); j.conn.close(); } catch (SQLException e) { throw new RuntimeException(e); }
+    try { j.conn.rollback(); end(j); } catch (SQLException e) { throw new RuntimeException(e); }
+  }
+
+  private static void end(JdbcTxHandle j) throws SQLException {
+    if (!j.owned()) {
+      j.conn.setAutoCommit(true);
+      return;
+    }
+    j.statements().close();
+    j.conn.close();
+  }
+
+  private JdbcTxHandle newHandle(Connection c) {
+    return new JdbcTxHandle(c, new HashMap<>(), true, new StatementCache(statementCacheSize));
+  }
+
+  /** One pooled connection (autocommit) for the reads of a {@link #withConnection} block. */
+  @Override
+  protected TxHandle pin() {
+    try {
+      return newHandle(ds.getConnection());
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  protected void unpin(TxHandle pinned) {
+    JdbcTxHandle j = (JdbcTxHandle) pinned;
+    try {
+      j.statements().close();
+      SessionVariables.where(j.session(), () -> {
+        try {
+          release(j.conn());
+        } catch (SQLException e) {
+          throw new RuntimeException(e);
+        }
+        return null;
+      });
+    } catch (RuntimeException e) {
+      log.warn("Failed to release pinned connection", e);
+    }
+  }
+
+  @Override
+  protected boolean supportsStatementPlans() { return true; }
+
+  /** One INSERT/UPDATE/DELETE (incl. ON CONFLICT and RETURNING) is atomic on its own. */
+  @Override
+  protected boolean autoCommitsSingleStatementWrites() { return true; }
+
+  /**
+   * Cache the final JDBC SQL and verify that every shape value maps 1:1 onto a rendered bind
+   * (leading binds come from view SQL params, which are part of the shape key).\n
+   */
+  @Override
+  protected SqlStatement compileStatementPlan(SqlStatement rendered, QueryShape shape) {
+    List<Bind> binds = rendered.binds();
+    List<Object> values = shape.values();
+    int lead = binds.size() - values.size();
+    if (lead < 0) return null;
+    for (int i = 0; i < values.size(); i++) {
+      Object v = values.get(i);
+      if (v == QueryShape.FIXED) continue;
+      Bind b = binds.get(lead + i);
+      if (b == null || !Objects.equals(jdbcDialect.coerceBindValue(b.userTypeId(), v), b.value())) return null;
+    }
+    return new SqlStatement(rendered.sql(), binds, rendered.execKind(), rendered.toJdbcSql(),
+        JdbcBindPlan.of(binds, BindOpKind.FILTER, userTypes(), binders()));
+  }
+
+  @Override
+  protected SqlStatement bindStatementPlan(SqlStatement plan, QueryShape shape) {
+    List<Object> values = shape.values();
+    if (values.isEmpty()) return plan;
+    List<Bind> template = plan.binds();
+    int lead = template.size() - values.size();
+    List<Bind> out = new ArrayList<>(template.size());
+    for (int i = 0; i < lead; i++) out.add(template.get(i));
+    for (int i = 0; i < values.size(); i++) {
+      Object v = values.get(i);
+      Bind t = template.get(lead + i);
+      out.add(v == QueryShape.FIXED ? t : new Bind(jdbcDialect.coerceBindValue(t.userTypeId(), v), t.userTypeId()));
+    }
+    return plan.withBinds(out);
   }
 
   @Override
   protected <T> List<T> executeSelect(TxHandle txOrNull, ViewDef view, SqlStatement ss, RowReader<T> reader) {
     try {
-      Connection c = (txOrNull == null) ? ds.getConnection() : ((JdbcTxHandle) txOrNull).conn;
+      Connection c = connection(txOrNull);
       try {
-        String jdbcSql = ViewSqlParamCompiler.toJdbcSql(ss.sql());
+        String jdbcSql = ss.toJdbcSql();
         long start = System.nanoTime();
         debugSql("SELECT", ss, jdbcSql, BindOpKind.FILTER);
-        try (PreparedStatement ps = c.prepareStatement(jdbcSql)) {
+        try (StatementCache.Lease lease = prepare(txOrNull, c, jdbcSql)) {
+          PreparedStatement ps = lease.ps();
           bindAll(ps, ss, BindOpKind.FILTER);
           try (ResultSet rs = ps.executeQuery()) {
             List<T> out = new ArrayList<>();
             JdbcRowAdapter baseRow = new JdbcRowAdapter(rs, userTypes());
-            var row = new ViewMappedRowAdapter(baseRow, view);
-            while (rs.next()) out.add(reader.read(row));
+            var row = new ViewMappedRowAdapter(baseRow, rowPlan(view));
+            while (rs.next()) {
+              row.startRow();
+              out.add(reader.read(row));
+            }
             debugDone("SELECT", ss, jdbcSql, out.size(), System.nanoTime() - start);
             return out;
           }
         }
       } finally {
-        if (txOrNull == null) c.close();
+        if (txOrNull == null) release(c);
+      }
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /** Rows plus the {@code COUNT(*) OVER ()} total carried on every row (0 when the page is empty). */
+  @Override
+  protected <T> PageResult<T> executeSelectPage(TxHandle txOrNull, ViewDef view, SqlStatement ss, RowReader<T> reader) {
+    try {
+      Connection c = connection(txOrNull);
+      try {
+        String jdbcSql = ss.toJdbcSql();
+        long start = System.nanoTime();
+        debugSql("SELECT_PAGE", ss, jdbcSql, BindOpKind.FILTER);
+        try (StatementCache.Lease lease = prepare(txOrNull, c, jdbcSql)) {
+          PreparedStatement ps = lease.ps();
+          bindAll(ps, ss, BindOpKind.FILTER);
+          try (ResultSet rs = ps.executeQuery()) {
+            List<T> out = new ArrayList<>();
+            long total = 0;
+            int totalColumn = -1;
+            JdbcRowAdapter baseRow = new JdbcRowAdapter(rs, userTypes());
+            var row = new ViewMappedRowAdapter(baseRow, rowPlan(view));
+            while (rs.next()) {
+              if (totalColumn < 0) {
+                totalColumn = rs.findColumn(JdbcDialect.SELECT_PAGE_TOTAL_LABEL);
+                total = rs.getLong(totalColumn);
+              }
+              row.startRow();
+              out.add(reader.read(row));
+            }
+            debugDone("SELECT_PAGE", ss, jdbcSql, out.size(), System.nanoTime() - start);
+            return new PageResult<>(out, total);
+          }
+        }
+      } finally {
+        if (txOrNull == null) release(c);
       }
     } catch (SQLException e) {
       throw new RuntimeException(e);
     }
   }
 
+  /**
+   * Cursor-backed stream: rows are fetched {@code fetchSize} at a time and mapped lazily.\n
+   *
+   * Outside a transaction the stream owns its connection and turns autocommit off (Postgres only uses a
+   * server-side cursor then); closing the stream ends that read transaction and releases the connection. A row
+   * that fails to fetch or map does the same right away.\n
+   */
+  @Override
+  protected <T> Stream<T> executeStream(TxHandle txOrNull, ViewDef view, SqlStatement ss, RowReader<T> reader) {
+    Connection owned = null;
+    PreparedStatement ps = null;
+    ResultSet rs = null;
+    try {
+      Connection c;
+      if (txOrNull == null) {
+        owned = ds.getConnection();
+        owned.setAutoCommit(false);
+        // Transaction-local: cleared by the rollback that ends the cursor.
+        Map<String, String> vars = SessionVariables.current();
+        if (!vars.isEmpty()) applySessionVariables(owned, vars, true);
+        c = owned;
+      } else {
+        c = connection(txOrNull);
+      }
+      String jdbcSql = ss.toJdbcSql();
+      debugSql("STREAM", ss, jdbcSql, BindOpKind.FILTER);
+      ps = c.prepareStatement(jdbcSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      ps.setFetchSize(fetchSize);
+      bindAll(ps, ss, BindOpKind.FILTER);
+      rs = ps.executeQuery();
+    } catch (SQLException | RuntimeException e) {
+      closeStream(rs, ps, owned);
+      if (e instanceof RuntimeException re) throw re;
+      throw new RuntimeException(e);
+    }
+
+    ResultSet cursor = rs;
+    PreparedStatement stmt = ps;
+    Connection conn = owned;
+    AtomicBoolean released = new AtomicBoolean();
+    Runnable release = () -> {
+      if (released.compareAndSet(false, true)) closeStream(cursor, stmt, conn);
+    };
+    var row = new ViewMappedRowAdapter(new JdbcRowAdapter(cursor, userTypes()), rowPlan(view));
+    Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+      @Override
+      public boolean tryAdvance(Consumer<? super T> action) {
+        try {
+          if (!cursor.next()) {
+            // Exhausted: end the cursor transaction now, for callers that consume without closing.
+            release.run();
+            return false;
+          }
+          row.startRow();
+          action.accept(reader.read(row));
+          return true;
+        } catch (SQLException | RuntimeException e) {
+          // A failed stream is dead: free the cursor (and owned connection) even if the caller never closes it.
+          try {
+            release.run();
+          } catch (RuntimeException closeFailure) {
+            e.addSuppressed(closeFailure);
+          }
+          if (e instanceof RuntimeException re) throw re;
+          throw new RuntimeException(e);
+        }
+      }
+    };
+    return StreamSupport.stream(rows, false).onClose(release);
+  }
+
+  private static void closeStream(ResultSet rs, PreparedStatement ps, Connection owned) {
+    SQLException first = null;
+    try { if (rs != null) rs.close(); } catch (SQLException e) { first = e; }
+    try { if (ps != null) ps.close(); } catch (SQLException e) { if (first == null) first = e; }
+    if (owned != null) {
+      try {
+        owned.rollback(); // read-only cursor tx
+        owned.setAutoCommit(true);
+      } catch (SQLException e) {
+        if (first == null) first = e;
+      }
+      try { owned.close(); } catch (SQLException e) { if (first == null) first = e; }
+    }
+    if (first != null) throw new RuntimeException(first);
+  }
+
   @Override
   protected long executeCount(TxHandle txOrNull, ViewDef view, SqlStatement ss) {
     try {
-      Connection c = (txOrNull == null) ? ds.getConnection() : ((JdbcTxHandle) txOrNull).conn;
+      Connection c = connection(txOrNull);
       try {
-        String jdbcSql = ViewSqlParamCompiler.toJdbcSql(ss.sql());
+        String jdbcSql = ss.toJdbcSql();
         long start = System.nanoTime();
         debugSql("COUNT", ss, jdbcSql, BindOpKind.FILTER);
-        try (PreparedStatement ps = c.prepareStatement(jdbcSql)) {
+        try (StatementCache.Lease lease = prepare(txOrNull, c, jdbcSql)) {
+          PreparedStatement ps = lease.ps();
           bindAll(ps, ss, BindOpKind.FILTER);
           try (ResultSet rs = ps.executeQuery()) {
             if (!rs.next()) return 0;
@@ -125,7 +433,41 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
           }
         }
       } finally {
-        if (txOrNull == null) c.close();
+        if (txOrNull == null) release(c);
+      }
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  protected List<AggregateRow> executeAggregate(TxHandle txOrNull, ViewDef view, SqlStatement ss) {
+    try {
+      Connection c = connection(txOrNull);
+      try {
+        String jdbcSql = ss.toJdbcSql();
+        long start = System.nanoTime();
+        debugSql("AGGREGATE", ss, jdbcSql, BindOpKind.FILTER);
+        try (StatementCache.Lease lease = prepare(txOrNull, c, jdbcSql)) {
+          PreparedStatement ps = lease.ps();
+          bindAll(ps, ss, BindOpKind.FILTER);
+          try (ResultSet rs = ps.executeQuery()) {
+            ResultSetMetaData md = rs.getMetaData();
+            int n = md.getColumnCount();
+            String[] labels = new String[n];
+            for (int i = 0; i < n; i++) labels[i] = md.getColumnLabel(i + 1);
+            List<AggregateRow> out = new ArrayList<>();
+            while (rs.next()) {
+              Map<String, Object> values = new LinkedHashMap<>();
+              for (int i = 0; i < n; i++) values.put(labels[i], rs.getObject(i + 1));
+              out.add(new AggregateRow(values));
+            }
+            debugDone("AGGREGATE", ss, jdbcSql, out.size(), System.nanoTime() - start);
+            return out;
+          }
+        }
+      } finally {
+        if (txOrNull == null) release(c);
       }
     } catch (SQLException e) {
       throw new RuntimeException(e);
@@ -136,14 +478,15 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
   protected Object executeInsertForId(TxHandle tx, EntityAuthoring ea, ViewDef view,
                                       InsertAst ast, SqlStatement ss) {
     try {
-      Connection c = (tx == null) ? ds.getConnection() : ((JdbcTxHandle) tx).conn;
+      Connection c = writeConnection(tx);
       try {
-        String jdbcSql = ViewSqlParamCompiler.toJdbcSql(ss.sql());
+        String jdbcSql = ss.toJdbcSql();
         long start = System.nanoTime();
         debugSql("INSERT", ss, jdbcSql, BindOpKind.INSERT);
         return switch (ss.execKind()) {
           case QUERY_ONE_VALUE -> {
-            try (PreparedStatement ps = c.prepareStatement(jdbcSql)) {
+            try (StatementCache.Lease lease = prepare(tx, c, jdbcSql)) {
+              PreparedStatement ps = lease.ps();
               bindAll(ps, ss, BindOpKind.INSERT);
               try (ResultSet rs = ps.executeQuery()) {
                 if (!rs.next()) yield null;
@@ -154,7 +497,8 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
             }
           }
           case UPDATE_GENERATED_KEYS -> {
-            try (PreparedStatement ps = c.prepareStatement(jdbcSql, Statement.RETURN_GENERATED_KEYS)) {
+            try (StatementCache.Lease lease = prepare(tx, c, jdbcSql, null, true)) {
+              PreparedStatement ps = lease.ps();
               bindAll(ps, ss, BindOpKind.INSERT);
               int n = ps.executeUpdate();
               try (ResultSet rs = ps.getGeneratedKeys()) {
@@ -166,7 +510,8 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
             }
           }
           case UPDATE -> {
-            try (PreparedStatement ps = c.prepareStatement(jdbcSql)) {
+            try (StatementCache.Lease lease = prepare(tx, c, jdbcSql)) {
+              PreparedStatement ps = lease.ps();
               bindAll(ps, ss, BindOpKind.INSERT);
               int n = ps.executeUpdate();
               debugDone("INSERT", ss, jdbcSql, n, System.nanoTime() - start);
@@ -176,7 +521,7 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
           case QUERY -> throw new IllegalArgumentException("Invalid execKind=QUERY for insert; use QUERY_ONE_VALUE/UPDATE/UPDATE_GENERATED_KEYS");
         };
       } finally {
-        if (tx == null) c.close();
+        if (tx == null) release(c);
       }
     } catch (SQLException e) {
       throw new RuntimeException(e);
@@ -187,14 +532,15 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
   protected Object executeUpsertForId(TxHandle tx, EntityAuthoring ea, ViewDef view,
                                       UpsertAst ast, SqlStatement ss) {
     try {
-      Connection c = (tx == null) ? ds.getConnection() : ((JdbcTxHandle) tx).conn;
+      Connection c = writeConnection(tx);
       try {
-        String jdbcSql = ViewSqlParamCompiler.toJdbcSql(ss.sql());
+        String jdbcSql = ss.toJdbcSql();
         long start = System.nanoTime();
         debugSql("UPSERT", ss, jdbcSql, BindOpKind.UPSERT_SET);
         return switch (ss.execKind()) {
           case QUERY_ONE_VALUE -> {
-            try (PreparedStatement ps = c.prepareStatement(jdbcSql)) {
+            try (StatementCache.Lease lease = prepare(tx, c, jdbcSql)) {
+              PreparedStatement ps = lease.ps();
               bindAll(ps, ss, BindOpKind.UPSERT_SET);
               try (ResultSet rs = ps.executeQuery()) {
                 if (!rs.next()) yield null;
@@ -205,7 +551,8 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
             }
           }
           case UPDATE_GENERATED_KEYS -> {
-            try (PreparedStatement ps = c.prepareStatement(jdbcSql, Statement.RETURN_GENERATED_KEYS)) {
+            try (StatementCache.Lease lease = prepare(tx, c, jdbcSql, null, true)) {
+              PreparedStatement ps = lease.ps();
               bindAll(ps, ss, BindOpKind.UPSERT_SET);
               int n = ps.executeUpdate();
               try (ResultSet rs = ps.getGeneratedKeys()) {
@@ -217,7 +564,8 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
             }
           }
           case UPDATE -> {
-            try (PreparedStatement ps = c.prepareStatement(jdbcSql)) {
+            try (StatementCache.Lease lease = prepare(tx, c, jdbcSql)) {
+              PreparedStatement ps = lease.ps();
               bindAll(ps, ss, BindOpKind.UPSERT_SET);
               int n = ps.executeUpdate();
               debugDone("UPSERT", ss, jdbcSql, n, System.nanoTime() - start);
@@ -227,7 +575,7 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
           case QUERY -> throw new IllegalArgumentException("Invalid execKind=QUERY for upsert; use QUERY_ONE_VALUE/UPDATE/UPDATE_GENERATED_KEYS");
         };
       } finally {
-        if (tx == null) c.close();
+        if (tx == null) release(c);
       }
     } catch (SQLException e) {
       throw new RuntimeException(e);
@@ -239,19 +587,20 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
   @Override
   protected long executeUpdate(TxHandle tx, EntityAuthoring ea, ViewDef view, UpdateAst ast, SqlStatement ss) {
     try {
-      Connection c = (tx == null) ? ds.getConnection() : ((JdbcTxHandle) tx).conn;
+      Connection c = writeConnection(tx);
       try {
-        String jdbcSql = ViewSqlParamCompiler.toJdbcSql(ss.sql());
+        String jdbcSql = ss.toJdbcSql();
         long start = System.nanoTime();
         debugSql("UPDATE", ss, jdbcSql, BindOpKind.UPDATE_SET);
-        try (PreparedStatement ps = c.prepareStatement(jdbcSql)) {
+        try (StatementCache.Lease lease = prepare(tx, c, jdbcSql)) {
+          PreparedStatement ps = lease.ps();
           bindAll(ps, ss, BindOpKind.UPDATE_SET);
           long n = ps.executeUpdate();
           debugDone("UPDATE", ss, jdbcSql, n, System.nanoTime() - start);
           return n;
         }
       } finally {
-        if (tx == null) c.close();
+        if (tx == null) release(c);
       }
     } catch (SQLException e) {
       throw new RuntimeException(e);
@@ -261,34 +610,357 @@ public final class JdbcDataEngine extends AbstractDataEngine<SqlStatement, JdbcH
   @Override
   protected long executeDelete(TxHandle tx, EntityAuthoring ea, ViewDef view, DeleteAst ast, SqlStatement ss) {
     try {
-      Connection c = (tx == null) ? ds.getConnection() : ((JdbcTxHandle) tx).conn;
+      Connection c = writeConnection(tx);
       try {
-        String jdbcSql = ViewSqlParamCompiler.toJdbcSql(ss.sql());
+        String jdbcSql = ss.toJdbcSql();
         long start = System.nanoTime();
         debugSql("DELETE", ss, jdbcSql, BindOpKind.FILTER);
-        try (PreparedStatement ps = c.prepareStatement(jdbcSql)) {
+        try (StatementCache.Lease lease = prepare(tx, c, jdbcSql)) {
+          PreparedStatement ps = lease.ps();
           bindAll(ps, ss, BindOpKind.FILTER);
           long n = ps.executeUpdate();
           debugDone("DELETE", ss, jdbcSql, n, System.nanoTime() - start);
           return n;
         }
       } finally {
-        if (tx == null) c.close();
+        if (tx == null) release(c);
       }
     } catch (SQLException e) {
       throw new RuntimeException(e);
     }
   }
 
-  public record JdbcTxHandle(Connection conn) implements TxHandle {}
+  // --- Bulk writes (addBatch/executeBatch) ---
 
-  private void bindAll(PreparedStatement ps, SqlStatement stmt, BindOpKind opKind) {
-    for (int i = 0; i < stmt.binds().size(); i++) {
-      var b = stmt.binds().get(i);
-      Object encoded = encode(b);
-      var ctx = new DefaultJdbcBindContext(opKind, i + 1);
-      bindInto(ps, ctx, b, encoded);
+  /**
+   * Batched inserts: consecutive statements with identical SQL share one PreparedStatement and are sent
+   * in chunks of {@code batchSize}. Returning inserts (RETURNING) are batched through JDBC generated keys.\n
+   */
+  @Override
+  protected List<Object> executeInsertBatch(TxHandle tx, EntityAuthoring ea, ViewDef view,
+                                            List<InsertAst> asts, List<SqlStatement> stmts) {
+    if (copyThreshold > 0 && asts.size() >= copyThreshold && tryBulkLoad(tx, asts)) {
+      return Arrays.asList(new Object[asts.size()]);
+    }
+    return executeBatched("INSERT", tx, stmts, BindOpKind.INSERT, i -> {
+      InsertAst ast = asts.get(i);
+      return new InsertAst(ast.table(), ast.columns(), List.of());
+    }, i -> asts.get(i).returningColumns(), ea, view, new long[1]);
+  }
+
+  /**
+   * Upserts/updates are first offered to the dialect as one multi-row statement per {@code batchSize} chunk
+   * (e.g. Postgres unnest arrays); chunks the dialect declines go through addBatch/executeBatch.\n
+   */
+  @Override
+  protected List<Object> executeUpsertBatch(TxHandle tx, EntityAuthoring ea, ViewDef view,
+                                            List<UpsertAst> asts, List<SqlStatement> stmts) {
+    List<Object> ids = new ArrayList<>(asts.size());
+    for (int from = 0; from < asts.size(); from += batchSize) {
+      int to = Math.min(asts.size(), from + batchSize);
+      SqlStatement bulk = jdbcDialect.renderBulkUpsert(ea, view, asts.subList(from, to));
+      if (bulk != null) {
+        executeBulk("UPSERT", tx, bulk, BindOpKind.UPSERT_SET);
+        // Rows already carry their keys (the dialect declines otherwise): nothing to read back.
+        ids.addAll(Arrays.asList(new Object[to - from]));
+        continue;
+      }
+      List<UpsertAst> chunk = asts.subList(from, to);
+      ids.addAll(executeBatched("UPSERT", tx, stmts.subList(from, to), BindOpKind.UPSERT_SET, i -> {
+        UpsertAst ast = chunk.get(i);
+        InsertAst ins = ast.insert();
+        return new UpsertAst(new InsertAst(ins.table(), ins.columns(), List.of()), ast.conflictColumns(), ast.updateColumns());
+      }, i -> chunk.get(i).insert().returningColumns(), ea, view, new long[1]));
     }
+    return ids;
+  }
+
+  @Override
+  protected long executeUpdateBatch(TxHandle tx, EntityAuthoring ea, ViewDef view,
+                                    List<UpdateAst> asts, List<SqlStatement> stmts) {
+    long[] total = new long[1];
+    for (int from = 0; from < asts.size(); from += batchSize) {
+      int to = Math.min(asts.size(), from + batchSize);
+      SqlStatement bulk = jdbcDialect.renderBulkUpdate(ea, view, asts.subList(from, to), propertyTypes());
+      if (bulk != null) {
+        total[0] += executeBulk("UPDATE", tx, bulk, BindOpKind.UPDATE_SET);
+      } else {
+        executeBatched("UPDATE", tx, stmts.subList(from, to), BindOpKind.UPDATE_SET, null, null, ea, view, total);
+      }
+    }
+    return total[0];
+  }
+
+  private long executeBulk(String op, TxHandle tx, SqlStatement ss, BindOpKind opKind) {
+    try {
+      Connection c = connection(tx);
+      try {
+        long start = System.nanoTime();
+        String jdbcSql = ss.toJdbcSql();
+        debugSql(op + "_BULK", ss, jdbcSql, opKind);
+        try (StatementCache.Lease lease = prepare(tx, c, jdbcSql)) {
+          PreparedStatement ps = lease.ps();
+          bindAll(ps, ss, opKind);
+          long n = ps.executeUpdate();
+          debugDone(op + "_BULK", ss, jdbcSql, n, System.nanoTime() - start);
+          return n;
+        }
+      } finally {
+        if (tx == null) release(c);
+      }
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Route a large insert batch through the dialect's bulk loader (e.g. Postgres COPY).\n
+   *
+   * Only used when every row targets the same table/columns and already supplies the keys it would return
+   * (bulk loaders cannot return generated ids); otherwise returns false and the caller keeps batched INSERTs.\n
+   */
+  private boolean tryBulkLoad(TxHandle tx, List<InsertAst> asts) {
+    JdbcBulkLoader loader = jdbcDialect.bulkLoader();
+    if (loader == null) return false;
+    InsertAst shape = asts.getFirst();
+    int width = shape.columns().size();
+    List<String> columns = shape.columns().stream().map(ColumnBind::column).toList();
+    for (InsertAst ast : asts) {
+      if (!ast.table().equals(shape.table()) || ast.columns().size() != width) return false;
+      for (int i = 0; i < width; i++) {
+        if (!ast.columns().get(i).column().equals(columns.get(i))) return false;
+      }
+      if (!columns.containsAll(ast.returningColumns())) return false;
+    }
+
+    List<Object[]> rows = new ArrayList<>(asts.size());
+    for (InsertAst ast : asts) {
+      Object[] row = new Object[width];
+      for (int i = 0; i < width; i++) row[i] = encode(ast.columns().get(i).bind());
+      rows.add(row);
+    }
+    if (!loader.supports(shape, rows)) return false;
+
+    try {
+      Connection c = connection(tx);
+      try {
+        long start = System.nanoTime();
+        long n = loader.load(c, shape, rows);
+        if (log.isDebugEnabled()) {
+          log.debug("nativa.jdbc_done op=BULK_LOAD table={} rows={} durationMs={}",
+              shape.table(), n, (System.nanoTime() - start) / 1_000_000.0);
+        }
+        return true;
+      } finally {
+        if (tx == null) release(c);
+      }
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private List<Object> executeBatched(String op, TxHandle tx, List<SqlStatement> stmts, BindOpKind opKind,
+                                      IntFunction<DmlAst> withoutReturning,
+                                      IntFunction<List<String>> returningColumns,
+                                      EntityAuthoring ea, ViewDef view, long[] affected) {
+    Object[] ids = new Object[stmts.size()];
+    try {
+      Connection c = connection(tx);
+      try {
+        int from = 0;
+        while (from < stmts.size()) {
+          SqlStatement first = stmts.get(from);
+          int to = from + 1;
+          while (to < stmts.size()
+              && stmts.get(to).sql().equals(first.sql())
+              && stmts.get(to).execKind() == first.execKind()) {
+            to++;
+          }
+
+          String jdbcSql = first.toJdbcSql();
+          String[] keyColumns = null;
+          boolean generatedKeys = false;
+          switch (first.execKind()) {
+            case QUERY_ONE_VALUE -> {
+              // SQL-level RETURNING can't be batched; re-render without it and ask the driver for keys.
+              List<String> ret = (returningColumns == null) ? List.of() : returningColumns.apply(from);
+              if (withoutReturning != null) {
+                jdbcSql = dialect().renderDml(ea, view, withoutReturning.apply(from), propertyTypes()).toJdbcSql();
+              }
+              keyColumns = ret.toArray(String[]::new);
+            }
+            case UPDATE_GENERATED_KEYS -> generatedKeys = true;
+            case UPDATE -> { }
+            case QUERY -> throw new IllegalArgumentException("Invalid execKind=QUERY for batched " + op);
+          }
+
+          long start = System.nanoTime();
+          debugSql(op + "_BATCH", first, jdbcSql, opKind);
+          try (StatementCache.Lease lease = prepare(tx, c, jdbcSql, keyColumns, generatedKeys)) {
+            PreparedStatement ps = lease.ps();
+            boolean readKeys = (keyColumns != null && keyColumns.length > 0) || generatedKeys;
+            JdbcBindPlan plan = bindPlan(first, opKind);
+            for (int chunk = from; chunk < to; chunk += batchSize) {
+              int end = Math.min(to, chunk + batchSize);
+              for (int i = chunk; i < end; i++) {
+                bindAll(ps, stmts.get(i), plan, opKind);
+                ps.addBatch();
+              }
+              affected[0] += batchRowCount(op, ps.executeBatch());
+              if (readKeys) readGeneratedKeys(op, ps, ids, chunk, end);
+            }
+          }
+          debugDone(op + "_BATCH", first, jdbcSql, to - from, System.nanoTime() - start);
+          from = to;
+        }
+      } finally {
+        if (tx == null) release(c);
+      }
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+    return Arrays.asList(ids);
+  }
+
+  /**
+   * Rows affected by one executeBatch().\n
+   *
+   * Batched statements each write one row by key, so a driver's {@link Statement#SUCCESS_NO_INFO} counts as one
+   * row; {@link Statement#EXECUTE_FAILED} (drivers that keep going after an error) fails the write.\n
+   */
+  private static long batchRowCount(String op, int[] counts) {
+    long n = 0;
+    for (int i = 0; i < counts.length; i++) {
+      int c = counts[i];
+      if (c == Statement.EXECUTE_FAILED) throw new IllegalStateException("Batched " + op + " failed at row " + i);
+      n += (c == Statement.SUCCESS_NO_INFO) ? 1 : c;
+    }
+    return n;
+  }
+
+  /** Generated keys map to rows by position, so a key count other than the row count fails instead of shifting ids. */
+  private static void readGeneratedKeys(String op, PreparedStatement ps, Object[] ids, int from, int to) throws SQLException {
+    List<Object> keys = new ArrayList<>(to - from);
+    try (ResultSet rs = ps.getGeneratedKeys()) {
+      while (rs != null && rs.next()) keys.add(rs.getObject(1));
+    }
+    if (keys.size() != to - from) {
+      throw new IllegalStateException("Batched " + op + " returned " + keys.size() + " generated keys for "
+          + (to - from) + " rows");
+    }
+    for (int i = from; i < to; i++) ids[i] = keys.get(i - from);
+  }
+
+  /**
+   * @param session session variables already applied on {@code conn}
+   * @param owned   whether the handle owns {@code conn} (false: a transaction borrowing a pinned connection)
+   * @param statements prepared statements cached on {@code conn} (shared with a borrowing transaction)
+   */
+  public record JdbcTxHandle(Connection conn, Map<String, String> session, boolean owned, StatementCache statements)
+      implements TxHandle {
+    public JdbcTxHandle(Connection conn) {
+      this(conn, new HashMap<>(), true, new StatementCache(DEFAULT_STATEMENT_CACHE_SIZE));
+    }
+  }
+
+  /** Statement lease: cached on the connection of {@code txOrNull}, one-shot on a pooled connection. */
+  private static StatementCache.Lease prepare(TxHandle txOrNull, Connection c, String jdbcSql,
+                                              String[] keyColumns, boolean generatedKeys) throws SQLException {
+    StatementCache cache = (txOrNull == null) ? ONE_SHOT : ((JdbcTxHandle) txOrNull).statements();
+    return cache.lease(c, jdbcSql, keyColumns, generatedKeys);
+  }
+
+  private static StatementCache.Lease prepare(TxHandle txOrNull, Connection c, String jdbcSql) throws SQLException {
+    return prepare(txOrNull, c, jdbcSql, null, false);
+  }
+
+  /**
+   * Connection for one operation: the transaction's, or a pooled one (return it via {@link #release}).\n
+   *
+   * Bound {@link SessionVariables} are applied first: transaction-local inside a transaction (again only when
+   * they change), session-wide on a pooled or pinned connection (reset on release).\n
+   */
+  private Connection connection(TxHandle tx) throws SQLException {
+    Map<String, String> vars = SessionVariables.current();
+    if (tx != null) {
+      JdbcTxHandle j = (JdbcTxHandle) tx;
+      if (!vars.isEmpty() && !vars.equals(j.session())) {
+        if (!j.conn().getAutoCommit()) applySessionVariables(j.conn(), vars, true);
+        else applySessionVariables(j.conn(), resetting(j.session(), vars), false);
+        j.session().clear();
+        j.session().putAll(vars);
+      }
+      return j.conn();
+    }
+    Connection c = ds.getConnection();
+    if (!vars.isEmpty()) {
+      try {
+        applySessionVariables(c, vars, false);
+      } catch (SQLException | RuntimeException e) {
+        c.close();
+        throw e;
+      }
+    }
+    return c;
+  }
+
+  // Single-statement write outside a transaction: commits by itself (pools may hand out autocommit=false).\n
+  private Connection writeConnection(TxHandle tx) throws SQLException {
+    Connection c = connection(tx);
+    if (tx == null && !c.getAutoCommit()) {
+      try {
+        c.setAutoCommit(true);
+      } catch (SQLException | RuntimeException e) {
+        release(c);
+        throw e;
+      }
+    }
+    return c;
+  }
+
+  private void release(Connection c) throws SQLException {
+    Map<String, String> vars = SessionVariables.current();
+    try {
+      if (vars.isEmpty()) return;
+      applySessionVariables(c, resetting(vars, Map.of()), false);
+    } catch (SQLException | RuntimeException e) {
+      // Never hand a connection that still carries this scope's variables back to the pool.
+      try { c.abort(Runnable::run); } catch (SQLException | RuntimeException ignored) {}
+      throw e;
+    } finally {
+      c.close();
+    }
+  }
+
+  // {@code next}, plus "" for every name in {@code applied} it does not set.\n
+  private static Map<String, String> resetting(Map<String, String> applied, Map<String, String> next) {
+    Map<String, String> out = new LinkedHashMap<>();
+    for (String name : applied.keySet()) out.put(name, "");
+    out.putAll(next);
+    return out;
+  }
+
+  private void applySessionVariables(Connection c, Map<String, String> vars, boolean local) throws SQLException {
+    SqlStatement ss = jdbcDialect.renderSessionVariables(vars, local);
+    if (ss == null) throw new IllegalStateException("Dialect " + jdbcDialect.id() + " does not support session variables");
+    try (PreparedStatement ps = c.prepareStatement(ss.toJdbcSql())) {
+      bindAll(ps, ss, BindOpKind.FILTER);
+      ps.executeQuery().close();
+    }
+  }
+
+  private void bindAll(PreparedStatement ps, SqlStatement stmt, BindOpKind opKind) {
+    bindAll(ps, stmt, stmt.bindPlan(), opKind);
+  }
+
+  private void bindAll(PreparedStatement ps, SqlStatement stmt, JdbcBindPlan plan, BindOpKind opKind) {
+    if (plan == null || !plan.matches(stmt.binds(), opKind)) plan = bindPlan(stmt, opKind);
+    plan.bind(ps, stmt.binds());
+  }
+
+  private JdbcBindPlan bindPlan(SqlStatement stmt, BindOpKind opKind) {
+    JdbcBindPlan plan = stmt.bindPlan();
+    return (plan != null && plan.matches(stmt.binds(), opKind)) ? plan : JdbcBindPlan.of(stmt.binds(), opKind, userTypes(), binders());
   }
 
   private void debugSql(String op, SqlStatement ss, String jdbcSql, BindOpKind bindKind) {
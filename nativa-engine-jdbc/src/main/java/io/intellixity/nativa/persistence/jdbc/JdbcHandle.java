@@ -4,6 +4,7 @@ import io.intellixity.nativa.persistence.exec.handle.EngineHandle;
 
 import javax.sql.DataSource;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /** JDBC-family engine handle (resolved by application code). */
 public final class JdbcHandle implements EngineHandle<DataSource> {
@@ -11,18 +12,48 @@ public final class JdbcHandle implements EngineHandle<DataSource> {
   private final DataSource client;
   private final String schema;
   private final boolean multiTenant;
+  private final AutoCloseable onClose;
+  private final int asyncConcurrency;
+  private final AtomicBoolean closed = new AtomicBoolean();
 
   public JdbcHandle(String id, DataSource client, String schema, boolean multiTenant) {
+    this(id, client, schema, multiTenant, null);
+  }
+
+  /** @param onClose resource released by {@link #close()} (e.g. the pool behind {@code client}); may be null */
+  public JdbcHandle(String id, DataSource client, String schema, boolean multiTenant, AutoCloseable onClose) {
+    this(id, client, schema, multiTenant, onClose, DEFAULT_ASYNC_CONCURRENCY);
+  }
+
+  /** @param asyncConcurrency max concurrent async operations on this handle (see {@link #asyncConcurrency()}) */
+  public JdbcHandle(String id, DataSource client, String schema, boolean multiTenant, AutoCloseable onClose,
+                    int asyncConcurrency) {
+    if (asyncConcurrency <= 0) throw new IllegalArgumentException("asyncConcurrency must be > 0");
     this.id = Objects.requireNonNull(id, "id");
     this.client = Objects.requireNonNull(client, "client");
     this.schema = (schema == null || schema.isBlank()) ? null : schema;
     this.multiTenant = multiTenant;
+    this.onClose = onClose;
+    this.asyncConcurrency = asyncConcurrency;
   }
 
   @Override public String id() { return id; }
   @Override public DataSource client() { return client; }
   @Override public String namespace() { return schema; }
   @Override public boolean multiTenant() { return multiTenant; }
+  @Override public int asyncConcurrency() { return asyncConcurrency; }
+
+  @Override
+  public void close() {
+    if (onClose == null || !closed.compareAndSet(false, true)) return;
+    try {
+      onClose.close();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to close handle " + id, e);
+    }
+  }
 
   public String schema() { return schema; }
 }
@@ -1,12 +1,13 @@
 package io.intellixity.nativa.persistence.jdbc;
 
 import io.intellixity.nativa.persistence.authoring.UserTypeRegistry;
+import io.intellixity.nativa.persistence.mapping.OrdinalRowAdapter;
 import io.intellixity.nativa.persistence.mapping.RowAdapter;
 
 import java.sql.*;
 import java.util.*;
 
-public final class JdbcRowAdapter implements RowAdapter {
+public final class JdbcRowAdapter implements OrdinalRowAdapter {
   private final ResultSet rs;
   private final UserTypeRegistry userTypes;
   private Map<String, Integer> colIndex;
@@ -29,6 +30,111 @@ public final class JdbcRowAdapter implements RowAdapter {
     }
   }
 
+  @Override
+  public boolean has(String path) {
+    return ordinalOf(path) > 0;
+  }
+
+  @Override
+  public int ordinalOf(String label) {
+    try {
+      Integer i = columnIndex().get(label);
+      return (i == null) ? -1 : i;
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public Object rawAt(int ordinal) {
+    try {
+      return rs.getObject(ordinal);
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public long getLongAt(int ordinal) {
+    try {
+      return rs.getLong(ordinal);
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public int getIntAt(int ordinal) {
+    try {
+      return rs.getInt(ordinal);
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public double getDoubleAt(int ordinal) {
+    try {
+      return rs.getDouble(ordinal);
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public boolean getBooleanAt(int ordinal) {
+    try {
+      return rs.getBoolean(ordinal);
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public long getLong(String path) {
+    try {
+      return getLongAt(indexOf(path));
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public int getInt(String path) {
+    try {
+      return getIntAt(indexOf(path));
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public double getDouble(String path) {
+    try {
+      return getDoubleAt(indexOf(path));
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public boolean getBoolean(String path) {
+    try {
+      return getBooleanAt(indexOf(path));
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public boolean wasNull() {
+    try {
+      return rs.wasNull();
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   @Override
   public RowAdapter object(String prefix) {
     return new PrefixedJdbcRowAdapter(this, prefix);
@@ -81,6 +187,12 @@ public final class JdbcRowAdapter implements RowAdapter {
   }
 
   private int indexOf(String label) throws SQLException {
+    Integer i = columnIndex().get(label);
+    if (i == null) throw new IllegalArgumentException("Unknown column label: " + label);
+    return i;
+  }
+
+  private Map<String, Integer> columnIndex() throws SQLException {
     if (colIndex == null) {
       colIndex = new HashMap<>();
       ResultSetMetaData md = rs.getMetaData();
@@ -88,9 +200,7 @@ public final class JdbcRowAdapter implements RowAdapter {
         colIndex.put(md.getColumnLabel(i), i);
       }
     }
-    Integer i = colIndex.get(label);
-    if (i == null) throw new IllegalArgumentException("Unknown column label: " + label);
-    return i;
+    return colIndex;
   }
 
   static final class PrefixedJdbcRowAdapter implements RowAdapter {
@@ -105,6 +215,12 @@ public final class JdbcRowAdapter implements RowAdapter {
     @Override public UserTypeRegistry userTypes() { return base.userTypes(); }
     @Override public boolean isNull(String path) { return base.isNull(prefix + path); }
     @Override public Object raw(String path) { return base.raw(prefix + path); }
+    @Override public boolean has(String path) { return base.has(prefix + path); }
+    @Override public long getLong(String path) { return base.getLong(prefix + path); }
+    @Override public int getInt(String path) { return base.getInt(prefix + path); }
+    @Override public double getDouble(String path) { return base.getDouble(prefix + path); }
+    @Override public boolean getBoolean(String path) { return base.getBoolean(prefix + path); }
+    @Override public boolean wasNull() { return base.wasNull(); }
     @Override public RowAdapter object(String p) { return base.object(prefix + p); }
     @Override public Iterable<Object> arrayRaw(String path) { return base.arrayRaw(prefix + path); }
     @Override public Map<String, Object> map(String path) { return base.map(prefix + path); }
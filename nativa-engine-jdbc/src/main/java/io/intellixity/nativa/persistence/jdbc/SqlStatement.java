@@ -1,11 +1,20 @@
 package io.intellixity.nativa.persistence.jdbc;
 
 import io.intellixity.nativa.persistence.compile.Bind;
+import io.intellixity.nativa.persistence.jdbc.bind.JdbcBindPlan;
 import io.intellixity.nativa.persistence.spi.sql.NativeStatement;
 
 import java.util.List;
 
-public record SqlStatement(String sql, List<Bind> binds, ExecKind execKind) implements NativeStatement {
+/**
+ * Rendered SQL with named placeholders (:b1, :tenantId, ...) and ordered binds.\n
+ *
+ * {@code jdbcSql} optionally carries the precompiled '?' form of {@code sql} (set for cached plans);
+ * use {@link #toJdbcSql()} to get it either way. {@code bindPlan} optionally carries the precompiled
+ * per-parameter encoders/binders for this bind shape (also set for cached plans).\n
+ */
+public record SqlStatement(String sql, List<Bind> binds, ExecKind execKind, String jdbcSql, JdbcBindPlan bindPlan)
+    implements NativeStatement {
   public enum ExecKind {
     /** Execute via PreparedStatement.executeQuery() (used for SELECT/COUNT). */
     QUERY,
@@ -22,10 +31,30 @@ public record SqlStatement(String sql, List<Bind> binds, ExecKind execKind) impl
     execKind = (execKind == null) ? ExecKind.QUERY : execKind;
   }
 
+  public SqlStatement(String sql, List<Bind> binds, ExecKind execKind, String jdbcSql) {
+    this(sql, binds, execKind, jdbcSql, null);
+  }
+
+  public SqlStatement(String sql, List<Bind> binds, ExecKind execKind) {
+    this(sql, binds, execKind, null, null);
+  }
+
   public SqlStatement(String sql, List<Bind> binds) {
     this(sql, binds, ExecKind.QUERY);
   }
-}
 
+  /** JDBC '?' SQL (precompiled if available, otherwise rewritten from {@link #sql()}). */
+  public String toJdbcSql() {
+    return (jdbcSql != null) ? jdbcSql : ViewSqlParamCompiler.toJdbcSql(sql);
+  }
 
+  /** Same statement with new binds (keeps sql, execKind, precompiled JDBC SQL and bind plan). */
+  public SqlStatement withBinds(List<Bind> newBinds) {
+    return new SqlStatement(sql, newBinds, execKind, jdbcSql, bindPlan);
+  }
 
+  /** Same statement carrying a precompiled bind plan. */
+  public SqlStatement withBindPlan(JdbcBindPlan plan) {
+    return new SqlStatement(sql, binds, execKind, jdbcSql, plan);
+  }
+}
@@ -0,0 +1,136 @@
+package io.intellixity.nativa.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded LRU of {@link PreparedStatement}s for one connection, keyed by JDBC SQL and generated-keys mode.\n
+ *
+ * Lives as long as the engine holds the connection (a transaction or a {@code withConnection} scope), so repeated
+ * statements skip the driver's prepare and keep server-side prepared statements warm. Not thread-safe: a
+ * connection is used by one thread at a time. A statement already leased (re-entrant use of the same SQL) is
+ * prepared again uncached.\n
+ */
+public final class StatementCache implements AutoCloseable {
+  private record Key(String sql, int autoGeneratedKeys, List<String> keyColumns) {}
+
+  private final int maxSize;
+  private final LinkedHashMap<Key, PreparedStatement> lru;
+  private final Set<PreparedStatement> leased = Collections.newSetFromMap(new IdentityHashMap<>());
+  // Evicted while leased: closed when the lease ends.\n
+  private final Set<PreparedStatement> evicted = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  public StatementCache(int maxSize) {
+    if (maxSize < 0) throw new IllegalArgumentException("maxSize must be >= 0");
+    this.maxSize = maxSize;
+    this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+        if (size() <= StatementCache.this.maxSize) return false;
+        PreparedStatement ps = eldest.getValue();
+        if (leased.contains(ps)) evicted.add(ps);
+        else closeQuietly(ps);
+        return true;
+      }
+    };
+  }
+
+  /** A statement for one execution; closing the lease returns a cached statement instead of closing it. */
+  public final class Lease implements AutoCloseable {
+    private final PreparedStatement ps;
+    private final Key key;
+
+    private Lease(PreparedStatement ps, Key key) {
+      this.ps = ps;
+      this.key = key;
+    }
+
+    public PreparedStatement ps() {
+      return ps;
+    }
+
+    @Override
+    public void close() throws SQLException {
+      if (key == null) {
+        ps.close();
+        return;
+      }
+      leased.remove(ps);
+      if (evicted.remove(ps)) {
+        ps.close();
+        return;
+      }
+      try {
+        ps.clearParameters();
+        ps.clearBatch();
+      } catch (SQLException | RuntimeException e) {
+        lru.remove(key, ps);
+        ps.close();
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Lease a statement for {@code sql} on {@code conn}: {@code keyColumns} (non-empty) or
+   * {@code generatedKeys} select the generated-keys mode.\n
+   */
+  public Lease lease(Connection conn, String sql, String[] keyColumns, boolean generatedKeys) throws SQLException {
+    boolean byColumns = keyColumns != null && keyColumns.length > 0;
+    if (maxSize == 0) return new Lease(prepare(conn, sql, keyColumns, byColumns, generatedKeys), null);
+
+    Key key = new Key(sql,
+        generatedKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS,
+        byColumns ? List.of(keyColumns) : List.of());
+    PreparedStatement ps = lru.get(key);
+    if (ps != null && leased.contains(ps)) return new Lease(prepare(conn, sql, keyColumns, byColumns, generatedKeys), null);
+    if (ps == null || ps.isClosed()) {
+      ps = prepare(conn, sql, keyColumns, byColumns, generatedKeys);
+      lru.put(key, ps);
+    }
+    leased.add(ps);
+    return new Lease(ps, key);
+  }
+
+  public Lease lease(Connection conn, String sql) throws SQLException {
+    return lease(conn, sql, null, false);
+  }
+
+  /** Cached statement count. */
+  public int size() {
+    return lru.size();
+  }
+
+  /** Close every cached statement (call before the connection is released). */
+  @Override
+  public void close() {
+    List<PreparedStatement> all = new ArrayList<>(lru.values());
+    lru.clear();
+    leased.clear();
+    evicted.clear();
+    for (PreparedStatement ps : all) closeQuietly(ps);
+  }
+
+  private static PreparedStatement prepare(Connection conn, String sql, String[] keyColumns,
+                                           boolean byColumns, boolean generatedKeys) throws SQLException {
+    if (byColumns) return conn.prepareStatement(sql, keyColumns);
+    if (generatedKeys) return conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+    return conn.prepareStatement(sql);
+  }
+
+  private static void closeQuietly(PreparedStatement ps) {
+    try {
+      ps.close();
+    } catch (SQLException | RuntimeException ignored) {
+    }
+  }
+}
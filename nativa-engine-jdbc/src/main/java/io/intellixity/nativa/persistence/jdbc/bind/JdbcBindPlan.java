@@ -0,0 +1,87 @@
+package io.intellixity.nativa.persistence.jdbc.bind;
+
+import io.intellixity.nativa.persistence.authoring.UserType;
+import io.intellixity.nativa.persistence.authoring.UserTypeRegistry;
+import io.intellixity.nativa.persistence.compile.Bind;
+import io.intellixity.nativa.persistence.spi.bind.BindOpKind;
+import io.intellixity.nativa.persistence.spi.bind.Binder;
+import io.intellixity.nativa.persistence.spi.bind.DiscoveredBinderRegistry;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Precompiled per-parameter binding for one statement shape (bind userTypeIds + opKind).\n
+ *
+ * Each slot holds the resolved {@link UserType} encoder, a reusable {@link JdbcBindContext} and the binder
+ * last resolved for the slot's value class, so re-binding the same shape (cached read plans, batched writes)
+ * does no registry lookups. Plans are immutable apart from racy-but-benign binder memo slots and may be
+ * shared across threads.\n
+ */
+public final class JdbcBindPlan {
+  private final BindOpKind opKind;
+  private final String[] userTypeIds;
+  private final UserType<Object>[] types;
+  private final JdbcBindContext[] contexts;
+  private final Resolved[] resolved;
+  private final UserTypeRegistry userTypes;
+  private final DiscoveredBinderRegistry binders;
+
+  private record Resolved(Class<?> valueClass, Binder<PreparedStatement, Object> binder) {}
+
+  @SuppressWarnings("unchecked")
+  private JdbcBindPlan(List<Bind> binds, BindOpKind opKind, UserTypeRegistry userTypes, DiscoveredBinderRegistry binders) {
+    int n = binds.size();
+    this.opKind = Objects.requireNonNull(opKind, "opKind");
+    this.userTypes = userTypes;
+    this.binders = binders;
+    this.userTypeIds = new String[n];
+    this.types = (UserType<Object>[]) new UserType<?>[n];
+    this.contexts = new JdbcBindContext[n];
+    this.resolved = new Resolved[n];
+    for (int i = 0; i < n; i++) {
+      Bind b = binds.get(i);
+      userTypeIds[i] = (b == null) ? null : b.userTypeId();
+      types[i] = (b == null) ? null : (UserType<Object>) userTypes.get(b.userTypeId());
+      contexts[i] = new DefaultJdbcBindContext(opKind, i + 1);
+    }
+  }
+
+  public static JdbcBindPlan of(List<Bind> binds, BindOpKind opKind, UserTypeRegistry userTypes,
+                                DiscoveredBinderRegistry binders) {
+    return new JdbcBindPlan(binds == null ? List.of() : binds, opKind,
+        Objects.requireNonNull(userTypes, "userTypes"), Objects.requireNonNull(binders, "binders"));
+  }
+
+  public BindOpKind opKind() {
+    return opKind;
+  }
+
+  /** Whether this plan can bind {@code binds} for {@code opKind} (same arity and userTypeIds). */
+  public boolean matches(List<Bind> binds, BindOpKind opKind) {
+    if (this.opKind != opKind || binds.size() != userTypeIds.length) return false;
+    for (int i = 0; i < userTypeIds.length; i++) {
+      Bind b = binds.get(i);
+      if (!Objects.equals(userTypeIds[i], b == null ? null : b.userTypeId())) return false;
+    }
+    return true;
+  }
+
+  /** Encode and bind every parameter; {@code binds} must {@link #matches} this plan. */
+  public void bind(PreparedStatement ps, List<Bind> binds) {
+    for (int i = 0; i < types.length; i++) {
+      Bind b = binds.get(i);
+      Object encoded = (b == null) ? null : types[i].encode(b.value());
+      JdbcBindContext ctx = contexts[i];
+      Class<?> vc = (encoded == null) ? null : encoded.getClass();
+      Resolved r = resolved[i];
+      if (r == null || r.valueClass() != vc) {
+        r = new Resolved(vc, binders.resolve(ps, ctx, b, encoded));
+        resolved[i] = r;
+      }
+      if (r.binder() != null) r.binder().bind(ps, ctx, b, encoded, userTypes);
+      else binders.bind(ps, ctx, b, encoded, userTypes);
+    }
+  }
+}
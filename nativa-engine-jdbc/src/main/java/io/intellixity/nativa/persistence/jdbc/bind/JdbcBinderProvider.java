@@ -47,6 +47,7 @@ public abstract class JdbcBinderProvider implements BinderProvider {
   static final class JdbcInstantToTimestampBinder implements Binder<PreparedStatement, Instant> {
     @Override public Class<PreparedStatement> targetType() { return PreparedStatement.class; }
     @Override public Class<Instant> valueType() { return Instant.class; }
+    @Override public boolean typeStable() { return true; }
 
     @Override
     public boolean supports(BindContext ctx, Bind bind, Instant encodedValue) {
@@ -72,6 +73,7 @@ public abstract class JdbcBinderProvider implements BinderProvider {
   static final class JdbcSetObjectBinder implements Binder<PreparedStatement, Object> {
     @Override public Class<PreparedStatement> targetType() { return PreparedStatement.class; }
     @Override public Class<Object> valueType() { return Object.class; }
+    @Override public boolean typeStable() { return true; }
     @Override public boolean supports(BindContext ctx, Bind bind, Object encodedValue) { return true; }
 
     @Override
@@ -91,6 +93,7 @@ public abstract class JdbcBinderProvider implements BinderProvider {
     @Override public Class<PreparedStatement> targetType() { return PreparedStatement.class; }
     @SuppressWarnings("unchecked")
     @Override public Class<List<?>> valueType() { return (Class<List<?>>) (Class<?>) List.class; }
+    @Override public boolean typeStable() { return true; }
 
     @Override
     public boolean supports(BindContext ctx, Bind bind, List<?> encodedValue) {
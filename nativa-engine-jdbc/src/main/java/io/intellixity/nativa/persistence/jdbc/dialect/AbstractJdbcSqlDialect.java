@@ -11,7 +11,10 @@ import io.intellixity.nativa.persistence.dmlast.*;
 import io.intellixity.nativa.persistence.jdbc.SqlStatement;
 import io.intellixity.nativa.persistence.jdbc.ViewSqlParamCompiler;
 import io.intellixity.nativa.persistence.jdbc.SqlStatement.ExecKind;
+import io.intellixity.nativa.persistence.mapping.ViewRowPlan;
 import io.intellixity.nativa.persistence.query.*;
+import io.intellixity.nativa.persistence.query.aggregation.Aggregate;
+import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
 import io.intellixity.nativa.persistence.query.OffsetPage;
 import io.intellixity.nativa.persistence.query.Page;
 import io.intellixity.nativa.persistence.query.SortField;
@@ -32,17 +35,28 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
   protected static final class RenderCtx {
     private int n = 1;
     private final List<Bind> binds = new ArrayList<>();
+    public RenderCtx() {}
     public String add(Bind b) {
       binds.add(b);
       return ":b" + (n++);
     }
+    public List<Bind> binds() {
+      return binds;
+    }
   }
 
   @Override
   public final SqlStatement mergeSelect(EntityAuthoring ea, ViewDef view, QueryElement filter,
                                         List<SortField> sort, Page page, Map<String, Object> params,
                                         PropertyTypeResolver types) {
-    SqlStatement base = baseSelectSql(ea, view, params);
+    return mergeSelect(ea, view, filter, sort, page, params, types, List.of());
+  }
+
+  @Override
+  public final SqlStatement mergeSelect(EntityAuthoring ea, ViewDef view, QueryElement filter,
+                                        List<SortField> sort, Page page, Map<String, Object> params,
+                                        PropertyTypeResolver types, List<String> projection) {
+    SqlStatement base = baseSelectSql(ea, view, params, projection);
     SqlStatement withFilter = appendFilter(ea, base, view, filter, baseHasWhere(base.sql()), types);
     SqlStatement withSeek = (page instanceof SeekPage sp)
         ? appendSeekFilter(ea, withFilter, view, sort, sp, types)
@@ -51,6 +65,26 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
     return appendPage(withSort, page, sort);
   }
 
+  /**
+   * Paged select with {@code COUNT(*) OVER ()} added to the derived select list; window functions run before
+   * LIMIT/OFFSET, so every row carries the filtered total.\n
+   *
+   * Returns null (engine runs select + count) for explicit sqlView SQL, whose select list is opaque, and for
+   * a SeekPage past the first page, whose keyset predicate would narrow the total.\n
+   */
+  @Override
+  public final SqlStatement mergeSelectPage(EntityAuthoring ea, ViewDef view, QueryElement filter,
+                                            List<SortField> sort, Page page, Map<String, Object> params,
+                                            PropertyTypeResolver types, List<String> projection) {
+    if (view.sqlView() != null) return null;
+    if (page instanceof SeekPage sp && !sp.after().isEmpty()) return null;
+    SqlStatement base = baseSelectSql(ea, view, params, projection,
+        List.of("COUNT(*) OVER () AS " + quoteIdent(SELECT_PAGE_TOTAL_LABEL)));
+    SqlStatement withFilter = appendFilter(ea, base, view, filter, baseHasWhere(base.sql()), types);
+    SqlStatement withSort = appendSort(withFilter, view, sort);
+    return appendPage(withSort, page, sort);
+  }
+
   @Override
   public final SqlStatement mergeCount(EntityAuthoring ea, ViewDef view, QueryElement filter, Map<String, Object> params,
                                        PropertyTypeResolver types) {
@@ -60,6 +94,61 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
     return new SqlStatement(sql, withFilter.binds());
   }
 
+  /**
+   * Aggregate over the filtered view query.\n
+   *
+   * The filtered base SELECT (same as {@link #mergeCount}) is wrapped as {@code nativa_agg}; group fields and
+   * aggregates are computed over its result-set labels, so governance filters always apply before grouping.
+   * Output columns are labelled by group field path / aggregate alias; sort may name either.
+   * A SeekPage only limits (keyset over aggregate rows is not supported).\n
+   */
+  @Override
+  public final SqlStatement mergeAggregate(EntityAuthoring ea, ViewDef view, QueryElement filter, GroupBy groupBy,
+                                           List<SortField> sort, Page page, Map<String, Object> params,
+                                           PropertyTypeResolver types) {
+    Objects.requireNonNull(groupBy, "groupBy");
+    SqlStatement base = baseSelectSql(ea, view, params);
+    SqlStatement withFilter = appendFilter(ea, base, view, filter, baseHasWhere(base.sql()), types);
+
+    List<String> selectItems = new ArrayList<>();
+    List<String> groupExprs = new ArrayList<>();
+    for (String f : groupBy.fields()) {
+      String col = "nativa_agg." + aggregateSourceColumn(view, f);
+      groupExprs.add(col);
+      selectItems.add(col + " AS " + quoteIdent(f));
+    }
+    for (Aggregate a : groupBy.aggregates()) {
+      selectItems.add(aggregateSql(view, a) + " AS " + quoteIdent(a.alias()));
+    }
+    if (selectItems.isEmpty()) throw new IllegalArgumentException("GroupBy requires fields or aggregates");
+
+    StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", selectItems))
+        .append(" FROM (").append(withFilter.sql()).append(") nativa_agg");
+    if (!groupExprs.isEmpty()) sql.append(" GROUP BY ").append(String.join(", ", groupExprs));
+
+    List<Bind> binds = new ArrayList<>(withFilter.binds());
+    if (groupBy.having() != null) {
+      RenderCtx ctx = new RenderCtx();
+      String having = renderHavingSql(ea, view, groupBy, groupBy.having(), ctx, types, false);
+      if (having != null && !having.isBlank()) {
+        sql.append(" HAVING ").append(having);
+        binds.addAll(ctx.binds);
+      }
+    }
+
+    if (sort != null && !sort.isEmpty()) {
+      List<String> parts = new ArrayList<>();
+      for (SortField sf : sort) {
+        if (!groupBy.fields().contains(sf.field()) && groupBy.aggregate(sf.field()) == null) {
+          throw new IllegalArgumentException("Aggregate sort must name a group field or aggregate alias: " + sf.field());
+        }
+        parts.add(quoteIdent(sf.field()) + (sf.direction() == SortField.Direction.DESC ? " DESC" : " ASC"));
+      }
+      sql.append(" ORDER BY ").append(String.join(", ", parts));
+    }
+    return appendPage(new SqlStatement(sql.toString(), binds), page, sort);
+  }
+
   @Override
   public final SqlStatement renderDml(EntityAuthoring ea, ViewDef view, DmlAst dml, PropertyTypeResolver types) {
     if (dml instanceof InsertAst ins) return renderInsert(ins);
@@ -70,24 +159,45 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
   }
 
   protected SqlStatement baseSelectSql(EntityAuthoring ea, ViewDef view, Map<String, Object> params) {
+    return baseSelectSql(ea, view, params, List.of(), List.of());
+  }
+
+  protected SqlStatement baseSelectSql(EntityAuthoring ea, ViewDef view, Map<String, Object> params,
+                                       List<String> projection) {
+    return baseSelectSql(ea, view, params, projection, List.of());
+  }
+
+  /**
+   * Base SELECT for a view.\n
+   *
+   * A non-empty {@code projection} narrows the derived select list (source + mapping) to those properties;
+   * a whole object ref ({@code customer}) keeps all of its mapped children. {@code extraItems} (e.g. a window
+   * total) are appended to the derived select list. Explicit sqlView SQL owns its select list and is used
+   * as-is, so it rejects extra items.\n
+   */
+  protected SqlStatement baseSelectSql(EntityAuthoring ea, ViewDef view, Map<String, Object> params,
+                                       List<String> projection, List<String> extraItems) {
     if (view.sqlView() != null) {
+      if (extraItems != null && !extraItems.isEmpty()) {
+        throw new IllegalArgumentException("Extra select items are not supported for sqlView: " + view.id());
+      }
       SqlViewDef sv = view.sqlView();
       if (!(sv.sql() instanceof String baseSql) || baseSql.isBlank()) {
         throw new IllegalArgumentException("sqlView.sql must be a non-blank SQL string for JDBC view: " + view.id());
       }
-      String projection = "*";
-      if (sv.projection() instanceof String p && !p.isBlank()) projection = p;
+      String selectList = "*";
+      if (sv.projection() instanceof String p && !p.isBlank()) selectList = p;
       String trimmed = baseSql.trim();
       String lower = trimmed.toLowerCase(Locale.ROOT);
       boolean fullQuery = lower.startsWith("select") || lower.startsWith("with");
 
       final String sql;
       if (fullQuery) {
-        sql = "*".equals(projection)
+        sql = "*".equals(selectList)
             ? baseSql
-            : ("SELECT " + projection + " FROM (" + baseSql + ") nativa_base");
+            : ("SELECT " + selectList + " FROM (" + baseSql + ") nativa_base");
       } else {
-        sql = "SELECT " + projection + " " + baseSql;
+        sql = "SELECT " + selectList + " " + baseSql;
       }
       List<Bind> binds = ViewSqlParamCompiler.bindsFor(sql, params);
       return new SqlStatement(sql, binds);
@@ -99,10 +209,12 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
       throw new IllegalArgumentException("EntityAuthoring has no source for JDBC view: " + view.id());
     }
 
+    Set<String> projected = (projection == null || projection.isEmpty()) ? null : new HashSet<>(projection);
     List<String> selectItems = new ArrayList<>();
     for (var fe : ea.fields().entrySet()) {
       String field = fe.getKey();
       TypeRef tr = fe.getValue().type();
+      boolean wholeField = projected == null || projected.contains(field);
 
       if (tr instanceof RefTypeRef) {
         // Nested refs require explicit field mapping.
@@ -114,12 +226,14 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
               String childField = String.valueOf(ne.getKey());
               String col = String.valueOf(ne.getValue());
               String alias = field + "." + childField;
+              if (!wholeField && !projected.contains(alias)) continue;
               selectItems.add(col + " AS " + quoteIdent(alias));
             }
           }
         }
         continue;
       }
+      if (!wholeField) continue;
 
       String col = io.intellixity.nativa.persistence.authoring.ViewMappings.ref(view, field);
       if (col == null || col.isBlank()) continue;
@@ -127,6 +241,7 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
     }
 
     if (selectItems.isEmpty()) selectItems.add("*");
+    if (extraItems != null) selectItems.addAll(extraItems);
     String sql = "SELECT " + String.join(", ", selectItems) + " FROM " + quoteIdent(source);
     return new SqlStatement(sql, List.of());
   }
@@ -201,9 +316,13 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
     return new SqlStatement(base.sql() + joiner + predicate, binds, base.execKind());
   }
 
-  private String renderSeekPredicate(EntityAuthoring ea, ViewDef view, List<SortField> sort,
-                                     Map<String, Object> after, PropertyTypeResolver types, List<Bind> outBinds) {
-    // (a > v1) OR (a = v1 AND b > v2) OR ...
+  /**
+   * Keyset predicate for {@code after}; binds go to {@code outBinds} in {@link #seekBindValues} order.\n
+   *
+   * Default is the portable OR expansion {@code (a > v1) OR (a = v1 AND b > v2) OR ...}.\n
+   */
+  protected String renderSeekPredicate(EntityAuthoring ea, ViewDef view, List<SortField> sort,
+                                       Map<String, Object> after, PropertyTypeResolver types, List<Bind> outBinds) {
     List<String> orTerms = new ArrayList<>();
     for (int i = 0; i < sort.size(); i++) {
       List<String> andTerms = new ArrayList<>();
@@ -211,32 +330,39 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
       // equalities for 0..i-1
       for (int j = 0; j < i; j++) {
         SortField sf = sort.get(j);
-        String expr = resolveSqlExpr(view, sf.field());
-        if (expr == null) throw new IllegalArgumentException("Unknown sort field: " + sf.field());
-        Object v = after.get(sf.field());
-        if (v == null) throw new IllegalArgumentException("SeekPage.after missing value for sort field: " + sf.field());
-        String ut = types.resolveScalarUserTypeId(ea, sf.field());
-        if (ut == null) throw new QueryValidationException("Unknown scalar field path '" + sf.field() + "' in entity '" + ea.type() + "'");
-        andTerms.add(expr + " = " + addSeekBind(outBinds, v, ut));
+        andTerms.add(seekExpr(view, sf) + " = " + addSeekBind(outBinds, seekValue(after, sf), seekUserType(ea, sf, types)));
       }
 
       // comparison for i
       SortField sf = sort.get(i);
-      String expr = resolveSqlExpr(view, sf.field());
-      if (expr == null) throw new IllegalArgumentException("Unknown sort field: " + sf.field());
-      Object v = after.get(sf.field());
-      if (v == null) throw new IllegalArgumentException("SeekPage.after missing value for sort field: " + sf.field());
-      String ut = types.resolveScalarUserTypeId(ea, sf.field());
-      if (ut == null) throw new QueryValidationException("Unknown scalar field path '" + sf.field() + "' in entity '" + ea.type() + "'");
       String op = (sf.direction() == SortField.Direction.DESC) ? "<" : ">";
-      andTerms.add(expr + " " + op + " " + addSeekBind(outBinds, v, ut));
+      andTerms.add(seekExpr(view, sf) + " " + op + " " + addSeekBind(outBinds, seekValue(after, sf), seekUserType(ea, sf, types)));
 
       orTerms.add("(" + String.join(" AND ", andTerms) + ")");
     }
-    return String.join(" OR ", orTerms);
+    // Parenthesized: it is ANDed onto the filter.
+    return (orTerms.size() == 1) ? orTerms.getFirst() : "(" + String.join(" OR ", orTerms) + ")";
   }
 
-  private static String addSeekBind(List<Bind> out, Object value, String userTypeId) {
+  protected String seekExpr(ViewDef view, SortField sf) {
+    String expr = resolveSqlExpr(view, sf.field());
+    if (expr == null) throw new IllegalArgumentException("Unknown sort field: " + sf.field());
+    return expr;
+  }
+
+  protected static Object seekValue(Map<String, Object> after, SortField sf) {
+    Object v = after.get(sf.field());
+    if (v == null) throw new IllegalArgumentException("SeekPage.after missing value for sort field: " + sf.field());
+    return v;
+  }
+
+  protected static String seekUserType(EntityAuthoring ea, SortField sf, PropertyTypeResolver types) {
+    String ut = types.resolveScalarUserTypeId(ea, sf.field());
+    if (ut == null) throw new QueryValidationException("Unknown scalar field path '" + sf.field() + "' in entity '" + ea.type() + "'");
+    return ut;
+  }
+
+  protected static String addSeekBind(List<Bind> out, Object value, String userTypeId) {
     Object v = coerceScalar(userTypeId, value);
     out.add(new Bind(v, userTypeId));
     return ":k" + out.size(); // name doesn't matter; count+order do
@@ -340,6 +466,91 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
     };
   }
 
+  /** Quoted column of the wrapped base query holding {@code field}: the path for derived SQL, else the view label. */
+  private String aggregateSourceColumn(ViewDef view, String field) {
+    if (view.sqlView() == null) return quoteIdent(field);
+    return quoteIdent(ViewRowPlan.of(view).labelFor(field));
+  }
+
+  private String aggregateSql(ViewDef view, Aggregate a) {
+    if (a.field() == null) return "COUNT(*)";
+    String col = "nativa_agg." + aggregateSourceColumn(view, a.field());
+    return a.function().name() + "(" + col + ")";
+  }
+
+  /** HAVING over group fields (grouped column) and aggregate aliases (aggregate expression). */
+  private String renderHavingSql(EntityAuthoring ea, ViewDef view, GroupBy groupBy, QueryElement el, RenderCtx ctx,
+                                 PropertyTypeResolver types, boolean negate) {
+    if (el == null) return "";
+    if (el instanceof NotElement n) {
+      return renderHavingSql(ea, view, groupBy, n.element(), ctx, types, !negate);
+    }
+    if (el instanceof LogicalGroup g) {
+      Clause clause = g.clause();
+      if (clause == null) clause = Clause.AND;
+      if (negate) clause = (clause == Clause.OR) ? Clause.AND : Clause.OR;
+      List<String> childSql = new ArrayList<>();
+      for (QueryElement c : g.elements()) {
+        String s = renderHavingSql(ea, view, groupBy, c, ctx, types, negate);
+        if (s == null || s.isBlank()) continue;
+        childSql.add(s);
+      }
+      if (childSql.isEmpty()) return "";
+      if (childSql.size() == 1) return childSql.getFirst();
+      String sep = (clause == Clause.OR) ? " OR " : " AND ";
+      return "(" + String.join(sep, childSql) + ")";
+    }
+    if (!(el instanceof Condition c)) {
+      throw new IllegalArgumentException("Unsupported QueryElement in having: " + el.getClass().getName());
+    }
+
+    String name = c.property();
+    String expr;
+    String userTypeId;
+    Aggregate a = groupBy.aggregate(name);
+    if (a != null) {
+      expr = aggregateSql(view, a);
+      userTypeId = aggregateUserTypeId(ea, a, types);
+    } else if (groupBy.fields().contains(name)) {
+      expr = "nativa_agg." + aggregateSourceColumn(view, name);
+      userTypeId = (types == null) ? null : types.resolveScalarUserTypeId(ea, name);
+    } else {
+      throw new QueryValidationException("having path '" + name + "' is neither a group field nor an aggregate alias");
+    }
+    if (userTypeId == null) {
+      throw new QueryValidationException("Unknown scalar field path '" + name + "' in entity '" + ea.type() + "'");
+    }
+
+    boolean not = c.not() ^ negate;
+    Object value = c.value();
+    return switch (c.operator()) {
+      case EQ -> (value == null) ? nullCheckSql(expr, true, not) : unarySql(expr, "=", value, userTypeId, not, ctx);
+      case NE -> (value == null) ? nullCheckSql(expr, false, not) : unarySql(expr, "<>", value, userTypeId, not, ctx);
+      case GT -> unaryNonNull(expr, ">", value, userTypeId, not, ctx);
+      case GE -> unaryNonNull(expr, ">=", value, userTypeId, not, ctx);
+      case LT -> unaryNonNull(expr, "<", value, userTypeId, not, ctx);
+      case LE -> unaryNonNull(expr, "<=", value, userTypeId, not, ctx);
+      case IN -> listSql(expr, "IN", toList(value), userTypeId, not, ctx);
+      case NIN -> listSql(expr, "NOT IN", toList(value), userTypeId, not, ctx);
+      case RANGE -> {
+        if (c.lower() == null || c.upper() == null) throw new IllegalArgumentException("RANGE requires non-null lower+upper for having '" + name + "'");
+        yield betweenSql(expr, c.lower(), c.upper(), userTypeId, not, ctx);
+      }
+      default -> throw new IllegalArgumentException("Unsupported operator in having: " + c.operator());
+    };
+  }
+
+  /** Bind type for comparing an aggregate: COUNT -> long, AVG -> double, SUM widens, MIN/MAX keep the field type. */
+  private static String aggregateUserTypeId(EntityAuthoring ea, Aggregate a, PropertyTypeResolver types) {
+    if (a.function() == Aggregate.Function.COUNT) return "long";
+    if (a.function() == Aggregate.Function.AVG) return "double";
+    String ut = (types == null) ? null : types.resolveScalarUserTypeId(ea, a.field());
+    if (a.function() == Aggregate.Function.SUM && ut != null) {
+      return ("int".equalsIgnoreCase(ut) || "long".equalsIgnoreCase(ut)) ? "long" : "double";
+    }
+    return ut;
+  }
+
   /**
    * Render array contains (\"column contains all values\") for dialects that support it.
    * Default throws; Postgres overrides to use array containment operators.
@@ -386,6 +597,16 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
 
   private String listSql(String expr, String op, List<Object> vals, String userTypeId, boolean not, RenderCtx ctx) {
     if (vals == null || vals.isEmpty()) return not ? "TRUE" : "FALSE";
+    return renderInList(expr, "NOT IN".equals(op), vals, userTypeId, not, ctx);
+  }
+
+  /**
+   * Render a non-empty IN / NOT IN list. Default binds one placeholder per element; dialects that bind
+   * the list as one array override this together with {@link #arrayInListForm}.\n
+   */
+  protected String renderInList(String expr, boolean notIn, List<Object> vals, String userTypeId, boolean not,
+                                RenderCtx ctx) {
+    String op = notIn ? "NOT IN" : "IN";
     List<String> ph = new ArrayList<>();
     for (Object x : vals) {
       Object v = coerceScalar(userTypeId, x);
@@ -403,6 +624,11 @@ public abstract class AbstractJdbcSqlDialect implements JdbcDialect {
     return not ? "NOT (" + sql + ")" : sql;
   }
 
+  @Override
+  public Object coerceBindValue(String userTypeId, Object value) {
+    return coerceScalar(userTypeId, value);
+  }
+
   private static Object coerceScalar(String userTypeId, Object value) {
     if (value == null || userTypeId == null) return value;
     if ("uuid".equalsIgnoreCase(userTypeId)) {
@@ -0,0 +1,24 @@
+package io.intellixity.nativa.persistence.jdbc.dialect;
+
+import io.intellixity.nativa.persistence.dmlast.InsertAst;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Optional dialect capability: load many rows into one table through a native bulk path (e.g. Postgres COPY).\n
+ *
+ * Rows are the encoded bind values ({@code UserType.encode}) of planner-produced {@link InsertAst}s, in
+ * {@code shape.columns()} order, so mapping semantics match INSERT.\n
+ */
+public interface JdbcBulkLoader {
+  /**
+   * Whether every value can be streamed. Called before any I/O: a failed bulk load aborts the surrounding
+   * transaction on some databases, so unsupported rows must fall back to INSERT up front.\n
+   */
+  boolean supports(InsertAst shape, List<Object[]> encodedRows);
+
+  /** Load all rows; returns the number of rows written. */
+  long load(Connection c, InsertAst shape, List<Object[]> encodedRows) throws SQLException;
+}
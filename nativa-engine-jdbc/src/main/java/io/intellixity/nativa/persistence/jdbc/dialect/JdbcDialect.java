@@ -1,10 +1,60 @@
 package io.intellixity.nativa.persistence.jdbc.dialect;
 
+import io.intellixity.nativa.persistence.authoring.EntityAuthoring;
+import io.intellixity.nativa.persistence.authoring.ViewDef;
+import io.intellixity.nativa.persistence.compile.PropertyTypeResolver;
+import io.intellixity.nativa.persistence.dmlast.UpdateAst;
+import io.intellixity.nativa.persistence.dmlast.UpsertAst;
 import io.intellixity.nativa.persistence.jdbc.SqlStatement;
 import io.intellixity.nativa.persistence.spi.sql.Dialect;
 
+import java.util.List;
+import java.util.Map;
+
 /** Dialect for JDBC engines (statement rendering only). */
 public interface JdbcDialect extends Dialect<SqlStatement> {
-}
+  /** Result-set label of the total-count column added by {@link #mergeSelectPage}. */
+  String SELECT_PAGE_TOTAL_LABEL = "nativa_total";
+
+  /**
+   * Coerce a raw filter value the same way rendering does (e.g. uuid strings -> UUID).\n
+   * Used when re-binding cached statement plans.\n
+   */
+  default Object coerceBindValue(String userTypeId, Object value) {
+    return value;
+  }
+
+  /**
+   * Statement that sets session variables ({@link io.intellixity.nativa.persistence.exec.SessionVariables}) on the
+   * connection, or null when the dialect has none. {@code local} scopes them to the current transaction;
+   * otherwise they last until reset (the engine resets them before returning the connection to the pool).\n
+   */
+  default SqlStatement renderSessionVariables(Map<String, String> vars, boolean local) {
+    return null;
+  }
 
+  /** True when {@link #renderSessionVariables} renders a statement. */
+  default boolean supportsSessionVariables() {
+    return false;
+  }
 
+  /** Native bulk-load path for {@code bulkInsert}, or null when the dialect only supports INSERT. */
+  default JdbcBulkLoader bulkLoader() {
+    return null;
+  }
+
+  /**
+   * Render many upserts as one statement whose SQL does not depend on the row count (e.g. column arrays).\n
+   *
+   * Return null when the rows cannot be merged (different shapes, unsupported types, returned keys needed);
+   * the engine then batches the per-row statements.\n
+   */
+  default SqlStatement renderBulkUpsert(EntityAuthoring ea, ViewDef view, List<UpsertAst> rows) {
+    return null;
+  }
+
+  /** Same as {@link #renderBulkUpsert} for update-by-id rows; null means "batch per-row statements". */
+  default SqlStatement renderBulkUpdate(EntityAuthoring ea, ViewDef view, List<UpdateAst> rows, PropertyTypeResolver types) {
+    return null;
+  }
+}
@@ -0,0 +1,413 @@
+package io.intellixity.nativa.persistence.jdbc;
+
+import io.intellixity.nativa.persistence.authoring.*;
+import io.intellixity.nativa.persistence.dmlast.InsertAst;
+import io.intellixity.nativa.persistence.dmlast.UpsertAst;
+import io.intellixity.nativa.persistence.exec.EntityViewRef;
+import io.intellixity.nativa.persistence.exec.Propagation;
+import io.intellixity.nativa.persistence.exec.SessionVariables;
+import io.intellixity.nativa.persistence.exec.TxOptions;
+import io.intellixity.nativa.persistence.jdbc.dialect.AbstractJdbcSqlDialect;
+import io.intellixity.nativa.persistence.jdbc.dialect.JdbcBulkLoader;
+import io.intellixity.nativa.persistence.jdbc.dml.JdbcDmlPlanner;
+import io.intellixity.nativa.persistence.mapping.RowReader;
+import io.intellixity.nativa.persistence.mapping.RowReaderProvider;
+import io.intellixity.nativa.persistence.pojo.PojoAccessor;
+import io.intellixity.nativa.persistence.pojo.PojoAccessorRegistry;
+import io.intellixity.nativa.persistence.query.Query;
+import io.intellixity.nativa.persistence.query.QueryFilters;
+import io.intellixity.nativa.persistence.query.SeekPage;
+import io.intellixity.nativa.persistence.query.Slice;
+import io.intellixity.nativa.persistence.query.SortField;
+import io.intellixity.nativa.persistence.spi.exec.NativaRuntime;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class JdbcDataEngineTest {
+  private static final EntityViewRef REF = new EntityViewRef("Order", "order_view");
+
+  public static final class Order {
+    private Long id;
+    private final String status;
+
+    Order(Long id, String status) {
+      this.id = id;
+      this.status = status;
+    }
+
+    public Long id() { return id; }
+    public Order id(Long id) { this.id = id; return this; }
+  }
+
+  private final class TestDialect extends AbstractJdbcSqlDialect {
+    @Override public String id() { return "test"; }
+    @Override public JdbcBulkLoader bulkLoader() { return bulkLoader; }
+    @Override protected SqlStatement renderUpsert(UpsertAst ups) { throw new UnsupportedOperationException(); }
+    @Override protected String quoteIdent(String ident) { return "\"" + ident + "\""; }
+    @Override public boolean supportsSessionVariables() { return true; }
+
+    @Override
+    public SqlStatement renderSessionVariables(Map<String, String> vars, boolean local) {
+      return new SqlStatement("SET " + new TreeMap<>(vars) + (local ? " LOCAL" : ""), List.of());
+    }
+  }
+
+  /** Registered through src/test/resources/META-INF/nativa.factories. */
+  public static final class Readers implements RowReaderProvider {
+    @Override
+    public Map<String, RowReader<?>> rowReadersByType() {
+      return Map.of("Order", row -> {
+        String status = (String) row.raw("status");
+        if ("BAD".equals(status)) throw new IllegalStateException("unmappable row");
+        return new Order((Long) row.raw("id"), status);
+      });
+    }
+  }
+
+  /** JDBC calls in order: "prepare sql", "query [binds]", "batch [n]", "autoCommit b", "commit", "rollback", "close". */
+  private final List<String> calls = new ArrayList<>();
+  private long nextKey = 1;
+  // Per-row count reported by executeBatch, and keys the driver leaves out of getGeneratedKeys.
+  private int batchRowCount = 1;
+  private int missingKeys = 0;
+  // Connections taken from the data source.
+  private int connections;
+  // Dialect bulk loader (null: INSERT only).
+  private JdbcBulkLoader bulkLoader;
+  // Rows returned by executeQuery (labels: id, status for selects; a single count otherwise).
+  private List<Object[]> queryRows = List.<Object[]>of(new Object[]{7L});
+
+  private JdbcDataEngine engine(JdbcDataEngine.Options options) {
+    return engine(options, Propagation.REQUIRED);
+  }
+
+  private JdbcDataEngine engine(JdbcDataEngine.Options options, Propagation propagation) {
+    EntityAuthoring ea = new EntityAuthoring("Order", AuthoringKind.ENTITY, "orders", "com.acme.Order", true,
+        Map.of(
+            "id", new FieldDef(new ScalarTypeRef("long", Map.of()), false, true, true),
+            "status", new FieldDef(new ScalarTypeRef("string", Map.of()), false, false)),
+        Map.of());
+    ViewDef view = new ViewDef("order_view", Map.of("id", "id", "status", "status"), null);
+    AuthoringRegistry authoring = new AuthoringRegistry() {
+      @Override public EntityAuthoring getEntityAuthoring(String authoringId) { return ea; }
+      @Override public ViewDef getViewDef(String viewDefId) { return view; }
+    };
+    PojoAccessorRegistry accessors = new PojoAccessorRegistry() {
+      @Override
+      public PojoAccessor<?> accessorFor(String authoringId) {
+        return (PojoAccessor<Order>) (o, path) -> switch (path) {
+          case "id" -> o.id;
+          case "status" -> o.status;
+          default -> null;
+        };
+      }
+    };
+    return new JdbcDataEngine(new JdbcHandle("test", dataSource(), null, false), authoring, new TestDialect(),
+        new JdbcDmlPlanner(authoring, accessors), propagation, options);
+  }
+
+  private DataSource dataSource() {
+    return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+        (p, m, args) -> {
+          if (!m.getName().equals("getConnection")) return defaultValue(m.getReturnType());
+          connections++;
+          return connection();
+        });
+  }
+
+  private Connection connection() {
+    boolean[] autoCommit = {true};
+    return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+        (p, m, args) -> switch (m.getName()) {
+          case "prepareStatement" -> {
+            calls.add("prepare " + args[0]);
+            yield statement();
+          }
+          case "setAutoCommit" -> {
+            autoCommit[0] = (Boolean) args[0];
+            calls.add("autoCommit " + autoCommit[0]);
+            yield null;
+          }
+          case "getAutoCommit" -> autoCommit[0];
+          case "commit", "rollback", "close" -> {
+            calls.add(m.getName());
+            yield null;
+          }
+          default -> defaultValue(m.getReturnType());
+        });
+  }
+
+  private PreparedStatement statement() {
+    Map<Integer, Object> binds = new TreeMap<>();
+    int[] batched = {0};
+    return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+        (p, m, args) -> {
+          String name = m.getName();
+          if (name.startsWith("set") && args != null && args.length == 2 && args[0] instanceof Integer pos) {
+            binds.put(pos, args[1]);
+            return null;
+          }
+          return switch (name) {
+            case "executeQuery" -> {
+              calls.add("query " + binds.values());
+              yield resultSet(queryRows);
+            }
+            case "addBatch" -> {
+              batched[0]++;
+              binds.clear();
+              yield null;
+            }
+            case "executeBatch" -> {
+              calls.add("batch " + batched[0]);
+              int[] counts = new int[batched[0]];
+              java.util.Arrays.fill(counts, batchRowCount);
+              yield counts;
+            }
+            case "getGeneratedKeys" -> {
+              List<Object[]> keys = new ArrayList<>();
+              for (int i = missingKeys; i < batched[0]; i++) keys.add(new Object[]{nextKey++});
+              batched[0] = 0;
+              yield resultSet(keys);
+            }
+            case "clearParameters" -> {
+              binds.clear();
+              yield null;
+            }
+            default -> defaultValue(m.getReturnType());
+          };
+        });
+  }
+
+  private ResultSet resultSet(List<Object[]> rows) {
+    int[] at = {-1};
+    return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+        (p, m, args) -> switch (m.getName()) {
+          case "next" -> ++at[0] < rows.size();
+          case "getObject" -> rows.get(at[0])[(Integer) args[0] - 1];
+          case "getLong" -> ((Number) rows.get(at[0])[(Integer) args[0] - 1]).longValue();
+          case "getMetaData" -> metaData("id", "status");
+          default -> defaultValue(m.getReturnType());
+        });
+  }
+
+  private ResultSetMetaData metaData(String... labels) {
+    return (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSetMetaData.class},
+        (p, m, args) -> switch (m.getName()) {
+          case "getColumnCount" -> labels.length;
+          case "getColumnLabel" -> labels[(Integer) args[0] - 1];
+          default -> defaultValue(m.getReturnType());
+        });
+  }
+
+  private static Object defaultValue(Class<?> type) {
+    if (type == boolean.class) return false;
+    if (type == int.class) return 0;
+    if (type == long.class) return 0L;
+    return null;
+  }
+
+  @Test
+  void statementPlanHitRebindsTheNewFilterValues() {
+    JdbcDataEngine engine = engine(JdbcDataEngine.Options.DEFAULTS);
+
+    assertEquals(7L, engine.count(REF, Query.of(QueryFilters.eq("status", "NEW"))));
+    assertEquals(7L, engine.count(REF, Query.of(QueryFilters.eq("status", "DONE"))));
+
+    assertEquals(1, engine.statementPlans().stats().hits());
+    List<String> queries = calls.stream().filter(c -> c.startsWith("query")).toList();
+    assertEquals(List.of("query [NEW]", "query [DONE]"), queries);
+    List<String> prepared = calls.stream().filter(c -> c.startsWith("prepare")).distinct().toList();
+    assertEquals(1, prepared.size());
+  }
+
+  @Test
+  void bulkInsertBatchesConsecutiveSameSqlAndAppliesGeneratedIds() {
+    JdbcDataEngine engine = engine(JdbcDataEngine.Options.DEFAULTS.withBatchSize(2));
+    Order a = new Order(null, "A");
+    Order b = new Order(null, "B");
+    Order c = new Order(null, "C");
+    Order explicit = new Order(9L, "X");
+    Order d = new Order(null, "D");
+
+    engine.bulkInsert(REF, List.of(a, b, c, explicit, d));
+
+    // [a b c] in chunks of 2, [explicit] with its own SQL, [d] back on the first (cached) statement.
+    assertEquals(List.of("batch 2", "batch 1", "batch 1", "batch 1"),
+        calls.stream().filter(s -> s.startsWith("batch")).toList());
+    List<String> prepared = calls.stream().filter(s -> s.startsWith("prepare")).toList();
+    assertEquals(2, prepared.size());
+    assertEquals("prepare INSERT INTO \"orders\" (\"status\") VALUES (?)", prepared.getFirst());
+    assertEquals(List.of("autoCommit false", "commit", "close"),
+        calls.stream().filter(s -> !s.startsWith("batch") && !s.startsWith("prepare")).toList());
+
+    // Keys are read back after each executeBatch, in row order; an explicit id is kept.
+    assertEquals(List.of(1L, 2L, 3L, 9L, 5L), Stream.of(a, b, c, explicit, d).map(Order::id).toList());
+  }
+
+  @Test
+  void streamOwnedConnectionIsReleasedOnCloseAndOnFailure() {
+    JdbcDataEngine engine = engine(JdbcDataEngine.Options.DEFAULTS);
+    queryRows = List.of(new Object[]{1L, "A"}, new Object[]{2L, "B"}, new Object[]{3L, "C"});
+    List<String> released = List.of("rollback", "autoCommit true", "close");
+
+    try (Stream<Order> s = engine.stream(REF, new Query())) {
+      assertEquals(List.of(1L), s.limit(1).map(Order::id).toList());
+      assertFalse(calls.contains("close"));
+    }
+    assertEquals(released, calls.subList(calls.size() - 3, calls.size()));
+
+    // No try-with-resources: the failing row alone must end the cursor transaction.
+    calls.clear();
+    queryRows = List.of(new Object[]{1L, "A"}, new Object[]{2L, "BAD"});
+    Stream<Order> failing = engine.stream(REF, new Query());
+    assertThrows(IllegalStateException.class, failing::toList);
+    assertEquals("autoCommit false", calls.getFirst());
+    assertEquals(released, calls.subList(calls.size() - 3, calls.size()));
+
+    failing.close();
+    assertEquals(1, calls.stream().filter("close"::equals).count());
+
+    // Fully consumed without closing: exhaustion releases the connection.
+    calls.clear();
+    queryRows = List.of(new Object[]{1L, "A"}, new Object[]{2L, "B"});
+    Stream<Order> unclosed = engine.stream(REF, new Query());
+    assertEquals(List.of(1L, 2L), unclosed.map(Order::id).toList());
+    assertEquals(released, calls.subList(calls.size() - 3, calls.size()));
+  }
+
+  @Test
+  void batchCountsSuccessNoInfoAsOneRowAndRejectsMissingKeys() {
+    JdbcDataEngine engine = engine(JdbcDataEngine.Options.DEFAULTS);
+    batchRowCount = java.sql.Statement.SUCCESS_NO_INFO;
+    assertEquals(2L, engine.bulkUpdate(REF, List.of(new Order(1L, "A"), new Order(2L, "B"))));
+
+    // One key short: positional mapping would shift ids onto the wrong rows.
+    batchRowCount = 1;
+    missingKeys = 1;
+    calls.clear();
+    Order a = new Order(null, "A");
+    Order b = new Order(null, "B");
+    assertThrows(IllegalStateException.class, () -> engine.bulkInsert(REF, List.of(a, b)));
+    assertNull(a.id());
+    assertNull(b.id());
+    assertTrue(calls.contains("rollback") && !calls.contains("commit"), calls.toString());
+
+    assertThrows(NullPointerException.class, () -> engine.bulkInsert(REF, null));
+  }
+
+  @Test
+  void bulkInsertUsesTheBulkLoaderFromCopyThresholdForRowsWithoutReturnedKeys() {
+    List<Object> loaded = new ArrayList<>();
+    bulkLoader = new JdbcBulkLoader() {
+      @Override public boolean supports(InsertAst shape, List<Object[]> rows) { return true; }
+      @Override
+      public long load(Connection c, InsertAst shape, List<Object[]> rows) {
+        for (Object[] row : rows) loaded.add(List.of(row));
+        return rows.size();
+      }
+    };
+    JdbcDataEngine engine = engine(JdbcDataEngine.Options.DEFAULTS.withCopyThreshold(3));
+
+    engine.bulkInsert(REF, List.of(new Order(1L, "A"), new Order(2L, "B")));
+    assertEquals(List.of("batch 2"), calls.stream().filter(s -> s.startsWith("batch")).toList());
+    assertTrue(loaded.isEmpty());
+
+    calls.clear();
+    engine.bulkInsert(REF, List.of(new Order(1L, "A"), new Order(2L, "B"), new Order(3L, "C")));
+    assertEquals(3, loaded.size());
+    assertTrue(calls.stream().noneMatch(s -> s.startsWith("batch") || s.startsWith("prepare")), calls.toString());
+    assertTrue(calls.contains("commit"));
+
+    // Generated ids must be read back, which the loader cannot do: batched INSERTs instead.
+    loaded.clear();
+    calls.clear();
+    Order a = new Order(null, "A");
+    engine.bulkInsert(REF, List.of(a, new Order(null, "B"), new Order(null, "C")));
+    assertTrue(loaded.isEmpty());
+    assertEquals(List.of("batch 3"), calls.stream().filter(s -> s.startsWith("batch")).toList());
+    assertNotNull(a.id());
+  }
+
+  @Test
+  void singleStatementWritesAutoCommitOutsideATransaction() {
+    JdbcDataEngine engine = engine(JdbcDataEngine.Options.DEFAULTS);
+    Order order = new Order(1L, "A");
+
+    engine.update(REF, order);
+    engine.deleteByCriteria(REF, Query.of(QueryFilters.eq("id", 1L)));
+    assertTrue(calls.stream().noneMatch(c -> c.startsWith("autoCommit") || c.equals("commit")), calls.toString());
+    assertEquals(2, connections);
+
+    // Bulk writes are several statements: they keep their transaction.
+    calls.clear();
+    engine.bulkUpdate(REF, List.of(order, new Order(2L, "B")));
+    assertEquals(List.of("autoCommit false", "commit"),
+        calls.stream().filter(c -> c.startsWith("autoCommit false") || c.equals("commit")).toList());
+
+    // Inside withConnection the write runs on the pinned connection.
+    connections = 0;
+    engine.withConnection(() -> {
+      engine.update(REF, order);
+      return engine.count(REF, new Query());
+    });
+    assertEquals(1, connections);
+
+    JdbcDataEngine mandatory = engine(JdbcDataEngine.Options.DEFAULTS, Propagation.MANDATORY);
+    assertThrows(IllegalStateException.class, () -> mandatory.update(REF, order));
+  }
+
+  @Test
+  void selectSliceCursorVerifiesOnARuntimeRebuiltAfterEviction() {
+    List<SortField> sort = List.of(new SortField("id", SortField.Direction.ASC));
+    queryRows = List.of(new Object[]{1L, "A"}, new Object[]{2L, "B"});
+    JdbcDataEngine first = engine(JdbcDataEngine.Options.DEFAULTS);
+    Slice<Order> page = first.selectSlice(REF, new Query().withSort(sort).withPage(new SeekPage(2, null)));
+    assertEquals(2, page.rows().size());
+    assertNotNull(page.nextCursor());
+
+    // A later engine gets a fresh runtime (as after tenant eviction); the cursor still verifies and binds id 2.
+    NativaRuntime.clearShared();
+    JdbcDataEngine next = engine(JdbcDataEngine.Options.DEFAULTS);
+    assertNotSame(first.runtime(), next.runtime());
+    calls.clear();
+    queryRows = List.<Object[]>of(new Object[]{3L, "C"});
+    Slice<Order> rest = next.selectSlice(REF,
+        new Query().withSort(sort).withPage(new SeekPage(2, null)).withCursor(page.nextCursor()));
+    assertEquals(List.of(3L), rest.rows().stream().map(Order::id).toList());
+    assertNull(rest.nextCursor());
+    assertEquals(List.of("query [2]"), calls.stream().filter(c -> c.startsWith("query")).toList());
+  }
+
+  @Test
+  void coalescedWritesFlushUnderTheSessionVariablesTheyWereBufferedWith() {
+    JdbcDataEngine engine = engine(JdbcDataEngine.Options.DEFAULTS);
+    Map<String, String> t1 = Map.of("nativa.tenantId", "t1");
+    Map<String, String> t2 = Map.of("nativa.tenantId", "t2");
+
+    // As in SESSION governance: each call binds the context; the block ends (and flushes) outside those scopes.
+    engine.inTx(Propagation.REQUIRED, TxOptions.coalescing(10), () -> {
+      SessionVariables.where(t1, () -> engine.insert(REF, new Order(null, "A")));
+      SessionVariables.where(t1, () -> engine.insert(REF, new Order(null, "B")));
+      SessionVariables.where(t2, () -> engine.insert(REF, new Order(null, "C")));
+      return null;
+    });
+
+    // A change of variables flushes the buffer; every batch runs after its own variables were applied.
+    assertEquals(List.of("prepare SET {nativa.tenantId=t1} LOCAL", "batch 2",
+            "prepare SET {nativa.tenantId=t2} LOCAL", "batch 1", "commit"),
+        calls.stream().filter(c -> c.startsWith("prepare SET") || c.startsWith("batch") || c.equals("commit")).toList());
+  }
+}
@@ -0,0 +1,67 @@
+package io.intellixity.nativa.persistence.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class StatementCacheTest {
+  private final List<String> prepared = new ArrayList<>();
+  private final Set<PreparedStatement> closed = new HashSet<>();
+
+  private PreparedStatement statement() {
+    PreparedStatement[] self = new PreparedStatement[1];
+    self[0] = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+        (p, m, args) -> switch (m.getName()) {
+          case "close" -> closed.add(self[0]);
+          case "isClosed" -> closed.contains(self[0]);
+          case "hashCode" -> System.identityHashCode(p);
+          case "equals" -> p == args[0];
+          default -> null;
+        });
+    return self[0];
+  }
+
+  private Connection connection() {
+    return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+        (p, m, args) -> {
+          if (m.getName().equals("prepareStatement")) {
+            prepared.add((String) args[0] + (args.length > 1 ? " +keys" : ""));
+            return statement();
+          }
+          return null;
+        });
+  }
+
+  @Test
+  void reusesStatementsPerSqlAndKeysModeAndEvictsLeastRecentlyUsed() throws Exception {
+    Connection c = connection();
+    StatementCache cache = new StatementCache(2);
+
+    PreparedStatement a;
+    try (var lease = cache.lease(c, "A")) {
+      a = lease.ps();
+      try (var nested = cache.lease(c, "A")) {
+        assertNotSame(a, nested.ps());
+      }
+    }
+    try (var lease = cache.lease(c, "A")) { assertSame(a, lease.ps()); }
+    try (var lease = cache.lease(c, "A", null, true)) { assertNotSame(a, lease.ps()); }
+    try (var lease = cache.lease(c, "B")) { assertNotNull(lease.ps()); }
+
+    assertEquals(List.of("A", "A", "A +keys", "B"), prepared);
+    assertTrue(closed.contains(a));
+    assertEquals(2, cache.size());
+
+    cache.close();
+    assertEquals(0, cache.size());
+    assertEquals(4, closed.size());
+  }
+}
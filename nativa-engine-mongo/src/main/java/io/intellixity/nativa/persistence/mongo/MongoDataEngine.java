@@ -4,9 +4,14 @@ import com.mongodb.ClientSessionOptions;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
 import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.InsertManyResult;
 import com.mongodb.client.result.InsertOneResult;
 import com.mongodb.client.result.UpdateResult;
 import org.bson.BsonValue;
@@ -22,17 +27,30 @@ import io.intellixity.nativa.persistence.mapping.RowAdapter;
 import io.intellixity.nativa.persistence.mapping.RowAdapters;
 import io.intellixity.nativa.persistence.mapping.RowReader;
 import io.intellixity.nativa.persistence.mongo.bind.DefaultMongoBindContext;
+import io.intellixity.nativa.persistence.query.PageResult;
 import io.intellixity.nativa.persistence.query.Query;
 import io.intellixity.nativa.persistence.query.QueryElement;
+import io.intellixity.nativa.persistence.query.aggregation.AggregateRow;
+import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Mongo backend engine using the official MongoDB Java sync driver.
  */
 public final class MongoDataEngine extends AbstractDataEngine<MongoStatement, MongoHandle> {
+  /** Server batch size used by {@link #stream} cursors. */
+  public static final int STREAM_BATCH_SIZE = 1000;
+
   private final MongoClient client;
   private final MongoDatabase db;
   private final MongoDialect dialect;
@@ -75,7 +93,8 @@ public final class MongoDataEngine extends AbstractDataEngine<MongoStatement, Mo
 
   @Override
   protected MongoStatement buildSelectStatement(EntityAuthoring ea, ViewDef view, Query effectiveQuery, QueryElement filter) {
-    MongoStatement st = dialect.mergeSelect(ea, view, filter, effectiveQuery.sort(), effectiveQuery.page(), effectiveQuery.params(), propertyTypes());
+    MongoStatement st = dialect.mergeSelect(ea, view, filter, effectiveQuery.sort(), effectiveQuery.page(), effectiveQuery.params(),
+        propertyTypes(), effectiveQuery.projection());
     return finalizeReadStatement(ea, view, st, false);
   }
 
@@ -85,6 +104,28 @@ public final class MongoDataEngine extends AbstractDataEngine<MongoStatement, Mo
     return finalizeReadStatement(ea, view, st, true);
   }
 
+  @Override
+  protected MongoStatement buildSelectPageStatement(EntityAuthoring ea, ViewDef view, Query effectiveQuery, QueryElement filter) {
+    MongoStatement st = dialect.mergeSelectPage(ea, view, filter, effectiveQuery.sort(), effectiveQuery.page(),
+        effectiveQuery.params(), propertyTypes(), effectiveQuery.projection());
+    return finalizeReadStatement(ea, view, st, false);
+  }
+
+  @Override
+  protected MongoStatement buildAggregateStatement(EntityAuthoring ea, ViewDef view, Query effectiveQuery,
+                                                   QueryElement filter, GroupBy groupBy) {
+    MongoStatement st = dialect.mergeAggregate(ea, view, filter, groupBy, effectiveQuery.sort(), effectiveQuery.page(),
+        effectiveQuery.params(), propertyTypes());
+    Document having = MongoQueryRenderer.havingToBson(ea, groupBy, groupBy.having(), propertyTypes(), userTypes(), binders());
+    if (!having.isEmpty()) {
+      List<Document> tail = new ArrayList<>(st.tailStages());
+      tail.add(new Document("$match", having));
+      st = new MongoStatement(st.kind(), st.collection(), st.filter(), st.filterExpr(), st.pipeline(), st.sort(),
+          st.skip(), st.limit(), st.dml(), st.upsert(), st.projection(), List.copyOf(tail));
+    }
+    return finalizeReadStatement(ea, view, st, false);
+  }
+
   public record MongoTxHandle(ClientSession session) implements TxHandle {}
 
   @Override
@@ -121,6 +162,7 @@ public final class MongoDataEngine extends AbstractDataEngine<MongoStatement, Mo
       if (st.sort() != null && !st.sort().isEmpty()) find = find.sort(st.sort());
       if (st.skip() != null) find = find.skip(st.skip());
       if (st.limit() != null) find = find.limit(st.limit());
+      if (st.projection() != null) find = find.projection(st.projection());
       docs = find;
     }
 
@@ -133,6 +175,50 @@ public final class MongoDataEngine extends AbstractDataEngine<MongoStatement, Mo
     return out;
   }
 
+  /** Cursor-backed stream; documents are pulled from the server {@link #STREAM_BATCH_SIZE} at a time. */
+  @Override
+  protected <T> Stream<T> executeStream(TxHandle txOrNull, ViewDef view, MongoStatement st, RowReader<T> reader) {
+    MongoCollection<Document> col = db.getCollection(st.collection());
+    ClientSession s = sessionOrNull();
+
+    MongoCursor<Document> cursor;
+    if (st.kind() == MongoStatement.Kind.AGGREGATE) {
+      var agg = (s == null) ? col.aggregate(st.pipeline()) : col.aggregate(s, st.pipeline());
+      cursor = agg.batchSize(STREAM_BATCH_SIZE).cursor();
+    } else {
+      var find = (s == null) ? col.find(st.filter()) : col.find(s, st.filter());
+      if (st.sort() != null && !st.sort().isEmpty()) find = find.sort(st.sort());
+      if (st.skip() != null) find = find.skip(st.skip());
+      if (st.limit() != null) find = find.limit(st.limit());
+      if (st.projection() != null) find = find.projection(st.projection());
+      cursor = find.batchSize(STREAM_BATCH_SIZE).cursor();
+    }
+
+    Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+      @Override
+      public boolean tryAdvance(Consumer<? super T> action) {
+        // An exhausted or failed stream frees its server cursor even if the caller never closes it.
+        try {
+          if (!cursor.hasNext()) {
+            cursor.close();
+            return false;
+          }
+          RowAdapter base = RowAdapters.fromMap(cursor.next(), userTypes());
+          action.accept(reader.read(new MongoViewRowAdapter(base, view)));
+          return true;
+        } catch (RuntimeException e) {
+          try {
+            cursor.close();
+          } catch (RuntimeException closeFailure) {
+            e.addSuppressed(closeFailure);
+          }
+          throw e;
+        }
+      }
+    };
+    return StreamSupport.stream(rows, false).onClose(cursor::close);
+  }
+
   @Override
   protected long executeCount(TxHandle txOrNull, ViewDef view, MongoStatement st) {
     MongoCollection<Document> col = db.getCollection(st.collection());
@@ -152,6 +238,50 @@ public final class MongoDataEngine extends AbstractDataEngine<MongoStatement, Mo
     return (s == null) ? col.countDocuments(st.filter()) : col.countDocuments(s, st.filter());
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  protected <T> PageResult<T> executeSelectPage(TxHandle txOrNull, ViewDef view, MongoStatement st, RowReader<T> reader) {
+    MongoCollection<Document> col = db.getCollection(st.collection());
+    ClientSession s = sessionOrNull();
+    var agg = (s == null) ? col.aggregate(st.pipeline()) : col.aggregate(s, st.pipeline());
+    Document facet = agg.first();
+    if (facet == null) return new PageResult<>(List.of(), 0);
+
+    List<T> out = new ArrayList<>();
+    for (Document d : (List<Document>) facet.get("rows", List.class)) {
+      RowAdapter base = RowAdapters.fromMap(d, userTypes());
+      out.add(reader.read(new MongoViewRowAdapter(base, view)));
+    }
+    long total = 0;
+    List<Document> counts = (List<Document>) facet.get("total", List.class);
+    if (counts != null && !counts.isEmpty() && counts.getFirst().get("n") instanceof Number n) total = n.longValue();
+    return new PageResult<>(out, total);
+  }
+
+  @Override
+  protected List<AggregateRow> executeAggregate(TxHandle txOrNull, ViewDef view, MongoStatement st) {
+    MongoCollection<Document> col = db.getCollection(st.collection());
+    ClientSession s = sessionOrNull();
+    Iterable<Document> docs = (s == null) ? col.aggregate(st.pipeline()) : col.aggregate(s, st.pipeline());
+    List<AggregateRow> out = new ArrayList<>();
+    for (Document d : docs) {
+      Map<String, Object> flat = new LinkedHashMap<>();
+      flattenInto(flat, "", d);
+      out.add(new AggregateRow(flat));
+    }
+    return out;
+  }
+
+  // $project nests dotted group paths ({customer: {id: ..}}); rows use the flat labels JDBC returns (customer.id).
+  // Group fields and aggregates are scalars, so every embedded document here comes from a dotted path.\n
+  private static void flattenInto(Map<String, Object> out, String prefix, Map<String, Object> doc) {
+    for (Map.Entry<String, Object> e : doc.entrySet()) {
+      String key = prefix + e.getKey();
+      if (e.getValue() instanceof Document nested) flattenInto(out, key + ".", nested);
+      else out.put(key, e.getValue());
+    }
+  }
+
   @Override
   protected Object executeInsertForId(TxHandle tx, EntityAuthoring ea, ViewDef view,
                                       InsertAst ast, MongoStatement st) {
@@ -179,6 +309,52 @@ public final class MongoDataEngine extends AbstractDataEngine<MongoStatement, Mo
     return id;
   }
 
+  /** One ordered {@code insertMany} round trip. */
+  @Override
+  protected List<Object> executeInsertBatch(TxHandle tx, EntityAuthoring ea, ViewDef view,
+                                            List<InsertAst> asts, List<MongoStatement> stmts) {
+    MongoCollection<Document> col = db.getCollection(stmts.getFirst().collection());
+    List<Document> docs = new ArrayList<>(asts.size());
+    for (InsertAst ast : asts) docs.add(encodeInsert(ea, view, ast));
+    ClientSession s = sessionOrNull();
+    InsertManyResult r = (s == null) ? col.insertMany(docs) : col.insertMany(s, docs);
+
+    List<Object> ids = new ArrayList<>(asts.size());
+    for (int i = 0; i < asts.size(); i++) {
+      Object id = explicitId(view, asts.get(i));
+      if (id == null) {
+        BsonValue generated = r.getInsertedIds().get(i);
+        id = (generated == null) ? docs.get(i).get("_id") : bsonToJava(generated);
+      }
+      ids.add(id);
+    }
+    return ids;
+  }
+
+  /** One ordered {@code bulkWrite} of upserting {@code updateOne}s. */
+  @Override
+  protected List<Object> executeUpsertBatch(TxHandle tx, EntityAuthoring ea, ViewDef view,
+                                            List<UpsertAst> asts, List<MongoStatement> stmts) {
+    MongoCollection<Document> col = db.getCollection(stmts.getFirst().collection());
+    UpdateOptions opts = new UpdateOptions().upsert(true);
+    List<UpsertSpec> specs = new ArrayList<>(asts.size());
+    List<UpdateOneModel<Document>> models = new ArrayList<>(asts.size());
+    for (UpsertAst ast : asts) {
+      UpsertSpec spec = encodeUpsert(ea, view, ast);
+      specs.add(spec);
+      models.add(new UpdateOneModel<>(spec.filter, spec.update, opts));
+    }
+    ClientSession s = sessionOrNull();
+    BulkWriteResult r = (s == null) ? col.bulkWrite(models) : col.bulkWrite(s, models);
+
+    List<Object> ids = new ArrayList<>(asts.size());
+    for (UpsertSpec spec : specs) ids.add(spec.idHint);
+    for (BulkWriteUpsert u : r.getUpserts()) {
+      if (ids.get(u.getIndex()) == null && u.getId() != null) ids.set(u.getIndex(), bsonToJava(u.getId()));
+    }
+    return ids;
+  }
+
   @Override
   protected long executeUpdate(TxHandle tx, EntityAuthoring ea, ViewDef view, UpdateAst ast, MongoStatement st) {
     MongoCollection<Document> col = db.getCollection(st.collection());
@@ -293,6 +469,7 @@ public final class MongoDataEngine extends AbstractDataEngine<MongoStatement, Mo
     if (st.kind() == MongoStatement.Kind.AGGREGATE) {
       List<Document> pipeline = new ArrayList<>(st.pipeline() == null ? List.of() : st.pipeline());
       if (compiled != null && !compiled.isEmpty()) pipeline.add(new Document("$match", compiled));
+      if (st.tailStages() != null) pipeline.addAll(st.tailStages());
       if (isCount) {
         pipeline.add(new Document("$count", "n"));
       } else {
@@ -302,6 +479,7 @@ public final class MongoDataEngine extends AbstractDataEngine<MongoStatement, Mo
         Integer limit = st.limit();
         if (skip != null && skip > 0) pipeline.add(new Document("$skip", skip));
         if (limit != null) pipeline.add(new Document("$limit", limit));
+        if (st.projection() != null) pipeline.add(new Document("$project", st.projection()));
       }
       return new MongoStatement(MongoStatement.Kind.AGGREGATE, st.collection(), null, null, List.copyOf(pipeline),
           null, null, null, null, false);
@@ -313,7 +491,7 @@ public final class MongoDataEngine extends AbstractDataEngine<MongoStatement, Mo
           null, null, null, null, false);
     }
     return new MongoStatement(MongoStatement.Kind.FIND, st.collection(), merged, null, null,
-        st.sort(), st.skip(), st.limit(), null, false);
+        st.sort(), st.skip(), st.limit(), null, false, st.projection());
   }
 
   private static Document and(Document a, Document b) {
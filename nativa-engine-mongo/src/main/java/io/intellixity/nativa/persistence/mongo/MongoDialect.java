@@ -10,6 +10,8 @@ import io.intellixity.nativa.persistence.query.OffsetPage;
 import io.intellixity.nativa.persistence.query.Page;
 import io.intellixity.nativa.persistence.query.QueryElement;
 import io.intellixity.nativa.persistence.query.SortField;
+import io.intellixity.nativa.persistence.query.aggregation.Aggregate;
+import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
 import io.intellixity.nativa.persistence.spi.sql.Dialect;
 
 import java.util.*;
@@ -22,18 +24,63 @@ public final class MongoDialect implements Dialect<MongoStatement> {
   public MongoStatement mergeSelect(EntityAuthoring ea, ViewDef view, QueryElement filter,
                                    List<SortField> sort, Page page, Map<String, Object> params,
                                    PropertyTypeResolver types) {
+    return mergeSelect(ea, view, filter, sort, page, params, types, List.of());
+  }
+
+  /** Projection becomes a find projection, or a trailing {@code $project} stage for pipeline views. */
+  @Override
+  public MongoStatement mergeSelect(EntityAuthoring ea, ViewDef view, QueryElement filter,
+                                   List<SortField> sort, Page page, Map<String, Object> params,
+                                   PropertyTypeResolver types, List<String> projection) {
     String collection = requireCollection(ea);
     NativeBase base = base(view);
+    Document projectionDoc = projectionDoc(view, projection);
 
     if (base.pipeline != null) {
       Document sortDoc = sortDoc(view, sort);
       return new MongoStatement(MongoStatement.Kind.AGGREGATE, collection, null, filter, List.copyOf(base.pipeline),
-          sortDoc, skip(page), limit(page), null, false);
+          sortDoc, skip(page), limit(page), null, false, projectionDoc);
     }
 
     Document sortDoc = sortDoc(view, sort);
     return new MongoStatement(MongoStatement.Kind.FIND, collection, base.filter, filter, null,
-        sortDoc, skip(page), limit(page), null, false);
+        sortDoc, skip(page), limit(page), null, false, projectionDoc);
+  }
+
+  /**
+   * Paged select + total as one {@code $facet} stage after the filter {@code $match}:
+   * {@code rows} gets sort/skip/limit/projection, {@code total} a {@code $count}.\n
+   *
+   * The facet result is a single document, so a page is bounded by the 16MB document limit.\n
+   */
+  @Override
+  public MongoStatement mergeSelectPage(EntityAuthoring ea, ViewDef view, QueryElement filter,
+                                        List<SortField> sort, Page page, Map<String, Object> params,
+                                        PropertyTypeResolver types, List<String> projection) {
+    String collection = requireCollection(ea);
+    NativeBase base = base(view);
+    List<Document> pipeline = new ArrayList<>();
+    if (base.pipeline != null) {
+      pipeline.addAll(base.pipeline);
+    } else if (base.filter != null && !base.filter.isEmpty()) {
+      pipeline.add(new Document("$match", base.filter));
+    }
+
+    List<Document> rows = new ArrayList<>();
+    Document sortDoc = sortDoc(view, sort);
+    if (sortDoc != null) rows.add(new Document("$sort", sortDoc));
+    Integer skip = skip(page);
+    if (skip != null && skip > 0) rows.add(new Document("$skip", skip));
+    Integer limit = limit(page);
+    if (limit != null) rows.add(new Document("$limit", limit));
+    Document projectionDoc = projectionDoc(view, projection);
+    if (projectionDoc != null) rows.add(new Document("$project", projectionDoc));
+    // $facet sub-pipelines must not be empty.
+    if (rows.isEmpty()) rows.add(new Document("$match", new Document()));
+
+    Document facet = new Document("rows", rows).append("total", List.of(new Document("$count", "n")));
+    return new MongoStatement(MongoStatement.Kind.AGGREGATE, collection, null, filter, List.copyOf(pipeline),
+        null, null, null, null, false, null, List.of(new Document("$facet", facet)));
   }
 
   @Override
@@ -51,6 +98,54 @@ public final class MongoDialect implements Dialect<MongoStatement> {
         null, null, null, null, false);
   }
 
+  /**
+   * Aggregate as a pipeline: base stages (or a {@code $match} on the base filter), the query filter {@code $match}
+   * (added by the engine), then {@code $group} + {@code $project} to group field paths / aliases. The having
+   * {@code $match} is also added by the engine, since its values are encoded through the UserTypeRegistry.\n
+   */
+  @Override
+  public MongoStatement mergeAggregate(EntityAuthoring ea, ViewDef view, QueryElement filter, GroupBy groupBy,
+                                       List<SortField> sort, Page page, Map<String, Object> params,
+                                       PropertyTypeResolver types) {
+    Objects.requireNonNull(groupBy, "groupBy");
+    String collection = requireCollection(ea);
+    NativeBase base = base(view);
+    List<Document> pipeline = new ArrayList<>();
+    if (base.pipeline != null) {
+      pipeline.addAll(base.pipeline);
+    } else if (base.filter != null && !base.filter.isEmpty()) {
+      pipeline.add(new Document("$match", base.filter));
+    }
+
+    Document id = null;
+    Document project = new Document("_id", 0);
+    List<String> fields = groupBy.fields();
+    if (!fields.isEmpty()) {
+      id = new Document();
+      for (int i = 0; i < fields.size(); i++) {
+        id.put("g" + i, "$" + fieldPath(view, fields.get(i)));
+        project.put(fields.get(i), "$_id.g" + i);
+      }
+    }
+    Document group = new Document("_id", id);
+    for (Aggregate a : groupBy.aggregates()) {
+      group.put(a.alias(), accumulator(view, a));
+      project.put(a.alias(), 1);
+    }
+
+    List<Document> tailStages = new ArrayList<>();
+    tailStages.add(new Document("$group", group));
+    tailStages.add(new Document("$project", project));
+
+    Document sortDoc = null;
+    if (sort != null && !sort.isEmpty()) {
+      sortDoc = new Document();
+      for (SortField sf : sort) sortDoc.put(sf.field(), sf.direction() == SortField.Direction.DESC ? -1 : 1);
+    }
+    return new MongoStatement(MongoStatement.Kind.AGGREGATE, collection, null, filter, List.copyOf(pipeline),
+        sortDoc, skip(page), limit(page), null, false, null, List.copyOf(tailStages));
+  }
+
   @Override
   public MongoStatement renderDml(EntityAuthoring ea, ViewDef view, DmlAst dml, PropertyTypeResolver types) {
     String collection = requireCollection(ea);
@@ -148,6 +243,37 @@ public final class MongoDialect implements Dialect<MongoStatement> {
     return d;
   }
 
+  private static Document projectionDoc(ViewDef view, List<String> projection) {
+    if (projection == null || projection.isEmpty()) return null;
+    Document d = new Document();
+    for (String field : projection) {
+      String path = MongoViewMappingResolver.explicitRef(view, field);
+      d.put((path == null || path.isBlank()) ? field : path, 1);
+    }
+    // _id is included unless excluded explicitly.
+    if (!d.containsKey("_id")) d.put("_id", 0);
+    return d;
+  }
+
+  private static String fieldPath(ViewDef view, String field) {
+    String path = MongoViewMappingResolver.explicitRef(view, field);
+    return (path == null || path.isBlank()) ? field : path;
+  }
+
+  private static Document accumulator(ViewDef view, Aggregate a) {
+    if (a.field() == null) return new Document("$sum", 1);
+    String ref = "$" + fieldPath(view, a.field());
+    return switch (a.function()) {
+      // COUNT(field) counts non-null values, like SQL.
+      case COUNT -> new Document("$sum", new Document("$cond", List.of(
+          new Document("$eq", Arrays.asList(new Document("$ifNull", Arrays.asList(ref, null)), null)), 0, 1)));
+      case SUM -> new Document("$sum", ref);
+      case MIN -> new Document("$min", ref);
+      case MAX -> new Document("$max", ref);
+      case AVG -> new Document("$avg", ref);
+    };
+  }
+
   @SuppressWarnings("unchecked")
   private static Document toDoc(Object o) {
     if (o == null) return new Document();
@@ -216,10 +216,7 @@ public final class MongoDmlPlanner implements DmlPlanner {
   private boolean isTenantBoundaryField(FieldDef fd) {
     if (fd == null) return false;
     if (tenantBoundaryKeys.isEmpty()) return false;
-    Map<String, Object> attrs = fd.attrs();
-    Object raw = (attrs == null) ? null : attrs.get("governanceKey");
-    if (raw == null) return false;
-    for (String k : parseGovernanceKeys(raw)) {
+    for (String k : fd.governanceKeys()) {
       if (tenantBoundaryKeys.contains(k)) return true;
     }
     return false;
@@ -249,25 +246,6 @@ public final class MongoDmlPlanner implements DmlPlanner {
     return Set.copyOf(out);
   }
 
-  private static List<String> parseGovernanceKeys(Object raw) {
-    if (raw == null) return List.of();
-    if (raw instanceof String s) {
-      String t = s.trim();
-      return t.isEmpty() ? List.of() : List.of(t);
-    }
-    if (raw instanceof Iterable<?> it) {
-      List<String> out = new ArrayList<>();
-      for (Object o : it) {
-        if (o == null) continue;
-        String t = String.valueOf(o).trim();
-        if (!t.isEmpty()) out.add(t);
-      }
-      return out.isEmpty() ? List.of() : List.copyOf(out);
-    }
-    String t = String.valueOf(raw).trim();
-    return t.isEmpty() ? List.of() : List.of(t);
-  }
-
 }
 
 
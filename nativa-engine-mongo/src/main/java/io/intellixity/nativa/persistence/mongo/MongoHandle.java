@@ -4,6 +4,7 @@ import com.mongodb.client.MongoClient;
 import io.intellixity.nativa.persistence.exec.handle.EngineHandle;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /** Mongo engine handle (resolved by application code). */
 public final class MongoHandle implements EngineHandle<MongoClient> {
@@ -11,18 +12,48 @@ public final class MongoHandle implements EngineHandle<MongoClient> {
   private final MongoClient client;
   private final String database;
   private final boolean multiTenant;
+  private final AutoCloseable onClose;
+  private final int asyncConcurrency;
+  private final AtomicBoolean closed = new AtomicBoolean();
 
   public MongoHandle(String id, MongoClient client, String database, boolean multiTenant) {
+    this(id, client, database, multiTenant, null);
+  }
+
+  /** @param onClose resource released by {@link #close()} (e.g. {@code client} itself); may be null */
+  public MongoHandle(String id, MongoClient client, String database, boolean multiTenant, AutoCloseable onClose) {
+    this(id, client, database, multiTenant, onClose, DEFAULT_ASYNC_CONCURRENCY);
+  }
+
+  /** @param asyncConcurrency max concurrent async operations on this handle (see {@link #asyncConcurrency()}) */
+  public MongoHandle(String id, MongoClient client, String database, boolean multiTenant, AutoCloseable onClose,
+                     int asyncConcurrency) {
+    if (asyncConcurrency <= 0) throw new IllegalArgumentException("asyncConcurrency must be > 0");
     this.id = Objects.requireNonNull(id, "id");
     this.client = Objects.requireNonNull(client, "client");
     this.database = Objects.requireNonNull(database, "database");
     this.multiTenant = multiTenant;
+    this.onClose = onClose;
+    this.asyncConcurrency = asyncConcurrency;
   }
 
   @Override public String id() { return id; }
   @Override public MongoClient client() { return client; }
   @Override public String namespace() { return database; }
   @Override public boolean multiTenant() { return multiTenant; }
+  @Override public int asyncConcurrency() { return asyncConcurrency; }
+
+  @Override
+  public void close() {
+    if (onClose == null || !closed.compareAndSet(false, true)) return;
+    try {
+      onClose.close();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to close handle " + id, e);
+    }
+  }
 
   public String database() { return database; }
 }
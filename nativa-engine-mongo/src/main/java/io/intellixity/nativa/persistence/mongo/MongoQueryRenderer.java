@@ -11,6 +11,8 @@ import io.intellixity.nativa.persistence.compile.PropertyTypeResolver;
 import io.intellixity.nativa.persistence.mongo.bind.DefaultMongoBindContext;
 import io.intellixity.nativa.persistence.query.*;
 import io.intellixity.nativa.persistence.query.QueryValidationException;
+import io.intellixity.nativa.persistence.query.aggregation.Aggregate;
+import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
 
 import java.util.*;
 import java.util.regex.Pattern;
@@ -35,6 +37,86 @@ final class MongoQueryRenderer {
     return render(ea, view, filter, types, userTypes, binders, opKind, false);
   }
 
+  /**
+   * Renders a having element over aggregate output names (group field paths / aggregate aliases). Values are
+   * encoded like filter values: group fields with their field's user type, aggregates with the aggregate's.\n
+   */
+  static Document havingToBson(EntityAuthoring ea,
+                               GroupBy groupBy,
+                               QueryElement having,
+                               PropertyTypeResolver types,
+                               UserTypeRegistry userTypes,
+                               DiscoveredBinderRegistry binders) {
+    if (having == null) return new Document();
+    return renderHaving(ea, groupBy, having, types, userTypes, binders, false);
+  }
+
+  private static Document renderHaving(EntityAuthoring ea,
+                                       GroupBy groupBy,
+                                       QueryElement el,
+                                       PropertyTypeResolver types,
+                                       UserTypeRegistry userTypes,
+                                       DiscoveredBinderRegistry binders,
+                                       boolean negate) {
+    if (el instanceof NotElement n) return renderHaving(ea, groupBy, n.element(), types, userTypes, binders, !negate);
+    if (el instanceof LogicalGroup g) {
+      List<Document> children = new ArrayList<>();
+      for (QueryElement c : g.elements()) {
+        Document d = renderHaving(ea, groupBy, c, types, userTypes, binders, false);
+        if (!d.isEmpty()) children.add(d);
+      }
+      if (children.isEmpty()) return new Document();
+      Document d = (children.size() == 1) ? children.getFirst()
+          : new Document(g.clause() == Clause.OR ? "$or" : "$and", children);
+      return negate ? new Document("$nor", List.of(d)) : d;
+    }
+    if (!(el instanceof Condition c)) {
+      throw new IllegalArgumentException("Unsupported QueryElement in having: " + el.getClass().getName());
+    }
+
+    String name = c.property();
+    String userTypeId;
+    Aggregate a = groupBy.aggregate(name);
+    if (a != null) {
+      userTypeId = aggregateUserTypeId(ea, a, types);
+    } else if (groupBy.fields().contains(name)) {
+      userTypeId = (types == null) ? null : types.resolveScalarUserTypeId(ea, name);
+    } else {
+      throw new QueryValidationException("having path '" + name + "' is neither a group field nor an aggregate alias");
+    }
+    if (userTypeId == null) {
+      throw new QueryValidationException("Unknown scalar field path '" + name + "' in entity '" + ea.type() + "'");
+    }
+
+    BindOpKind k = BindOpKind.FILTER;
+    Document op = switch (c.operator()) {
+      case EQ -> new Document("$eq", (c.value() == null) ? null : boundValue(name, c.value(), userTypeId, userTypes, binders, k));
+      case NE -> new Document("$ne", (c.value() == null) ? null : boundValue(name, c.value(), userTypeId, userTypes, binders, k));
+      case GT -> new Document("$gt", boundValue(name, requireNonNull(c.operator(), c.value()), userTypeId, userTypes, binders, k));
+      case GE -> new Document("$gte", boundValue(name, requireNonNull(c.operator(), c.value()), userTypeId, userTypes, binders, k));
+      case LT -> new Document("$lt", boundValue(name, requireNonNull(c.operator(), c.value()), userTypeId, userTypes, binders, k));
+      case LE -> new Document("$lte", boundValue(name, requireNonNull(c.operator(), c.value()), userTypeId, userTypes, binders, k));
+      case IN -> new Document("$in", boundList(name, toList(c.value()), userTypeId, userTypes, binders, k));
+      case NIN -> new Document("$nin", boundList(name, toList(c.value()), userTypeId, userTypes, binders, k));
+      case RANGE -> new Document("$gte", boundValue(name, requireNonNull("RANGE.lower", c.lower()), userTypeId, userTypes, binders, k))
+          .append("$lte", boundValue(name, requireNonNull("RANGE.upper", c.upper()), userTypeId, userTypes, binders, k));
+      default -> throw new IllegalArgumentException("Unsupported operator in having: " + c.operator());
+    };
+    Document d = new Document(name, op);
+    return (negate ^ c.not()) ? new Document("$nor", List.of(d)) : d;
+  }
+
+  /** Bind type for comparing an aggregate: COUNT -> long, AVG -> double, SUM widens, MIN/MAX keep the field type. */
+  private static String aggregateUserTypeId(EntityAuthoring ea, Aggregate a, PropertyTypeResolver types) {
+    if (a.function() == Aggregate.Function.COUNT) return "long";
+    if (a.function() == Aggregate.Function.AVG) return "double";
+    String ut = (types == null) ? null : types.resolveScalarUserTypeId(ea, a.field());
+    if (a.function() == Aggregate.Function.SUM && ut != null) {
+      return ("int".equalsIgnoreCase(ut) || "long".equalsIgnoreCase(ut)) ? "long" : "double";
+    }
+    return ut;
+  }
+
   private static Document render(EntityAuthoring ea,
                                  ViewDef view,
                                  QueryElement el,
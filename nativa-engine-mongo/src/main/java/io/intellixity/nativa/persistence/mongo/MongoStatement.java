@@ -18,8 +18,22 @@ public record MongoStatement(
     Integer skip,
     Integer limit,
     DmlAst dml,
-    boolean upsert
+    boolean upsert,
+    /** Inclusion projection for reads ({@code {path: 1}}); null = whole documents. */
+    Document projection,
+    /** Pipeline reads: stages appended after the filter {@code $match} ($group for aggregates, $facet for pages); null = none. */
+    List<Document> tailStages
 ) implements NativeStatement {
+  public MongoStatement(Kind kind, String collection, Document filter, QueryElement filterExpr, List<Document> pipeline,
+                        Document sort, Integer skip, Integer limit, DmlAst dml, boolean upsert) {
+    this(kind, collection, filter, filterExpr, pipeline, sort, skip, limit, dml, upsert, null, null);
+  }
+
+  public MongoStatement(Kind kind, String collection, Document filter, QueryElement filterExpr, List<Document> pipeline,
+                        Document sort, Integer skip, Integer limit, DmlAst dml, boolean upsert, Document projection) {
+    this(kind, collection, filter, filterExpr, pipeline, sort, skip, limit, dml, upsert, projection, null);
+  }
+
   public enum Kind {
     FIND,
     COUNT,
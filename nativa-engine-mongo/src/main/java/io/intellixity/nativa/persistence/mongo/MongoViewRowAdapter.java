@@ -39,6 +39,13 @@ final class MongoViewRowAdapter implements RowAdapter {
     return base.raw(key);
   }
 
+  @Override public boolean has(String path) { return base.has(resolve(prefix + path)); }
+  @Override public long getLong(String path) { return base.getLong(resolve(prefix + path)); }
+  @Override public int getInt(String path) { return base.getInt(resolve(prefix + path)); }
+  @Override public double getDouble(String path) { return base.getDouble(resolve(prefix + path)); }
+  @Override public boolean getBoolean(String path) { return base.getBoolean(resolve(prefix + path)); }
+  @Override public boolean wasNull() { return base.wasNull(); }
+
   @Override
   public RowAdapter object(String pathOrPrefix) {
     String fullPath = prefix + pathOrPrefix;
@@ -6,10 +6,14 @@ import io.intellixity.nativa.persistence.compile.PropertyTypeResolver;
 import io.intellixity.nativa.persistence.query.QueryFilters;
 import io.intellixity.nativa.persistence.query.QueryValidationException;
 import io.intellixity.nativa.persistence.query.SortField;
+import io.intellixity.nativa.persistence.query.aggregation.Aggregate;
+import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
 import io.intellixity.nativa.persistence.spi.bind.BindOpKind;
 import io.intellixity.nativa.persistence.spi.bind.DiscoveredBinderRegistry;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -112,6 +116,25 @@ final class MongoQueryMappingTest {
     assertTrue(ex.getMessage().contains("Unknown scalar field path 'status'"));
   }
 
+  @Test
+  void having_encodesValuesThroughTheOutputUserType() {
+    EntityAuthoring ea = new EntityAuthoring("Order", AuthoringKind.ENTITY, "orders", "com.acme.Order", true,
+        Map.of(
+            "status", new FieldDef(new ScalarTypeRef("string", Map.of()), false, false),
+            "createdAt", new FieldDef(new ScalarTypeRef("instant", Map.of()), false, false)),
+        Map.of());
+    Instant since = Instant.parse("2024-01-01T00:00:00Z");
+    GroupBy groupBy = new GroupBy(List.of("status"), List.of(Aggregate.max("createdAt", "latest"), Aggregate.count("n")),
+        QueryFilters.and(QueryFilters.gt("latest", since), QueryFilters.ge("n", 2L)));
+
+    Document d = MongoQueryRenderer.havingToBson(ea, groupBy, groupBy.having(), typesFor(ea),
+        new DiscoveredUserTypeRegistry("mongo"), new DiscoveredBinderRegistry("mongo"));
+
+    List<?> and = (List<?>) d.get("$and");
+    assertEquals(new Document("latest", new Document("$gt", Date.from(since))), and.get(0));
+    assertEquals(new Document("n", new Document("$gte", 2L)), and.get(1));
+  }
+
   private static EntityAuthoring entityWithFirstName() {
     return new EntityAuthoring(
         "Customer",
@@ -16,6 +16,16 @@ public interface Binder<TTarget, TValue> {
 
   boolean supports(BindContext ctx, Bind bind, TValue encodedValue);
 
+  /**
+   * Whether {@link #supports} depends only on the target class, the context's opKind, the bind's userTypeId
+   * and the value class (not on other context details such as a document path, nor on the value itself).\n
+   *
+   * Type-stable binders are resolved once per combination by {@link DiscoveredBinderRegistry}.\n
+   */
+  default boolean typeStable() {
+    return false;
+  }
+
   void bind(TTarget target, BindContext ctx, Bind bind, TValue encodedValue, UserTypeRegistry userTypes);
 }
 
@@ -5,6 +5,7 @@ import io.intellixity.nativa.persistence.compile.Bind;
 import io.intellixity.nativa.persistence.util.NativaFactoriesLoader;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Binder registry built via discovery (META-INF/nativa.factories).\n
@@ -13,6 +14,9 @@ import java.util.*;
  * - Dialect-specific providers first, then global providers (dialectId=\"*\").\n
  * - Within a provider, binder order is preserved.\n
  * - First binder that matches targetType/valueType and supports(ctx,bind,value) wins.\n
+ *
+ * Candidates are memoized per (target class, opKind, userTypeId, value class): {@link Binder#typeStable()}
+ * binders are decided once for that combination, so only context-dependent binders are asked per bind.\n
  */
 public final class DiscoveredBinderRegistry {
   public static final String GLOBAL_DIALECT = "*";
@@ -20,6 +24,9 @@ public final class DiscoveredBinderRegistry {
   private final String dialectId;
   private final List<Binder<?, ?>> dialectOrdered;
   private final List<Binder<?, ?>> globalOrdered;
+  private final ConcurrentHashMap<Key, List<Binder<?, ?>>> candidates = new ConcurrentHashMap<>();
+
+  private record Key(Class<?> target, BindOpKind opKind, String userTypeId, Class<?> valueClass) {}
 
   public DiscoveredBinderRegistry(String dialectId) {
     this(dialectId, NativaFactoriesLoader.load(BinderProvider.class));
@@ -44,31 +51,67 @@ public final class DiscoveredBinderRegistry {
   }
 
   public <TTarget> void bind(TTarget target, BindContext ctx, Bind bind, Object encodedValue, UserTypeRegistry userTypes) {
-    if (target == null) throw new IllegalArgumentException("target is required");
-    if (ctx == null) throw new IllegalArgumentException("ctx is required");
-    if (ctx.opKind() == null) throw new IllegalArgumentException("ctx.opKind is required");
-    if (tryBind(dialectOrdered, target, ctx, bind, encodedValue, userTypes)) return;
-    if (tryBind(globalOrdered, target, ctx, bind, encodedValue, userTypes)) return;
+    for (Binder<?, ?> b : candidates(target, ctx, bind, encodedValue)) {
+      @SuppressWarnings("unchecked")
+      Binder<TTarget, Object> bb = (Binder<TTarget, Object>) b;
+      if (bb.typeStable() || bb.supports(ctx, bind, encodedValue)) {
+        bb.bind(target, ctx, bind, encodedValue, userTypes);
+        return;
+      }
+    }
     throw new IllegalArgumentException("No binder found for dialectId=" + dialectId +
         ", target=" + target.getClass().getName() +
         ", value=" + (encodedValue == null ? "null" : encodedValue.getClass().getName()) +
         ", userTypeId=" + (bind == null ? null : bind.userTypeId()));
   }
 
-  private static <TTarget> boolean tryBind(List<Binder<?, ?>> ordered, TTarget target, BindContext ctx, Bind bind,
-                                          Object encodedValue, UserTypeRegistry userTypes) {
-    for (Binder<?, ?> b : ordered) {
-      if (b == null) continue;
-      if (!b.targetType().isInstance(target)) continue;
-      if (encodedValue != null && !b.valueType().isInstance(encodedValue)) continue;
-      @SuppressWarnings("unchecked")
-      Binder<TTarget, Object> bb = (Binder<TTarget, Object>) b;
-      if (bb.supports(ctx, bind, encodedValue)) {
-        bb.bind(target, ctx, bind, encodedValue, userTypes);
-        return true;
+  /**
+   * The binder that always wins for this target class / opKind / userTypeId / value class, or null when
+   * resolution depends on the context (callers then go through {@link #bind}).\n
+   */
+  public <TTarget> Binder<TTarget, Object> resolve(TTarget target, BindContext ctx, Bind bind, Object encodedValue) {
+    List<Binder<?, ?>> c = candidates(target, ctx, bind, encodedValue);
+    if (c.size() != 1 || !c.getFirst().typeStable()) return null;
+    @SuppressWarnings("unchecked")
+    Binder<TTarget, Object> b = (Binder<TTarget, Object>) c.getFirst();
+    return b;
+  }
+
+  private List<Binder<?, ?>> candidates(Object target, BindContext ctx, Bind bind, Object encodedValue) {
+    if (target == null) throw new IllegalArgumentException("target is required");
+    if (ctx == null) throw new IllegalArgumentException("ctx is required");
+    if (ctx.opKind() == null) throw new IllegalArgumentException("ctx.opKind is required");
+    Key key = new Key(target.getClass(), ctx.opKind(), bind == null ? null : bind.userTypeId(),
+        encodedValue == null ? null : encodedValue.getClass());
+    List<Binder<?, ?>> c = candidates.get(key);
+    if (c == null) {
+      c = List.copyOf(collect(target, ctx, bind, encodedValue));
+      candidates.putIfAbsent(key, c);
+    }
+    return c;
+  }
+
+  /** Ordered candidates: type-stable binders that do not support the key are dropped; the first that does ends the list. */
+  private List<Binder<?, ?>> collect(Object target, BindContext ctx, Bind bind, Object encodedValue) {
+    List<Binder<?, ?>> out = new ArrayList<>();
+    for (List<Binder<?, ?>> ordered : List.of(dialectOrdered, globalOrdered)) {
+      for (Binder<?, ?> b : ordered) {
+        if (b == null) continue;
+        if (!b.targetType().isInstance(target)) continue;
+        if (encodedValue != null && !b.valueType().isInstance(encodedValue)) continue;
+        if (!b.typeStable()) {
+          out.add(b);
+          continue;
+        }
+        @SuppressWarnings("unchecked")
+        Binder<Object, Object> bb = (Binder<Object, Object>) b;
+        if (bb.supports(ctx, bind, encodedValue)) {
+          out.add(b);
+          return out;
+        }
       }
     }
-    return false;
+    return out;
   }
 
   private static String normalizeDialect(String did) {
@@ -1,7 +1,6 @@
 package io.intellixity.nativa.persistence.spi.exec;
 
 import io.intellixity.nativa.persistence.authoring.AuthoringRegistry;
-import io.intellixity.nativa.persistence.authoring.DiscoveredUserTypeRegistry;
 import io.intellixity.nativa.persistence.authoring.EntityAuthoring;
 import io.intellixity.nativa.persistence.authoring.FieldDef;
 import io.intellixity.nativa.persistence.authoring.SqlViewDef;
@@ -10,7 +9,9 @@ import io.intellixity.nativa.persistence.authoring.ViewDef;
 import io.intellixity.nativa.persistence.exec.DataEngine;
 import io.intellixity.nativa.persistence.exec.EntityViewRef;
 import io.intellixity.nativa.persistence.exec.Propagation;
+import io.intellixity.nativa.persistence.exec.SessionVariables;
 import io.intellixity.nativa.persistence.exec.TxHandle;
+import io.intellixity.nativa.persistence.exec.TxOptions;
 import io.intellixity.nativa.persistence.exec.handle.EngineHandle;
 import io.intellixity.nativa.persistence.spi.bind.BindContext;
 import io.intellixity.nativa.persistence.spi.bind.DiscoveredBinderRegistry;
@@ -20,21 +21,46 @@ import io.intellixity.nativa.persistence.compile.PropertyTypeResolver;
 import io.intellixity.nativa.persistence.dmlast.*;
 import io.intellixity.nativa.persistence.mapping.RowReader;
 import io.intellixity.nativa.persistence.mapping.DiscoveredRowReaderRegistry;
+import io.intellixity.nativa.persistence.mapping.ViewMappedRowAdapter;
+import io.intellixity.nativa.persistence.mapping.ViewRowPlan;
+import io.intellixity.nativa.persistence.query.OffsetPage;
+import io.intellixity.nativa.persistence.query.PageResult;
 import io.intellixity.nativa.persistence.query.Query;
 import io.intellixity.nativa.persistence.query.QueryElement;
+import io.intellixity.nativa.persistence.query.QueryFilters;
+import io.intellixity.nativa.persistence.query.SeekPage;
+import io.intellixity.nativa.persistence.query.Slice;
+import io.intellixity.nativa.persistence.query.SortField;
+import io.intellixity.nativa.persistence.query.aggregation.AggregateRow;
+import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
 import io.intellixity.nativa.persistence.spi.sql.Dialect;
 import io.intellixity.nativa.persistence.spi.sql.NativeStatement;
 
 import java.lang.ScopedValue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Template-method orchestrator for persistence operations.\n
  *
  * Responsibilities:\n
  * - Transaction scoping via {@link #inTx(Propagation, java.util.function.Supplier)}\n
+ * - Async work on virtual threads via {@link #async(Supplier)}, limited per handle\n
  * - Normalize Query DSL -> QueryElement via {@link QueryNormalizer}\n
  * - Build native statements using {@link Dialect} and {@link DmlPlanner}\n
  * - Delegate execution to backend-specific hooks\n
@@ -42,15 +68,20 @@ import java.util.function.Supplier;
 public abstract class AbstractDataEngine<S extends NativeStatement, H extends EngineHandle<?>> implements DataEngine<H> {
   private final H handle;
   private final Dialect<S> dialect;
-  private final AuthoringRegistry authoring;
-  private final QueryNormalizer queryNormalizer;
-  private final PropertyTypeResolver propertyTypes;
-  private final QueryValidationStrategy queryValidation;
+  private final NativaRuntime<S> runtime;
   private final DmlPlanner dmlPlanner;
-  private final UserTypeRegistry userTypes;
-  private final DiscoveredBinderRegistry binders;
-  private final DiscoveredRowReaderRegistry rowReaders;
   private final Propagation defaultPropagation;
+  /** Max number of distinct read shapes whose compiled statements are kept per runtime. */
+  public static final int DEFAULT_STATEMENT_PLAN_CACHE_SIZE = NativaRuntime.DEFAULT_STATEMENT_PLAN_CACHE_SIZE;
+  /** Keys per IN query issued by {@link #findByIds(EntityViewRef, Collection, Query)}. */
+  public static final int DEFAULT_FIND_BY_IDS_CHUNK_SIZE = 500;
+  /** Max time {@link #close()} waits for in-flight operations (e.g. unclosed streams) before releasing resources. */
+  public static final long CLOSE_DRAIN_TIMEOUT_MILLIS = 30_000L;
+
+  // In-flight public operations (nested inTx calls count once per level); drained by close().\n
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final CompletableFuture<Void> drained = new CompletableFuture<>();
+  private final AtomicBoolean closing = new AtomicBoolean();
   /**
    * Engine-scoped transaction slot.\n
    *
@@ -60,12 +91,51 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
   private static final ScopedValue<TxSlot> TX = ScopedValue.newInstance();
   private final Object txMarker = new Object();
 
-  private record TxSlot(Object marker, TxHandle tx) {}
+  private record TxSlot(Object marker, TxHandle tx, WriteBuffer<?> writes) {
+    TxSlot(Object marker, TxHandle tx) {
+      this(marker, tx, null);
+    }
+  }
+
+  // Pending coalesced insert/upsert rows of one entity view (TxOptions.coalesceWrites); one per coalescing block.\n
+  private static final class WriteBuffer<S> {
+    final int maxRows;
+    EntityAuthoring ea;
+    ViewDef view;
+    boolean upsert;
+    // SessionVariables bound when the rows were buffered (e.g. SESSION governance); re-bound for the flush.\n
+    Map<String, String> session = Map.of();
+    final List<Object> entities = new ArrayList<>();
+    final List<DmlAst> asts = new ArrayList<>();
+    final List<S> stmts = new ArrayList<>();
+
+    WriteBuffer(int maxRows) {
+      this.maxRows = maxRows;
+    }
+
+    boolean accepts(EntityAuthoring ea, ViewDef view, boolean upsert, Map<String, String> session) {
+      return entities.isEmpty()
+          || (this.ea == ea && this.view == view && this.upsert == upsert && this.session.equals(session));
+    }
+
+    // A read of (ea, view) could observe buffered rows: same source, or a custom SQL view that may join it.\n
+    boolean touches(EntityAuthoring ea, ViewDef view) {
+      if (entities.isEmpty()) return false;
+      return view.sqlView() != null || Objects.equals(this.ea.source(), ea.source());
+    }
+  }
+
+  // Session pinned by withConnection (same engine-marker rule as TX).\n
+  private static final ScopedValue<TxSlot> PINNED = ScopedValue.newInstance();
+
+  // Async permits per handle (shared by every engine over the same pool); weak so retired handles drop out.\n
+  private static final Map<EngineHandle<?>, Semaphore> ASYNC_PERMITS = Collections.synchronizedMap(new WeakHashMap<>());
 
   /**
    * DI-friendly constructor: callers provide the supporting registries/resolvers.\n
    *
-   * This makes it easy to override behavior in tests or in applications without modifying engines.\n
+   * This makes it easy to override behavior in tests or in applications without modifying engines.
+   * The resulting runtime is private to this engine.\n
    */
   protected AbstractDataEngine(Dialect<S> dialect,
                                H handle,
@@ -78,56 +148,46 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
                                UserTypeRegistry userTypes,
                                DiscoveredBinderRegistry binders,
                                DiscoveredRowReaderRegistry rowReaders) {
+    this(
+        dialect,
+        handle,
+        new NativaRuntime<>(authoring, queryNormalizer, propertyTypes, queryValidation, userTypes, binders, rowReaders,
+            DEFAULT_STATEMENT_PLAN_CACHE_SIZE),
+        dmlPlanner,
+        defaultPropagation
+    );
+  }
+
+  /**
+   * Runtime-sharing constructor: registries and compiled caches come from {@code runtime}, so building an
+   * engine does no discovery work.\n
+   */
+  protected AbstractDataEngine(Dialect<S> dialect,
+                               H handle,
+                               NativaRuntime<S> runtime,
+                               DmlPlanner dmlPlanner,
+                               Propagation defaultPropagation) {
     this.handle = Objects.requireNonNull(handle, "handle");
     this.dialect = Objects.requireNonNull(dialect, "dialect");
-    this.authoring = Objects.requireNonNull(authoring, "authoring");
+    this.runtime = Objects.requireNonNull(runtime, "runtime");
     this.defaultPropagation = (defaultPropagation == null) ? Propagation.REQUIRED : defaultPropagation;
-    this.queryNormalizer = Objects.requireNonNull(queryNormalizer, "queryNormalizer");
-    this.propertyTypes = Objects.requireNonNull(propertyTypes, "propertyTypes");
-    this.queryValidation = (queryValidation == null) ? new DefaultQueryValidationStrategy() : queryValidation;
     this.dmlPlanner = Objects.requireNonNull(dmlPlanner, "dmlPlanner");
-    this.userTypes = Objects.requireNonNull(userTypes, "userTypes");
-    this.binders = Objects.requireNonNull(binders, "binders");
-    this.rowReaders = Objects.requireNonNull(rowReaders, "rowReaders");
   }
 
+  /** Uses the process-wide {@link NativaRuntime#shared(Dialect, AuthoringRegistry)} runtime. */
   protected AbstractDataEngine(Dialect<S> dialect,
                                H handle,
                                AuthoringRegistry authoring,
                                DmlPlanner dmlPlanner,
                                Propagation defaultPropagation) {
-    this(
-        dialect,
-        handle,
-        authoring,
-        dmlPlanner,
-        defaultPropagation,
-        new QueryNormalizer(),
-        new PropertyTypeResolver(Objects.requireNonNull(authoring, "authoring")),
-        new DefaultQueryValidationStrategy(),
-        new DiscoveredUserTypeRegistry(Objects.requireNonNull(dialect, "dialect").id()),
-        new DiscoveredBinderRegistry(Objects.requireNonNull(dialect, "dialect").id()),
-        new DiscoveredRowReaderRegistry()
-    );
+    this(dialect, handle, NativaRuntime.shared(dialect, authoring), dmlPlanner, defaultPropagation);
   }
 
   protected AbstractDataEngine(Dialect<S> dialect,
                                H handle,
                                AuthoringRegistry authoring,
                                DmlPlanner dmlPlanner) {
-    this(
-        dialect,
-        handle,
-        authoring,
-        dmlPlanner,
-        Propagation.REQUIRED,
-        new QueryNormalizer(),
-        new PropertyTypeResolver(Objects.requireNonNull(authoring, "authoring")),
-        new DefaultQueryValidationStrategy(),
-        new DiscoveredUserTypeRegistry(Objects.requireNonNull(dialect, "dialect").id()),
-        new DiscoveredBinderRegistry(Objects.requireNonNull(dialect, "dialect").id()),
-        new DiscoveredRowReaderRegistry()
-    );
+    this(dialect, handle, authoring, dmlPlanner, Propagation.REQUIRED);
   }
 
   /** Backend-specific transaction begin (write operations may auto-create tx via {@link #inTx(Supplier)}). */
@@ -156,6 +216,53 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
     return (slot != null && slot.marker == this.txMarker) ? slot.tx : null;
   }
 
+  /** Session pinned by an enclosing {@link #withConnection} of this engine, if any. */
+  protected final TxHandle currentPinnedOrNull() {
+    if (!PINNED.isBound()) return null;
+    TxSlot slot = PINNED.get();
+    return (slot != null && slot.marker == this.txMarker) ? slot.tx : null;
+  }
+
+  // Statements run in the current transaction, else on the pinned session, else on their own.\n
+  private TxHandle currentSessionOrNull() {
+    TxHandle tx = currentTxOrNull();
+    return (tx != null) ? tx : currentPinnedOrNull();
+  }
+
+  /**
+   * Pin one backend session (see {@link #pin()}) for the non-transactional reads of {@code work}.\n
+   *
+   * Reentrant, and a no-op inside a transaction of this engine. Streams keep their own sessions; {@link #async}
+   * tasks run on other threads and never see the pinned session.\n
+   */
+  @Override
+  public final <T> T withConnection(Supplier<T> work) {
+    Objects.requireNonNull(work, "work");
+    if (currentSessionOrNull() != null) return work.get();
+    enter();
+    try {
+      TxHandle pinned = pin();
+      if (pinned == null) return work.get();
+      try {
+        return ScopedValue.where(PINNED, new TxSlot(this.txMarker, pinned)).call(work::get);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new RuntimeException(t);
+      } finally {
+        unpin(pinned);
+      }
+    } finally {
+      exit();
+    }
+  }
+
+  /** Acquire a non-transactional session for {@link #withConnection}; null (default) when not supported. */
+  protected TxHandle pin() { return null; }
+
+  /** Release a session returned by {@link #pin()}. */
+  protected void unpin(TxHandle pinned) {}
+
   @Override
   public <T> T inTx(Supplier<T> work) {
     return inTx(defaultPropagation, work);
@@ -165,6 +272,110 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
   public final <T> T inTx(Propagation propagation, Supplier<T> work) {
     Objects.requireNonNull(propagation, "propagation");
     Objects.requireNonNull(work, "work");
+    enter();
+    try {
+      return inTx0(propagation, work);
+    } finally {
+      exit();
+    }
+  }
+
+  /** {@link TxOptions#coalesceWrites()} buffers same-shape insert/upsert calls of the block (see {@link TxOptions}). */
+  @Override
+  public final <T> T inTx(Propagation propagation, TxOptions options, Supplier<T> work) {
+    Objects.requireNonNull(options, "options");
+    Objects.requireNonNull(work, "work");
+    if (options.coalesceWrites() == 0) return inTx(propagation, work);
+    return inTx(propagation, () -> coalescing(options.coalesceWrites(), work));
+  }
+
+  // Bind a write buffer for this block's transaction and flush it when the block completes (before commit).\n
+  private <T> T coalescing(int maxRows, Supplier<T> work) {
+    TxHandle tx = currentTxOrNull();
+    if (tx == null || currentWriteBuffer() != null) return work.get();
+    WriteBuffer<S> buffer = new WriteBuffer<>(maxRows);
+    T result;
+    try {
+      result = ScopedValue.where(TX, new TxSlot(this.txMarker, tx, buffer)).call(work::get);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+    flushWrites(buffer);
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private WriteBuffer<S> currentWriteBuffer() {
+    if (!TX.isBound()) return null;
+    TxSlot slot = TX.get();
+    return (slot != null && slot.marker == this.txMarker) ? (WriteBuffer<S>) slot.writes() : null;
+  }
+
+  // Before a read of (ea, view): send buffered rows it could observe.\n
+  private void flushWritesFor(EntityAuthoring ea, ViewDef view) {
+    WriteBuffer<S> buffer = currentWriteBuffer();
+    if (buffer != null && buffer.touches(ea, view)) flushWrites(buffer);
+  }
+
+  // Before any other write: keep statement order.\n
+  private void flushWrites() {
+    WriteBuffer<S> buffer = currentWriteBuffer();
+    if (buffer != null) flushWrites(buffer);
+  }
+
+  private void flushWrites(WriteBuffer<S> buffer) {
+    if (buffer.entities.isEmpty()) return;
+    EntityAuthoring ea = buffer.ea;
+    ViewDef view = buffer.view;
+    List<Object> entities = List.copyOf(buffer.entities);
+    List<DmlAst> asts = List.copyOf(buffer.asts);
+    List<S> stmts = new ArrayList<>(buffer.stmts);
+    boolean upsert = buffer.upsert;
+    buffer.entities.clear();
+    buffer.asts.clear();
+    buffer.stmts.clear();
+
+    TxHandle tx = currentTxOrNull();
+    // The flush may run outside the scope of the calls that buffered the rows (e.g. when the block completes).
+    SessionVariables.where(buffer.session, () -> {
+      if (upsert) {
+        List<UpsertAst> upserts = new ArrayList<>(asts.size());
+        for (DmlAst a : asts) upserts.add((UpsertAst) a);
+        List<Object> rawIds = executeUpsertBatch(tx, ea, view, upserts, stmts);
+        for (int i = 0; i < entities.size(); i++) {
+          applyGeneratedIdIfNeeded(ea, view, upserts.get(i).insert(), entities.get(i), rawIds.get(i));
+        }
+      } else {
+        List<InsertAst> inserts = new ArrayList<>(asts.size());
+        for (DmlAst a : asts) inserts.add((InsertAst) a);
+        List<Object> rawIds = executeInsertBatch(tx, ea, view, inserts, stmts);
+        for (int i = 0; i < entities.size(); i++) {
+          applyGeneratedIdIfNeeded(ea, view, inserts.get(i), entities.get(i), rawIds.get(i));
+        }
+      }
+      return null;
+    });
+  }
+
+  // Plan and render now (errors surface at the call), send later.\n
+  private void bufferWrite(WriteBuffer<S> buffer, EntityAuthoring ea, ViewDef view, Object entity, boolean upsert) {
+    Map<String, String> session = SessionVariables.current();
+    if (!buffer.accepts(ea, view, upsert, session)) flushWrites(buffer);
+    DmlAst ast = upsert ? dmlPlanner.planUpsert(ea, view, entity, true) : dmlPlanner.planInsert(ea, view, entity, true);
+    S stmt = dialect.renderDml(ea, view, ast, runtime.propertyTypes());
+    buffer.ea = ea;
+    buffer.view = view;
+    buffer.upsert = upsert;
+    buffer.session = session;
+    buffer.entities.add(entity);
+    buffer.asts.add(ast);
+    buffer.stmts.add(stmt);
+    if (buffer.entities.size() >= buffer.maxRows) flushWrites(buffer);
+  }
+
+  private <T> T inTx0(Propagation propagation, Supplier<T> work) {
     TxHandle existing = currentTxOrNull();
     return switch (propagation) {
       case REQUIRED -> (existing != null) ? work.get() : runInNewTx(work);
@@ -196,18 +407,125 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
     }
   }
 
+  /**
+   * Run work on a virtual thread, holding one of the handle's {@link EngineHandle#asyncConcurrency()} permits
+   * while it runs (waiting tasks park their virtual thread, not a connection).\n
+   *
+   * Inside a transaction of this engine the work runs inline on the caller's thread and the returned future is
+   * already complete: the transaction's connection/session is not safe for concurrent use.\n
+   */
+  @Override
+  public <T> CompletableFuture<T> async(Supplier<T> work) {
+    Objects.requireNonNull(work, "work");
+    if (currentTxOrNull() != null) {
+      try {
+        return CompletableFuture.completedFuture(work.get());
+      } catch (Throwable t) {
+        return CompletableFuture.failedFuture(t);
+      }
+    }
+    Semaphore permits = ASYNC_PERMITS.computeIfAbsent(handle, h -> new Semaphore(h.asyncConcurrency()));
+    CompletableFuture<T> out = new CompletableFuture<>();
+    enter();
+    try {
+      Thread.startVirtualThread(() -> {
+        try {
+          permits.acquire();
+          try {
+            out.complete(work.get());
+          } finally {
+            permits.release();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          out.completeExceptionally(e);
+        } catch (Throwable t) {
+          out.completeExceptionally(t);
+        } finally {
+          exit();
+        }
+      });
+    } catch (Throwable t) {
+      exit();
+      throw t;
+    }
+    return out;
+  }
+
+  /**
+   * Retire this engine: new operations are rejected, in-flight ones (including open streams and work nested in
+   * their transactions) are allowed to finish, waiting at most {@link #CLOSE_DRAIN_TIMEOUT_MILLIS}, then
+   * {@link #onClose()} runs exactly once. Blocking; callers that must not block (e.g. cache eviction) should
+   * invoke it on another thread.\n
+   */
+  @Override
+  public final void close() {
+    if (!closing.compareAndSet(false, true)) {
+      awaitDrained();
+      return;
+    }
+    if (inFlight.get() == 0) drained.complete(null);
+    awaitDrained();
+    onClose();
+  }
+
+  /** True once {@link #close()} has been called. */
+  public final boolean isClosing() { return closing.get(); }
+
+  /** Release engine-owned resources after in-flight operations drained. The handle is not closed here. */
+  protected void onClose() {}
+
+  private void awaitDrained() {
+    try {
+      drained.get(CLOSE_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // Give up waiting (e.g. a stream that was never closed); resources are released anyway.
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  // Count first, then check: close() either sees this operation in flight or it is rejected here.\n
+  private void enter() {
+    inFlight.incrementAndGet();
+    if (closing.get() && currentSessionOrNull() == null) {
+      exit();
+      throw new IllegalStateException("Engine is closed: " + handle.id());
+    }
+  }
+
+  private void exit() {
+    if (inFlight.decrementAndGet() == 0 && closing.get()) drained.complete(null);
+  }
+
   protected final Dialect<S> dialect() { return dialect; }
   @Override
   public final H handle() { return handle; }
   protected final H engineHandle() { return handle; }
-  protected final QueryNormalizer queryNormalizer() { return queryNormalizer; }
-  protected final PropertyTypeResolver propertyTypes() { return propertyTypes; }
-  protected QueryValidationStrategy queryValidation() { return queryValidation; }
+  protected final QueryNormalizer queryNormalizer() { return runtime.queryNormalizer(); }
+  protected final PropertyTypeResolver propertyTypes() { return runtime.propertyTypes(); }
+  protected QueryValidationStrategy queryValidation() { return runtime.queryValidation(); }
   protected final DmlPlanner dmlPlanner() { return dmlPlanner; }
-  protected final UserTypeRegistry userTypes() { return userTypes; }
-  protected final DiscoveredBinderRegistry binders() { return binders; }
+  protected final UserTypeRegistry userTypes() { return runtime.userTypes(); }
+  protected final DiscoveredBinderRegistry binders() { return runtime.binders(); }
   protected final String schemaNameOrNull() { return handle.namespace(); }
 
+  /** Shared registries and compiled caches this engine was built with. */
+  public final NativaRuntime<S> runtime() { return runtime; }
+
+  /**
+   * Row-access plan for a view (path -> label resolution), built once per view definition.\n
+   * Backends pass it to {@link ViewMappedRowAdapter} instead of re-walking the mapping per row.\n
+   */
+  protected final ViewRowPlan rowPlan(ViewDef view) {
+    return runtime.rowPlan(view);
+  }
+
+  /** Shape-keyed compiled read plans (hit/miss counters via {@link StatementPlanCache#stats()}). */
+  public final StatementPlanCache<S> statementPlans() { return runtime.statementPlans(); }
+
   /** Apply schema placeholder substitution to view.sqlView.sql/projection if schema=true and value is String. */
   protected final ViewDef resolveSchema(ViewDef view) {
     if (view == null || view.sqlView() == null) return view;
@@ -234,13 +552,13 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
   protected final Object encode(Bind bind) {
     if (bind == null) return null;
     @SuppressWarnings("unchecked")
-    var ut = (io.intellixity.nativa.persistence.authoring.UserType<Object>) userTypes.get(bind.userTypeId());
+    var ut = (io.intellixity.nativa.persistence.authoring.UserType<Object>) runtime.userTypes().get(bind.userTypeId());
     return ut.encode(bind.value());
   }
 
   /** Bind an already encoded value into the given native target using discovered binders. */
   protected final <TTarget> void bindInto(TTarget target, BindContext ctx, Bind bind, Object encodedValue) {
-    binders.bind(target, ctx, bind, encodedValue, userTypes);
+    runtime.binders().bind(target, ctx, bind, encodedValue, runtime.userTypes());
   }
 
   // --- Reads (no auto-tx creation) ---
@@ -250,13 +568,39 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
     ResolvedEntityView rev = resolve(ref);
     EntityAuthoring ea = rev.entityAuthoring();
     ViewDef view = rev.viewDef();
+    flushWritesFor(ea, view);
     @SuppressWarnings("unchecked")
-    RowReader<T> reader = (RowReader<T>) rowReaders.get(ea.type());
-    Query effective = (query == null) ? new Query() : query;
-    QueryElement filter = queryNormalizer.normalize(ea, effective);
-    queryValidation().validate(ea, view, effective, filter, propertyTypes);
-    S stmt = buildSelectStatement(ea, view, effective, filter);
-    return executeSelect(currentTxOrNull(), view, stmt, reader);
+    RowReader<T> reader = (RowReader<T>) runtime.rowReaders().get(ea.type());
+    Query effective = resolveSeekCursor(ref, (query == null) ? new Query() : query);
+    QueryElement filter = runtime.queryNormalizer().normalize(ea, effective);
+    enter();
+    try {
+      S stmt = compileRead("select", ref, ea, view, effective, filter);
+      return executeSelect(currentSessionOrNull(), view, stmt, reader);
+    } finally {
+      exit();
+    }
+  }
+
+  @Override
+  public final <T> Stream<T> stream(EntityViewRef ref, Query query) {
+    ResolvedEntityView rev = resolve(ref);
+    EntityAuthoring ea = rev.entityAuthoring();
+    ViewDef view = rev.viewDef();
+    flushWritesFor(ea, view);
+    @SuppressWarnings("unchecked")
+    RowReader<T> reader = (RowReader<T>) runtime.rowReaders().get(ea.type());
+    Query effective = resolveSeekCursor(ref, (query == null) ? new Query() : query);
+    QueryElement filter = runtime.queryNormalizer().normalize(ea, effective);
+    enter();
+    try {
+      S stmt = compileRead("select", ref, ea, view, effective, filter);
+      // The stream stays in flight until it is closed.
+      return executeStream(currentTxOrNull(), view, stmt, reader).onClose(this::exit);
+    } catch (RuntimeException | Error e) {
+      exit();
+      throw e;
+    }
   }
 
   @Override
@@ -264,24 +608,281 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
     ResolvedEntityView rev = resolve(ref);
     EntityAuthoring ea = rev.entityAuthoring();
     ViewDef view = rev.viewDef();
+    flushWritesFor(ea, view);
     Query effective = (query == null) ? new Query() : query;
-    QueryElement filter = queryNormalizer.normalize(ea, effective);
-    queryValidation().validate(ea, view, effective, filter, propertyTypes);
-    S stmt = buildCountStatement(ea, view, effective, filter);
-    return executeCount(currentTxOrNull(), view, stmt);
+    QueryElement filter = runtime.queryNormalizer().normalize(ea, effective);
+    enter();
+    try {
+      S stmt = compileRead("count", ref, ea, view, effective, filter);
+      return executeCount(currentSessionOrNull(), view, stmt);
+    } finally {
+      exit();
+    }
+  }
+
+  @Override
+  public final <T> Slice<T> selectSlice(EntityViewRef ref, Query query) {
+    if (query == null || !(query.page() instanceof SeekPage sp)) throw new IllegalArgumentException("selectSlice requires a SeekPage");
+    List<SortField> sort = query.sort();
+    if (sort.isEmpty()) throw new IllegalArgumentException("SeekPage requires sort fields");
+    List<String> projection = query.projection();
+    for (SortField sf : sort) {
+      if (!projection.isEmpty() && !projection.contains(sf.field())) {
+        throw new IllegalArgumentException("selectSlice projection must include sort field: " + sf.field());
+      }
+    }
+    ResolvedEntityView rev = resolve(ref);
+    EntityAuthoring ea = rev.entityAuthoring();
+    ViewDef view = rev.viewDef();
+    flushWritesFor(ea, view);
+    @SuppressWarnings("unchecked")
+    RowReader<T> reader = (RowReader<T>) runtime.rowReaders().get(ea.type());
+    Query effective = resolveSeekCursor(ref, query);
+    QueryElement filter = runtime.queryNormalizer().normalize(ea, effective);
+    enter();
+    try {
+      S stmt = compileRead("select", ref, ea, view, effective, filter);
+      // Keep the typed sort values of the last row read; they become the next cursor.
+      String[] userTypeIds = new String[sort.size()];
+      for (int i = 0; i < userTypeIds.length; i++) {
+        userTypeIds[i] = runtime.propertyTypes().resolveScalarUserTypeId(ea, sort.get(i).field());
+      }
+      Object[][] last = new Object[1][];
+      RowReader<T> capturing = row -> {
+        T v = reader.read(row);
+        Object[] keys = new Object[userTypeIds.length];
+        for (int i = 0; i < keys.length; i++) keys[i] = row.decode(sort.get(i).field(), userTypeIds[i]);
+        last[0] = keys;
+        return v;
+      };
+      List<T> rows = executeSelect(currentSessionOrNull(), view, stmt, capturing);
+      if (rows.size() < sp.limit() || last[0] == null) return new Slice<>(rows, null);
+      Map<String, Object> after = new LinkedHashMap<>();
+      for (int i = 0; i < sort.size(); i++) after.put(sort.get(i).field(), last[0][i]);
+      return new Slice<>(rows, runtime.seekCursors().encode(cursorScope(ref), sort, after));
+    } finally {
+      exit();
+    }
+  }
+
+  @Override
+  public final <K, T> Map<K, T> findByIds(EntityViewRef ref, Collection<? extends K> keys, Query query) {
+    Objects.requireNonNull(keys, "keys");
+    Map<K, T> out = new LinkedHashMap<>();
+    if (keys.isEmpty()) return out;
+    ResolvedEntityView rev = resolve(ref);
+    EntityAuthoring ea = rev.entityAuthoring();
+    ViewDef view = rev.viewDef();
+    flushWritesFor(ea, view);
+    @SuppressWarnings("unchecked")
+    RowReader<T> reader = (RowReader<T>) runtime.rowReaders().get(ea.type());
+    String keyField = keyField(ea);
+    String keyType = runtime.propertyTypes().resolveScalarUserTypeId(ea, keyField);
+    Query base = (query == null) ? new Query() : query;
+    List<String> projection = base.projection();
+    if (!projection.isEmpty() && !projection.contains(keyField)) {
+      projection = new ArrayList<>(projection);
+      projection.add(keyField);
+    }
+    List<K> distinct = List.copyOf(new LinkedHashSet<>(keys));
+    int chunkSize = findByIdsChunkSize();
+    enter();
+    try {
+      TxHandle tx = currentSessionOrNull();
+      for (int from = 0; from < distinct.size(); from += chunkSize) {
+        QueryElement in = QueryFilters.in(keyField, distinct.subList(from, Math.min(distinct.size(), from + chunkSize)));
+        Query effective = new Query()
+            .withFilter(base.filter() == null ? in : QueryFilters.and(base.filter(), in))
+            .withProjection(projection)
+            .withParams(base.params());
+        QueryElement filter = runtime.queryNormalizer().normalize(ea, effective);
+        S stmt = compileRead("select", ref, ea, view, effective, filter);
+        executeSelect(tx, view, stmt, row -> {
+          T v = reader.read(row);
+          @SuppressWarnings("unchecked")
+          K k = (K) row.decode(keyField, keyType);
+          out.put(k, v);
+          return v;
+        });
+      }
+    } finally {
+      exit();
+    }
+    return out;
+  }
+
+  /** Keys per IN query in {@link #findByIds(EntityViewRef, Collection, Query)}; stay under backend bind limits. */
+  protected int findByIdsChunkSize() { return DEFAULT_FIND_BY_IDS_CHUNK_SIZE; }
+
+  private static String keyField(EntityAuthoring ea) {
+    String key = null;
+    for (var e : ea.fields().entrySet()) {
+      if (e.getValue() == null || !e.getValue().key()) continue;
+      if (key != null) throw new IllegalArgumentException("findByIds requires a single key field: " + ea.type());
+      key = e.getKey();
+    }
+    if (key == null) throw new IllegalArgumentException("findByIds requires a key field: " + ea.type());
+    return key;
+  }
+
+  /** Replace a SeekPage cursor token with the verified {@code after} values it carries. */
+  private Query resolveSeekCursor(EntityViewRef ref, Query q) {
+    if (!(q.page() instanceof SeekPage sp) || sp.cursor() == null) return q;
+    Map<String, Object> after = runtime.seekCursors().decode(sp.cursor(), cursorScope(ref), q.sort());
+    return new Query()
+        .withFilter(q.filter())
+        .withPage(new SeekPage(sp.limit(), after))
+        .withProjection(q.projection())
+        .withSort(q.sort())
+        .withGroupBy(q.groupBy())
+        .withParams(q.params());
+  }
+
+  private static String cursorScope(EntityViewRef ref) {
+    return ref.type() + "/" + ref.viewDefId();
+  }
+
+  @Override
+  public final <T> PageResult<T> selectPage(EntityViewRef ref, Query query) {
+    ResolvedEntityView rev = resolve(ref);
+    EntityAuthoring ea = rev.entityAuthoring();
+    ViewDef view = rev.viewDef();
+    flushWritesFor(ea, view);
+    @SuppressWarnings("unchecked")
+    RowReader<T> reader = (RowReader<T>) runtime.rowReaders().get(ea.type());
+    Query effective = resolveSeekCursor(ref, (query == null) ? new Query() : query);
+    QueryElement filter = runtime.queryNormalizer().normalize(ea, effective);
+    enter();
+    try {
+      TxHandle tx = currentSessionOrNull();
+      S stmt = compileRead("selectPage", ref, ea, view, effective, filter);
+      if (stmt != null) {
+        PageResult<T> page = executeSelectPage(tx, view, stmt, reader);
+        // A page past the end carries no rows to read the total from.
+        if (!page.rows().isEmpty() || !(effective.page() instanceof OffsetPage op) || op.offset() == 0) return page;
+        return new PageResult<>(page.rows(), executeCount(tx, view, compileRead("count", ref, ea, view, effective, filter)));
+      }
+      List<T> rows = executeSelect(tx, view, compileRead("select", ref, ea, view, effective, filter), reader);
+      return new PageResult<>(rows, executeCount(tx, view, compileRead("count", ref, ea, view, effective, filter)));
+    } finally {
+      exit();
+    }
+  }
+
+  @Override
+  public final List<AggregateRow> aggregate(EntityViewRef ref, Query query) {
+    ResolvedEntityView rev = resolve(ref);
+    EntityAuthoring ea = rev.entityAuthoring();
+    ViewDef view = rev.viewDef();
+    flushWritesFor(ea, view);
+    if (query == null || query.groupBy() == null) throw new IllegalArgumentException("aggregate requires Query.groupBy");
+    QueryElement filter = runtime.queryNormalizer().normalize(ea, query);
+    GroupBy groupBy = query.groupBy();
+    if (groupBy.having() != null) {
+      // HAVING values may be params too.
+      Query having = new Query().withFilter(groupBy.having()).withParams(query.params());
+      groupBy = groupBy.withHaving(runtime.queryNormalizer().normalize(ea, having));
+    }
+    enter();
+    try {
+      queryValidation().validate(ea, view, query, filter, runtime.propertyTypes());
+      S stmt = buildAggregateStatement(ea, view, query, filter, groupBy);
+      return executeAggregate(currentSessionOrNull(), view, stmt);
+    } finally {
+      exit();
+    }
+  }
+
+  /**
+   * Validate + build a read statement, reusing a cached plan when the query shape was seen before.\n
+   *
+   * A shape hit skips validation and rendering: validation only depends on property paths, which are
+   * part of the shape key. Custom {@link QueryValidationStrategy} implementations that inspect values
+   * should disable plans via {@link #supportsStatementPlans()}.\n
+   */
+  private S compileRead(String kind, EntityViewRef ref, EntityAuthoring ea, ViewDef view,
+                        Query effective, QueryElement filter) {
+    QueryShape shape = supportsStatementPlans() ? QueryShape.of(kind, ref, view, effective, filter, dialect, ea,
+        runtime.propertyTypes()) : null;
+    if (shape != null) {
+      S plan = runtime.statementPlans().get(planKey(shape, view));
+      if (plan != null) return bindStatementPlan(plan, shape);
+    }
+    queryValidation().validate(ea, view, effective, filter, runtime.propertyTypes());
+    S stmt = switch (kind) {
+      case "count" -> buildCountStatement(ea, view, effective, filter);
+      case "selectPage" -> buildSelectPageStatement(ea, view, effective, filter);
+      default -> buildSelectStatement(ea, view, effective, filter);
+    };
+    // selectPage may be unsupported for this query (null); the caller falls back to select + count.
+    if (shape != null && stmt != null) runtime.statementPlans().put(planKey(shape, view), compileStatementPlan(stmt, shape));
+    return stmt;
+  }
+
+  // Plans are shared across engines of one runtime; only views with schema placeholders (see resolveSchema)
+  // render per-namespace text, so every other shape is shared across tenants.\n
+  private String planKey(QueryShape shape, ViewDef view) {
+    boolean perSchema = view.sqlView() != null && view.sqlView().schema();
+    return perSchema ? handle.namespace() + "|" + shape.key() : shape.key();
+  }
+
+  /** Whether this backend can re-bind cached read statements (see {@link #compileStatementPlan}). */
+  protected boolean supportsStatementPlans() { return false; }
+
+  /**
+   * Turn a freshly rendered read statement into a reusable plan for its shape.\n
+   *
+   * Return null when the statement cannot be re-bound safely (it will be rendered again next time).\n
+   */
+  protected S compileStatementPlan(S rendered, QueryShape shape) { return null; }
+
+  /** Bind the values of {@code shape} into a plan produced by {@link #compileStatementPlan}. */
+  protected S bindStatementPlan(S plan, QueryShape shape) {
+    throw new UnsupportedOperationException("Statement plans not supported by " + getClass().getName());
   }
 
   // --- Writes (auto-tx creation) ---
 
+  /**
+   * Whether a single-statement write (insert/upsert/update/updateByCriteria/deleteByCriteria) issued outside a
+   * transaction may run directly in the backend's auto-commit mode instead of an implicit transaction. Only
+   * return true when one such statement is atomic on its own. Default: false.\n
+   */
+  protected boolean autoCommitsSingleStatementWrites() { return false; }
+
+  // Outside a transaction an atomic single statement needs no begin/commit round trips of its own.\n
+  private <T> T inSingleStatementWrite(Supplier<T> work) {
+    Propagation p = defaultWritePropagation();
+    if (p == Propagation.MANDATORY || currentTxOrNull() != null || !autoCommitsSingleStatementWrites()) {
+      return inTx(p, work);
+    }
+    enter();
+    try {
+      return work.get();
+    } finally {
+      exit();
+    }
+  }
+
   @Override
   public final <T> T insert(EntityViewRef ref, T entity) {
     ResolvedEntityView rev = resolve(ref);
     EntityAuthoring ea = rev.entityAuthoring();
     ViewDef view = rev.viewDef();
-    return inTx(defaultWritePropagation(), () -> {
+    WriteBuffer<S> buffer = currentWriteBuffer();
+    if (buffer != null) {
+      enter();
+      try {
+        bufferWrite(buffer, ea, view, entity, false);
+        return entity;
+      } finally {
+        exit();
+      }
+    }
+    return inSingleStatementWrite(() -> {
       InsertAst ast = dmlPlanner.planInsert(ea, view, entity, true);
-      S stmt = dialect.renderDml(ea, view, ast, propertyTypes);
-      Object rawId = executeInsertForId(currentTxOrNull(), ea, view, ast, stmt);
+      S stmt = dialect.renderDml(ea, view, ast, runtime.propertyTypes());
+      Object rawId = executeInsertForId(currentSessionOrNull(), ea, view, ast, stmt);
       applyGeneratedIdIfNeeded(ea, view, ast, entity, rawId);
       return entity;
     });
@@ -289,8 +890,24 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
 
   @Override
   public final <T> void bulkInsert(EntityViewRef ref, List<T> entities) {
+    Objects.requireNonNull(entities, "entities");
+    if (entities.isEmpty()) return;
+    ResolvedEntityView rev = resolve(ref);
+    EntityAuthoring ea = rev.entityAuthoring();
+    ViewDef view = rev.viewDef();
+    flushWrites();
     inTx(defaultWritePropagation(), () -> {
-      for (T e : entities) insert(ref, e);
+      List<InsertAst> asts = new ArrayList<>(entities.size());
+      List<S> stmts = new ArrayList<>(entities.size());
+      for (T e : entities) {
+        InsertAst ast = dmlPlanner.planInsert(ea, view, e, true);
+        asts.add(ast);
+        stmts.add(dialect.renderDml(ea, view, ast, runtime.propertyTypes()));
+      }
+      List<Object> rawIds = executeInsertBatch(currentTxOrNull(), ea, view, asts, stmts);
+      for (int i = 0; i < entities.size(); i++) {
+        applyGeneratedIdIfNeeded(ea, view, asts.get(i), entities.get(i), rawIds.get(i));
+      }
       return null;
     });
   }
@@ -300,10 +917,20 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
     ResolvedEntityView rev = resolve(ref);
     EntityAuthoring ea = rev.entityAuthoring();
     ViewDef view = rev.viewDef();
-    return inTx(defaultWritePropagation(), () -> {
+    WriteBuffer<S> buffer = currentWriteBuffer();
+    if (buffer != null) {
+      enter();
+      try {
+        bufferWrite(buffer, ea, view, entity, true);
+        return entity;
+      } finally {
+        exit();
+      }
+    }
+    return inSingleStatementWrite(() -> {
       UpsertAst ast = dmlPlanner.planUpsert(ea, view, entity, true);
-      S stmt = dialect.renderDml(ea, view, ast, propertyTypes);
-      Object rawId = executeUpsertForId(currentTxOrNull(), ea, view, ast, stmt);
+      S stmt = dialect.renderDml(ea, view, ast, runtime.propertyTypes());
+      Object rawId = executeUpsertForId(currentSessionOrNull(), ea, view, ast, stmt);
       applyGeneratedIdIfNeeded(ea, view, ast.insert(), entity, rawId);
       return entity;
     });
@@ -311,8 +938,24 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
 
   @Override
   public final <T> void bulkUpsert(EntityViewRef ref, List<T> entities) {
+    Objects.requireNonNull(entities, "entities");
+    if (entities.isEmpty()) return;
+    ResolvedEntityView rev = resolve(ref);
+    EntityAuthoring ea = rev.entityAuthoring();
+    ViewDef view = rev.viewDef();
+    flushWrites();
     inTx(defaultWritePropagation(), () -> {
-      for (T e : entities) upsert(ref, e);
+      List<UpsertAst> asts = new ArrayList<>(entities.size());
+      List<S> stmts = new ArrayList<>(entities.size());
+      for (T e : entities) {
+        UpsertAst ast = dmlPlanner.planUpsert(ea, view, e, true);
+        asts.add(ast);
+        stmts.add(dialect.renderDml(ea, view, ast, runtime.propertyTypes()));
+      }
+      List<Object> rawIds = executeUpsertBatch(currentTxOrNull(), ea, view, asts, stmts);
+      for (int i = 0; i < entities.size(); i++) {
+        applyGeneratedIdIfNeeded(ea, view, asts.get(i).insert(), entities.get(i), rawIds.get(i));
+      }
       return null;
     });
   }
@@ -365,7 +1008,7 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
     }
     if (userTypeId == null) return;
 
-    Object decoded = userTypes.get(userTypeId).decode(rawId);
+    Object decoded = runtime.userTypes().get(userTypeId).decode(rawId);
     invokeFluentSetter(entity, field, decoded);
   }
 
@@ -403,13 +1046,29 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
   /** Template hook: build select statement (default delegates to dialect.mergeSelect). */
   protected S buildSelectStatement(EntityAuthoring ea, ViewDef view, Query effectiveQuery, QueryElement filter) {
     ViewDef v = resolveSchema(view);
-    return dialect.mergeSelect(ea, v, filter, effectiveQuery.sort(), effectiveQuery.page(), effectiveQuery.params(), propertyTypes);
+    return dialect.mergeSelect(ea, v, filter, effectiveQuery.sort(), effectiveQuery.page(), effectiveQuery.params(),
+        runtime.propertyTypes(), effectiveQuery.projection());
+  }
+
+  /** Template hook: build paged select + total statement (default delegates to dialect.mergeSelectPage; null = unsupported). */
+  protected S buildSelectPageStatement(EntityAuthoring ea, ViewDef view, Query effectiveQuery, QueryElement filter) {
+    ViewDef v = resolveSchema(view);
+    return dialect.mergeSelectPage(ea, v, filter, effectiveQuery.sort(), effectiveQuery.page(), effectiveQuery.params(),
+        runtime.propertyTypes(), effectiveQuery.projection());
+  }
+
+  /** Template hook: build aggregate statement (default delegates to dialect.mergeAggregate). */
+  protected S buildAggregateStatement(EntityAuthoring ea, ViewDef view, Query effectiveQuery, QueryElement filter,
+                                      GroupBy groupBy) {
+    ViewDef v = resolveSchema(view);
+    return dialect.mergeAggregate(ea, v, filter, groupBy, effectiveQuery.sort(), effectiveQuery.page(),
+        effectiveQuery.params(), runtime.propertyTypes());
   }
 
   /** Template hook: build count statement (default delegates to dialect.mergeCount). */
   protected S buildCountStatement(EntityAuthoring ea, ViewDef view, Query effectiveQuery, QueryElement filter) {
     ViewDef v = resolveSchema(view);
-    return dialect.mergeCount(ea, v, filter, effectiveQuery.params(), propertyTypes);
+    return dialect.mergeCount(ea, v, filter, effectiveQuery.params(), runtime.propertyTypes());
   }
 
 
@@ -418,19 +1077,31 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
     ResolvedEntityView rev = resolve(ref);
     EntityAuthoring ea = rev.entityAuthoring();
     ViewDef view = rev.viewDef();
-    return inTx(defaultWritePropagation(), () -> {
+    flushWrites();
+    return inSingleStatementWrite(() -> {
       UpdateAst ast = dmlPlanner.planUpdateById(ea, view, entity);
-      S stmt = dialect.renderDml(ea, view, ast, propertyTypes);
-      return executeUpdate(currentTxOrNull(), ea, view, ast, stmt);
+      S stmt = dialect.renderDml(ea, view, ast, runtime.propertyTypes());
+      return executeUpdate(currentSessionOrNull(), ea, view, ast, stmt);
     });
   }
 
   @Override
   public final <T> long bulkUpdate(EntityViewRef ref, List<T> entities) {
+    Objects.requireNonNull(entities, "entities");
+    if (entities.isEmpty()) return 0;
+    ResolvedEntityView rev = resolve(ref);
+    EntityAuthoring ea = rev.entityAuthoring();
+    ViewDef view = rev.viewDef();
+    flushWrites();
     return inTx(defaultWritePropagation(), () -> {
-      long total = 0;
-      for (T e : entities) total += update(ref, e);
-      return total;
+      List<UpdateAst> asts = new ArrayList<>(entities.size());
+      List<S> stmts = new ArrayList<>(entities.size());
+      for (T e : entities) {
+        UpdateAst ast = dmlPlanner.planUpdateById(ea, view, e);
+        asts.add(ast);
+        stmts.add(dialect.renderDml(ea, view, ast, runtime.propertyTypes()));
+      }
+      return executeUpdateBatch(currentTxOrNull(), ea, view, asts, stmts);
     });
   }
 
@@ -439,13 +1110,14 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
     ResolvedEntityView rev = resolve(ref);
     EntityAuthoring ea = rev.entityAuthoring();
     ViewDef view = rev.viewDef();
-    return inTx(defaultWritePropagation(), () -> {
+    flushWrites();
+    return inSingleStatementWrite(() -> {
       Query effective = (query == null) ? new Query() : query;
-      QueryElement where = queryNormalizer.normalize(ea, effective);
-      queryValidation().validate(ea, view, effective, where, propertyTypes);
+      QueryElement where = runtime.queryNormalizer().normalize(ea, effective);
+      queryValidation().validate(ea, view, effective, where, runtime.propertyTypes());
       UpdateAst ast = dmlPlanner.planUpdateByCriteria(ea, view, entity, where);
-      S stmt = dialect.renderDml(ea, view, ast, propertyTypes);
-      return executeUpdate(currentTxOrNull(), ea, view, ast, stmt);
+      S stmt = dialect.renderDml(ea, view, ast, runtime.propertyTypes());
+      return executeUpdate(currentSessionOrNull(), ea, view, ast, stmt);
     });
   }
 
@@ -454,20 +1126,21 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
     ResolvedEntityView rev = resolve(ref);
     EntityAuthoring ea = rev.entityAuthoring();
     ViewDef view = rev.viewDef();
-    return inTx(defaultWritePropagation(), () -> {
+    flushWrites();
+    return inSingleStatementWrite(() -> {
       Query effective = (query == null) ? new Query() : query;
-      QueryElement where = queryNormalizer.normalize(ea, effective);
-      queryValidation().validate(ea, view, effective, where, propertyTypes);
+      QueryElement where = runtime.queryNormalizer().normalize(ea, effective);
+      queryValidation().validate(ea, view, effective, where, runtime.propertyTypes());
       DeleteAst ast = dmlPlanner.planDeleteByCriteria(ea, view, where);
-      S stmt = dialect.renderDml(ea, view, ast, propertyTypes);
-      return executeDelete(currentTxOrNull(), ea, view, ast, stmt);
+      S stmt = dialect.renderDml(ea, view, ast, runtime.propertyTypes());
+      return executeDelete(currentSessionOrNull(), ea, view, ast, stmt);
     });
   }
 
   protected final ResolvedEntityView resolve(EntityViewRef ref) {
     if (ref == null) throw new IllegalArgumentException("ref is required");
-    EntityAuthoring ea = authoring.getEntityAuthoring(ref.type());
-    ViewDef view = authoring.getViewDef(ref.viewDefId());
+    EntityAuthoring ea = runtime.authoring().getEntityAuthoring(ref.type());
+    ViewDef view = runtime.authoring().getViewDef(ref.viewDefId());
     return new ResolvedEntityView(ea, view);
   }
 
@@ -477,6 +1150,24 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
 
   protected abstract long executeCount(TxHandle txOrNull, ViewDef view, S stmt);
 
+  /** Run a statement built by {@link #buildSelectPageStatement}. Default: unsupported. */
+  protected <T> PageResult<T> executeSelectPage(TxHandle txOrNull, ViewDef view, S stmt, RowReader<T> reader) {
+    throw new UnsupportedOperationException("selectPage is not supported by " + getClass().getName());
+  }
+
+  /** Run an aggregate statement built by {@link #buildAggregateStatement}. Default: unsupported. */
+  protected List<AggregateRow> executeAggregate(TxHandle txOrNull, ViewDef view, S stmt) {
+    throw new UnsupportedOperationException("aggregate is not supported by " + getClass().getName());
+  }
+
+  /**
+   * Lazily read rows for {@link #stream(EntityViewRef, Query)}; the stream's close handler must release
+   * backend resources. Default materializes via {@link #executeSelect}.\n
+   */
+  protected <T> Stream<T> executeStream(TxHandle txOrNull, ViewDef view, S stmt, RowReader<T> reader) {
+    return executeSelect(txOrNull, view, stmt, reader).stream();
+  }
+
   protected abstract Object executeInsertForId(TxHandle tx, EntityAuthoring ea, ViewDef view,
                                                InsertAst ast, S stmt);
 
@@ -486,6 +1177,32 @@ public abstract class AbstractDataEngine<S extends NativeStatement, H extends En
   protected abstract long executeUpdate(TxHandle tx, EntityAuthoring ea, ViewDef view, UpdateAst ast, S stmt);
 
   protected abstract long executeDelete(TxHandle tx, EntityAuthoring ea, ViewDef view, DeleteAst ast, S stmt);
+
+  // --- Bulk hooks (default: one statement per entity; backends override with native batching) ---
+
+  /** Execute planned inserts; returns raw generated ids aligned with {@code asts} (null where none). */
+  protected List<Object> executeInsertBatch(TxHandle tx, EntityAuthoring ea, ViewDef view,
+                                            List<InsertAst> asts, List<S> stmts) {
+    List<Object> ids = new ArrayList<>(asts.size());
+    for (int i = 0; i < asts.size(); i++) ids.add(executeInsertForId(tx, ea, view, asts.get(i), stmts.get(i)));
+    return ids;
+  }
+
+  /** Execute planned upserts; returns raw generated ids aligned with {@code asts} (null where none). */
+  protected List<Object> executeUpsertBatch(TxHandle tx, EntityAuthoring ea, ViewDef view,
+                                            List<UpsertAst> asts, List<S> stmts) {
+    List<Object> ids = new ArrayList<>(asts.size());
+    for (int i = 0; i < asts.size(); i++) ids.add(executeUpsertForId(tx, ea, view, asts.get(i), stmts.get(i)));
+    return ids;
+  }
+
+  /** Execute planned updates; returns the total affected row count. */
+  protected long executeUpdateBatch(TxHandle tx, EntityAuthoring ea, ViewDef view,
+                                    List<UpdateAst> asts, List<S> stmts) {
+    long total = 0;
+    for (int i = 0; i < asts.size(); i++) total += executeUpdate(tx, ea, view, asts.get(i), stmts.get(i));
+    return total;
+  }
 }
 
 
@@ -4,6 +4,7 @@ import io.intellixity.nativa.persistence.authoring.EntityAuthoring;
 import io.intellixity.nativa.persistence.authoring.ViewDef;
 import io.intellixity.nativa.persistence.compile.PropertyTypeResolver;
 import io.intellixity.nativa.persistence.query.*;
+import io.intellixity.nativa.persistence.query.aggregation.Aggregate;
 import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
 
 import java.util.List;
@@ -15,7 +16,8 @@ import java.util.Objects;
  * Validates:\n
  * - filter Condition.property paths\n
  * - sort fields\n
- * - groupBy fields\n
+ * - groupBy fields, aggregate fields and having paths (group fields or aggregate aliases)\n
+ * - projection paths (top-level fields, including object refs, or scalar dot paths)\n
  *
  * Unknown scalar field paths throw {@link QueryValidationException}.\n
  */
@@ -32,24 +34,59 @@ public final class DefaultQueryValidationStrategy implements QueryValidationStra
     validateElement(entity, normalizedFilter, types);
 
     if (effectiveQuery != null) {
-      validateSort(entity, effectiveQuery.sort(), types);
+      validateSort(entity, effectiveQuery.sort(), effectiveQuery.groupBy(), types);
       validateGroupBy(entity, effectiveQuery.groupBy(), types);
+      validateProjection(entity, effectiveQuery.projection(), types);
     }
   }
 
-  private static void validateSort(EntityAuthoring ea, List<SortField> sort, PropertyTypeResolver types) {
+  private static void validateProjection(EntityAuthoring ea, List<String> projection, PropertyTypeResolver types) {
+    if (projection == null || projection.isEmpty()) return;
+    for (String p : projection) {
+      if (p != null && ea.fields().containsKey(p)) continue;
+      requireScalarPath(ea, p, types, "projection");
+    }
+  }
+
+  private static void validateSort(EntityAuthoring ea, List<SortField> sort, GroupBy groupBy, PropertyTypeResolver types) {
     if (sort == null || sort.isEmpty()) return;
     for (SortField sf : sort) {
       if (sf == null) continue;
+      // Aggregate queries may sort by aggregate alias.
+      if (groupBy != null && groupBy.aggregate(sf.field()) != null) continue;
       requireScalarPath(ea, sf.field(), types, "sort");
     }
   }
 
   private static void validateGroupBy(EntityAuthoring ea, GroupBy groupBy, PropertyTypeResolver types) {
-    if (groupBy == null || groupBy.fields() == null || groupBy.fields().isEmpty()) return;
+    if (groupBy == null) return;
     for (String f : groupBy.fields()) {
       requireScalarPath(ea, f, types, "groupBy");
     }
+    for (Aggregate a : groupBy.aggregates()) {
+      if (a.field() != null) requireScalarPath(ea, a.field(), types, "aggregate");
+    }
+    validateHaving(ea, groupBy, groupBy.having());
+  }
+
+  private static void validateHaving(EntityAuthoring ea, GroupBy groupBy, QueryElement el) {
+    if (el == null) return;
+    if (el instanceof NotElement n) {
+      validateHaving(ea, groupBy, n.element());
+      return;
+    }
+    if (el instanceof LogicalGroup g) {
+      if (g.elements() == null) return;
+      for (QueryElement c : g.elements()) validateHaving(ea, groupBy, c);
+      return;
+    }
+    if (el instanceof Condition c) {
+      if (groupBy.fields().contains(c.property()) || groupBy.aggregate(c.property()) != null) return;
+      throw new QueryValidationException(
+          "having path '" + c.property() + "' is neither a group field nor an aggregate alias for entity '" + ea.type() + "'"
+      );
+    }
+    throw new QueryValidationException("Unsupported QueryElement in having: " + el.getClass().getName());
   }
 
   private static void validateElement(EntityAuthoring ea, QueryElement el, PropertyTypeResolver types) {
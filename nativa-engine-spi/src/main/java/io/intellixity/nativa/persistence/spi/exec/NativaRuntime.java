@@ -0,0 +1,185 @@
+package io.intellixity.nativa.persistence.spi.exec;
+
+import io.intellixity.nativa.persistence.authoring.AuthoringRegistry;
+import io.intellixity.nativa.persistence.authoring.DiscoveredUserTypeRegistry;
+import io.intellixity.nativa.persistence.authoring.UserTypeRegistry;
+import io.intellixity.nativa.persistence.authoring.ViewDef;
+import io.intellixity.nativa.persistence.compile.PropertyTypeResolver;
+import io.intellixity.nativa.persistence.compile.QueryNormalizer;
+import io.intellixity.nativa.persistence.mapping.DiscoveredRowReaderRegistry;
+import io.intellixity.nativa.persistence.mapping.ViewRowPlan;
+import io.intellixity.nativa.persistence.query.SeekCursorCodec;
+import io.intellixity.nativa.persistence.spi.bind.DiscoveredBinderRegistry;
+import io.intellixity.nativa.persistence.spi.sql.Dialect;
+import io.intellixity.nativa.persistence.spi.sql.NativeStatement;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Engine-independent state shared by every {@link AbstractDataEngine} for one (dialect, authoring) pair.\n
+ *
+ * Holds the discovered registries (one META-INF/nativa.factories scan), the property type resolver,
+ * compiled view row plans and shape-keyed statement plans. Engines only reference it, so creating an engine
+ * per tenant/handle is O(1) and warm caches survive engine eviction while any engine still uses them.\n
+ *
+ * Statement plans are keyed by {@link QueryShape#key()}, prefixed with the handle namespace for views whose
+ * schema placeholders are resolved into the native statement text.\n
+ */
+public final class NativaRuntime<S extends NativeStatement> {
+  /** Max number of distinct read shapes whose compiled statements are kept per runtime. */
+  public static final int DEFAULT_STATEMENT_PLAN_CACHE_SIZE = 512;
+
+  // Weak values: a shared runtime (and the authoring it pins) lives as long as some engine references it.\n
+  private static final Map<SharedKey, SharedRef> SHARED = new ConcurrentHashMap<>();
+  private static final ReferenceQueue<NativaRuntime<?>> RELEASED = new ReferenceQueue<>();
+  // Process-wide, not per runtime: a runtime rebuilt after engine eviction must still verify earlier cursors.\n
+  private static volatile SeekCursorCodec seekCursors = SeekCursorCodec.randomKey();
+
+  private final AuthoringRegistry authoring;
+  private final QueryNormalizer queryNormalizer;
+  private final PropertyTypeResolver propertyTypes;
+  private final QueryValidationStrategy queryValidation;
+  private final UserTypeRegistry userTypes;
+  private final DiscoveredBinderRegistry binders;
+  private final DiscoveredRowReaderRegistry rowReaders;
+  private final StatementPlanCache<S> statementPlans;
+  private final Map<String, ViewRowPlan> rowPlans = new ConcurrentHashMap<>();
+
+  public NativaRuntime(AuthoringRegistry authoring,
+                       QueryNormalizer queryNormalizer,
+                       PropertyTypeResolver propertyTypes,
+                       QueryValidationStrategy queryValidation,
+                       UserTypeRegistry userTypes,
+                       DiscoveredBinderRegistry binders,
+                       DiscoveredRowReaderRegistry rowReaders,
+                       int statementPlanCacheSize) {
+    this.authoring = Objects.requireNonNull(authoring, "authoring");
+    this.queryNormalizer = Objects.requireNonNull(queryNormalizer, "queryNormalizer");
+    this.propertyTypes = Objects.requireNonNull(propertyTypes, "propertyTypes");
+    this.queryValidation = (queryValidation == null) ? new DefaultQueryValidationStrategy() : queryValidation;
+    this.userTypes = Objects.requireNonNull(userTypes, "userTypes");
+    this.binders = Objects.requireNonNull(binders, "binders");
+    this.rowReaders = Objects.requireNonNull(rowReaders, "rowReaders");
+    this.statementPlans = new StatementPlanCache<>(statementPlanCacheSize);
+  }
+
+  /** Build a new (unshared) runtime using discovery for the given dialect. */
+  public static <S extends NativeStatement> NativaRuntime<S> create(Dialect<S> dialect, AuthoringRegistry authoring) {
+    Objects.requireNonNull(dialect, "dialect");
+    Objects.requireNonNull(authoring, "authoring");
+    return new NativaRuntime<>(
+        authoring,
+        new QueryNormalizer(),
+        new PropertyTypeResolver(authoring),
+        new DefaultQueryValidationStrategy(),
+        new DiscoveredUserTypeRegistry(dialect.id()),
+        new DiscoveredBinderRegistry(dialect.id()),
+        new DiscoveredRowReaderRegistry(),
+        DEFAULT_STATEMENT_PLAN_CACHE_SIZE);
+  }
+
+  /**
+   * Process-wide runtime for (dialect class, dialect id, authoring instance); built on first use.\n
+   *
+   * Dialects are expected to be stateless: two instances of the same class and id share plans.\n
+   * The registry holds runtimes weakly, so one is dropped (and rebuilt on next use) once no engine references
+   * it; redeployed authoring registries do not accumulate.\n
+   */
+  @SuppressWarnings("unchecked")
+  public static <S extends NativeStatement> NativaRuntime<S> shared(Dialect<S> dialect, AuthoringRegistry authoring) {
+    Objects.requireNonNull(dialect, "dialect");
+    Objects.requireNonNull(authoring, "authoring");
+    expungeReleased();
+    SharedKey key = new SharedKey(dialect.getClass(), dialect.id(), authoring);
+    SharedRef ref = SHARED.get(key);
+    NativaRuntime<?> rt = (ref == null) ? null : ref.get();
+    if (rt != null) return (NativaRuntime<S>) rt;
+
+    NativaRuntime<?>[] out = new NativaRuntime<?>[1];
+    SHARED.compute(key, (k, cur) -> {
+      NativaRuntime<?> live = (cur == null) ? null : cur.get();
+      if (live != null) {
+        out[0] = live;
+        return cur;
+      }
+      out[0] = create(dialect, authoring);
+      return new SharedRef(k, out[0]);
+    });
+    return (NativaRuntime<S>) out[0];
+  }
+
+  /** Drop all shared runtimes (tests / redeploys); engines keep the runtime they were built with. */
+  public static void clearShared() {
+    SHARED.clear();
+  }
+
+  private static void expungeReleased() {
+    for (Reference<?> r; (r = RELEASED.poll()) != null; ) {
+      SharedRef ref = (SharedRef) r;
+      SHARED.remove(ref.key, ref);
+    }
+  }
+
+  public AuthoringRegistry authoring() { return authoring; }
+  public QueryNormalizer queryNormalizer() { return queryNormalizer; }
+  public PropertyTypeResolver propertyTypes() { return propertyTypes; }
+  public QueryValidationStrategy queryValidation() { return queryValidation; }
+  public UserTypeRegistry userTypes() { return userTypes; }
+  public DiscoveredBinderRegistry binders() { return binders; }
+  public DiscoveredRowReaderRegistry rowReaders() { return rowReaders; }
+
+  /** Signs/verifies SeekPage cursor tokens; random per-process key unless {@link #seekCursorKey} is set. */
+  public SeekCursorCodec seekCursors() { return seekCursors; }
+
+  /**
+   * Use a fixed cursor signing key (at least 16 bytes), so tokens stay valid across restarts and nodes.\n
+   * The key is process-wide: it applies to every runtime, including ones rebuilt after engine eviction.
+   * Set it once at startup; tokens signed with the previous key stop verifying.\n
+   */
+  public NativaRuntime<S> seekCursorKey(byte[] key) {
+    seekCursors = new SeekCursorCodec(key);
+    return this;
+  }
+
+  /** Shape-keyed compiled read plans (hit/miss counters via {@link StatementPlanCache#stats()}). */
+  public StatementPlanCache<S> statementPlans() { return statementPlans; }
+
+  /** Row-access plan for a view, rebuilt only when the view definition instance changes. */
+  public ViewRowPlan rowPlan(ViewDef view) {
+    ViewRowPlan p = rowPlans.get(view.id());
+    if (p != null && p.view() == view) return p;
+    p = ViewRowPlan.of(view);
+    rowPlans.put(view.id(), p);
+    return p;
+  }
+
+  private static final class SharedRef extends WeakReference<NativaRuntime<?>> {
+    final SharedKey key;
+
+    SharedRef(SharedKey key, NativaRuntime<?> runtime) {
+      super(runtime, RELEASED);
+      this.key = key;
+    }
+  }
+
+  /** Authoring is matched by identity: registries are not value objects. */
+  private record SharedKey(Class<?> dialectClass, String dialectId, AuthoringRegistry authoring) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof SharedKey k
+          && k.dialectClass == dialectClass
+          && Objects.equals(k.dialectId, dialectId)
+          && k.authoring == authoring;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * dialectClass.hashCode() + Objects.hashCode(dialectId)) + System.identityHashCode(authoring);
+    }
+  }
+}
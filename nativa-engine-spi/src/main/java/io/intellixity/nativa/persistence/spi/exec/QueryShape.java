@@ -0,0 +1,180 @@
+package io.intellixity.nativa.persistence.spi.exec;
+
+import io.intellixity.nativa.persistence.authoring.EntityAuthoring;
+import io.intellixity.nativa.persistence.authoring.ViewDef;
+import io.intellixity.nativa.persistence.compile.PropertyTypeResolver;
+import io.intellixity.nativa.persistence.exec.EntityViewRef;
+import io.intellixity.nativa.persistence.query.*;
+import io.intellixity.nativa.persistence.spi.sql.Dialect;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Value-independent shape of a read query plus its bind values in render order.\n
+ *
+ * Two queries with the same {@link #key()} render to the same native statement text; only the
+ * values in {@link #values()} differ. Value order follows the dialect render order:\n
+ * - filter conditions in tree order (IN lists element by element, or as one value when the dialect binds
+ *   them as an array; RANGE as lower then upper)\n
+ * - seek predicate values in the dialect's {@link Dialect#seekBindValues} order (default OR-expanded)\n
+ *
+ * Values that dialects inline into the statement text (JSON paths, paging bounds, view SQL params)
+ * are part of the key instead; {@link #FIXED} marks a bind whose value is fully determined by the key.\n
+ */
+public record QueryShape(String key, List<Object> values) {
+  /** Marker for a bind whose rendered value depends only on the shape key (reuse it as-is). */
+  public static final Object FIXED = new Object() {
+    @Override public String toString() { return "FIXED"; }
+  };
+
+  public QueryShape {
+    values = (values == null) ? List.of() : values;
+  }
+
+  /**
+   * Compute the shape of a normalized read.\n
+   *
+   * @return null when the query contains elements this shape model does not understand (never cache those)
+   */
+  public static QueryShape of(String kind, EntityViewRef ref, ViewDef view, Query query, QueryElement filter) {
+    return of(kind, ref, view, query, filter, null, null, null);
+  }
+
+  /**
+   * Same as {@link #of(String, EntityViewRef, ViewDef, Query, QueryElement)} with the dialect's seek bind order
+   * and IN-list form; {@code types} resolves IN-list element types for {@link Dialect#arrayInListForm}.\n
+   */
+  public static QueryShape of(String kind, EntityViewRef ref, ViewDef view, Query query, QueryElement filter,
+                              Dialect<?> dialect, EntityAuthoring ea, PropertyTypeResolver types) {
+    StringBuilder key = new StringBuilder(128);
+    List<Object> values = new ArrayList<>();
+    key.append(kind).append('|').append(ref.type()).append('|').append(ref.viewDefId());
+
+    key.append("|f:");
+    if (!appendElement(filter, key, values, dialect, ea, types)) return null;
+
+    boolean count = "count".equals(kind);
+    List<SortField> sort = query.sort();
+    if (!count) {
+      key.append("|s:");
+      if (sort != null) {
+        for (SortField sf : sort) {
+          if (sf == null) continue;
+          key.append(sf.field()).append(sf.direction() == SortField.Direction.DESC ? "-" : "+").append(',');
+        }
+      }
+
+      key.append("|p:");
+      Page page = query.page();
+      if (page instanceof OffsetPage op) {
+        key.append("o").append(op.offset()).append(',').append(op.limit());
+      } else if (page instanceof SeekPage sp) {
+        key.append("k").append(sp.limit());
+        if (!sp.after().isEmpty()) {
+          key.append(",after");
+          if (sort == null || sort.isEmpty()) return null;
+          List<Object> seek = (dialect == null) ? Dialect.orExpandedSeekValues(sort, sp.after())
+              : dialect.seekBindValues(sort, sp.after());
+          for (Object v : seek) {
+            if (v == null) return null; // dialects reject this; let rendering report it
+            values.add(v);
+          }
+        }
+      }
+
+      key.append("|pr:").append(query.projection());
+      if (query.groupBy() != null) key.append("|g:").append(query.groupBy().fields());
+    }
+
+    // View SQL params are rendered as leading binds; keep them in the key (values included).
+    if (view != null && view.sqlView() != null && query.params() != null && !query.params().isEmpty()) {
+      key.append("|v:");
+      for (Map.Entry<String, Object> e : query.params().entrySet()) {
+        key.append(e.getKey()).append('=').append(e.getValue()).append(',');
+      }
+    }
+    return new QueryShape(key.toString(), values);
+  }
+
+  private static boolean appendElement(QueryElement el, StringBuilder key, List<Object> values, Dialect<?> dialect,
+                                       EntityAuthoring ea, PropertyTypeResolver types) {
+    if (el == null) {
+      key.append('_');
+      return true;
+    }
+    if (el instanceof NotElement n) {
+      key.append("!(");
+      if (!appendElement(n.element(), key, values, dialect, ea, types)) return false;
+      key.append(')');
+      return true;
+    }
+    if (el instanceof LogicalGroup g) {
+      key.append(g.clause() == Clause.OR ? "OR(" : "AND(");
+      for (QueryElement c : g.elements()) {
+        if (!appendElement(c, key, values, dialect, ea, types)) return false;
+        key.append(';');
+      }
+      key.append(')');
+      return true;
+    }
+    if (!(el instanceof Condition c)) return false;
+
+    key.append(c.property()).append(' ').append(c.operator());
+    if (c.not()) key.append('!');
+    Object v = c.value();
+    switch (c.operator()) {
+      case EQ, NE, GT, GE, LT, LE, LIKE -> {
+        if (v == null) {
+          key.append(" null");
+        } else {
+          values.add(v);
+        }
+      }
+      case IN, NIN -> {
+        List<Object> list = toList(v);
+        String arrayForm = null;
+        if (dialect != null && !list.isEmpty()) {
+          String userTypeId = (types == null) ? null : types.resolveScalarUserTypeId(ea, c.property());
+          arrayForm = dialect.arrayInListForm(userTypeId, list.size());
+        }
+        if (arrayForm != null) {
+          key.append(" [").append(arrayForm).append(']');
+          values.add(list);
+        } else {
+          key.append(" #").append(list.size());
+          values.addAll(list);
+        }
+      }
+      case RANGE -> {
+        if (c.lower() == null || c.upper() == null) return false;
+        values.add(c.lower());
+        values.add(c.upper());
+      }
+      case ARRAY_CONTAINS, ARRAY_NOT_CONTAINS, ARRAY_OVERLAPS, ARRAY_NOT_OVERLAPS -> {
+        if (toList(v).isEmpty()) {
+          key.append(" #0");
+        } else {
+          values.add(v);
+        }
+      }
+      case JSON_PATH_EXISTS -> key.append(" =").append(v);
+      case JSON_VALUE_EQ -> {
+        key.append(" =").append(v);
+        values.add(FIXED);
+      }
+      default -> {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static List<Object> toList(Object v) {
+    if (v == null) return List.of();
+    if (v instanceof Collection<?> c) return new ArrayList<>(c);
+    return List.of(v);
+  }
+}
@@ -0,0 +1,102 @@
+package io.intellixity.nativa.persistence.spi.exec;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, approximately-LRU cache of compiled read plans keyed by {@link QueryShape#key()}.\n
+ *
+ * Lookups are lock-free ConcurrentHashMap reads. Recency is a coarse clock that only advances on insert, so a hit
+ * writes its entry's tick only when the clock moved since that entry was last touched. On overflow the least
+ * recently used entries are trimmed in one pass by whichever writer wins a tryLock.\n
+ *
+ * Hit/miss/eviction counters are exposed via {@link #stats()} so callers can verify plan reuse.\n
+ */
+public final class StatementPlanCache<P> {
+  public record Stats(long hits, long misses, long evictions, int size, int maxEntries) {}
+
+  private static final class Entry<P> {
+    final P plan;
+    volatile long tick;
+
+    Entry(P plan, long tick) {
+      this.plan = plan;
+      this.tick = tick;
+    }
+  }
+
+  private record Victim<P>(String key, Entry<P> entry, long tick) {}
+
+  private final int maxEntries;
+  private final int trimTo;
+  private final ConcurrentHashMap<String, Entry<P>> map = new ConcurrentHashMap<>();
+  private final AtomicLong clock = new AtomicLong();
+  private final ReentrantLock trimming = new ReentrantLock();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public StatementPlanCache(int maxEntries) {
+    if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be > 0");
+    this.maxEntries = maxEntries;
+    // Small slack so a full cache does not rescan on every insert.
+    this.trimTo = maxEntries - (maxEntries / 16);
+  }
+
+  /** Lookup a plan; counts a hit or a miss. */
+  public P get(String key) {
+    Entry<P> e = (key == null) ? null : map.get(key);
+    if (e == null) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    long now = clock.get();
+    if (e.tick != now) e.tick = now;
+    return e.plan;
+  }
+
+  public void put(String key, P plan) {
+    if (key == null || plan == null) return;
+    map.put(key, new Entry<>(plan, clock.incrementAndGet()));
+    if (map.size() > maxEntries && trimming.tryLock()) {
+      try {
+        trimLocked();
+      } finally {
+        trimming.unlock();
+      }
+    }
+  }
+
+  public void clear() {
+    map.clear();
+  }
+
+  public Stats stats() {
+    return new Stats(hits.sum(), misses.sum(), evictions.sum(), map.size(), maxEntries);
+  }
+
+  private void trimLocked() {
+    int excess = map.size() - trimTo;
+    if (excess <= 0) return;
+    // Snapshot ticks first: they keep moving under concurrent hits.
+    List<Victim<P>> all = new ArrayList<>(map.size());
+    for (Map.Entry<String, Entry<P>> me : map.entrySet()) {
+      all.add(new Victim<>(me.getKey(), me.getValue(), me.getValue().tick));
+    }
+    all.sort(Comparator.comparingLong(Victim::tick));
+    for (int i = 0; i < all.size() && excess > 0; i++) {
+      Victim<P> v = all.get(i);
+      if (map.remove(v.key(), v.entry())) {
+        evictions.increment();
+        excess--;
+      }
+    }
+  }
+}
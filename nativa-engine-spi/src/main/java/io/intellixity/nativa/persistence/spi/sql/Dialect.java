@@ -7,7 +7,9 @@ import io.intellixity.nativa.persistence.dmlast.DmlAst;
 import io.intellixity.nativa.persistence.query.Page;
 import io.intellixity.nativa.persistence.query.QueryElement;
 import io.intellixity.nativa.persistence.query.SortField;
+import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
 
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.List;
 
@@ -19,6 +21,70 @@ public interface Dialect<S extends NativeStatement> {
                 List<SortField> sort, Page page, Map<String, Object> params,
                 PropertyTypeResolver types);
 
+  /**
+   * Same as {@link #mergeSelect(EntityAuthoring, ViewDef, QueryElement, List, Page, Map, PropertyTypeResolver)}
+   * restricted to the given property paths (empty = every mapped property).\n
+   *
+   * Default ignores the projection; dialects that can narrow the native read override this.\n
+   */
+  default S mergeSelect(EntityAuthoring ea, ViewDef view, QueryElement filter,
+                        List<SortField> sort, Page page, Map<String, Object> params,
+                        PropertyTypeResolver types, List<String> projection) {
+    return mergeSelect(ea, view, filter, sort, page, params, types);
+  }
+
+  /**
+   * SeekPage cursor values in the order this dialect binds them in its keyset predicate
+   * (statement plans re-bind cached SQL in this order). Missing values are returned as null.\n
+   *
+   * Default matches the OR-expanded form {@code (a > v1) OR (a = v1 AND b > v2) OR ...}.\n
+   */
+  default List<Object> seekBindValues(List<SortField> sort, Map<String, Object> after) {
+    return orExpandedSeekValues(sort, after);
+  }
+
+  /** Cursor values for {@code (a > v1) OR (a = v1 AND b > v2) OR ...}, in bind order. */
+  static List<Object> orExpandedSeekValues(List<SortField> sort, Map<String, Object> after) {
+    List<Object> out = new ArrayList<>();
+    for (int i = 0; i < sort.size(); i++) {
+      for (int j = 0; j <= i; j++) out.add(after.get(sort.get(j).field()));
+    }
+    return out;
+  }
+
+  /**
+   * Statement form for a non-empty IN/NIN list of {@code size} elements of {@code userTypeId} bound as one
+   * array, or null when every element gets its own bind (default, and for element types without an array
+   * mapping).\n
+   *
+   * Array-bound lists are one shape value, so cached statement plans are shared across list lengths; the
+   * form (e.g. {@code any} vs {@code unnest}) keeps differently rendered sizes apart.\n
+   */
+  default String arrayInListForm(String userTypeId, int size) {
+    return null;
+  }
+
+  /**
+   * Paged select that also carries the total count of the filtered, unpaged query (one round trip).\n
+   *
+   * Returns null when the dialect cannot render it for this query; the engine then runs select + count.\n
+   */
+  default S mergeSelectPage(EntityAuthoring ea, ViewDef view, QueryElement filter,
+                            List<SortField> sort, Page page, Map<String, Object> params,
+                            PropertyTypeResolver types, List<String> projection) {
+    return null;
+  }
+
+  /**
+   * Grouped aggregate read: base query + filter, then {@code groupBy} (group keys, aggregates, having),
+   * sort over group fields / aggregate aliases and page.\n
+   */
+  default S mergeAggregate(EntityAuthoring ea, ViewDef view, QueryElement filter, GroupBy groupBy,
+                           List<SortField> sort, Page page, Map<String, Object> params,
+                           PropertyTypeResolver types) {
+    throw new UnsupportedOperationException("Aggregation is not supported by dialect: " + id());
+  }
+
   S mergeCount(EntityAuthoring ea, ViewDef view, QueryElement filter, Map<String, Object> params,
                PropertyTypeResolver types);
 
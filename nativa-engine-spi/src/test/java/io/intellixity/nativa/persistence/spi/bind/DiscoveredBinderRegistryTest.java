@@ -0,0 +1,74 @@
+package io.intellixity.nativa.persistence.spi.bind;
+
+import io.intellixity.nativa.persistence.authoring.UserTypeRegistry;
+import io.intellixity.nativa.persistence.compile.Bind;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class DiscoveredBinderRegistryTest {
+  private record Ctx(BindOpKind opKind, String path) implements BindContext {}
+
+  private static final class Recording implements Binder<List<String>, Object> {
+    final String name;
+    final boolean stable;
+    final String userTypeId;
+    final AtomicInteger supportsCalls = new AtomicInteger();
+
+    Recording(String name, boolean stable, String userTypeId) {
+      this.name = name;
+      this.stable = stable;
+      this.userTypeId = userTypeId;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public Class<List<String>> targetType() { return (Class<List<String>>) (Class<?>) List.class; }
+    @Override public Class<Object> valueType() { return Object.class; }
+    @Override public boolean typeStable() { return stable; }
+
+    @Override
+    public boolean supports(BindContext ctx, Bind bind, Object encodedValue) {
+      supportsCalls.incrementAndGet();
+      if (!stable && !"id".equals(((Ctx) ctx).path())) return false;
+      return userTypeId == null || userTypeId.equals(bind.userTypeId());
+    }
+
+    @Override
+    public void bind(List<String> target, BindContext ctx, Bind bind, Object encodedValue, UserTypeRegistry userTypes) {
+      target.add(name);
+    }
+  }
+
+  private static BinderProvider provider(String dialectId, Binder<?, ?>... binders) {
+    return new BinderProvider() {
+      @Override public String dialectId() { return dialectId; }
+      @Override public Collection<Binder<?, ?>> binders() { return List.of(binders); }
+    };
+  }
+
+  @Test
+  void memoizesTypeStableResolutionAndKeepsContextDependentBinders() {
+    Recording json = new Recording("json", true, "json");
+    Recording byPath = new Recording("byPath", false, null);
+    Recording fallback = new Recording("fallback", true, null);
+    DiscoveredBinderRegistry reg = new DiscoveredBinderRegistry("pg",
+        List.of(provider("pg", json, byPath), provider("*", fallback)));
+    Bind bind = new Bind("x", "string");
+
+    List<String> out = new ArrayList<>();
+    for (int i = 0; i < 3; i++) reg.bind(out, new Ctx(BindOpKind.FILTER, "name"), bind, "x", null);
+    reg.bind(out, new Ctx(BindOpKind.FILTER, "id"), bind, "x", null);
+
+    assertEquals(List.of("fallback", "fallback", "fallback", "byPath"), out);
+    assertEquals(1, json.supportsCalls.get());
+    assertEquals(1, fallback.supportsCalls.get());
+    assertEquals(4, byPath.supportsCalls.get());
+    assertNull(reg.resolve(out, new Ctx(BindOpKind.FILTER, "id"), bind, "x"));
+    assertSame(json, reg.resolve(out, new Ctx(BindOpKind.INSERT, "id"), new Bind("{}", "json"), "{}"));
+  }
+}
@@ -4,16 +4,24 @@ import io.intellixity.nativa.persistence.authoring.AuthoringRegistry;
 import io.intellixity.nativa.persistence.authoring.EntityAuthoring;
 import io.intellixity.nativa.persistence.authoring.ViewDef;
 import io.intellixity.nativa.persistence.dmlast.*;
+import io.intellixity.nativa.persistence.authoring.AuthoringKind;
+import io.intellixity.nativa.persistence.exec.EntityViewRef;
 import io.intellixity.nativa.persistence.exec.Propagation;
 import io.intellixity.nativa.persistence.exec.TxHandle;
+import io.intellixity.nativa.persistence.exec.TxOptions;
+import io.intellixity.nativa.persistence.query.Query;
 import io.intellixity.nativa.persistence.exec.handle.EngineHandle;
 import io.intellixity.nativa.persistence.query.QueryElement;
 import io.intellixity.nativa.persistence.spi.sql.Dialect;
 import io.intellixity.nativa.persistence.spi.sql.NativeStatement;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,7 +30,7 @@ final class AbstractDataEngineDefaultPropagationTest {
 
   private record Stmt() implements NativeStatement {}
 
-  private static final class NoopDialect implements Dialect<Stmt> {
+  private static class NoopDialect implements Dialect<Stmt> {
     private final String id;
     NoopDialect(String id) { this.id = id; }
     @Override public String id() { return id; }
@@ -41,7 +49,7 @@ final class AbstractDataEngineDefaultPropagationTest {
     }
   }
 
-  private static final class NoopPlanner implements DmlPlanner {
+  private static class NoopPlanner implements DmlPlanner {
     @Override public InsertAst planInsert(EntityAuthoring ea, ViewDef view, Object pojo, boolean returningKey) { throw new UnsupportedOperationException(); }
     @Override public UpdateAst planUpdateById(EntityAuthoring ea, ViewDef view, Object pojo) { throw new UnsupportedOperationException(); }
     @Override public UpdateAst planUpdateByCriteria(EntityAuthoring ea, ViewDef view, Object pojo, QueryElement where) { throw new UnsupportedOperationException(); }
@@ -54,6 +62,8 @@ final class AbstractDataEngineDefaultPropagationTest {
     @Override public ViewDef getViewDef(String viewDefId) { throw new UnsupportedOperationException(); }
   }
 
+  private static final AuthoringRegistry AUTHORING = new NoopAuthoring();
+
   private record NoopHandle() implements EngineHandle<Object> {
     @Override public String id() { return "noop"; }
     @Override public Object client() { return new Object(); }
@@ -63,9 +73,12 @@ final class AbstractDataEngineDefaultPropagationTest {
 
   private static final class CountingEngine extends AbstractDataEngine<Stmt, NoopHandle> {
     private final AtomicInteger begins = new AtomicInteger();
+    private final AtomicInteger pins = new AtomicInteger();
+    private final AtomicInteger unpins = new AtomicInteger();
+    private final AtomicInteger closes = new AtomicInteger();
 
     CountingEngine(Propagation defaultPropagation) {
-      super(new NoopDialect("test"), new NoopHandle(), new NoopAuthoring(), new NoopPlanner(), defaultPropagation);
+      super(new NoopDialect("test"), new NoopHandle(), AUTHORING, new NoopPlanner(), defaultPropagation);
     }
 
     int beginCount() { return begins.get(); }
@@ -73,6 +86,9 @@ final class AbstractDataEngineDefaultPropagationTest {
     @Override protected TxHandle begin() { begins.incrementAndGet(); return new TxHandle() {}; }
     @Override protected void commit(TxHandle tx) {}
     @Override protected void rollback(TxHandle tx) {}
+    @Override protected TxHandle pin() { pins.incrementAndGet(); return new TxHandle() {}; }
+    @Override protected void unpin(TxHandle pinned) { unpins.incrementAndGet(); }
+    @Override protected void onClose() { closes.incrementAndGet(); }
 
     @Override protected <T> List<T> executeSelect(TxHandle txOrNull, ViewDef view, Stmt stmt, io.intellixity.nativa.persistence.mapping.RowReader<T> reader) { throw new UnsupportedOperationException(); }
     @Override protected long executeCount(TxHandle txOrNull, ViewDef view, Stmt stmt) { throw new UnsupportedOperationException(); }
@@ -97,6 +113,131 @@ final class AbstractDataEngineDefaultPropagationTest {
     assertEquals("ok", out);
     assertEquals(0, e.beginCount());
   }
-}
 
+  @Test
+  void asyncRunsOnVirtualThreadOutsideTxAndInlineInsideTx() {
+    CountingEngine e = new CountingEngine(Propagation.REQUIRED);
+    assertTrue(e.async(() -> Thread.currentThread().isVirtual()).join());
+
+    Thread caller = Thread.currentThread();
+    boolean inline = e.inTx(() -> {
+      var f = e.async(() -> Thread.currentThread() == caller);
+      return f.isDone() && f.join();
+    });
+    assertTrue(inline);
+  }
+
+  @Test
+  void withConnectionPinsOneSessionPerOutermostScope() {
+    CountingEngine e = new CountingEngine(Propagation.REQUIRED);
+    TxHandle pinned = e.withConnection(() -> {
+      TxHandle outer = e.currentPinnedOrNull();
+      assertSame(outer, e.withConnection(e::currentPinnedOrNull));
+      assertTrue(e.async(() -> e.currentPinnedOrNull() == null).join());
+      return outer;
+    });
+    assertNotNull(pinned);
+    assertNull(e.currentPinnedOrNull());
+    assertEquals(1, e.pins.get());
+    assertEquals(1, e.unpins.get());
+
+    e.inTx(() -> e.withConnection(() -> "ok"));
+    assertEquals(1, e.pins.get());
+  }
+
+  private static final class EventEngine extends AbstractDataEngine<Stmt, NoopHandle> {
+    private static final EntityAuthoring EVENT = new EntityAuthoring(
+        "Event", AuthoringKind.ENTITY, "events", "com.acme.Event", false, Map.of(), Map.of());
+    private static final ViewDef VIEW = new ViewDef("event_view", Map.of(), null);
+    private final List<String> calls = new ArrayList<>();
+
+    EventEngine() {
+      super(new NoopDialect("test") {
+        @Override public Stmt mergeCount(EntityAuthoring ea, ViewDef view, QueryElement filter, Map params,
+                                         io.intellixity.nativa.persistence.compile.PropertyTypeResolver types) {
+          return new Stmt();
+        }
+        @Override public Stmt renderDml(EntityAuthoring ea, ViewDef view, DmlAst dml,
+                                        io.intellixity.nativa.persistence.compile.PropertyTypeResolver types) {
+          return new Stmt();
+        }
+      }, new NoopHandle(), new AuthoringRegistry() {
+        @Override public EntityAuthoring getEntityAuthoring(String authoringId) { return EVENT; }
+        @Override public ViewDef getViewDef(String viewDefId) { return VIEW; }
+      }, new NoopPlanner() {
+        @Override public InsertAst planInsert(EntityAuthoring ea, ViewDef view, Object pojo, boolean returningKey) {
+          return new InsertAst("events", List.of(), List.of());
+        }
+      }, Propagation.REQUIRED);
+    }
+
+    @Override protected TxHandle begin() { calls.add("begin"); return new TxHandle() {}; }
+    @Override protected void commit(TxHandle tx) { calls.add("commit"); }
+    @Override protected void rollback(TxHandle tx) { calls.add("rollback"); }
+
+    @Override protected <T> List<T> executeSelect(TxHandle txOrNull, ViewDef view, Stmt stmt, io.intellixity.nativa.persistence.mapping.RowReader<T> reader) { throw new UnsupportedOperationException(); }
+    @Override protected long executeCount(TxHandle txOrNull, ViewDef view, Stmt stmt) { calls.add("count"); return 0; }
+    @Override protected Object executeInsertForId(TxHandle tx, EntityAuthoring ea, ViewDef view, InsertAst ast, Stmt stmt) { calls.add("insert"); return null; }
+    @Override protected List<Object> executeInsertBatch(TxHandle tx, EntityAuthoring ea, ViewDef view, List<InsertAst> asts, List<Stmt> stmts) {
+      calls.add("batch" + asts.size());
+      return new ArrayList<>(java.util.Collections.nCopies(asts.size(), null));
+    }
+    @Override protected Object executeUpsertForId(TxHandle tx, EntityAuthoring ea, ViewDef view, UpsertAst ast, Stmt stmt) { throw new UnsupportedOperationException(); }
+    @Override protected long executeUpdate(TxHandle tx, EntityAuthoring ea, ViewDef view, UpdateAst ast, Stmt stmt) { throw new UnsupportedOperationException(); }
+    @Override protected long executeDelete(TxHandle tx, EntityAuthoring ea, ViewDef view, DeleteAst ast, Stmt stmt) { throw new UnsupportedOperationException(); }
+  }
+
+  @Test
+  void coalescedWritesFlushWhenFullBeforeReadsAndBeforeCommit() {
+    EventEngine e = new EventEngine();
+    EntityViewRef ref = new EntityViewRef("Event", "event_view");
+    e.inTx(Propagation.REQUIRED, TxOptions.coalescing(3), () -> {
+      for (int i = 0; i < 4; i++) e.insert(ref, new Object());
+      e.count(ref, new Query());
+      e.insert(ref, new Object());
+      return null;
+    });
+    assertEquals(List.of("begin", "batch3", "batch1", "count", "batch1", "commit"), e.calls);
+  }
+
+  @Test
+  void closeRejectsNewWorkLetsOpenTransactionsFinishAndRunsOnCloseOnce() throws Exception {
+    CountingEngine e = new CountingEngine(Propagation.REQUIRED);
+    CountDownLatch inTx = new CountDownLatch(1);
+    CountDownLatch closing = new CountDownLatch(1);
+    CompletableFuture<String> open = CompletableFuture.supplyAsync(() -> e.inTx(() -> {
+      inTx.countDown();
+      await(closing);
+      return e.inTx(Propagation.REQUIRED, () -> "nested");
+    }));
+    await(inTx);
+
+    Thread first = Thread.startVirtualThread(e::close);
+    Thread second = Thread.startVirtualThread(e::close);
+    while (!e.isClosing()) Thread.onSpinWait();
+    assertThrows(IllegalStateException.class, () -> e.inTx(() -> "late"));
+
+    closing.countDown();
+    assertEquals("nested", open.join());
+    first.join();
+    second.join();
+    assertEquals(1, e.closes.get());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } catch (InterruptedException ie) {
+      throw new IllegalStateException(ie);
+    }
+  }
 
+  @Test
+  void enginesShareRuntimePerDialectAndAuthoring() {
+    CountingEngine a = new CountingEngine(Propagation.REQUIRED);
+    CountingEngine b = new CountingEngine(Propagation.SUPPORTS);
+    assertSame(a.runtime(), b.runtime());
+    assertNotSame(a.runtime(), NativaRuntime.shared(new NoopDialect("other"), AUTHORING));
+    assertNotSame(a.runtime(), NativaRuntime.shared(new NoopDialect("test"), new NoopAuthoring()));
+  }
+}
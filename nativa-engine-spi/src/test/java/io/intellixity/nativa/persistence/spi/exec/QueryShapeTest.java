@@ -0,0 +1,62 @@
+package io.intellixity.nativa.persistence.spi.exec;
+
+import io.intellixity.nativa.persistence.exec.EntityViewRef;
+import io.intellixity.nativa.persistence.query.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.intellixity.nativa.persistence.query.QueryFilters.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+final class QueryShapeTest {
+  private static final EntityViewRef REF = new EntityViewRef("order", "order_view");
+
+  private static QueryShape shape(Query q) {
+    return QueryShape.of("select", REF, null, q, q.filter());
+  }
+
+  @Test
+  void sameShapeDifferentValuesShareKey() {
+    QueryShape a = shape(Query.and(eq("status", "NEW"), in("id", List.of(1, 2))));
+    QueryShape b = shape(Query.and(eq("status", "PAID"), in("id", List.of(3, 4))));
+
+    assertEquals(a.key(), b.key());
+    assertEquals(List.of("NEW", 1, 2), a.values());
+    assertEquals(List.of("PAID", 3, 4), b.values());
+  }
+
+  @Test
+  void inArityNullAndPagingAreShape() {
+    assertNotEquals(shape(Query.of(in("id", List.of(1)))).key(), shape(Query.of(in("id", List.of(1, 2)))).key());
+    assertNotEquals(shape(Query.of(eq("status", null))).key(), shape(Query.of(eq("status", "NEW"))).key());
+    assertNotEquals(
+        shape(Query.of(eq("status", "NEW")).withPage(new OffsetPage(0, 10))).key(),
+        shape(Query.of(eq("status", "NEW")).withPage(new OffsetPage(10, 10))).key());
+  }
+
+  @Test
+  void seekValuesFollowOrExpandedOrder() {
+    Query q = new Query()
+        .withSort(List.of(new SortField("a", SortField.Direction.ASC), new SortField("b", SortField.Direction.ASC)))
+        .withPage(new SeekPage(10, Map.of("a", 1, "b", 2)));
+    assertEquals(List.of(1, 1, 2), shape(q).values());
+  }
+
+  @Test
+  void planCacheCountsAndEvicts() {
+    StatementPlanCache<String> cache = new StatementPlanCache<>(1);
+    assertNull(cache.get("k1"));
+    cache.put("k1", "p1");
+    assertEquals("p1", cache.get("k1"));
+    cache.put("k2", "p2");
+    assertNull(cache.get("k1"));
+
+    StatementPlanCache.Stats s = cache.stats();
+    assertEquals(1, s.hits());
+    assertEquals(2, s.misses());
+    assertEquals(1, s.evictions());
+    assertEquals(1, s.size());
+  }
+}
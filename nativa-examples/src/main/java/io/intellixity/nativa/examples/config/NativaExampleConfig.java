@@ -97,7 +97,10 @@ public class NativaExampleConfig {
         });
 
         // Tenant-per-database model: the physical store is isolated per tenant.
-        JdbcHandle handle = new JdbcHandle("jdbc:" + poolKey, ds, db.getSchema(), true);
+        // The handle owns the pool: when the resolver evicts it, the pool is closed and forgotten.
+        JdbcHandle handle = new JdbcHandle("jdbc:" + poolKey, ds, db.getSchema(), true, () -> {
+          if (pools.remove(poolKey, ds)) ds.close();
+        });
         return (T) handle;
       }
     };
@@ -6,8 +6,11 @@ import io.intellixity.nativa.persistence.query.Query;
 import io.intellixity.nativa.persistence.query.QueryFilters;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import io.intellixity.nativa.examples.domain.Customer;
 
@@ -32,6 +35,18 @@ public final class CustomerService {
     return rows.isEmpty() ? null : rows.getFirst();
   }
 
+  /** {@link #get} without blocking the caller (runs on a virtual thread). */
+  public CompletableFuture<Customer> getAsync(UUID id) {
+    Query q = Query.and(QueryFilters.eq("id", id));
+    return engines.jdbc(true).<Customer>selectAsync(CUSTOMER_TABLE, q)
+        .thenApply(rows -> rows.isEmpty() ? null : rows.getFirst());
+  }
+
+  /** Customers by id in one IN query per chunk (instead of one {@link #get} per id). */
+  public Map<UUID, Customer> getAll(Collection<UUID> ids) {
+    return engines.jdbc(true).findByIds(CUSTOMER_TABLE, ids);
+  }
+
   public List<Customer> search(Query query) {
     Query q = (query == null) ? new Query() : query;
     return engines.jdbc(true).select(CUSTOMER_TABLE, q);
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import io.intellixity.nativa.examples.domain.Customer;
 import io.intellixity.nativa.examples.domain.Order;
@@ -34,9 +35,12 @@ public final class OrderService {
                       Double totalAmount,
                       String currency,
                       String paymentMethod) {
-    Customer c = customers.get(customerId);
+    // Independent lookups: overlap them instead of paying two round trips back to back.
+    CompletableFuture<Customer> customer = customers.getAsync(customerId);
+    CompletableFuture<ServiceItem> service = services.getAsync(serviceId);
+    Customer c = customer.join();
     if (c == null) throw new IllegalArgumentException("Customer not found: " + customerId);
-    ServiceItem s = services.get(serviceId);
+    ServiceItem s = service.join();
     if (s == null) throw new IllegalArgumentException("Service not found: " + serviceId);
 
     Order o = Order.builder()
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import io.intellixity.nativa.examples.domain.ServiceItem;
 
@@ -31,6 +32,13 @@ public final class ServiceCatalogService {
     List<ServiceItem> rows = engines.jdbc(true).select(SERVICE_TABLE, q);
     return rows.isEmpty() ? null : rows.getFirst();
   }
+
+  /** {@link #get} without blocking the caller (runs on a virtual thread). */
+  public CompletableFuture<ServiceItem> getAsync(UUID id) {
+    Query q = Query.and(QueryFilters.eq("id", id));
+    return engines.jdbc(true).<ServiceItem>selectAsync(SERVICE_TABLE, q)
+        .thenApply(rows -> rows.isEmpty() ? null : rows.getFirst());
+  }
 }
 
 
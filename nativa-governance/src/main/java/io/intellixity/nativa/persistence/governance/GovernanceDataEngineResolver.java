@@ -3,8 +3,19 @@ package io.intellixity.nativa.persistence.governance;
 import io.intellixity.nativa.persistence.exec.DataEngine;
 import io.intellixity.nativa.persistence.exec.handle.EngineHandle;
 import io.intellixity.nativa.persistence.governance.internal.LruTtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Cache-backed resolver that turns (engineFamily, governance context, readOnly) into a cached {@link DataEngine}.\n
@@ -12,13 +23,79 @@ import java.util.Objects;
  * Caches:\n
  * - EngineHandle by (engineFamily, readOnly, ctx.cacheKey)\n
  * - DataEngine by (engineFamily, readOnly, handle.id)\n
+ *
+ * Lifecycle: evicted/expired engines are closed (after their leases are released and their in-flight operations
+ * drain), and evicted handles are closed once every engine built on them has drained. Closing runs on
+ * {@code drainExecutor}, never on the request thread.\n
+ *
+ * Use {@link #lease} for work that must not race eviction: a leased engine stays open until the lease is closed.
+ * {@link #resolve} returns the engine without a lease.\n
  */
-public final class GovernanceDataEngineResolver {
+public final class GovernanceDataEngineResolver implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(GovernanceDataEngineResolver.class);
+
+  /** Max time {@link #close()} waits for engines and handles to close. */
+  public static final long CLOSE_TIMEOUT_MILLIS = 60_000L;
+
   private final EngineHandleResolver handleResolver;
   private final DataEngineFactory engineFactory;
+  private final Executor drainExecutor;
+  // The default drain executor is ours to shut down; a caller-supplied one is not.\n
+  private final ExecutorService ownedDrainExecutor;
+  // handle.id -> completion of engine closes still draining on that handle.\n
+  private final ConcurrentHashMap<String, CompletableFuture<Void>> engineDrains = new ConcurrentHashMap<>();
+  // Every engine/handle close not yet finished; close() waits for them.\n
+  private final Set<CompletableFuture<Void>> pendingCloses = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean closed = new AtomicBoolean();
 
   private final LruTtlCache<HandleKey, EngineHandle<?>> handles;
-  private final LruTtlCache<EngineKey, DataEngine<? extends EngineHandle<?>>> engines;
+  private final LruTtlCache<EngineKey, CachedEngine> engines;
+
+  // A cached engine and its outstanding leases; once retired (evicted) it closes when the last lease is released.\n
+  private static final class CachedEngine {
+    final DataEngine<? extends EngineHandle<?>> engine;
+    final CompletableFuture<Void> released = new CompletableFuture<>();
+    private int leases;
+    private boolean retired;
+
+    CachedEngine(DataEngine<? extends EngineHandle<?>> engine) {
+      this.engine = engine;
+    }
+
+    synchronized boolean acquire() {
+      if (retired) return false;
+      leases++;
+      return true;
+    }
+
+    synchronized void release() {
+      if (--leases == 0 && retired) released.complete(null);
+    }
+
+    synchronized void retire() {
+      retired = true;
+      if (leases == 0) released.complete(null);
+    }
+  }
+
+  /** An engine held for one unit of work; closing the lease lets eviction retire the engine. */
+  public static final class Lease implements AutoCloseable {
+    private final CachedEngine cached;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Lease(CachedEngine cached) {
+      this.cached = cached;
+    }
+
+    public DataEngine<?> engine() {
+      return cached.engine;
+    }
+
+    @Override
+    public void close() {
+      if (released.compareAndSet(false, true)) cached.release();
+    }
+  }
 
   public GovernanceDataEngineResolver(EngineHandleResolver handleResolver,
                                       DataEngineFactory engineFactory,
@@ -34,15 +111,54 @@ public final class GovernanceDataEngineResolver {
                                       int maxEngines,
                                       long ttlMillis,
                                       long idleMillis) {
+    this(handleResolver, engineFactory, maxHandles, maxEngines, ttlMillis, idleMillis,
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("nativa-drain-", 0).factory()), true);
+  }
+
+  public GovernanceDataEngineResolver(EngineHandleResolver handleResolver,
+                                      DataEngineFactory engineFactory,
+                                      int maxHandles,
+                                      int maxEngines,
+                                      long ttlMillis,
+                                      long idleMillis,
+                                      Executor drainExecutor) {
+    this(handleResolver, engineFactory, maxHandles, maxEngines, ttlMillis, idleMillis, drainExecutor, false);
+  }
+
+  private GovernanceDataEngineResolver(EngineHandleResolver handleResolver,
+                                       DataEngineFactory engineFactory,
+                                       int maxHandles,
+                                       int maxEngines,
+                                       long ttlMillis,
+                                       long idleMillis,
+                                       Executor drainExecutor,
+                                       boolean ownsDrainExecutor) {
     this.handleResolver = Objects.requireNonNull(handleResolver, "handleResolver");
     this.engineFactory = Objects.requireNonNull(engineFactory, "engineFactory");
-    this.handles = new LruTtlCache<>(maxHandles, ttlMillis, idleMillis);
-    this.engines = new LruTtlCache<>(maxEngines, ttlMillis, idleMillis);
+    this.drainExecutor = Objects.requireNonNull(drainExecutor, "drainExecutor");
+    this.ownedDrainExecutor = ownsDrainExecutor ? (ExecutorService) drainExecutor : null;
+    this.handles = new LruTtlCache<>(maxHandles, ttlMillis, idleMillis, this::onHandleRemoved);
+    this.engines = new LruTtlCache<>(maxEngines, ttlMillis, idleMillis, this::onEngineRemoved);
   }
 
+  /** Cached engine for the context, without a lease: eviction may retire it while the caller still uses it. */
   public DataEngine<?> resolve(String engineFamily, GovernanceContext ctx, boolean readOnly) {
+    return cachedEngine(engineFamily, ctx, readOnly).engine;
+  }
+
+  /** Cached engine for the context, kept open (not closed by eviction) until the returned lease is closed. */
+  public Lease lease(String engineFamily, GovernanceContext ctx, boolean readOnly) {
+    while (true) {
+      CachedEngine cached = cachedEngine(engineFamily, ctx, readOnly);
+      // A retired entry has already left the cache: the next lookup builds a fresh engine.
+      if (cached.acquire()) return new Lease(cached);
+    }
+  }
+
+  private CachedEngine cachedEngine(String engineFamily, GovernanceContext ctx, boolean readOnly) {
     Objects.requireNonNull(engineFamily, "engineFamily");
     Objects.requireNonNull(ctx, "ctx");
+    if (closed.get()) throw new IllegalStateException("GovernanceDataEngineResolver is closed");
     String family = engineFamily.trim();
     if (family.isEmpty()) throw new IllegalArgumentException("engineFamily is blank");
 
@@ -51,16 +167,72 @@ public final class GovernanceDataEngineResolver {
     if (handle == null) throw new IllegalStateException("EngineHandleResolver returned null for " + hk);
 
     EngineKey ek = new EngineKey(family, readOnly, handle.id());
-    DataEngine<? extends EngineHandle<?>> engine = engines.getOrCompute(ek, () -> engineFactory.create(family, handle));
-    if (engine == null) throw new IllegalStateException("DataEngineFactory returned null for " + ek);
+    CachedEngine cached = engines.getOrCompute(ek, () -> {
+      DataEngine<? extends EngineHandle<?>> engine = engineFactory.create(family, handle);
+      return (engine == null) ? null : new CachedEngine(engine);
+    });
+    if (cached == null) throw new IllegalStateException("DataEngineFactory returned null for " + ek);
+    return cached;
+  }
 
-    return engine;
+  /**
+   * Close every cached engine and handle and wait (at most {@link #CLOSE_TIMEOUT_MILLIS}) until they are closed,
+   * including closes already draining. Leases still open hold their engine until released.\n
+   */
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      engines.invalidateAll();
+      handles.invalidateAll();
+    }
+    CompletableFuture<Void> all = CompletableFuture.allOf(pendingCloses.toArray(CompletableFuture[]::new));
+    // Closes still waiting on a lease need the executor later: stop it only once they have run.
+    if (ownedDrainExecutor != null) all.whenComplete((v, t) -> ownedDrainExecutor.shutdown());
+    try {
+      all.get(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      log.warn("Engines or handles still closing after {} ms", CLOSE_TIMEOUT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
   }
 
-  private record HandleKey(String engineFamily, boolean readOnly, String governanceCacheKey) {}
-  private record EngineKey(String engineFamily, boolean readOnly, String handleId) {}
-}
+  private void onEngineRemoved(EngineKey key, CachedEngine cached) {
+    cached.retire();
+    CompletableFuture<Void> f = track(cached.released.thenRunAsync(() -> closeQuietly(cached.engine, key), drainExecutor));
+    engineDrains.merge(key.handleId(), f, CompletableFuture::allOf);
+    f.whenComplete((v, t) -> engineDrains.computeIfPresent(key.handleId(), (id, pending) -> pending.isDone() ? null : pending));
+  }
 
+  private void onHandleRemoved(HandleKey key, EngineHandle<?> handle) {
+    // Retire the engine built on this handle first so the handle outlives its last operation.
+    EngineKey ek = new EngineKey(key.engineFamily(), key.readOnly(), handle.id());
+    CachedEngine engine = engines.remove(ek);
+    if (engine != null) onEngineRemoved(ek, engine);
+
+    CompletableFuture<Void> pending = engineDrains.getOrDefault(handle.id(), CompletableFuture.completedFuture(null));
+    track(pending.handle((v, t) -> null).thenRunAsync(() -> {
+      engineDrains.remove(handle.id(), pending);
+      closeQuietly(handle, key);
+    }, drainExecutor));
+  }
 
+  private CompletableFuture<Void> track(CompletableFuture<Void> close) {
+    pendingCloses.add(close);
+    close.whenComplete((v, t) -> pendingCloses.remove(close));
+    return close;
+  }
 
+  private static void closeQuietly(AutoCloseable c, Object key) {
+    try {
+      c.close();
+    } catch (Exception e) {
+      log.warn("Failed to close {}", key, e);
+    }
+  }
 
+  private record HandleKey(String engineFamily, boolean readOnly, String governanceCacheKey) {}
+  private record EngineKey(String engineFamily, boolean readOnly, String handleId) {}
+}
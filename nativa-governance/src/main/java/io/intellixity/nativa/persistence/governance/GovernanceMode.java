@@ -0,0 +1,18 @@
+package io.intellixity.nativa.persistence.governance;
+
+/**
+ * How {@link GovernedDataEngine} enforces governance keys on reads and criteria writes.\n
+ */
+public enum GovernanceMode {
+  /** Inject {@code field = value} predicates into every query (works on every backend). */
+  FILTER,
+  /**
+   * Leave queries untouched and bind the context as backend session variables
+   * ({@link io.intellixity.nativa.persistence.exec.SessionVariables}, e.g. {@code nativa.tenantId}); the store
+   * enforces them itself (e.g. Postgres row-level security policies). Statement text, and therefore plan
+   * caches, stay identical across tenants.\n
+   *
+   * Requires a delegate whose {@code supportsSessionVariables()} is true; others are rejected at construction.\n
+   */
+  SESSION
+}
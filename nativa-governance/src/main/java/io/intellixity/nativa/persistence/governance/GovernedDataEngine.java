@@ -6,17 +6,24 @@ import io.intellixity.nativa.persistence.authoring.FieldDef;
 import io.intellixity.nativa.persistence.exec.DataEngine;
 import io.intellixity.nativa.persistence.exec.EntityViewRef;
 import io.intellixity.nativa.persistence.exec.Propagation;
+import io.intellixity.nativa.persistence.exec.SessionVariables;
+import io.intellixity.nativa.persistence.exec.TxOptions;
 import io.intellixity.nativa.persistence.exec.handle.EngineHandle;
 import io.intellixity.nativa.persistence.pojo.Nulls;
 import io.intellixity.nativa.persistence.pojo.PojoMutator;
 import io.intellixity.nativa.persistence.pojo.PojoMutatorRegistry;
+import io.intellixity.nativa.persistence.query.PageResult;
 import io.intellixity.nativa.persistence.query.Query;
 import io.intellixity.nativa.persistence.query.QueryElement;
 import io.intellixity.nativa.persistence.query.QueryFilters;
+import io.intellixity.nativa.persistence.query.Slice;
+import io.intellixity.nativa.persistence.query.aggregation.AggregateRow;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Governance wrapper over a {@link DataEngine}.\n
@@ -24,6 +31,9 @@ import java.util.function.Supplier;
  * Enforces:\n
  * - filter injection based on {@code FieldDef.attrs.governanceKey}\n
  * - population of governance-mapped fields on insert/upsert/update payloads\n
+ *
+ * In {@link GovernanceMode#SESSION} mode reads are not rewritten; the context is bound as session variables
+ * around each delegated call and the store enforces it (tenant-boundary checks still apply).\n
  */
 public final class GovernedDataEngine<H extends EngineHandle<?>> implements DataEngine<H> {
   private final AuthoringRegistry authoring;
@@ -37,6 +47,7 @@ public final class GovernedDataEngine<H extends EngineHandle<?>> implements Data
    * If {@link EngineHandle#multiTenant()} is false (isolated store), tenant-boundary filters are skipped.
    */
   private final Set<String> tenantBoundaryKeys;
+  private final GovernanceMode mode;
   private final Map<String, GovernanceSpec> specCache = new ConcurrentHashMap<>();
 
   private record GovernanceSpec(
@@ -67,10 +78,28 @@ public final class GovernedDataEngine<H extends EngineHandle<?>> implements Data
                             DataEngine<H> delegate,
                             PojoMutatorRegistry mutators,
                             Set<String> tenantBoundaryKeys) {
+    this(authoring, delegate, mutators, tenantBoundaryKeys, GovernanceMode.FILTER);
+  }
+
+  public GovernedDataEngine(AuthoringRegistry authoring,
+                            DataEngine<H> delegate,
+                            PojoMutatorRegistry mutators,
+                            Set<String> tenantBoundaryKeys,
+                            GovernanceMode mode) {
     this.authoring = Objects.requireNonNull(authoring, "authoring");
     this.delegate = Objects.requireNonNull(delegate, "delegate");
     this.mutators = Objects.requireNonNull(mutators, "mutators");
     this.tenantBoundaryKeys = normalizeKeySet(tenantBoundaryKeys);
+    this.mode = Objects.requireNonNull(mode, "mode");
+    // Fail closed: a delegate that ignores session variables would run SESSION-mode work unfiltered.
+    if (mode == GovernanceMode.SESSION && !delegate.supportsSessionVariables()) {
+      throw new IllegalArgumentException("GovernanceMode.SESSION requires a delegate that supports session variables: "
+          + delegate.getClass().getName());
+    }
+  }
+
+  public GovernanceMode mode() {
+    return mode;
   }
 
   @Override
@@ -83,66 +112,161 @@ public final class GovernedDataEngine<H extends EngineHandle<?>> implements Data
     return delegate.defaultPropagation();
   }
 
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
   @Override
   public <T> T inTx(Propagation propagation, Supplier<T> work) {
     return delegate.inTx(propagation, work);
   }
 
+  @Override
+  public <T> T inTx(Propagation propagation, TxOptions options, Supplier<T> work) {
+    return delegate.inTx(propagation, options, work);
+  }
+
+  @Override
+  public <T> T withConnection(Supplier<T> work) {
+    return delegate.withConnection(work);
+  }
+
+  /** Runs {@code work} through the delegate with the caller's {@link GovernanceContext} re-bound in the task. */
+  @Override
+  public <T> CompletableFuture<T> async(Supplier<T> work) {
+    GovernanceContext ctx = Governance.currentOrNull();
+    if (ctx == null) return delegate.async(work);
+    return delegate.async(() -> Governance.inContext(ctx, work));
+  }
+
+  // Equal only for the same context instance (and equal inner snapshots): cacheKey() routes handles and may
+  // cover just the tenant keys, so contexts sharing it can still differ in the values stamped on writes.\n
+  private record CapturedContext(GovernanceContext ctx, Object inner) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof CapturedContext c && ctx == c.ctx && Objects.equals(inner, c.inner);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(ctx) + Objects.hashCode(inner);
+    }
+  }
+
+  @Override
+  public boolean supportsSessionVariables() {
+    return delegate.supportsSessionVariables();
+  }
+
+  @Override
+  public Object captureContext() {
+    GovernanceContext ctx = Governance.currentOrNull();
+    Object inner = delegate.captureContext();
+    return (ctx == null) ? inner : new CapturedContext(ctx, inner);
+  }
+
+  @Override
+  public <T> T inContext(Object context, Supplier<T> work) {
+    if (!(context instanceof CapturedContext c)) return delegate.inContext(context, work);
+    return Governance.inContext(c.ctx(), () -> delegate.inContext(c.inner(), work));
+  }
+
   @Override
   public <T> List<T> select(EntityViewRef ref, Query query) {
-    return delegate.select(ref, withGovernanceFilters(ref, query));
+    Query q = withGovernanceFilters(ref, query);
+    return inSession(ref, () -> delegate.select(ref, q));
+  }
+
+  @Override
+  public <T> Stream<T> stream(EntityViewRef ref, Query query) {
+    Query q = withGovernanceFilters(ref, query);
+    return inSession(ref, () -> delegate.stream(ref, q));
   }
 
   @Override
   public long count(EntityViewRef ref, Query query) {
-    return delegate.count(ref, withGovernanceFilters(ref, query));
+    Query q = withGovernanceFilters(ref, query);
+    return inSession(ref, () -> delegate.count(ref, q));
+  }
+
+  @Override
+  public <T> Slice<T> selectSlice(EntityViewRef ref, Query query) {
+    Query q = withGovernanceFilters(ref, query);
+    return inSession(ref, () -> delegate.selectSlice(ref, q));
+  }
+
+  @Override
+  public <K, T> Map<K, T> findByIds(EntityViewRef ref, Collection<? extends K> keys, Query query) {
+    Query q = withGovernanceFilters(ref, query);
+    return inSession(ref, () -> delegate.findByIds(ref, keys, q));
+  }
+
+  @Override
+  public <T> PageResult<T> selectPage(EntityViewRef ref, Query query) {
+    Query q = withGovernanceFilters(ref, query);
+    return inSession(ref, () -> delegate.selectPage(ref, q));
+  }
+
+  @Override
+  public List<AggregateRow> aggregate(EntityViewRef ref, Query query) {
+    Query q = withGovernanceFilters(ref, query);
+    return inSession(ref, () -> delegate.aggregate(ref, q));
   }
 
   @Override
   public <T> T insert(EntityViewRef ref, T entity) {
     applyGovernanceValues(ref, entity);
-    return delegate.insert(ref, entity);
+    return inSession(ref, () -> delegate.insert(ref, entity));
   }
 
   @Override
   public <T> void bulkInsert(EntityViewRef ref, List<T> entities) {
     if (entities != null) for (T e : entities) applyGovernanceValues(ref, e);
-    delegate.bulkInsert(ref, entities);
+    inSession(ref, () -> {
+      delegate.bulkInsert(ref, entities);
+      return null;
+    });
   }
 
   @Override
   public <T> T upsert(EntityViewRef ref, T entity) {
     applyGovernanceValues(ref, entity);
-    return delegate.upsert(ref, entity);
+    return inSession(ref, () -> delegate.upsert(ref, entity));
   }
 
   @Override
   public <T> void bulkUpsert(EntityViewRef ref, List<T> entities) {
     if (entities != null) for (T e : entities) applyGovernanceValues(ref, e);
-    delegate.bulkUpsert(ref, entities);
+    inSession(ref, () -> {
+      delegate.bulkUpsert(ref, entities);
+      return null;
+    });
   }
 
   @Override
   public <T> long update(EntityViewRef ref, T entity) {
     applyGovernanceValues(ref, entity);
-    return delegate.update(ref, entity);
+    return inSession(ref, () -> delegate.update(ref, entity));
   }
 
   @Override
   public <T> long bulkUpdate(EntityViewRef ref, List<T> entities) {
     if (entities != null) for (T e : entities) applyGovernanceValues(ref, e);
-    return delegate.bulkUpdate(ref, entities);
+    return inSession(ref, () -> delegate.bulkUpdate(ref, entities));
   }
 
   @Override
   public <T> long updateByCriteria(EntityViewRef ref, Query query, T entity) {
     applyGovernanceValues(ref, entity);
-    return delegate.updateByCriteria(ref, withGovernanceFilters(ref, query), entity);
+    Query q = withGovernanceFilters(ref, query);
+    return inSession(ref, () -> delegate.updateByCriteria(ref, q, entity));
   }
 
   @Override
   public long deleteByCriteria(EntityViewRef ref, Query query) {
-    return delegate.deleteByCriteria(ref, withGovernanceFilters(ref, query));
+    Query q = withGovernanceFilters(ref, query);
+    return inSession(ref, () -> delegate.deleteByCriteria(ref, q));
   }
 
   private Query withGovernanceFilters(EntityViewRef ref, Query query) {
@@ -152,6 +276,7 @@ public final class GovernedDataEngine<H extends EngineHandle<?>> implements Data
     if (spec.isEmpty()) return query;
 
     TenantBoundary boundary = tenantBoundary(ctx, spec);
+    if (mode == GovernanceMode.SESSION) return query;
 
     List<QueryElement> conds = new ArrayList<>();
     for (var e : spec.fieldToKeys.entrySet()) {
@@ -176,10 +301,31 @@ public final class GovernedDataEngine<H extends EngineHandle<?>> implements Data
         .withFilter((conds.size() == 1) ? conds.getFirst() : QueryFilters.and(conds.toArray(new QueryElement[0])))
         .withParams(effective.params())
         .withPage(effective.page())
+        .withProjection(effective.projection())
         .withSort(effective.sort())
         .withGroupBy(effective.groupBy());
   }
 
+  /**
+   * SESSION mode: run {@code work} with every governance key of the entity (and the tenant keys) bound as
+   * {@link SessionVariables}; absent keys are bound as "" so policies see them unset.\n
+   */
+  private <T> T inSession(EntityViewRef ref, Supplier<T> work) {
+    if (mode != GovernanceMode.SESSION) return work.get();
+    GovernanceContext ctx = Governance.currentOrThrow();
+    GovernanceSpec spec = specFor(authoring.getEntityAuthoring(ref.type()));
+    if (spec.isEmpty()) return work.get();
+
+    Set<String> keys = new LinkedHashSet<>(spec.keyToFields.keySet());
+    keys.addAll(effectiveTenantKeys(ctx));
+    Map<String, String> vars = new LinkedHashMap<>();
+    for (String k : keys) {
+      Object v = ctx.get(k);
+      vars.put(SessionVariables.governanceName(k), (v == null) ? "" : String.valueOf(v));
+    }
+    return SessionVariables.where(vars, work);
+  }
+
   private void applyGovernanceValues(EntityViewRef ref, Object entity) {
     if (entity == null) return;
     GovernanceContext ctx = Governance.currentOrThrow();
@@ -232,10 +378,7 @@ public final class GovernedDataEngine<H extends EngineHandle<?>> implements Data
       String field = e.getKey();
       FieldDef fd = e.getValue();
       if (fd == null) continue;
-      Object raw = (fd.attrs() == null) ? null : fd.attrs().get("governanceKey");
-      if (raw == null) continue;
-
-      List<String> keys = parseGovernanceKeys(raw);
+      List<String> keys = fd.governanceKeys();
       if (keys.isEmpty()) continue;
       fieldToKeys.put(field, keys);
 
@@ -330,26 +473,6 @@ public final class GovernedDataEngine<H extends EngineHandle<?>> implements Data
     }
     return Map.copyOf(out);
   }
-
-  private static List<String> parseGovernanceKeys(Object raw) {
-    if (raw == null) return List.of();
-    if (raw instanceof String s) {
-      String t = s.trim();
-      return t.isEmpty() ? List.of() : List.of(t);
-    }
-    if (raw instanceof Iterable<?> it) {
-      List<String> out = new ArrayList<>();
-      for (Object o : it) {
-        if (o == null) continue;
-        String t = String.valueOf(o).trim();
-        if (!t.isEmpty()) out.add(t);
-      }
-      return out.isEmpty() ? List.of() : List.copyOf(out);
-    }
-    // fallback: single value
-    String t = String.valueOf(raw).trim();
-    return t.isEmpty() ? List.of() : List.of(t);
-  }
 }
 
 
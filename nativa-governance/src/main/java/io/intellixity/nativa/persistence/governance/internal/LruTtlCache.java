@@ -1,115 +1,246 @@
 package io.intellixity.nativa.persistence.governance.internal;
 
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
- * Simple synchronized LRU cache with TTL + optional idle expiry.\n
+ * Concurrent LRU-ish cache with TTL + optional idle expiry.\n
  *
- * - LRU eviction: access-order LinkedHashMap\n
- * - TTL: expire-after-write\n
- * - Idle: expire-after-access (optional)\n
+ * - Reads: lock-free ConcurrentHashMap lookup; expired entries are dropped lazily on access\n
+ * - Loads: per-key single-flight ({@link #getOrCompute}); the supplier runs outside any shared lock\n
+ * - TTL: expire-after-write; Idle: expire-after-access (optional)\n
+ * - Expiry sweeps are amortized: at most one full sweep per half expiry interval, run by whichever writer wins a tryLock\n
+ * - Eviction: approximate LRU by access tick; on overflow the least recently used entries are trimmed in one pass
+ *   (with a small slack so a full cache does not rescan on every insert)\n
+ * - Recency: a hit only bumps the shared tick when its entry is not already the most recent one, so repeated hits
+ *   on hot keys are plain volatile reads\n
+ * - Removal listener: called for every entry that leaves the cache (expired, evicted, replaced, invalidated);
+ *   it runs on the calling thread, so it should only hand work off (e.g. to an executor)\n
  */
 public final class LruTtlCache<K, V> {
+  private static final long MAX_SWEEP_INTERVAL_MILLIS = 60_000L;
+
   private final int maxEntries;
+  private final int trimTo;
   private final long ttlMillis;
   private final long idleMillis;
+  private final long sweepIntervalMillis;
   private final LongSupplier nowMillis;
+  private final BiConsumer<? super K, ? super V> onRemoval;
 
-  private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+  private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+  private final AtomicLong ticks = new AtomicLong();
+  private final ReentrantLock maintenance = new ReentrantLock();
+  private volatile long nextSweepAt;
 
   private static final class Entry<V> {
     final V value;
-    long writeAt;
-    long accessAt;
+    final long writeAt;
+    volatile long accessAt;
+    volatile long accessTick;
 
-    Entry(V value, long now) {
+    Entry(V value, long now, long tick) {
       this.value = value;
       this.writeAt = now;
       this.accessAt = now;
+      this.accessTick = tick;
     }
   }
 
   public LruTtlCache(int maxEntries, long ttlMillis, long idleMillis) {
-    this(maxEntries, ttlMillis, idleMillis, System::currentTimeMillis);
+    this(maxEntries, ttlMillis, idleMillis, System::currentTimeMillis, null);
+  }
+
+  public LruTtlCache(int maxEntries, long ttlMillis, long idleMillis, BiConsumer<? super K, ? super V> onRemoval) {
+    this(maxEntries, ttlMillis, idleMillis, System::currentTimeMillis, onRemoval);
   }
 
   public LruTtlCache(int maxEntries, long ttlMillis, long idleMillis, LongSupplier nowMillis) {
+    this(maxEntries, ttlMillis, idleMillis, nowMillis, null);
+  }
+
+  public LruTtlCache(int maxEntries, long ttlMillis, long idleMillis, LongSupplier nowMillis,
+                     BiConsumer<? super K, ? super V> onRemoval) {
     if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be > 0");
     if (ttlMillis < 0) throw new IllegalArgumentException("ttlMillis must be >= 0");
     if (idleMillis < 0) throw new IllegalArgumentException("idleMillis must be >= 0");
     this.maxEntries = maxEntries;
+    this.trimTo = maxEntries - (maxEntries / 16);
     this.ttlMillis = ttlMillis;
     this.idleMillis = idleMillis;
     this.nowMillis = Objects.requireNonNull(nowMillis, "nowMillis");
+    this.onRemoval = onRemoval;
+
+    long shortest = Long.MAX_VALUE;
+    if (ttlMillis > 0) shortest = ttlMillis;
+    if (idleMillis > 0) shortest = Math.min(shortest, idleMillis);
+    this.sweepIntervalMillis = (shortest == Long.MAX_VALUE)
+        ? Long.MAX_VALUE
+        : Math.min(MAX_SWEEP_INTERVAL_MILLIS, Math.max(1L, shortest / 2));
+    this.nextSweepAt = (sweepIntervalMillis == Long.MAX_VALUE) ? Long.MAX_VALUE : this.nowMillis.getAsLong() + sweepIntervalMillis;
   }
 
-  public synchronized V get(K key) {
+  public V get(K key) {
     Objects.requireNonNull(key, "key");
-    long now = nowMillis.getAsLong();
-    pruneExpired(now);
     Entry<V> e = map.get(key);
     if (e == null) return null;
+    long now = nowMillis.getAsLong();
     if (isExpired(e, now)) {
-      map.remove(key);
+      if (map.remove(key, e)) removed(key, e);
       return null;
     }
-    e.accessAt = now;
+    if (idleMillis > 0 && e.accessAt != now) e.accessAt = now;
+    if (e.accessTick != ticks.get()) e.accessTick = ticks.incrementAndGet();
     return e.value;
   }
 
-  public synchronized V put(K key, V value) {
+  public V put(K key, V value) {
     Objects.requireNonNull(key, "key");
     long now = nowMillis.getAsLong();
-    pruneExpired(now);
-    Entry<V> prev = map.put(key, new Entry<>(value, now));
-    evictIfNeeded();
-    return prev == null ? null : prev.value;
+    Entry<V> prev = map.put(key, new Entry<>(value, now, ticks.incrementAndGet()));
+    if (prev != null && prev.value != value) removed(key, prev);
+    afterWrite(now);
+    return (prev == null || isExpired(prev, now)) ? null : prev.value;
+  }
+
+  /** Remove a key without notifying the removal listener; returns the live value, if any. */
+  public V remove(K key) {
+    Objects.requireNonNull(key, "key");
+    Entry<V> e = map.remove(key);
+    return (e == null || isExpired(e, nowMillis.getAsLong())) ? null : e.value;
   }
 
-  public synchronized V getOrCompute(K key, Supplier<V> supplier) {
+  /** Remove a key and notify the removal listener. */
+  public void invalidate(K key) {
+    Objects.requireNonNull(key, "key");
+    Entry<V> e = map.remove(key);
+    if (e != null) removed(key, e);
+  }
+
+  /** Remove every entry and notify the removal listener for each. */
+  public void invalidateAll() {
+    for (K key : map.keySet()) invalidate(key);
+  }
+
+  /**
+   * Return the cached value or load it once per key.\n
+   *
+   * Concurrent callers for the same key wait for the in-flight load; callers for other keys are not blocked.
+   * A failed load is not cached and its exception is rethrown to every waiter.\n
+   */
+  public V getOrCompute(K key, Supplier<V> supplier) {
     Objects.requireNonNull(supplier, "supplier");
     V existing = get(key);
     if (existing != null) return existing;
-    V created = supplier.get();
-    put(key, created);
-    return created;
+
+    CompletableFuture<V> mine = new CompletableFuture<>();
+    CompletableFuture<V> inflight = loading.putIfAbsent(key, mine);
+    if (inflight != null) return join(inflight);
+
+    try {
+      // Re-check: another loader may have completed between our miss and putIfAbsent.
+      V created = get(key);
+      if (created == null) {
+        created = supplier.get();
+        if (created != null) put(key, created);
+      }
+      mine.complete(created);
+      return created;
+    } catch (Throwable t) {
+      mine.completeExceptionally(t);
+      throw t;
+    } finally {
+      loading.remove(key, mine);
+    }
   }
 
-  public synchronized int size() {
-    pruneExpired(nowMillis.getAsLong());
+  public int size() {
+    sweep(nowMillis.getAsLong());
     return map.size();
   }
 
-  private boolean isExpired(Entry<V> e, long now) {
-    if (ttlMillis > 0 && (now - e.writeAt) >= ttlMillis) return true;
-    if (idleMillis > 0 && (now - e.accessAt) >= idleMillis) return true;
-    return false;
+  private void afterWrite(long now) {
+    boolean overflow = map.size() > maxEntries;
+    if (!overflow && now < nextSweepAt) return;
+    if (!maintenance.tryLock()) return;
+    try {
+      if (now >= nextSweepAt) {
+        sweepLocked(now);
+        nextSweepAt = now + sweepIntervalMillis;
+      }
+      if (map.size() > maxEntries) trimLocked();
+    } finally {
+      maintenance.unlock();
+    }
   }
 
-  private void pruneExpired(long now) {
-    if (map.isEmpty()) return;
-    Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
-    while (it.hasNext()) {
-      Map.Entry<K, Entry<V>> me = it.next();
-      if (isExpired(me.getValue(), now)) it.remove();
+  private void sweep(long now) {
+    maintenance.lock();
+    try {
+      sweepLocked(now);
+    } finally {
+      maintenance.unlock();
     }
   }
 
-  private void evictIfNeeded() {
-    while (map.size() > maxEntries) {
-      Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
-      if (!it.hasNext()) return;
-      it.next();
-      it.remove();
+  private void sweepLocked(long now) {
+    if (ttlMillis == 0 && idleMillis == 0) return;
+    for (Map.Entry<K, Entry<V>> me : map.entrySet()) {
+      if (isExpired(me.getValue(), now) && map.remove(me.getKey(), me.getValue())) removed(me.getKey(), me.getValue());
+    }
+  }
+
+  private void trimLocked() {
+    int excess = map.size() - trimTo;
+    if (excess <= 0) return;
+    // Snapshot ticks first: they keep moving under concurrent reads.
+    List<Victim<K, V>> all = new ArrayList<>(map.size());
+    for (Map.Entry<K, Entry<V>> me : map.entrySet()) {
+      all.add(new Victim<>(me.getKey(), me.getValue(), me.getValue().accessTick));
+    }
+    all.sort(Comparator.comparingLong(Victim::tick));
+    for (int i = 0; i < all.size() && excess > 0; i++) {
+      Victim<K, V> v = all.get(i);
+      if (map.remove(v.key(), v.entry())) {
+        removed(v.key(), v.entry());
+        excess--;
+      }
     }
   }
-}
 
+  private record Victim<K, V>(K key, Entry<V> entry, long tick) {}
 
+  private void removed(K key, Entry<V> e) {
+    if (onRemoval == null || e.value == null) return;
+    onRemoval.accept(key, e.value);
+  }
 
+  private boolean isExpired(Entry<V> e, long now) {
+    if (ttlMillis > 0 && (now - e.writeAt) >= ttlMillis) return true;
+    if (idleMillis > 0 && (now - e.accessAt) >= idleMillis) return true;
+    return false;
+  }
 
+  private static <V> V join(CompletableFuture<V> f) {
+    try {
+      return f.join();
+    } catch (CompletionException ce) {
+      Throwable c = ce.getCause();
+      if (c instanceof RuntimeException re) throw re;
+      if (c instanceof Error e) throw e;
+      throw new RuntimeException(c);
+    }
+  }
+}
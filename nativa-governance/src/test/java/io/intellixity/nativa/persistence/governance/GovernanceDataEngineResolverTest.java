@@ -17,7 +17,14 @@ final class GovernanceDataEngineResolverTest {
     @Override public Object client() { return new Object(); }
   }
 
-  private static final class TestEngine implements DataEngine<EngineHandle<?>> {
+  private record ClosingHandle(String id, Runnable onClose) implements EngineHandle<Object> {
+    @Override public Object client() { return new Object(); }
+    @Override public String namespace() { return "ns"; }
+    @Override public boolean multiTenant() { return true; }
+    @Override public void close() { onClose.run(); }
+  }
+
+  private static class TestEngine implements DataEngine<EngineHandle<?>> {
     private final EngineHandle<?> handle;
     TestEngine(EngineHandle<?> handle) { this.handle = handle; }
     @Override public EngineHandle<?> handle() { return handle; }
@@ -157,6 +164,125 @@ final class GovernanceDataEngineResolverTest {
     assertTrue(handleCalls.get() >= 2);
     assertTrue(engineCalls.get() >= 2);
   }
-}
 
+  @Test
+  void concurrentMisses_loadHandleOnce() throws Exception {
+    AtomicInteger handleCalls = new AtomicInteger();
+    java.util.concurrent.CountDownLatch release = new java.util.concurrent.CountDownLatch(1);
 
+    EngineHandleResolver hr = new EngineHandleResolver() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <T extends EngineHandle<?>> T resolve(String family, GovernanceContext ctx, boolean readOnly) {
+        handleCalls.incrementAndGet();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return (T) new TestHandle(family + ":" + ctx.cacheKey() + ":" + readOnly, "ns", true);
+      }
+    };
+    DataEngineFactory ef = (family, handle) -> new TestEngine((EngineHandle<?>) handle);
+
+    GovernanceDataEngineResolver r = new GovernanceDataEngineResolver(hr, ef, 10, 10, 60_000);
+    GovernanceContext ctx = GovernanceContext.of(Map.of("tenantId", "t1"), "t1");
+
+    try (var exec = java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor()) {
+      var f1 = exec.submit(() -> r.resolve("jdbc", ctx, false));
+      var f2 = exec.submit(() -> r.resolve("jdbc", ctx, false));
+      Thread.sleep(50);
+      release.countDown();
+      assertSame(f1.get(), f2.get());
+    }
+    assertEquals(1, handleCalls.get());
+  }
+
+  @Test
+  void eviction_closesEngineThenHandle() {
+    java.util.List<String> closed = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+    EngineHandleResolver hr = new EngineHandleResolver() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <T extends EngineHandle<?>> T resolve(String family, GovernanceContext ctx, boolean readOnly) {
+        String id = family + ":" + ctx.cacheKey();
+        return (T) new ClosingHandle(id, () -> closed.add("handle:" + id));
+      }
+    };
+    DataEngineFactory ef = (family, handle) -> new TestEngine((EngineHandle<?>) handle) {
+      @Override public void close() { closed.add("engine:" + handle.id()); }
+    };
+
+    // Direct executor keeps the asynchronous drain deterministic for the assertion.
+    GovernanceDataEngineResolver r = new GovernanceDataEngineResolver(hr, ef, 1, 10, 60_000, 0, Runnable::run);
+    r.resolve("jdbc", GovernanceContext.of(Map.of("tenantId", "t1"), "t1"), false);
+    r.resolve("jdbc", GovernanceContext.of(Map.of("tenantId", "t2"), "t2"), false);
+
+    assertEquals(java.util.List.of("engine:jdbc:t1", "handle:jdbc:t1"), closed);
+  }
+
+  @Test
+  void eviction_waitsForLeasesBeforeClosingEngineAndHandle() {
+    java.util.List<String> closed = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+    EngineHandleResolver hr = new EngineHandleResolver() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <T extends EngineHandle<?>> T resolve(String family, GovernanceContext ctx, boolean readOnly) {
+        String id = family + ":" + ctx.cacheKey();
+        return (T) new ClosingHandle(id, () -> closed.add("handle:" + id));
+      }
+    };
+    DataEngineFactory ef = (family, handle) -> new TestEngine((EngineHandle<?>) handle) {
+      @Override public void close() { closed.add("engine:" + handle.id()); }
+    };
+
+    GovernanceDataEngineResolver r = new GovernanceDataEngineResolver(hr, ef, 1, 10, 60_000, 0, Runnable::run);
+    GovernanceContext c1 = GovernanceContext.of(Map.of("tenantId", "t1"), "t1");
+    GovernanceDataEngineResolver.Lease lease = r.lease("jdbc", c1, false);
+    r.resolve("jdbc", GovernanceContext.of(Map.of("tenantId", "t2"), "t2"), false);
+
+    // Evicted while leased: neither the engine nor its handle closes under the caller.
+    assertEquals(java.util.List.of(), closed);
+
+    lease.close();
+    lease.close();
+    assertEquals(java.util.List.of("engine:jdbc:t1", "handle:jdbc:t1"), closed);
+  }
+
+  @Test
+  void close_waitsForDrainsAndRejectsFurtherLookups() throws Exception {
+    java.util.concurrent.CountDownLatch closing = new java.util.concurrent.CountDownLatch(1);
+    AtomicInteger engineCloses = new AtomicInteger();
+
+    EngineHandleResolver hr = new EngineHandleResolver() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <T extends EngineHandle<?>> T resolve(String family, GovernanceContext ctx, boolean readOnly) {
+        return (T) new TestHandle(family + ":" + ctx.cacheKey(), "ns", true);
+      }
+    };
+    DataEngineFactory ef = (family, handle) -> new TestEngine((EngineHandle<?>) handle) {
+      @Override
+      public void close() {
+        closing.countDown();
+        try {
+          Thread.sleep(200);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        engineCloses.incrementAndGet();
+      }
+    };
+
+    GovernanceDataEngineResolver r = new GovernanceDataEngineResolver(hr, ef, 10, 10, 60_000, 0);
+    GovernanceContext c1 = GovernanceContext.of(Map.of("tenantId", "t1"), "t1");
+    r.resolve("jdbc", c1, false);
+
+    r.close();
+    assertTrue(closing.await(0, java.util.concurrent.TimeUnit.MILLISECONDS));
+    assertEquals(1, engineCloses.get());
+    assertThrows(IllegalStateException.class, () -> r.resolve("jdbc", c1, false));
+  }
+}
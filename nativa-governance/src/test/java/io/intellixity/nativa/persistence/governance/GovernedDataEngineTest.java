@@ -4,6 +4,7 @@ import io.intellixity.nativa.persistence.authoring.*;
 import io.intellixity.nativa.persistence.exec.DataEngine;
 import io.intellixity.nativa.persistence.exec.EntityViewRef;
 import io.intellixity.nativa.persistence.exec.Propagation;
+import io.intellixity.nativa.persistence.exec.WriteBehindPipeline;
 import io.intellixity.nativa.persistence.exec.handle.EngineHandle;
 import io.intellixity.nativa.persistence.pojo.Nulls;
 import io.intellixity.nativa.persistence.pojo.PojoMutator;
@@ -11,6 +12,7 @@ import io.intellixity.nativa.persistence.pojo.PojoMutatorRegistry;
 import io.intellixity.nativa.persistence.query.*;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Supplier;
 
@@ -32,6 +34,7 @@ final class GovernedDataEngineTest {
   static final class CapturingEngine implements DataEngine<EngineHandle<?>> {
     Query lastQuery;
     Object lastEntity;
+    boolean sessionVariables;
     private final boolean multiTenant;
     final EngineHandle<?> handle = new EngineHandle<>() {
       @Override public String id() { return "cap"; }
@@ -49,6 +52,7 @@ final class GovernedDataEngineTest {
     }
 
     @Override public EngineHandle<?> handle() { return handle; }
+    @Override public boolean supportsSessionVariables() { return sessionVariables; }
     @Override public Propagation defaultPropagation() { return Propagation.REQUIRED; }
     @Override public <T> T inTx(Propagation propagation, Supplier<T> work) { return work.get(); }
     @Override public <T> T inTx(Supplier<T> work) { return work.get(); }
@@ -290,6 +294,39 @@ final class GovernedDataEngineTest {
     assertTrue(ex.getMessage().contains("cannot be explicitly set to NULL"));
   }
 
+  @Test
+  void writeBehind_keepsContextsThatShareACacheKeyApart() {
+    AuthoringRegistry reg = authoringWithGovernance();
+    DataEngine<?> g = new GovernedDataEngine<>(reg, new CapturingEngine(), mutators());
+    EntityViewRef ref = new EntityViewRef("Order", "order_view");
+    TestPojo first = new TestPojo();
+    TestPojo second = new TestPojo();
+
+    // Same tenant routing key, different users: each write keeps its own user.
+    WriteBehindPipeline pipeline = new WriteBehindPipeline(g, 10, 10, Duration.ofSeconds(5));
+    Governance.inContext(GovernanceContext.of(Map.of("tenantId", "t1", "userId", "u1"), "t:t1"),
+        () -> pipeline.insert(ref, first));
+    Governance.inContext(GovernanceContext.of(Map.of("tenantId", "t1", "userId", "u2"), "t:t1"),
+        () -> pipeline.insert(ref, second));
+    pipeline.close();
+
+    assertEquals(List.of("u1", "u2"), List.of(first.userId(), second.userId()));
+  }
+
+  @Test
+  void sessionMode_requiresADelegateThatAppliesSessionVariables() {
+    AuthoringRegistry reg = authoringWithGovernance();
+    CapturingEngine base = new CapturingEngine();
+
+    // Queries are not rewritten in SESSION mode: over a store that ignores the variables nothing would filter.
+    assertThrows(IllegalArgumentException.class,
+        () -> new GovernedDataEngine<>(reg, base, mutators(), Set.of("tenantId"), GovernanceMode.SESSION));
+
+    base.sessionVariables = true;
+    GovernedDataEngine<?> g = new GovernedDataEngine<>(reg, base, mutators(), Set.of("tenantId"), GovernanceMode.SESSION);
+    assertTrue(g.supportsSessionVariables());
+  }
+
   private static Set<String> collectProperties(QueryElement el) {
     if (el == null) return Set.of();
     Set<String> out = new LinkedHashSet<>();
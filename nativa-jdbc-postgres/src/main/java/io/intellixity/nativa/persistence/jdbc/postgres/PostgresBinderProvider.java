@@ -30,6 +30,7 @@ public final class PostgresBinderProvider extends JdbcBinderProvider {
   static final class PostgresJsonbBinder implements Binder<PreparedStatement, Object> {
     @Override public Class<PreparedStatement> targetType() { return PreparedStatement.class; }
     @Override public Class<Object> valueType() { return Object.class; }
+    @Override public boolean typeStable() { return true; }
 
     @Override
     public boolean supports(BindContext ctx, Bind bind, Object encodedValue) {
@@ -67,8 +68,9 @@ public final class PostgresBinderProvider extends JdbcBinderProvider {
     @Override public Class<PreparedStatement> targetType() { return PreparedStatement.class; }
     @SuppressWarnings("unchecked")
     @Override public Class<List<?>> valueType() { return (Class<List<?>>) (Class<?>) List.class; }
+    @Override public boolean typeStable() { return true; }
 
-    private static final Map<String, String> PG_ELEM_TYPES = Map.of(
+    static final Map<String, String> PG_ELEM_TYPES = Map.of(
         "list<string>", "text",
         "list<int>", "int4",
         "list<long>", "int8",
@@ -0,0 +1,164 @@
+package io.intellixity.nativa.persistence.jdbc.postgres;
+
+import io.intellixity.nativa.persistence.dmlast.ColumnBind;
+import io.intellixity.nativa.persistence.dmlast.InsertAst;
+import io.intellixity.nativa.persistence.jdbc.dialect.JdbcBulkLoader;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Postgres bulk loader: {@code COPY table (cols) FROM STDIN (FORMAT csv)} through the driver's CopyManager.\n
+ *
+ * Values are the encoded INSERT binds, rendered as Postgres text input:\n
+ * - null -> unquoted empty field; strings/json -> quoted CSV field\n
+ * - Instant -> ISO-8601 in UTC with an explicit offset (e.g. 2024-01-02T03:04:05Z), independent of the
+ *   JVM and session time zones\n
+ * - lists -> array literal {a,b}; byte[] -> bytea hex\n
+ */
+final class PostgresCopyLoader implements JdbcBulkLoader {
+  private static final int FLUSH_CHARS = 64 * 1024;
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final UnaryOperator<String> quoteIdent;
+
+  PostgresCopyLoader(UnaryOperator<String> quoteIdent) {
+    this.quoteIdent = quoteIdent;
+  }
+
+  @Override
+  public boolean supports(InsertAst shape, List<Object[]> encodedRows) {
+    int width = shape.columns().size();
+    boolean[] arrayColumn = new boolean[width];
+    for (int i = 0; i < width; i++) {
+      String ut = shape.columns().get(i).bind().userTypeId();
+      arrayColumn[i] = ut != null && PostgresBinderProvider.PostgresArrayBinder.PG_ELEM_TYPES.containsKey(ut.toLowerCase());
+    }
+    for (Object[] row : encodedRows) {
+      for (int i = 0; i < width; i++) {
+        // Non-native list types are bound as JSON text by INSERT; keep INSERT for those.
+        if (!renderable(row[i], arrayColumn[i])) return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public long load(Connection c, InsertAst shape, List<Object[]> encodedRows) throws SQLException {
+    CopyIn copy = c.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql(shape));
+    try {
+      StringBuilder buf = new StringBuilder(FLUSH_CHARS + 1024);
+      for (Object[] row : encodedRows) {
+        for (int i = 0; i < row.length; i++) {
+          if (i > 0) buf.append(',');
+          appendField(buf, row[i]);
+        }
+        buf.append('\n');
+        if (buf.length() >= FLUSH_CHARS) flush(copy, buf);
+      }
+      flush(copy, buf);
+      return copy.endCopy();
+    } catch (SQLException | RuntimeException e) {
+      if (copy.isActive()) {
+        try { copy.cancelCopy(); } catch (SQLException ignored) {}
+      }
+      throw e;
+    }
+  }
+
+  String copySql(InsertAst shape) {
+    List<String> cols = new ArrayList<>(shape.columns().size());
+    for (ColumnBind cb : shape.columns()) cols.add(quoteIdent.apply(cb.column()));
+    return "COPY " + quoteIdent.apply(shape.table()) + " (" + String.join(", ", cols) + ") FROM STDIN (FORMAT csv)";
+  }
+
+  private static void flush(CopyIn copy, StringBuilder buf) throws SQLException {
+    if (buf.isEmpty()) return;
+    byte[] bytes = buf.toString().getBytes(StandardCharsets.UTF_8);
+    copy.writeToCopy(bytes, 0, bytes.length);
+    buf.setLength(0);
+  }
+
+  private static boolean renderable(Object v, boolean allowList) {
+    if (v == null || v instanceof CharSequence || v instanceof Number || v instanceof Boolean
+        || v instanceof UUID || v instanceof Instant || v instanceof LocalDate || v instanceof LocalDateTime
+        || v instanceof LocalTime || v instanceof OffsetDateTime
+        || v instanceof Timestamp || v instanceof java.sql.Date || v instanceof java.sql.Time || v instanceof byte[]) {
+      return true;
+    }
+    if (allowList && v instanceof Collection<?> col) {
+      for (Object e : col) {
+        if (!renderable(e, false)) return false;
+      }
+      return true;
+    }
+    return false;
+  }
+
+  static void appendField(StringBuilder out, Object v) {
+    if (v == null) return; // CSV NULL: unquoted empty field
+    if (v instanceof Collection<?> col) {
+      appendQuoted(out, arrayLiteral(col));
+    } else if (v instanceof byte[] bytes) {
+      out.append("\\x").append(HEX.formatHex(bytes));
+    } else if (v instanceof CharSequence cs) {
+      appendQuoted(out, cs.toString());
+    } else {
+      appendQuoted(out, scalarText(v));
+    }
+  }
+
+  private static String scalarText(Object v) {
+    if (v instanceof Instant i) return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(i.atOffset(ZoneOffset.UTC));
+    return String.valueOf(v);
+  }
+
+  private static String arrayLiteral(Collection<?> col) {
+    StringBuilder sb = new StringBuilder().append('{');
+    boolean first = true;
+    for (Object e : col) {
+      if (!first) sb.append(',');
+      first = false;
+      if (e == null) {
+        sb.append("NULL");
+        continue;
+      }
+      String s = scalarText(e);
+      sb.append('"');
+      for (int i = 0; i < s.length(); i++) {
+        char ch = s.charAt(i);
+        if (ch == '"' || ch == '\\') sb.append('\\');
+        sb.append(ch);
+      }
+      sb.append('"');
+    }
+    return sb.append('}').toString();
+  }
+
+  private static void appendQuoted(StringBuilder out, String s) {
+    out.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char ch = s.charAt(i);
+      if (ch == '"') out.append('"');
+      out.append(ch);
+    }
+    out.append('"');
+  }
+}
@@ -1,15 +1,29 @@
 package io.intellixity.nativa.persistence.jdbc.postgres;
 
+import io.intellixity.nativa.persistence.authoring.EntityAuthoring;
+import io.intellixity.nativa.persistence.authoring.ViewDef;
 import io.intellixity.nativa.persistence.compile.Bind;
+import io.intellixity.nativa.persistence.compile.PropertyTypeResolver;
+import io.intellixity.nativa.persistence.dmlast.ColumnBind;
+import io.intellixity.nativa.persistence.dmlast.InsertAst;
+import io.intellixity.nativa.persistence.dmlast.UpdateAst;
+import io.intellixity.nativa.persistence.dmlast.UpsertAst;
 import io.intellixity.nativa.persistence.jdbc.SqlStatement.ExecKind;
 import io.intellixity.nativa.persistence.jdbc.SqlStatement;
 import io.intellixity.nativa.persistence.jdbc.dialect.AbstractJdbcSqlDialect;
+import io.intellixity.nativa.persistence.jdbc.dialect.JdbcBulkLoader;
 import io.intellixity.nativa.persistence.jdbc.dialect.JdbcDialect;
+import io.intellixity.nativa.persistence.query.Condition;
+import io.intellixity.nativa.persistence.query.Operator;
 import io.intellixity.nativa.persistence.query.SeekPage;
 import io.intellixity.nativa.persistence.query.SortField;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Postgres dialect implementation for JDBC.
@@ -18,8 +32,185 @@ import java.util.Map;
  * Generic SQL rendering lives in {@link AbstractJdbcSqlDialect}.
  */
 public final class PostgresDialect extends AbstractJdbcSqlDialect implements JdbcDialect {
+  /** IN/NIN lists longer than this are semi-joined against {@code unnest(array)} instead of {@code = ANY(array)}. */
+  public static final int DEFAULT_UNNEST_IN_THRESHOLD = 1000;
+
   @Override public String id() { return "postgres"; }
 
+  private final PostgresCopyLoader copyLoader = new PostgresCopyLoader(this::quoteIdent);
+  private final int unnestInThreshold;
+
+  public PostgresDialect() {
+    this(DEFAULT_UNNEST_IN_THRESHOLD);
+  }
+
+  public PostgresDialect(int unnestInThreshold) {
+    if (unnestInThreshold <= 0) throw new IllegalArgumentException("unnestInThreshold must be > 0");
+    this.unnestInThreshold = unnestInThreshold;
+  }
+
+  @Override
+  public boolean supportsSessionVariables() {
+    return true;
+  }
+
+  /** One round trip: {@code SELECT set_config(:b1, :b2, local), ...}. */
+  @Override
+  public SqlStatement renderSessionVariables(Map<String, String> vars, boolean local) {
+    RenderCtx ctx = new RenderCtx();
+    List<String> calls = new ArrayList<>(vars.size());
+    for (var e : vars.entrySet()) {
+      String name = ctx.add(new Bind(e.getKey(), "string"));
+      String value = ctx.add(new Bind(e.getValue() == null ? "" : e.getValue(), "string"));
+      calls.add("set_config(" + name + ", " + value + ", " + local + ")");
+    }
+    return new SqlStatement("SELECT " + String.join(", ", calls), ctx.binds());
+  }
+
+  /** COPY ... FROM STDIN (CSV) loader used by JdbcDataEngine for large bulkInsert batches. */
+  @Override
+  public JdbcBulkLoader bulkLoader() {
+    return copyLoader;
+  }
+
+  /**
+   * {@code INSERT ... SELECT * FROM unnest(:b1::t1[], ...) ON CONFLICT ... DO UPDATE}: one statement and one
+   * array bind per column, whatever the row count.\n
+   *
+   * Falls back (null) when rows differ in shape, a column type has no native array mapping, a returned key is
+   * not already supplied by the rows, or two rows share a conflict key (ON CONFLICT cannot touch a row twice).\n
+   */
+  @Override
+  public SqlStatement renderBulkUpsert(EntityAuthoring ea, ViewDef view, List<UpsertAst> rows) {
+    if (rows == null || rows.size() < 2) return null;
+    UpsertAst shape = rows.getFirst();
+    InsertAst ins = shape.insert();
+    if (ins.columns().isEmpty() || shape.conflictColumns().isEmpty()) return null;
+    List<String> cols = ins.columns().stream().map(ColumnBind::column).toList();
+    if (!cols.containsAll(ins.returningColumns())) return null;
+
+    String[] elemTypes = new String[cols.size()];
+    for (int i = 0; i < cols.size(); i++) {
+      elemTypes[i] = arrayElemType(ins.columns().get(i).bind().userTypeId());
+      if (elemTypes[i] == null) return null;
+    }
+    int[] conflictIdx = new int[shape.conflictColumns().size()];
+    for (int i = 0; i < conflictIdx.length; i++) {
+      conflictIdx[i] = cols.indexOf(shape.conflictColumns().get(i));
+      if (conflictIdx[i] < 0) return null;
+    }
+
+    List<List<Object>> columnValues = newColumnLists(cols.size(), rows.size());
+    Set<List<Object>> conflictKeys = new HashSet<>();
+    for (UpsertAst row : rows) {
+      InsertAst ri = row.insert();
+      if (!ri.table().equals(ins.table()) || !sameColumns(ri.columns(), cols)
+          || !row.conflictColumns().equals(shape.conflictColumns())
+          || !row.updateColumns().equals(shape.updateColumns())
+          || !ri.returningColumns().equals(ins.returningColumns())) {
+        return null;
+      }
+      // Elements are coerced like scalar binds (see renderInList), so conflict keys compare as bound.
+      List<Object> values = new ArrayList<>(cols.size());
+      for (ColumnBind cb : ri.columns()) values.add(coerceBindValue(cb.bind().userTypeId(), cb.bind().value()));
+      List<Object> key = new ArrayList<>(conflictIdx.length);
+      for (int idx : conflictIdx) key.add(values.get(idx));
+      if (!conflictKeys.add(key)) return null;
+      for (int i = 0; i < cols.size(); i++) columnValues.get(i).add(values.get(i));
+    }
+
+    RenderCtx ctx = new RenderCtx();
+    List<String> arrays = new ArrayList<>(cols.size());
+    for (int i = 0; i < cols.size(); i++) {
+      String ut = ins.columns().get(i).bind().userTypeId();
+      arrays.add(ctx.add(new Bind(columnValues.get(i), "list<" + ut.toLowerCase() + ">")) + "::" + elemTypes[i] + "[]");
+    }
+    List<String> updateCols = shape.updateColumns().isEmpty() ? shape.conflictColumns() : shape.updateColumns();
+    String sql = "INSERT INTO " + quoteIdent(ins.table())
+        + " (" + String.join(", ", cols.stream().map(this::quoteIdent).toList()) + ")"
+        + " SELECT * FROM unnest(" + String.join(", ", arrays) + ")"
+        + " ON CONFLICT (" + String.join(", ", shape.conflictColumns().stream().map(this::quoteIdent).toList()) + ")"
+        + " DO UPDATE SET " + String.join(", ", updateCols.stream().map(c -> quoteIdent(c) + " = EXCLUDED." + quoteIdent(c)).toList());
+    return new SqlStatement(sql, ctx.binds(), ExecKind.UPDATE);
+  }
+
+  /**
+   * {@code UPDATE t SET c = v.c FROM unnest(:b1::k[], :b2::t1[], ...) AS v(...) WHERE t.key = v.key} for
+   * update-by-id rows (single equality where clause on the same key).\n
+   */
+  @Override
+  public SqlStatement renderBulkUpdate(EntityAuthoring ea, ViewDef view, List<UpdateAst> rows, PropertyTypeResolver types) {
+    if (rows == null || rows.size() < 2 || types == null) return null;
+    UpdateAst shape = rows.getFirst();
+    if (shape.sets().isEmpty() || !(shape.where() instanceof Condition key)) return null;
+    String keyExpr = resolveSqlExpr(view, key.property());
+    String keyType = types.resolveScalarUserTypeId(ea, key.property());
+    String keyElem = arrayElemType(keyType);
+    if (keyExpr == null || keyElem == null) return null;
+
+    List<String> cols = shape.sets().stream().map(ColumnBind::column).toList();
+    String[] elemTypes = new String[cols.size()];
+    for (int i = 0; i < cols.size(); i++) {
+      elemTypes[i] = arrayElemType(shape.sets().get(i).bind().userTypeId());
+      if (elemTypes[i] == null) return null;
+    }
+
+    List<Object> keys = new ArrayList<>(rows.size());
+    Set<Object> seen = new HashSet<>();
+    List<List<Object>> columnValues = newColumnLists(cols.size(), rows.size());
+    for (UpdateAst row : rows) {
+      if (!row.table().equals(shape.table()) || !sameColumns(row.sets(), cols)
+          || !(row.where() instanceof Condition c) || c.operator() != Operator.EQ || c.not()
+          || c.value() == null || !c.property().equals(key.property())) {
+        return null;
+      }
+      Object k = coerceBindValue(keyType, c.value());
+      // Postgres applies only one source row per target row; keep per-row semantics for repeated ids.
+      if (!seen.add(k)) return null;
+      keys.add(k);
+      for (int i = 0; i < cols.size(); i++) {
+        Bind b = row.sets().get(i).bind();
+        columnValues.get(i).add(coerceBindValue(b.userTypeId(), b.value()));
+      }
+    }
+
+    RenderCtx ctx = new RenderCtx();
+    List<String> arrays = new ArrayList<>(cols.size() + 1);
+    List<String> aliases = new ArrayList<>(cols.size() + 1);
+    List<String> sets = new ArrayList<>(cols.size());
+    arrays.add(ctx.add(new Bind(keys, "list<" + keyType.toLowerCase() + ">")) + "::" + keyElem + "[]");
+    aliases.add("nativa_k");
+    for (int i = 0; i < cols.size(); i++) {
+      String ut = shape.sets().get(i).bind().userTypeId();
+      arrays.add(ctx.add(new Bind(columnValues.get(i), "list<" + ut.toLowerCase() + ">")) + "::" + elemTypes[i] + "[]");
+      aliases.add("nativa_c" + i);
+      sets.add(quoteIdent(cols.get(i)) + " = nativa_v.nativa_c" + i);
+    }
+    String sql = "UPDATE " + quoteIdent(shape.table()) + " SET " + String.join(", ", sets)
+        + " FROM unnest(" + String.join(", ", arrays) + ") AS nativa_v(" + String.join(", ", aliases) + ")"
+        + " WHERE " + keyExpr + " = nativa_v.nativa_k";
+    return new SqlStatement(sql, ctx.binds(), ExecKind.UPDATE);
+  }
+
+  private static String arrayElemType(String userTypeId) {
+    if (userTypeId == null) return null;
+    return PostgresBinderProvider.PostgresArrayBinder.PG_ELEM_TYPES.get("list<" + userTypeId.toLowerCase() + ">");
+  }
+
+  private static boolean sameColumns(List<ColumnBind> binds, List<String> cols) {
+    if (binds.size() != cols.size()) return false;
+    for (int i = 0; i < cols.size(); i++) {
+      if (!binds.get(i).column().equals(cols.get(i))) return false;
+    }
+    return true;
+  }
+
+  private static List<List<Object>> newColumnLists(int width, int rows) {
+    List<List<Object>> out = new ArrayList<>(width);
+    for (int i = 0; i < width; i++) out.add(new ArrayList<>(rows));
+    return out;
+  }
+
   @Override
   protected ExecKind insertExecKind(List<String> returningColumns) {
     if (returningColumns == null || returningColumns.isEmpty()) return ExecKind.UPDATE;
@@ -48,6 +239,75 @@ public final class PostgresDialect extends AbstractJdbcSqlDialect implements Jdb
     return new SqlStatement(sql, base.binds(), base.execKind());
   }
 
+  /**
+   * Keyset predicate as row-value comparisons, which Postgres turns into one index range scan.\n
+   *
+   * - one sort direction: {@code (a, b, c) > (:k1, :k2, :k3)}\n
+   * - mixed directions: runs of equal direction compare as rows, nested as
+   *   {@code (a, b) > (..) OR ((a, b) = (..) AND c < ..)}, behind a leading {@code (a, b) >= (..)} bound
+   *   that keeps the index range on the first run\n
+   */
+  @Override
+  protected String renderSeekPredicate(EntityAuthoring ea, ViewDef view, List<SortField> sort,
+                                       Map<String, Object> after, PropertyTypeResolver types, List<Bind> outBinds) {
+    List<List<SortField>> runs = directionRuns(sort);
+    if (runs.size() == 1) return seekRow(ea, view, runs.getFirst(), after, types, outBinds, null);
+    String bound = seekRow(ea, view, runs.getFirst(), after, types, outBinds, "=");
+    return "(" + bound + " AND " + seekRuns(ea, view, runs, 0, after, types, outBinds) + ")";
+  }
+
+  @Override
+  public List<Object> seekBindValues(List<SortField> sort, Map<String, Object> after) {
+    List<List<SortField>> runs = directionRuns(sort);
+    List<Object> out = new ArrayList<>();
+    if (runs.size() > 1) addRunValues(out, runs.getFirst(), after); // leading bound
+    for (int i = 0; i < runs.size(); i++) {
+      addRunValues(out, runs.get(i), after);
+      if (i < runs.size() - 1) addRunValues(out, runs.get(i), after); // equality before the next run
+    }
+    return out;
+  }
+
+  private String seekRuns(EntityAuthoring ea, ViewDef view, List<List<SortField>> runs, int i,
+                          Map<String, Object> after, PropertyTypeResolver types, List<Bind> outBinds) {
+    String cmp = seekRow(ea, view, runs.get(i), after, types, outBinds, null);
+    if (i == runs.size() - 1) return cmp;
+    String eq = seekRow(ea, view, runs.get(i), after, types, outBinds, "");
+    return "(" + cmp + " OR (" + eq + " AND " + seekRuns(ea, view, runs, i + 1, after, types, outBinds) + "))";
+  }
+
+  /** {@code (a, b) op (:k1, :k2)}; opSuffix null = strict, "=" = inclusive bound, "" = equality. */
+  private String seekRow(EntityAuthoring ea, ViewDef view, List<SortField> run, Map<String, Object> after,
+                         PropertyTypeResolver types, List<Bind> outBinds, String opSuffix) {
+    List<String> exprs = new ArrayList<>(run.size());
+    List<String> binds = new ArrayList<>(run.size());
+    for (SortField sf : run) {
+      exprs.add(seekExpr(view, sf));
+      binds.add(addSeekBind(outBinds, seekValue(after, sf), seekUserType(ea, sf, types)));
+    }
+    String op = "".equals(opSuffix) ? "="
+        : (run.getFirst().direction() == SortField.Direction.DESC ? "<" : ">") + (opSuffix == null ? "" : opSuffix);
+    if (run.size() == 1) return exprs.getFirst() + " " + op + " " + binds.getFirst();
+    return "(" + String.join(", ", exprs) + ") " + op + " (" + String.join(", ", binds) + ")";
+  }
+
+  private static List<List<SortField>> directionRuns(List<SortField> sort) {
+    List<List<SortField>> runs = new ArrayList<>();
+    List<SortField> run = null;
+    for (SortField sf : sort) {
+      if (run == null || run.getFirst().direction() != sf.direction()) {
+        run = new ArrayList<>();
+        runs.add(run);
+      }
+      run.add(sf);
+    }
+    return runs;
+  }
+
+  private static void addRunValues(List<Object> out, List<SortField> run, Map<String, Object> after) {
+    for (SortField sf : run) out.add(after.get(sf.field()));
+  }
+
   @Override
   protected String applyInsertReturning(String insertSql, List<String> returningColumns) {
     if (returningColumns == null || returningColumns.isEmpty()) return insertSql;
@@ -80,6 +340,46 @@ public final class PostgresDialect extends AbstractJdbcSqlDialect implements Jdb
     return new io.intellixity.nativa.persistence.jdbc.SqlStatement(sql.toString(), insertBase.binds(), kind);
   }
 
+  /**
+   * IN/NIN as one array bind, so the SQL text does not depend on the list length:\n
+   * - {@code expr = ANY(:b1::uuid[])} / {@code expr <> ALL(:b1::uuid[])}\n
+   * - above the unnest threshold: {@code expr IN (SELECT unnest(:b1::uuid[]))} (planned as a semi-join)\n
+   * Element types without a native array mapping keep one bind per element.\n
+   */
+  @Override
+  protected String renderInList(String expr, boolean notIn, List<Object> vals, String userTypeId, boolean not,
+                                RenderCtx ctx) {
+    String elem = arrayElemType(userTypeId);
+    if (elem == null) return super.renderInList(expr, notIn, vals, userTypeId, not, ctx);
+    String listType = "list<" + userTypeId.toLowerCase() + ">";
+    String p = ctx.add(new Bind(coerceBindValue(listType, vals), listType)) + "::" + elem + "[]";
+    String sql;
+    if (vals.size() > unnestInThreshold) {
+      sql = expr + (notIn ? " NOT IN" : " IN") + " (SELECT unnest(" + p + "))";
+    } else {
+      sql = expr + (notIn ? " <> ALL(" : " = ANY(") + p + ")";
+    }
+    return not ? "NOT (" + sql + ")" : sql;
+  }
+
+  @Override
+  public String arrayInListForm(String userTypeId, int size) {
+    if (arrayElemType(userTypeId) == null) return null; // rendered per element, see renderInList
+    return (size > unnestInThreshold) ? "unnest" : "any";
+  }
+
+  /** Array binds ({@code list<uuid>} etc.) coerce element-wise, as their scalar filters would. */
+  @Override
+  public Object coerceBindValue(String userTypeId, Object value) {
+    if (userTypeId != null && value instanceof Collection<?> c && userTypeId.startsWith("list<") && userTypeId.endsWith(">")) {
+      String elemType = userTypeId.substring(5, userTypeId.length() - 1);
+      List<Object> out = new ArrayList<>(c.size());
+      for (Object e : c) out.add(super.coerceBindValue(elemType, e));
+      return out;
+    }
+    return super.coerceBindValue(userTypeId, value);
+  }
+
   @Override
   protected String renderArrayContains(String expr, List<Object> values, String userTypeId, boolean not, RenderCtx ctx) {
     // Postgres array containment: col @> ARRAY[...]
@@ -0,0 +1,74 @@
+package io.intellixity.nativa.persistence.jdbc.postgres;
+
+import io.intellixity.nativa.persistence.authoring.EntityAuthoring;
+import io.intellixity.nativa.persistence.authoring.FieldDef;
+import io.intellixity.nativa.persistence.authoring.ScalarTypeRef;
+import io.intellixity.nativa.persistence.authoring.ViewDef;
+import io.intellixity.nativa.persistence.authoring.ViewMappings;
+import io.intellixity.nativa.persistence.exec.SessionVariables;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Row-level security DDL for session-variable governance (GovernanceMode.SESSION).\n
+ *
+ * Every {@code attrs.governanceKey} field becomes a predicate on {@code current_setting('nativa.<key>', true)}:
+ * tenant keys are strict (unset matches nothing), other keys only filter when set. The same predicate guards
+ * reads ({@code USING}) and writes ({@code WITH CHECK}). {@code FORCE} applies the policy to the table owner too,
+ * so the application role cannot bypass it.\n
+ */
+public final class PostgresRlsPolicies {
+  /** Policy name (re-created on every {@link #ddl} run). */
+  public static final String POLICY_NAME = "nativa_governance";
+
+  private PostgresRlsPolicies() {}
+
+  /** DDL statements enabling the governance policy on {@code ea}'s table; empty if it has no governance keys. */
+  public static List<String> ddl(EntityAuthoring ea, ViewDef tableView, Set<String> tenantKeys) {
+    Objects.requireNonNull(ea, "ea");
+    Objects.requireNonNull(tableView, "tableView");
+    Set<String> tenant = (tenantKeys == null) ? Set.of() : tenantKeys;
+
+    List<String> preds = new ArrayList<>();
+    for (var e : ea.fields().entrySet()) {
+      FieldDef fd = e.getValue();
+      if (fd == null) continue;
+      List<String> keys = fd.governanceKeys();
+      if (keys.isEmpty()) continue;
+      String col = ViewMappings.ref(tableView, e.getKey());
+      if (col == null || col.isBlank()) continue;
+      String pgType = pgType(fd);
+      for (String key : keys) {
+        String setting = "NULLIF(current_setting('" + literal(SessionVariables.governanceName(key)) + "', true), '')";
+        String eq = (pgType == null) ? col + "::text = " + setting : col + " = " + setting + "::" + pgType;
+        preds.add(tenant.contains(key) ? eq : "(" + setting + " IS NULL OR " + eq + ")");
+      }
+    }
+    if (preds.isEmpty()) return List.of();
+
+    String table = quoteIdent(ea.source());
+    String pred = String.join(" AND ", preds);
+    return List.of(
+        "ALTER TABLE " + table + " ENABLE ROW LEVEL SECURITY",
+        "ALTER TABLE " + table + " FORCE ROW LEVEL SECURITY",
+        "DROP POLICY IF EXISTS " + POLICY_NAME + " ON " + table,
+        "CREATE POLICY " + POLICY_NAME + " ON " + table + " USING (" + pred + ") WITH CHECK (" + pred + ")"
+    );
+  }
+
+  private static String pgType(FieldDef fd) {
+    if (!(fd.type() instanceof ScalarTypeRef s) || s.userTypeId() == null) return null;
+    return PostgresBinderProvider.PostgresArrayBinder.PG_ELEM_TYPES.get("list<" + s.userTypeId().toLowerCase() + ">");
+  }
+
+  private static String literal(String s) {
+    return s.replace("'", "''");
+  }
+
+  private static String quoteIdent(String ident) {
+    return "\"" + ident.replace("\"", "\"\"") + "\"";
+  }
+}
@@ -3,16 +3,32 @@ package io.intellixity.nativa.persistence.jdbc.dialect;
 import io.intellixity.nativa.persistence.authoring.*;
 import io.intellixity.nativa.persistence.compile.Bind;
 import io.intellixity.nativa.persistence.compile.PropertyTypeResolver;
+import io.intellixity.nativa.persistence.dmlast.ColumnBind;
+import io.intellixity.nativa.persistence.dmlast.InsertAst;
+import io.intellixity.nativa.persistence.dmlast.UpdateAst;
+import io.intellixity.nativa.persistence.dmlast.UpsertAst;
+import io.intellixity.nativa.persistence.exec.EntityViewRef;
 import io.intellixity.nativa.persistence.jdbc.SqlStatement;
 import io.intellixity.nativa.persistence.jdbc.postgres.PostgresDialect;
+import io.intellixity.nativa.persistence.jdbc.postgres.PostgresRlsPolicies;
+import io.intellixity.nativa.persistence.query.OffsetPage;
+import io.intellixity.nativa.persistence.query.Query;
 import io.intellixity.nativa.persistence.query.QueryElement;
 import io.intellixity.nativa.persistence.query.QueryFilters;
 import io.intellixity.nativa.persistence.query.QueryValidationException;
+import io.intellixity.nativa.persistence.query.SeekPage;
+import io.intellixity.nativa.persistence.query.SortField;
+import io.intellixity.nativa.persistence.query.aggregation.Aggregate;
+import io.intellixity.nativa.persistence.query.aggregation.GroupBy;
+import io.intellixity.nativa.persistence.spi.exec.QueryShape;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -210,6 +226,317 @@ final class PostgresDialectTest {
     assertEquals("json", b.userTypeId());
     assertEquals(Map.of("a", Map.of("b", 5)), b.value());
   }
-}
 
+  @Test
+  void projectionNarrowsDerivedSelectList() {
+    EntityAuthoring ea = new EntityAuthoring(
+        "Order",
+        AuthoringKind.ENTITY,
+        "orders",
+        "com.acme.Order",
+        true,
+        Map.of(
+            "tenantId", new FieldDef(new ScalarTypeRef("string", Map.of()), false, false),
+            "status", new FieldDef(new ScalarTypeRef("string", Map.of()), false, false)
+        ),
+        Map.of()
+    );
+
+    Map<String, Object> mapping = new LinkedHashMap<>();
+    mapping.put("tenantId", "tenant_id");
+    mapping.put("status", "status");
+    ViewDef view = new ViewDef("order_view", mapping, null);
+    PropertyTypeResolver types = new PropertyTypeResolver(new AuthoringRegistry() {
+      @Override public EntityAuthoring getEntityAuthoring(String authoringId) { return ea; }
+      @Override public ViewDef getViewDef(String viewDefId) { throw new UnsupportedOperationException(); }
+    });
+
+    SqlStatement stmt = new PostgresDialect().mergeSelect(ea, view, QueryFilters.eq("tenantId", "t1"), List.of(), null, null,
+        types, List.of("status"));
+    assertEquals("SELECT status AS \"status\" FROM \"orders\" WHERE tenant_id = :b1", stmt.sql());
+  }
+
+  @Test
+  void rendersSeekAsRowValueComparison() {
+    Map<String, FieldDef> fields = new LinkedHashMap<>();
+    fields.put("a", new FieldDef(new ScalarTypeRef("long", Map.of()), false, false));
+    fields.put("b", new FieldDef(new ScalarTypeRef("long", Map.of()), false, false));
+    fields.put("c", new FieldDef(new ScalarTypeRef("long", Map.of()), false, false));
+    EntityAuthoring ea = new EntityAuthoring("Order", AuthoringKind.ENTITY, "orders", "com.acme.Order", true, fields, Map.of());
+    Map<String, Object> mapping = new LinkedHashMap<>();
+    mapping.put("a", "a");
+    mapping.put("b", "b");
+    mapping.put("c", "c");
+    ViewDef view = new ViewDef("order_view", mapping, null);
+    PropertyTypeResolver types = new PropertyTypeResolver(new AuthoringRegistry() {
+      @Override public EntityAuthoring getEntityAuthoring(String authoringId) { return ea; }
+      @Override public ViewDef getViewDef(String viewDefId) { throw new UnsupportedOperationException(); }
+    });
+    PostgresDialect d = new PostgresDialect();
+    Map<String, Object> after = Map.of("a", 1L, "b", 2L, "c", 3L);
+
+    List<SortField> asc = List.of(new SortField("a", SortField.Direction.ASC), new SortField("b", SortField.Direction.ASC),
+        new SortField("c", SortField.Direction.ASC));
+    SqlStatement uniform = d.mergeSelect(ea, view, QueryFilters.eq("a", 0L), asc, new SeekPage(10, after), null, types);
+    assertTrue(uniform.sql().endsWith(" WHERE a = :b1 AND (a, b, c) > (:k2, :k3, :k4) ORDER BY a ASC, b ASC, c ASC LIMIT 10"),
+        uniform.sql());
+    assertEquals(List.of(1L, 2L, 3L), uniform.binds().subList(1, 4).stream().map(Bind::value).toList());
+    assertEquals(d.seekBindValues(asc, after), uniform.binds().subList(1, 4).stream().map(Bind::value).toList());
+
+    List<SortField> mixed = List.of(new SortField("a", SortField.Direction.ASC), new SortField("b", SortField.Direction.ASC),
+        new SortField("c", SortField.Direction.DESC));
+    SqlStatement m = d.mergeSelect(ea, view, null, mixed, new SeekPage(10, after), null, types);
+    assertTrue(m.sql().contains(" WHERE ((a, b) >= (:k1, :k2) AND ((a, b) > (:k3, :k4) OR ((a, b) = (:k5, :k6) AND c < :k7)))"),
+        m.sql());
+    assertEquals(d.seekBindValues(mixed, after), m.binds().stream().map(Bind::value).toList());
+  }
+
+  @Test
+  void bindsInListsAsOneArray() {
+    EntityAuthoring ea = new EntityAuthoring(
+        "Order",
+        AuthoringKind.ENTITY,
+        "orders",
+        "com.acme.Order",
+        true,
+        Map.of(
+            "id", new FieldDef(new ScalarTypeRef("uuid", Map.of()), false, false)
+        ),
+        Map.of()
+    );
+    Map<String, Object> mapping = new LinkedHashMap<>();
+    mapping.put("id", "id");
+    ViewDef view = new ViewDef("order_view", mapping, null);
+    PropertyTypeResolver types = new PropertyTypeResolver(new AuthoringRegistry() {
+      @Override public EntityAuthoring getEntityAuthoring(String authoringId) { return ea; }
+      @Override public ViewDef getViewDef(String viewDefId) { throw new UnsupportedOperationException(); }
+    });
+    UUID u1 = UUID.randomUUID();
+    UUID u2 = UUID.randomUUID();
+    UUID u3 = UUID.randomUUID();
+
+    PostgresDialect d = new PostgresDialect(2);
+    SqlStatement two = d.mergeSelect(ea, view, QueryFilters.in("id", List.of(u1, u2.toString())), List.of(), null, null, types);
+    assertTrue(two.sql().contains("WHERE id = ANY(:b1::uuid[])"), two.sql());
+    assertEquals(1, two.binds().size());
+    assertEquals("list<uuid>", two.binds().getFirst().userTypeId());
+    assertEquals(List.of(u1, u2), two.binds().getFirst().value());
+
+    SqlStatement notIn = d.mergeSelect(ea, view, QueryFilters.nin("id", List.of(u1)), List.of(), null, null, types);
+    assertTrue(notIn.sql().contains("WHERE id <> ALL(:b1::uuid[])"), notIn.sql());
+
+    SqlStatement three = d.mergeSelect(ea, view, QueryFilters.in("id", List.of(u1, u2, u3)), List.of(), null, null, types);
+    assertTrue(three.sql().contains("WHERE id IN (SELECT unnest(:b1::uuid[]))"), three.sql());
+    assertEquals("any", d.arrayInListForm("uuid", 2));
+    assertEquals("unnest", d.arrayInListForm("uuid", 3));
+  }
+
+  @Test
+  void inListShapeMatchesRenderedBindsForTypesWithoutArrayMapping() {
+    Map<String, FieldDef> fields = new LinkedHashMap<>();
+    fields.put("id", new FieldDef(new ScalarTypeRef("uuid", Map.of()), false, false));
+    fields.put("createdAt", new FieldDef(new ScalarTypeRef("instant", Map.of()), false, false));
+    EntityAuthoring ea = new EntityAuthoring("Order", AuthoringKind.ENTITY, "orders", "com.acme.Order", true, fields, Map.of());
+    ViewDef view = new ViewDef("order_view", Map.of("id", "id", "createdAt", "created_at"), null);
+    PropertyTypeResolver types = new PropertyTypeResolver(new AuthoringRegistry() {
+      @Override public EntityAuthoring getEntityAuthoring(String authoringId) { return ea; }
+      @Override public ViewDef getViewDef(String viewDefId) { throw new UnsupportedOperationException(); }
+    });
+    PostgresDialect d = new PostgresDialect();
+    EntityViewRef ref = new EntityViewRef("Order", "order_view");
+    Instant t = Instant.parse("2024-01-01T00:00:00Z");
+
+    // instant has no Postgres array mapping: one bind per element, so the shape keeps #N and N values.
+    Query byTime = Query.of(QueryFilters.in("createdAt", List.of(t, t.plusSeconds(1), t.plusSeconds(2))));
+    QueryShape timeShape = QueryShape.of("select", ref, view, byTime, byTime.filter(), d, ea, types);
+    SqlStatement timeSql = d.mergeSelect(ea, view, byTime.filter(), List.of(), null, null, types);
+    assertTrue(timeShape.key().contains("createdAt IN #3"), timeShape.key());
+    assertEquals(timeShape.values(), timeSql.binds().stream().map(Bind::value).toList());
+
+    Query byId = Query.of(QueryFilters.in("id", List.of(UUID.randomUUID(), UUID.randomUUID())));
+    QueryShape idShape = QueryShape.of("select", ref, view, byId, byId.filter(), d, ea, types);
+    assertTrue(idShape.key().contains("id IN [any]"), idShape.key());
+    assertEquals(1, d.mergeSelect(ea, view, byId.filter(), List.of(), null, null, types).binds().size());
+  }
+
+  @Test
+  void selectPageAddsWindowTotalToDerivedSelect() {
+    EntityAuthoring ea = new EntityAuthoring(
+        "Order",
+        AuthoringKind.ENTITY,
+        "orders",
+        "com.acme.Order",
+        true,
+        Map.of(
+            "tenantId", new FieldDef(new ScalarTypeRef("string", Map.of()), false, false)
+        ),
+        Map.of()
+    );
+
+    Map<String, Object> mapping = new LinkedHashMap<>();
+    mapping.put("tenantId", "tenant_id");
+    ViewDef view = new ViewDef("order_view", mapping, null);
+    PropertyTypeResolver types = new PropertyTypeResolver(new AuthoringRegistry() {
+      @Override public EntityAuthoring getEntityAuthoring(String authoringId) { return ea; }
+      @Override public ViewDef getViewDef(String viewDefId) { throw new UnsupportedOperationException(); }
+    });
+
+    PostgresDialect d = new PostgresDialect();
+    SqlStatement stmt = d.mergeSelectPage(ea, view, QueryFilters.eq("tenantId", "t1"),
+        List.of(new SortField("tenantId", SortField.Direction.ASC)), new OffsetPage(20, 10), null, types, List.of());
+    assertEquals("SELECT tenant_id AS \"tenantId\", COUNT(*) OVER () AS \"nativa_total\" FROM \"orders\""
+        + " WHERE tenant_id = :b1 ORDER BY tenant_id ASC LIMIT 10 OFFSET 20", stmt.sql());
+
+    ViewDef sqlView = new ViewDef("order_sql", mapping, new SqlViewDef("SELECT * FROM orders", null, false, null));
+    assertNull(d.mergeSelectPage(ea, sqlView, null, List.of(), new OffsetPage(0, 10), null, types, List.of()));
+  }
+
+  @Test
+  void rendersGroupByAggregatesOverFilteredView() {
+    Map<String, FieldDef> fields = new LinkedHashMap<>();
+    fields.put("tenantId", new FieldDef(new ScalarTypeRef("string", Map.of()), false, false));
+    fields.put("status", new FieldDef(new ScalarTypeRef("string", Map.of()), false, false));
+    fields.put("amount", new FieldDef(new ScalarTypeRef("long", Map.of()), false, false));
+    EntityAuthoring ea = new EntityAuthoring("Order", AuthoringKind.ENTITY, "orders", "com.acme.Order", true, fields, Map.of());
+
+    Map<String, Object> mapping = new LinkedHashMap<>();
+    mapping.put("tenantId", "tenant_id");
+    mapping.put("status", "status");
+    mapping.put("amount", "amount");
+    ViewDef view = new ViewDef("order_view", mapping, null);
+    PropertyTypeResolver types = new PropertyTypeResolver(new AuthoringRegistry() {
+      @Override public EntityAuthoring getEntityAuthoring(String authoringId) { return ea; }
+      @Override public ViewDef getViewDef(String viewDefId) { throw new UnsupportedOperationException(); }
+    });
+
+    GroupBy groupBy = GroupBy.of("status")
+        .withAggregates(Aggregate.count("n"), Aggregate.sum("amount", "total"))
+        .withHaving(QueryFilters.gt("n", 1));
+    SqlStatement stmt = new PostgresDialect().mergeAggregate(ea, view, QueryFilters.eq("tenantId", "t1"), groupBy,
+        List.of(new SortField("total", SortField.Direction.DESC)), new OffsetPage(0, 10), null, types);
+
+    // The derived select's column order follows the view mapping; only the aggregate wrapper is pinned.
+    String sql = stmt.sql();
+    String inner = " FROM (SELECT ";
+    assertTrue(sql.startsWith("SELECT nativa_agg.\"status\" AS \"status\", COUNT(*) AS \"n\", SUM(nativa_agg.\"amount\") AS \"total\"" + inner), sql);
+    assertTrue(sql.endsWith(" FROM \"orders\" WHERE tenant_id = :b1) nativa_agg"
+        + " GROUP BY nativa_agg.\"status\" HAVING COUNT(*) > :b1 ORDER BY \"total\" DESC LIMIT 10 OFFSET 0"), sql);
+    String derived = sql.substring(sql.indexOf(inner) + inner.length(), sql.indexOf(" FROM \"orders\""));
+    assertEquals(Set.of("tenant_id AS \"tenantId\"", "status AS \"status\"", "amount AS \"amount\""),
+        Set.of(derived.split(", ")));
+    assertEquals(2, stmt.binds().size());
+    assertEquals("t1", stmt.binds().get(0).value());
+    assertEquals("long", stmt.binds().get(1).userTypeId());
+  }
+
+  @Test
+  void quotesSqlViewLabelsInAggregates() {
+    Map<String, FieldDef> fields = new LinkedHashMap<>();
+    fields.put("orderStatus", new FieldDef(new ScalarTypeRef("string", Map.of()), false, false));
+    EntityAuthoring ea = new EntityAuthoring("Order", AuthoringKind.ENTITY, "orders", "com.acme.Order", true, fields, Map.of());
+    ViewDef view = new ViewDef("order_sql", Map.of("orderStatus", "order_status"),
+        new SqlViewDef("SELECT * FROM orders", null, false, null));
+    PropertyTypeResolver types = new PropertyTypeResolver(new AuthoringRegistry() {
+      @Override public EntityAuthoring getEntityAuthoring(String authoringId) { return ea; }
+      @Override public ViewDef getViewDef(String viewDefId) { throw new UnsupportedOperationException(); }
+    });
+
+    SqlStatement stmt = new PostgresDialect().mergeAggregate(ea, view, null,
+        GroupBy.of("orderStatus").withAggregates(Aggregate.count("n")), List.of(), null, null, types);
+
+    assertEquals("SELECT nativa_agg.\"order_status\" AS \"orderStatus\", COUNT(*) AS \"n\""
+        + " FROM (SELECT * FROM orders) nativa_agg GROUP BY nativa_agg.\"order_status\"", stmt.sql());
+  }
+
+  @Test
+  void rendersBulkUpsertAsUnnestArrays() {
+    UUID a = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    UUID b = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    PostgresDialect d = new PostgresDialect();
 
+    SqlStatement stmt = d.renderBulkUpsert(null, null, List.of(upsertRow(a, "x"), upsertRow(b, "y")));
+    assertEquals("INSERT INTO \"orders\" (\"id\", \"status\") SELECT * FROM unnest(:b1::uuid[], :b2::text[])"
+        + " ON CONFLICT (\"id\") DO UPDATE SET \"status\" = EXCLUDED.\"status\"", stmt.sql());
+    assertEquals(SqlStatement.ExecKind.UPDATE, stmt.execKind());
+    assertEquals(List.of(a, b), stmt.binds().get(0).value());
+    assertEquals("list<uuid>", stmt.binds().get(0).userTypeId());
+    assertEquals(List.of("x", "y"), stmt.binds().get(1).value());
+    assertEquals("list<string>", stmt.binds().get(1).userTypeId());
+
+    // Same conflict key twice in one statement would fail in Postgres: fall back to per-row statements.
+    assertNull(d.renderBulkUpsert(null, null, List.of(upsertRow(a, "x"), upsertRow(a, "y"))));
+
+    // Elements are coerced like scalar binds: a uuid given as text binds (and dedupes) as a UUID.
+    SqlStatement text = d.renderBulkUpsert(null, null, List.of(upsertRow(a.toString(), "x"), upsertRow(b, "y")));
+    assertEquals(List.of(a, b), text.binds().get(0).value());
+    assertNull(d.renderBulkUpsert(null, null, List.of(upsertRow(a.toString(), "x"), upsertRow(a, "y"))));
+  }
+
+  @Test
+  void rendersBulkUpdateByIdAsUnnestJoin() {
+    EntityAuthoring ea = new EntityAuthoring(
+        "Order",
+        AuthoringKind.ENTITY,
+        "orders",
+        "com.acme.Order",
+        true,
+        Map.of(
+            "id", new FieldDef(new ScalarTypeRef("long", Map.of()), false, true),
+            "status", new FieldDef(new ScalarTypeRef("string", Map.of()), false, false)
+        ),
+        Map.of()
+    );
+    ViewDef view = new ViewDef("order_view", Map.of("id", "id", "status", "status"), null);
+    PropertyTypeResolver types = new PropertyTypeResolver(new AuthoringRegistry() {
+      @Override public EntityAuthoring getEntityAuthoring(String authoringId) { return ea; }
+      @Override public ViewDef getViewDef(String viewDefId) { throw new UnsupportedOperationException(); }
+    });
+
+    List<UpdateAst> rows = List.of(
+        new UpdateAst("orders", List.of(new ColumnBind("status", new Bind("x", "string"))), QueryFilters.eq("id", 1L)),
+        new UpdateAst("orders", List.of(new ColumnBind("status", new Bind("y", "string"))), QueryFilters.eq("id", 2L)));
+    SqlStatement stmt = new PostgresDialect().renderBulkUpdate(ea, view, rows, types);
+    assertEquals("UPDATE \"orders\" SET \"status\" = nativa_v.nativa_c0"
+        + " FROM unnest(:b1::int8[], :b2::text[]) AS nativa_v(nativa_k, nativa_c0) WHERE id = nativa_v.nativa_k", stmt.sql());
+    assertEquals(List.of(1L, 2L), stmt.binds().get(0).value());
+    assertEquals(List.of("x", "y"), stmt.binds().get(1).value());
+  }
+
+  @Test
+  void rendersSessionVariablesAndRlsPolicy() {
+    Map<String, String> vars = new LinkedHashMap<>();
+    vars.put("nativa.tenantId", "t1");
+    vars.put("nativa.region", null);
+    SqlStatement set = new PostgresDialect().renderSessionVariables(vars, true);
+    assertEquals("SELECT set_config(:b1, :b2, true), set_config(:b3, :b4, true)", set.sql());
+    assertEquals(List.of("nativa.tenantId", "t1", "nativa.region", ""), set.binds().stream().map(Bind::value).toList());
+
+    EntityAuthoring ea = new EntityAuthoring(
+        "Order",
+        AuthoringKind.ENTITY,
+        "orders",
+        "com.acme.Order",
+        true,
+        Map.of(
+            "tenantId", new FieldDef(new ScalarTypeRef("uuid", Map.of()), false, false, false, Map.of("governanceKey", "tenantId")),
+            "status", new FieldDef(new ScalarTypeRef("string", Map.of()), false, false)
+        ),
+        Map.of()
+    );
+    ViewDef view = new ViewDef("order_view", Map.of("tenantId", "tenant_id", "status", "status"), null);
+    List<String> ddl = PostgresRlsPolicies.ddl(ea, view, Set.of("tenantId"));
+    String pred = "tenant_id = NULLIF(current_setting('nativa.tenantId', true), '')::uuid";
+    assertEquals(List.of(
+        "ALTER TABLE \"orders\" ENABLE ROW LEVEL SECURITY",
+        "ALTER TABLE \"orders\" FORCE ROW LEVEL SECURITY",
+        "DROP POLICY IF EXISTS nativa_governance ON \"orders\"",
+        "CREATE POLICY nativa_governance ON \"orders\" USING (" + pred + ") WITH CHECK (" + pred + ")"), ddl);
+  }
+
+  private static UpsertAst upsertRow(Object id, String status) {
+    InsertAst ins = new InsertAst("orders", List.of(
+        new ColumnBind("id", new Bind(id, "uuid")),
+        new ColumnBind("status", new Bind(status, "string"))), List.of("id"));
+    return new UpsertAst(ins, List.of("id"), List.of("status"));
+  }
+}
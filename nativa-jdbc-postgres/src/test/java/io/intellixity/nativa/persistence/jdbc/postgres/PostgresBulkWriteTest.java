@@ -0,0 +1,142 @@
+package io.intellixity.nativa.persistence.jdbc.postgres;
+
+import io.intellixity.nativa.persistence.authoring.*;
+import io.intellixity.nativa.persistence.exec.EntityViewRef;
+import io.intellixity.nativa.persistence.exec.Propagation;
+import io.intellixity.nativa.persistence.jdbc.JdbcDataEngine;
+import io.intellixity.nativa.persistence.jdbc.JdbcHandle;
+import io.intellixity.nativa.persistence.jdbc.dml.JdbcDmlPlanner;
+import io.intellixity.nativa.persistence.pojo.PojoAccessor;
+import io.intellixity.nativa.persistence.pojo.PojoAccessorRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Routing of bulkUpsert/bulkUpdate between one unnest statement and batched per-row statements. */
+final class PostgresBulkWriteTest {
+  private static final EntityViewRef REF = new EntityViewRef("Order", "order_view");
+  private static final UUID A = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  private static final UUID B = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+  record Order(UUID id, String status, String note) {}
+
+  /** "prepare sql", "update" (single statement), "batch n". */
+  private final List<String> calls = new ArrayList<>();
+
+  private JdbcDataEngine engine() {
+    Map<String, FieldDef> fields = new LinkedHashMap<>();
+    fields.put("id", new FieldDef(new ScalarTypeRef("uuid", Map.of()), false, true));
+    fields.put("status", new FieldDef(new ScalarTypeRef("string", Map.of()), true, false));
+    fields.put("note", new FieldDef(new ScalarTypeRef("string", Map.of()), true, false));
+    EntityAuthoring ea = new EntityAuthoring("Order", AuthoringKind.ENTITY, "orders", "com.acme.Order", true, fields, Map.of());
+    ViewDef view = new ViewDef("order_view", Map.of("id", "id", "status", "status", "note", "note"), null);
+    AuthoringRegistry authoring = new AuthoringRegistry() {
+      @Override public EntityAuthoring getEntityAuthoring(String authoringId) { return ea; }
+      @Override public ViewDef getViewDef(String viewDefId) { return view; }
+    };
+    PojoAccessorRegistry accessors = new PojoAccessorRegistry() {
+      @Override
+      public PojoAccessor<?> accessorFor(String authoringId) {
+        return (PojoAccessor<Order>) (o, path) -> switch (path) {
+          case "id" -> o.id();
+          case "status" -> o.status();
+          case "note" -> o.note();
+          default -> null;
+        };
+      }
+    };
+    return new JdbcDataEngine(new JdbcHandle("test", dataSource(), null, false), authoring, new PostgresDialect(),
+        new JdbcDmlPlanner(authoring, accessors), Propagation.REQUIRED);
+  }
+
+  private DataSource dataSource() {
+    return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+        (p, m, args) -> m.getName().equals("getConnection") ? connection() : null);
+  }
+
+  private Connection connection() {
+    return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+        (conn, m, args) -> switch (m.getName()) {
+          case "prepareStatement" -> {
+            calls.add("prepare " + args[0]);
+            yield statement((Connection) conn);
+          }
+          case "getAutoCommit" -> true;
+          default -> null;
+        });
+  }
+
+  private PreparedStatement statement(Connection conn) {
+    int[] batched = {0};
+    return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+        (p, m, args) -> switch (m.getName()) {
+          case "getConnection" -> conn;
+          case "executeUpdate" -> {
+            calls.add("update");
+            yield 2;
+          }
+          case "addBatch" -> {
+            batched[0]++;
+            yield null;
+          }
+          case "executeBatch" -> {
+            calls.add("batch " + batched[0]);
+            int[] counts = new int[batched[0]];
+            Arrays.fill(counts, 1);
+            yield counts;
+          }
+          case "getGeneratedKeys" -> {
+            // One (already known) key per batched row.
+            int[] left = {batched[0]};
+            batched[0] = 0;
+            yield Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                (rs, rm, rargs) -> rm.getName().equals("next") ? left[0]-- > 0 : null);
+          }
+          case "execute" -> false;
+          case "getUpdateCount" -> 0;
+          default -> null;
+        });
+  }
+
+  private List<String> writes() {
+    return calls.stream().filter(c -> c.equals("update") || c.startsWith("batch")).toList();
+  }
+
+  @Test
+  void bulkUpsertUsesOneUnnestStatementAndBatchesDuplicateKeys() {
+    JdbcDataEngine engine = engine();
+    engine.bulkUpsert(REF, List.of(new Order(A, "x", "n"), new Order(B, "y", "n")));
+    assertEquals(List.of("update"), writes());
+    assertTrue(calls.stream().anyMatch(c -> c.contains("SELECT * FROM unnest(")), calls.toString());
+
+    // ON CONFLICT cannot touch one row twice: per-row statements keep last-write-wins.
+    calls.clear();
+    engine.bulkUpsert(REF, List.of(new Order(A, "x", "n"), new Order(A, "y", "n")));
+    assertEquals(List.of("batch 2"), writes());
+  }
+
+  @Test
+  void bulkUpdateUsesOneUnnestStatementAndBatchesMixedShapes() {
+    JdbcDataEngine engine = engine();
+    assertEquals(2, engine.bulkUpdate(REF, List.of(new Order(A, "x", "n"), new Order(B, "y", "n"))));
+    assertEquals(List.of("update"), writes());
+    assertTrue(calls.stream().anyMatch(c -> c.contains(" FROM unnest(")), calls.toString());
+
+    // A null note is left out of the SET list: rows differ in shape, so each shape is batched.
+    calls.clear();
+    assertEquals(2, engine.bulkUpdate(REF, List.of(new Order(A, "x", "n"), new Order(B, "y", null))));
+    assertEquals(List.of("batch 1", "batch 1"), writes());
+  }
+}
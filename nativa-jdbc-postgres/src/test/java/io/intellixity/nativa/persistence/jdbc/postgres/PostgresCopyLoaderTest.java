@@ -0,0 +1,56 @@
+package io.intellixity.nativa.persistence.jdbc.postgres;
+
+import io.intellixity.nativa.persistence.compile.Bind;
+import io.intellixity.nativa.persistence.dmlast.ColumnBind;
+import io.intellixity.nativa.persistence.dmlast.InsertAst;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class PostgresCopyLoaderTest {
+  private final PostgresCopyLoader loader = new PostgresCopyLoader(s -> "\"" + s + "\"");
+
+  private static InsertAst shape(String... userTypes) {
+    List<ColumnBind> cols = new java.util.ArrayList<>();
+    for (int i = 0; i < userTypes.length; i++) cols.add(new ColumnBind("c" + i, new Bind(null, userTypes[i])));
+    return new InsertAst("orders", cols, List.of());
+  }
+
+  @Test
+  void rendersCopySqlWithDialectQuoting() {
+    assertEquals("COPY \"orders\" (\"c0\", \"c1\") FROM STDIN (FORMAT csv)", loader.copySql(shape("string", "long")));
+  }
+
+  @Test
+  void rendersCsvFields() {
+    StringBuilder sb = new StringBuilder();
+    UUID id = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    for (Object v : Arrays.asList(null, "", "a\"b,c", 42L, id, List.of("x", "y\"z"))) {
+      PostgresCopyLoader.appendField(sb, v);
+      sb.append('|');
+    }
+    assertEquals("|\"\"|\"a\"\"b,c\"|\"42\"|\"" + id + "\"|\"{\"\"x\"\",\"\"y\\\"\"z\"\"}\"|", sb.toString());
+  }
+
+  @Test
+  void rendersInstantsInUtcWithExplicitOffset() {
+    StringBuilder sb = new StringBuilder();
+    PostgresCopyLoader.appendField(sb, Instant.parse("2024-01-02T03:04:05.123456Z"));
+    sb.append('|');
+    PostgresCopyLoader.appendField(sb, List.of(Instant.parse("2024-07-01T00:00:00Z")));
+    assertEquals("\"2024-01-02T03:04:05.123456Z\"|\"{\"\"2024-07-01T00:00:00Z\"\"}\"", sb.toString());
+  }
+
+  @Test
+  void fallsBackForNonNativeListColumns() {
+    List<Object[]> rows = List.<Object[]>of(new Object[]{List.of("a")});
+    assertTrue(loader.supports(shape("list<string>"), rows));
+    assertFalse(loader.supports(shape("list<custom>"), rows));
+    assertFalse(loader.supports(shape("string"), List.<Object[]>of(new Object[]{new Object()})));
+  }
+}